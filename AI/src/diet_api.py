@@ -56,6 +56,7 @@ class CaloriePlanModel(_RequestModel):
     age_used: Optional[int] = Field(None, alias="ageUsed")
     gender_used: Optional[str] = Field(None, alias="genderUsed")
     goal_type: Optional[str] = Field(None, alias="goalType")
+    meal_calories: Optional[int] = Field(None, alias="mealCalories")
 
 
 class DietItem(BaseModel):
@@ -144,7 +145,12 @@ def _load_model_once():
 
 
 def _build_messages(ctx: DietContextModel, plan: Optional[CaloriePlanModel], rules: Optional[str]) -> List[dict]:
-    goal = plan.target_calories if plan and plan.target_calories else 550
+    # target_calories는 하루 목표이므로 1식 목표(하루 / 3끼)를 프롬프트에 넣는다
+    goal = 550
+    if plan and plan.meal_calories:
+        goal = plan.meal_calories
+    elif plan and plan.target_calories:
+        goal = round(plan.target_calories / 3)
     sys_prompt = "너는 얼굴 이미지를 참고하여 아침/점심/저녁 식단 JSON 배열만 생성하는 영양사 모델이다. JSON 외 텍스트는 금지한다."
     user_text = (
         f"진단: {ctx.diagnosis_name or '일반'}\n"
@@ -159,13 +165,62 @@ def _build_messages(ctx: DietContextModel, plan: Optional[CaloriePlanModel], rul
     ]
 
 
-def _extract_json(text: str):
-    """모델 출력에서 JSON 배열 블록을 추출."""
-    match = re.search(r"(\[[\s\S]*\])", text)
-    if not match:
+def _find_json_start(text: str) -> int:
+    """JSON 시작 위치: 객체 배열 "[{" / 빈 배열 "[]" / 객체 "{\"" ("[참고]" 같은 설명 문장의 괄호는 건너뜀)."""
+    for match in re.finditer(r"[\[{]", text):
+        i = match.start()
+        rest = text[i + 1:].lstrip()
+        if not rest:
+            return i  # 여는 괄호에서 잘린 출력
+        if text[i] == "[" and rest[0] in "{]":
+            return i
+        if text[i] == "{" and rest[0] in "\"}":
+            return i
+    return -1
+
+
+def _extract_json(text: str) -> List[dict]:
+    """
+    모델 출력에서 식단 항목(dict) 목록을 관대하게 추출 (백엔드 LenientJson과 같은 규칙).
+    - 앞뒤 설명 문장/코드 펜스는 건너뛰고 JSON 시작 위치부터 항목 단위로 읽는다.
+    - 배열이 잘렸거나(max_new_tokens) 중간 항목이 깨졌으면 그 앞까지의 완전한 객체만 살린다.
+    - 배열 없이 객체만 이어서 온 경우, 항목 사이/끝의 쉼표도 허용한다.
+    읽을 수 있는 항목이 없고 배열도 닫히지 않았으면 ValueError.
+    """
+    text = text or ""
+    start = _find_json_start(text)
+    if start < 0:
         raise ValueError("no JSON array found in generation")
-    block = match.group(1)
-    return json.loads(block)
+
+    decoder = json.JSONDecoder()
+    in_array = text[start] == "["
+    pos = start + 1 if in_array else start
+    items: List[dict] = []
+    complete = False
+    while True:
+        while pos < len(text) and (text[pos].isspace() or text[pos] == ","):
+            pos += 1
+        if pos >= len(text):
+            break  # 잘림
+        if in_array and text[pos] == "]":
+            complete = True
+            break
+        if text[pos] != "{":
+            complete = not in_array and bool(items)  # 객체 뒤 설명 문장
+            break
+        try:
+            obj, pos = decoder.raw_decode(text, pos)
+        except json.JSONDecodeError:
+            break  # 잘리거나 깨진 항목: 앞 항목까지만 사용
+        items.append(obj)
+        if not in_array:
+            complete = True
+
+    if not items and not complete:
+        raise ValueError("no complete JSON item found in generation")
+    if not complete:
+        logger.warning("손상된 생성 결과에서 %s개 항목 복구", len(items))
+    return items
 
 
 @app.post("/diet/generate", summary="이미지+컨텍스트로 식단 JSON 생성")
@@ -219,7 +274,17 @@ def diet_generate(body: DietLlmRequest) -> List[DietResult]:
         logger.info("model decoded output length=%s", len(decoded))
         logger.info("model decoded output head=%s", decoded[:500])
         parsed = _extract_json(decoded)
-        items = [DietItem(**item) for item in parsed]
+        items = []
+        skipped = 0
+        for raw in parsed:
+            try:
+                items.append(DietItem(**raw))
+            except (TypeError, ValueError):
+                skipped += 1  # 필드 누락/타입 불일치 항목만 버린다
+        if skipped:
+            logger.warning("diet items skipped=%s (kept=%s)", skipped, len(items))
+            if not items:
+                raise ValueError("no valid diet item in generation")
         seen_names = set()
         deduped_items = []
         for item in items:
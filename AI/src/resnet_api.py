@@ -1,14 +1,26 @@
+from concurrent.futures import ThreadPoolExecutor
+from typing import List, Optional, Tuple
+
 from fastapi import FastAPI, HTTPException
 from pydantic import BaseModel
 import logging
+import os
 
-from resnet_mlflow import predict_image, _load_image_from_url_or_path, CLASS_NAMES
+from resnet_mlflow import predict_image, predict_images, _load_image_from_url_or_path, CLASS_NAMES
 
 class PredictRequest(BaseModel):
     photo_id: int
     user_id: int
     photo_url: str
 
+class BatchItem(PredictRequest):
+    request_id: int
+
+class BatchRequest(BaseModel):
+    items: List[BatchItem]
+
+BATCH_DOWNLOAD_WORKERS = 8
+
 app = FastAPI(title="ResNet18 Inference (MLflow)", version="1.0")
 
 logger = logging.getLogger("uvicorn.error")
@@ -45,12 +57,65 @@ def predict_endpoint(body: PredictRequest):
         logger.exception("Unexpected inference error")
         raise HTTPException(status_code=500, detail=f"Unexpected error: {exc}")
 
-    if "probs_list" not in locals():
-        probs_list = probs.tolist()
-        class_names = CLASS_NAMES or [str(i) for i in range(len(probs_list))]
-        if CLASS_NAMES is None:
-            logger.info("CLASS_NAMES not set; fallback to index labels")
+    response_payload = _to_payload(body.photo_id, pred_label, probs)
+    logger.info("Returning 응답 payload=%s", response_payload)
+    return response_payload
+
+
+@app.post("/analyze/batch", summary="Return predictions for several photos in one forward pass")
+def predict_batch_endpoint(body: BatchRequest):
+    """Spring AnalysisBatchDispatcher용. 결과는 request_id로 요청과 매칭된다.
+    이미지를 받지 못한 항목은 error만 담아 돌려주고 나머지는 한 번에 추론한다."""
+    logger.info("Batch predict request received size=%s", len(body.items))
+    if not body.items:
+        return {"results": []}
 
+    workers = min(BATCH_DOWNLOAD_WORKERS, len(body.items))
+    with ThreadPoolExecutor(max_workers=workers) as pool:
+        loaded = list(pool.map(_try_load, (item.photo_url for item in body.items)))
+
+    results = []
+    ready = []
+    for item, (local_path, error) in zip(body.items, loaded):
+        if error is not None:
+            logger.warning("Batch item image not loaded request_id=%s: %s", item.request_id, error)
+            results.append({"request_id": item.request_id, "photo_id": item.photo_id, "error": error})
+        else:
+            ready.append((item, local_path))
+
+    try:
+        preds = predict_images([path for _, path in ready], class_names=CLASS_NAMES)
+    except Exception as exc:
+        logger.exception("Unexpected batch inference error")
+        raise HTTPException(status_code=500, detail=f"Unexpected error: {exc}")
+    finally:
+        for item, path in ready:
+            if path != item.photo_url:
+                _remove_quietly(path)
+
+    for (item, _), (pred_label, probs) in zip(ready, preds):
+        results.append({"request_id": item.request_id, **_to_payload(item.photo_id, pred_label, probs)})
+    logger.info("Batch predict complete size=%s failed=%s", len(body.items), len(body.items) - len(ready))
+    return {"results": results}
+
+
+def _try_load(photo_url: str) -> Tuple[Optional[str], Optional[str]]:
+    try:
+        return _load_image_from_url_or_path(photo_url), None
+    except Exception as exc:
+        return None, str(exc)
+
+
+def _remove_quietly(path: str) -> None:
+    try:
+        os.unlink(path)
+    except OSError:
+        pass
+
+
+def _to_payload(photo_id: int, pred_label, probs) -> dict:
+    probs_list = probs.tolist()
+    class_names = CLASS_NAMES or [str(i) for i in range(len(probs_list))]
     prob_map = {
         "prob_gunsun": float(probs_list[0]) if len(probs_list) > 0 else None,
         "prob_atopy": float(probs_list[1]) if len(probs_list) > 1 else None,
@@ -59,12 +124,10 @@ def predict_endpoint(body: PredictRequest):
         "prob_rosacea": float(probs_list[4]) if len(probs_list) > 4 else None,
         "prob_seborr": float(probs_list[5]) if len(probs_list) > 5 else None,
     }
-    response_payload = {
+    return {
         "analysis_id": None,
-        "photo_id": body.photo_id,
+        "photo_id": photo_id,
         "diagnosis_name": str(pred_label),
         **prob_map,
         "class_names": class_names,
     }
-    logger.info("Returning 응답 payload=%s", response_payload)
-    return response_payload
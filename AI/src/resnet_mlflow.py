@@ -157,6 +157,35 @@ def predict_image(
     return pred_label, probs
 
 
+def predict_images(
+    image_paths: List[str],
+    model_uri: str = DEFAULT_MODEL_URI,
+    img_size: int = 224,
+    class_names: Optional[List[str]] = None,
+    use_cache: bool = True,
+) -> List[Tuple[object, np.ndarray]]:
+    """여러 이미지를 한 번의 forward로 추론 (배치 API용). 결과는 입력 순서와 같다."""
+    if not image_paths:
+        return []
+    model, device = load_model(model_uri=model_uri, use_cache=use_cache)
+    tfm = build_transform(img_size)
+
+    batch = torch.stack([tfm(Image.open(path).convert("RGB")) for path in image_paths]).to(device)
+    print(f"[INFO] 배치 입력 텐서 shape: {tuple(batch.shape)}")
+
+    with torch.no_grad():
+        probs = torch.softmax(model(batch), dim=1).cpu().numpy()
+
+    active_classes = class_names or CLASS_NAMES
+    results = []
+    for row in probs:
+        pred_idx = int(np.argmax(row))
+        pred_label = active_classes[pred_idx] if (active_classes and pred_idx < len(active_classes)) else pred_idx
+        results.append((pred_label, row))
+    print(f"[INFO] 배치 추론 완료 - {len(image_paths)}건")
+    return results
+
+
 def parse_args() -> argparse.Namespace:
     parser = argparse.ArgumentParser(description="MLflow 모델을 사용하는 ResNet18 추론 전용 스크립트")
     parser.add_argument("--image-path", required=True, help="추론할 이미지 경로 또는 URL")
@@ -3,10 +3,12 @@ package com.nutricare;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import com.nutricare.config.GcsProperties;
 @SpringBootApplication
 @EnableConfigurationProperties({GcsProperties.class})
+@EnableScheduling
 public class NutriCareSsafyApplication {
 
 	public static void main(String[] args) {
@@ -8,8 +8,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class AppConfig {
 
+    // cost는 기동 시 BCryptCostCalibrator가 하드웨어에 맞춰 결정
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(BCryptCostCalibrator calibrator) {
+        return new BCryptPasswordEncoder(calibrator.getCost());
     }
 }
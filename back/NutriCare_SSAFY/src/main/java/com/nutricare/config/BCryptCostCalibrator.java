@@ -0,0 +1,57 @@
+package com.nutricare.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기동 시 이 서버에서 BCrypt 검증 1회가 목표 시간(target-verify-ms)에 가장 가깝도록 cost를 고른다.
+ * - cost가 1 오를 때마다 연산 시간은 약 2배가 되므로, 목표 시간을 넘기 직전 cost를 선택한다.
+ * - min-cost 미만으로는 내려가지 않는다 (보안 하한).
+ * - calibrate=false면 bcrypt-cost 값을 그대로 사용한다.
+ */
+@Component
+public class BCryptCostCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private final int cost;
+
+    public BCryptCostCalibrator(@Value("${security.password.calibrate:true}") boolean calibrate,
+                                @Value("${security.password.bcrypt-cost:10}") int fixedCost,
+                                @Value("${security.password.target-verify-ms:250}") long targetMillis,
+                                @Value("${security.password.min-cost:10}") int minCost,
+                                @Value("${security.password.max-cost:14}") int maxCost) {
+        this.cost = calibrate ? calibrate(targetMillis, minCost, maxCost) : fixedCost;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    private int calibrate(long targetMillis, int minCost, int maxCost) {
+        int chosen = minCost;
+        for (int c = minCost; c <= maxCost; c++) {
+            long elapsed = measure(c);
+            log.info("BCrypt calibration: cost={} verify={}ms", c, elapsed);
+            if (elapsed > targetMillis) break;
+            chosen = c;
+            // 다음 cost는 약 2배 -> 목표를 넘을 것이 확실하면 측정 생략
+            if (elapsed * 2 > targetMillis) break;
+        }
+        log.info("BCrypt cost selected: {} (target {}ms)", chosen, targetMillis);
+        return chosen;
+    }
+
+    // 같은 cost로 encode 후 matches 1회 시간을 측정 (첫 호출은 워밍업)
+    private long measure(int c) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(c);
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+        long start = System.nanoTime();
+        encoder.matches(SAMPLE_PASSWORD, hash);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
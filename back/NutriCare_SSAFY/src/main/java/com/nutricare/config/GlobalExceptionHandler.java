@@ -5,6 +5,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -34,12 +35,22 @@ public class GlobalExceptionHandler {
     }
     
     /**
-     * 3. 그 외 알 수 없는 서버 에러 처리 (500 Internal Server Error)
+     * 3. 상태 코드를 지정한 예외 처리 (429 Too Many Requests, 503 등)
+     * Service에서 throw new ResponseStatusException(HttpStatus.XXX, "...") 한 상태/메시지를 그대로 반환합니다.
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<String> handleResponseStatusException(ResponseStatusException e) {
+        return ResponseEntity.status(e.getStatusCode())
+                .body(e.getReason());
+    }
+    
+    /**
+     * 4. 그 외 알 수 없는 서버 에러 처리 (500 Internal Server Error)
      * 예상치 못한 에러가 발생했을 때 상세 내용은 숨기고 일반적인 메시지를 보냅니다.
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleException(Exception e) {
-        e.printStackTrace(); // 콘솔에 에러 스택 출력 (실무에서는 로그 파일로 남김)
+        log.error("처리되지 않은 예외", e);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body("서버 내부 오류가 발생했습니다. 관리자에게 문의하세요.");
     }
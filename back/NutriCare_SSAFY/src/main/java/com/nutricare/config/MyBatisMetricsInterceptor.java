@@ -0,0 +1,86 @@
+package com.nutricare.config;
+
+import java.util.Collection;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * MyBatis 매퍼 statement 단위 지연 시간 / 처리 행 수 측정.
+ * - mybatis.statement{statement=Dao.method, type=SELECT|INSERT|..., outcome}
+ * - mybatis.statement.rows{statement, type} : 조회 행 수 또는 변경 행 수
+ * Interceptor 빈은 mybatis-spring-boot 자동 설정이 SqlSessionFactory에 등록한다.
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "update",
+                args = { MappedStatement.class, Object.class }),
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class })
+})
+public class MyBatisMetricsInterceptor implements Interceptor {
+
+    private final MeterRegistry registry;
+
+    public MyBatisMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        String statement = ms.getId().substring(ms.getId().lastIndexOf('.', ms.getId().lastIndexOf('.') - 1) + 1);
+        String type = ms.getSqlCommandType().name();
+
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            Object result = invocation.proceed();
+            outcome = "success";
+            DistributionSummary.builder("mybatis.statement.rows")
+                    .description("statement별 조회/변경 행 수")
+                    .tag("statement", statement)
+                    .tag("type", type)
+                    .register(registry)
+                    .record(rowCount(result));
+            return result;
+        } finally {
+            Timer.builder("mybatis.statement")
+                    .description("매퍼 statement 실행 시간")
+                    .tag("statement", statement)
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static int rowCount(Object result) {
+        if (result instanceof Collection<?> c) return c.size();
+        if (result instanceof Integer n) return n;
+        return result == null ? 0 : 1;
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+        // 설정 없음
+    }
+}
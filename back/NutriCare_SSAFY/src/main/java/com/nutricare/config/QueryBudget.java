@@ -0,0 +1,18 @@
+package com.nutricare.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 메서드별 요청당 쿼리 예산.
+ * 지정하지 않으면 mybatis.query-guard.max-per-request 값을 사용한다.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface QueryBudget {
+    int value();
+}
@@ -0,0 +1,94 @@
+package com.nutricare.config;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.nutricare.util.QueryCounter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 요청 단위 쿼리 수 집계 (N+1 감지).
+ * - 요청마다 QueryCounter scope를 열고, 끝나면 엔드포인트별 쿼리 수 히스토그램(http.server.requests.queries)에 기록한다.
+ * - 쿼리 수가 예산(@QueryBudget 또는 max-per-request)을 넘으면 가장 많이 반복된 statement와 함께 WARN 로그.
+ * - strict=true(테스트 모드)면 예산 초과 시 예외를 던져 MockMvc 기반 통합 테스트가 실패하도록 한다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final MeterRegistry registry;
+    private final int maxPerRequest;
+    private final boolean strict;
+
+    public QueryCountFilter(MeterRegistry registry,
+                            @Value("${mybatis.query-guard.max-per-request:10}") int maxPerRequest,
+                            @Value("${mybatis.query-guard.strict:false}") boolean strict) {
+        this.registry = registry;
+        this.maxPerRequest = maxPerRequest;
+        this.strict = strict;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        QueryCounter.Scope scope = QueryCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+        }
+
+        // 매칭된 URL 패턴 기준으로 집계 (/api/boards/{boardId} 형태, 매칭 실패 시 UNKNOWN)
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("요청당 실행된 SQL statement 수")
+                .tag("uri", uri)
+                .tag("method", request.getMethod())
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(scope.getTotal());
+
+        int budget = budgetFor(request);
+        if (scope.getTotal() > budget) {
+            Map.Entry<String, Integer> top = scope.mostRepeated();
+            log.warn("쿼리 예산 초과 {} {}: {}회 (예산 {}), 최다 반복 {} x{}, 총 {} ms",
+                    request.getMethod(), uri, scope.getTotal(), budget,
+                    top.getKey(), top.getValue(), scope.getElapsedNanos() / 1_000_000);
+            if (strict) {
+                throw new IllegalStateException("쿼리 예산 초과 " + request.getMethod() + " " + uri
+                        + ": " + scope.getTotal() + " > " + budget + " " + scope.getCounts());
+            }
+        }
+    }
+
+    private int budgetFor(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod hm) {
+            QueryBudget budget = hm.getMethodAnnotation(QueryBudget.class);
+            if (budget == null) budget = hm.getBeanType().getAnnotation(QueryBudget.class);
+            if (budget != null) return budget.value();
+        }
+        return maxPerRequest;
+    }
+}
@@ -0,0 +1,108 @@
+package com.nutricare.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.nutricare.util.QueryCounter;
+
+/**
+ * 요청당 statement 수 집계 + 느린 쿼리 로그.
+ * - 실행된 statement를 QueryCounter의 현재 scope에 기록한다. (요청 단위 집계는 QueryCountFilter)
+ * - slow-query-ms 이상 걸린 statement는 SQL과 바인딩 파라미터를 함께 WARN으로 남긴다.
+ *   (password / token / hash 가 들어간 파라미터는 마스킹)
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "update",
+                args = { MappedStatement.class, Object.class }),
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class })
+})
+public class QueryGuardInterceptor implements Interceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryGuardInterceptor.class);
+
+    private final long slowQueryNanos;
+
+    public QueryGuardInterceptor(@Value("${mybatis.query-guard.slow-query-ms:200}") long slowQueryMs) {
+        this.slowQueryNanos = slowQueryMs * 1_000_000L;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+            QueryCounter.record(ms.getId(), elapsed);
+
+            if (elapsed >= slowQueryNanos && log.isWarnEnabled()) {
+                Object parameter = invocation.getArgs()[1];
+                BoundSql boundSql = invocation.getArgs().length == 6
+                        ? (BoundSql) invocation.getArgs()[5]
+                        : ms.getBoundSql(parameter);
+                log.warn("느린 쿼리 {} ({} ms) sql=[{}] params={}", ms.getId(), elapsed / 1_000_000,
+                        boundSql.getSql().replaceAll("\\s+", " ").trim(),
+                        boundParameters(ms.getConfiguration(), boundSql, parameter));
+            }
+        }
+    }
+
+    // MyBatis DefaultParameterHandler와 같은 방식으로 각 '?'에 바인딩되는 값을 꺼낸다
+    private static List<String> boundParameters(Configuration configuration, BoundSql boundSql, Object parameter) {
+        List<String> values = new ArrayList<>();
+        MetaObject meta = null;
+        for (ParameterMapping pm : boundSql.getParameterMappings()) {
+            if (pm.getMode() == ParameterMode.OUT) continue;
+            String property = pm.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameter == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                value = parameter;
+            } else {
+                if (meta == null) meta = configuration.newMetaObject(parameter);
+                value = meta.hasGetter(property) ? meta.getValue(property) : null;
+            }
+            values.add(property + "=" + (isSensitive(property) ? "****" : value));
+        }
+        return values;
+    }
+
+    private static boolean isSensitive(String property) {
+        String p = property.toLowerCase(Locale.ROOT);
+        return p.contains("password") || p.contains("token") || p.contains("hash") || p.contains("secret");
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+        // 설정 없음
+    }
+}
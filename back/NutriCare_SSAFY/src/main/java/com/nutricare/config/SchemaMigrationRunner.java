@@ -0,0 +1,222 @@
+package com.nutricare.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기동 시 버전별 스키마 마이그레이션 실행.
+ * - classpath:db/migration/V{버전}__{설명}.sql 을 버전 순서대로, 아직 적용되지 않은 것만 실행한다.
+ * - 적용 이력은 schema_version 테이블에 기록 (이미 적용된 스크립트 내용이 바뀌면 경고만 남긴다)
+ * - 이력 테이블 없이 기존 테이블(user)이 있는 DB
+ *   · res/sql.sql(= V1)로 만든 DB: V1을 적용된 것으로 기록하고 V2부터 실행한다.
+ *   · 마이그레이션 도입 이전(버전 0) DB: V1과의 차이를 db/legacy 의 ALTER 스크립트로 반영한 뒤 V2부터 실행한다.
+ * - SqlSessionFactory 생성 전에 실행되도록 의존 관계를 추가한다. (매퍼가 마이그레이션 전 스키마를 보지 않도록)
+ */
+@Component
+public class SchemaMigrationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrationRunner.class);
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final String HISTORY_TABLE = "schema_version";
+
+    record Migration(int version, String description, Resource resource, byte[] script, long checksum) {}
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbc;
+    private final boolean enabled;
+    private final String locations;
+    private final String legacyUpgrade;
+
+    public SchemaMigrationRunner(DataSource dataSource,
+                                 @Value("${schema.migration.enabled:true}") boolean enabled,
+                                 @Value("${schema.migration.locations:classpath:db/migration/*.sql}") String locations,
+                                 @Value("${schema.migration.legacy-upgrade:classpath:db/legacy/upgrade_to_v1.sql}") String legacyUpgrade) {
+        this.dataSource = dataSource;
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.enabled = enabled;
+        this.locations = locations;
+        this.legacyUpgrade = legacyUpgrade;
+        migrate();
+    }
+
+    // 매퍼(SqlSessionFactory)가 마이그레이션 이후에 만들어지도록 의존 관계 추가
+    @Component
+    static class MigrationOrdering implements BeanFactoryPostProcessor {
+        @Override
+        public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+            if (!beanFactory.containsBeanDefinition("sqlSessionFactory")) return;
+            BeanDefinition definition = beanFactory.getBeanDefinition("sqlSessionFactory");
+            List<String> dependsOn = new ArrayList<>();
+            if (definition.getDependsOn() != null) dependsOn.addAll(Arrays.asList(definition.getDependsOn()));
+            dependsOn.add("schemaMigrationRunner");
+            definition.setDependsOn(dependsOn.toArray(String[]::new));
+        }
+    }
+
+    private void migrate() {
+        if (!enabled) {
+            log.info("Schema migration disabled");
+            return;
+        }
+        List<Migration> migrations = load(locations);
+        if (migrations.isEmpty()) return;
+
+        ensureHistoryTable();
+        Map<Integer, Long> applied = appliedVersions();
+
+        if (applied.isEmpty() && tableExists("user")) {
+            Migration baseline = migrations.get(0);
+            if (baseline.version() != 1) {
+                throw new IllegalStateException("기준 스키마(V1) 마이그레이션이 없습니다");
+            }
+            if (!columnExists("refresh_token", "token_hash")) {
+                // 마이그레이션 도입 이전(버전 0) DB: V1 전체 생성 대신 차이만 ALTER 로 반영
+                execute(new PathMatchingResourcePatternResolver().getResource(legacyUpgrade), "legacy upgrade");
+                log.info("Pre-migration schema upgraded to version {}", baseline.version());
+            } else {
+                // res/sql.sql(= V1)로 만든 DB: V1은 실행하지 않고 적용된 것으로 기록
+                log.info("Existing schema baselined at version {}", baseline.version());
+            }
+            record(baseline, true);
+            applied.put(baseline.version(), baseline.checksum());
+        }
+
+        int count = 0;
+        for (Migration m : migrations) {
+            Long checksum = applied.get(m.version());
+            if (checksum != null) {
+                if (checksum != m.checksum()) {
+                    log.warn("Migration V{} ({}) changed after it was applied", m.version(), m.description());
+                }
+                continue;
+            }
+            long start = System.currentTimeMillis();
+            execute(new ByteArrayResource(m.script(), m.resource().getDescription()), "V" + m.version() + " " + m.description());
+            record(m, false);
+            count++;
+            log.info("Applied migration V{} ({}) in {}ms", m.version(), m.description(), System.currentTimeMillis() - start);
+        }
+        if (count == 0) {
+            log.info("Schema is up to date (version {})", migrations.get(migrations.size() - 1).version());
+        }
+    }
+
+    private void execute(Resource script, String name) {
+        try (Connection conn = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(conn, script);
+        } catch (SQLException e) {
+            throw new IllegalStateException("스키마 마이그레이션 실패: " + name, e);
+        }
+    }
+
+    // 파일명(V{버전}__{설명}.sql) 기준 버전 순 정렬, 중복 버전은 기동 실패
+    static List<Migration> load(String locations) {
+        List<Migration> migrations = new ArrayList<>();
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources(locations);
+            for (Resource resource : resources) {
+                Matcher m = FILE_NAME.matcher(resource.getFilename() == null ? "" : resource.getFilename());
+                if (!m.matches()) {
+                    log.warn("Ignoring migration file with unexpected name: {}", resource.getFilename());
+                    continue;
+                }
+                byte[] script;
+                try (InputStream in = resource.getInputStream()) {
+                    script = in.readAllBytes();
+                }
+                migrations.add(new Migration(Integer.parseInt(m.group(1)), m.group(2).replace('_', ' '),
+                        resource, script, checksum(script)));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("마이그레이션 스크립트를 읽지 못했습니다: " + locations, e);
+        }
+        migrations.sort(Comparator.comparingInt(Migration::version));
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version() == migrations.get(i - 1).version()) {
+                throw new IllegalStateException("중복된 마이그레이션 버전: V" + migrations.get(i).version());
+            }
+        }
+        return migrations;
+    }
+
+    static long checksum(byte[] script) {
+        CRC32 crc = new CRC32();
+        // 줄바꿈 방식(CRLF/LF) 차이로 체크섬이 달라지지 않도록 정규화
+        crc.update(new String(script, StandardCharsets.UTF_8).replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private void ensureHistoryTable() {
+        jdbc.execute("CREATE TABLE IF NOT EXISTS " + HISTORY_TABLE + " ("
+                + " version INT NOT NULL PRIMARY KEY,"
+                + " description VARCHAR(200) NOT NULL,"
+                + " checksum BIGINT NOT NULL,"
+                + " baseline TINYINT(1) NOT NULL DEFAULT 0,"
+                + " installed_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP"
+                + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4");
+    }
+
+    private Map<Integer, Long> appliedVersions() {
+        Map<Integer, Long> applied = new HashMap<>();
+        jdbc.query("SELECT version, checksum FROM " + HISTORY_TABLE,
+                rs -> { applied.put(rs.getInt(1), rs.getLong(2)); });
+        return applied;
+    }
+
+    private void record(Migration m, boolean baseline) {
+        jdbc.update("INSERT INTO " + HISTORY_TABLE + " (version, description, checksum, baseline) VALUES (?, ?, ?, ?)",
+                m.version(), m.description(), m.checksum(), baseline);
+    }
+
+    private boolean tableExists(String table) {
+        try (Connection conn = dataSource.getConnection()) {
+            DatabaseMetaData meta = conn.getMetaData();
+            try (ResultSet rs = meta.getTables(conn.getCatalog(), null, table, new String[] { "TABLE" })) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("스키마 정보를 읽지 못했습니다", e);
+        }
+    }
+
+    private boolean columnExists(String table, String column) {
+        try (Connection conn = dataSource.getConnection()) {
+            DatabaseMetaData meta = conn.getMetaData();
+            try (ResultSet rs = meta.getColumns(conn.getCatalog(), null, table, column)) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("스키마 정보를 읽지 못했습니다", e);
+        }
+    }
+}
@@ -51,6 +51,9 @@ public class SecurityConfig {
                 .requestMatchers("/images/**", "/css/**", "/js/**", "/favicon.ico").permitAll()
                 .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**").permitAll()
                 .requestMatchers("/api/voice/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                // 메트릭 수집(Prometheus)은 관리자 토큰(Authorization: Bearer)으로만 허용
+                .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/boards/**").permitAll()
                 // [관리자 전용] /admin 하위 모든 경로는 ADMIN 권한 필요 메서드
 //                .requestMatchers("/api/admin/**").hasRole("ADMIN")
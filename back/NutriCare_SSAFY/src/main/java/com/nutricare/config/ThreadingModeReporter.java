@@ -0,0 +1,52 @@
+package com.nutricare.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요청 처리 스레드 모드(platform / virtual) 확인.
+ * - spring.threads.virtual.enabled=true 이고 Java 21 이상에서 실행되면 Spring Boot가 Tomcat 요청 처리,
+ *   @Async/@Scheduled 실행기를 가상 스레드로 바꾼다. RestTemplate 외부 호출(FastAPI/LLM/STT/GCS)은 요청 스레드에서
+ *   실행되므로 함께 가상 스레드에서 블로킹된다.
+ * - Java 17에서는 설정이 무시되고 platform 모드(server.tomcat.threads.max)로 동작하므로 기동 시 경고한다.
+ * - 직접 만든 풀 중 I/O를 기다리는 풀(대시보드 DB 팬아웃, AI 배치 전송, STT 구간, 식단 개인화)은 같은 설정으로
+ *   WorkerThreads 가상 스레드 팩토리를 쓴다. 풀 크기/대기열은 그대로라 백프레셔 상한은 유지된다.
+ *   CPU 위주 풀(이미지 파생본, 비밀번호 해시)은 가상 스레드 이점이 없어 모드와 관계없이 platform 스레드를 유지한다.
+ * - 고정(pinning) 점검: 서비스 코드의 synchronized 구간(로그인 제한 버킷, 쿼리 카운터, 캐시 맵)은 I/O 없이 짧게 끝나고,
+ *   I/O를 기다리는 식단 스케줄러는 ReentrantLock을 쓴다. 가상 모드 전환 시 -Djdk.tracePinnedThreads=short로 확인한다.
+ */
+@Component
+public class ThreadingModeReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeReporter.class);
+
+    private final Environment environment;
+    private final boolean virtualRequested;
+    private final int tomcatMaxThreads;
+
+    public ThreadingModeReporter(Environment environment,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualRequested,
+                                 @Value("${server.tomcat.threads.max:200}") int tomcatMaxThreads) {
+        this.environment = environment;
+        this.virtualRequested = virtualRequested;
+        this.tomcatMaxThreads = tomcatMaxThreads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("요청 처리 스레드: virtual (Java {}), I/O 전용 풀도 가상 스레드 사용", Runtime.version().feature());
+        } else if (virtualRequested) {
+            log.warn("spring.threads.virtual.enabled=true 이지만 Java {}에서는 가상 스레드를 쓸 수 없어 platform 모드로 동작합니다. (Java 21 이상 필요, 최대 {}개 동시 요청)",
+                    Runtime.version().feature(), tomcatMaxThreads);
+        } else {
+            log.info("요청 처리 스레드: platform (최대 {}개 동시 요청)", tomcatMaxThreads);
+        }
+    }
+}
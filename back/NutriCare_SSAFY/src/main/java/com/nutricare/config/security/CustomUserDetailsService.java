@@ -5,22 +5,22 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
-import com.nutricare.model.dao.UserDao;
 import com.nutricare.model.dto.User;
+import com.nutricare.model.service.UserIdentityService;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private final UserDao userDao;
+    private final UserIdentityService userIdentityService;
 
-    public CustomUserDetailsService(UserDao userDao) {
-        this.userDao = userDao;
+    public CustomUserDetailsService(UserIdentityService userIdentityService) {
+        this.userIdentityService = userIdentityService;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        // 1. DB에서 이메일로 유저 조회
-        User user = userDao.findByEmail(email);
+        // 1. 이메일로 유저 조회 (캐시 우선, 없는 이메일도 잠시 캐시)
+        User user = userIdentityService.findByEmail(email);
         
         if (user == null) {
             throw new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + email);
@@ -11,6 +11,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import com.nutricare.model.dto.User;
 import com.nutricare.util.JwtUtil;
 
+import io.jsonwebtoken.Claims;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,9 +22,11 @@ import jakarta.servlet.http.HttpServletResponse;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 	private JwtUtil jwtUtil;
+	private TokenRevocationStore tokenRevocationStore;
 
-	public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+	public JwtAuthenticationFilter(JwtUtil jwtUtil, TokenRevocationStore tokenRevocationStore) {
 		this.jwtUtil = jwtUtil;
+		this.tokenRevocationStore = tokenRevocationStore;
 	}
 
 	@Override
@@ -37,11 +41,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 			token = authHeader.substring(7);
 
 			try {
-				Long userId = jwtUtil.getUserIdFromToken(token);
-				String email = jwtUtil.getEmailFromToken(token);
-				String role = jwtUtil.getRoleFromToken(token);
+				// 서명/만료 검증은 한 번만 하고 필요한 값을 모두 꺼낸다
+				Claims claims = jwtUtil.getClaims(token);
+				Long userId = Long.valueOf(claims.getSubject());
+				String email = (String) claims.get("email");
+				String role = (String) claims.get("role");
+
+				// 로그아웃 / 강제 로그아웃으로 폐기된 토큰은 인증하지 않음
+				long issuedAt = claims.getIssuedAt() == null ? 0L : claims.getIssuedAt().getTime();
+				boolean revoked = tokenRevocationStore.isRevoked(claims.getId(), userId, issuedAt);
 
-				if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+				if (!revoked && userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 					User userPrincipal = new User();
 					userPrincipal.setUserId(userId);
 					userPrincipal.setEmail(email);
@@ -0,0 +1,96 @@
+package com.nutricare.config.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로그인 시도 제한 (계정별 / IP별 토큰 버킷).
+ * - 시도 1회마다 토큰 1개 소모, 초당 refill 비율로 다시 채워진다.
+ * - 계정 버킷과 IP 버킷 중 하나라도 비어 있으면 거절한다.
+ * - 버킷 수가 max-keys를 넘으면 가득 찬(오래 쓰지 않은) 버킷부터 정리한다.
+ */
+@Component
+public class LoginAttemptThrottle {
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefillNanos = now;
+        }
+    }
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private final int accountCapacity;
+    private final double accountRefillPerSec;
+    private final int ipCapacity;
+    private final double ipRefillPerSec;
+    private final int maxKeys;
+
+    public LoginAttemptThrottle(@Value("${security.login.account-capacity:5}") int accountCapacity,
+                                @Value("${security.login.account-refill-per-minute:5}") double accountRefillPerMinute,
+                                @Value("${security.login.ip-capacity:20}") int ipCapacity,
+                                @Value("${security.login.ip-refill-per-minute:30}") double ipRefillPerMinute,
+                                @Value("${security.login.max-keys:100000}") int maxKeys) {
+        this.accountCapacity = accountCapacity;
+        this.accountRefillPerSec = accountRefillPerMinute / 60.0;
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerSec = ipRefillPerMinute / 60.0;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * 로그인 시도 가능 여부. 허용되면 계정/IP 버킷에서 토큰을 1개씩 소모한다.
+     */
+    public boolean tryAcquire(String email, String ip) {
+        long now = System.nanoTime();
+        if (buckets.size() > maxKeys) {
+            cleanup(now);
+        }
+
+        String accountKey = "acct:" + (email == null ? "" : email.trim().toLowerCase());
+        String ipKey = "ip:" + ip;
+
+        // IP 먼저 확인 - 계정 버킷이 한 IP의 무작위 대입으로 소진되지 않게
+        if (!take(ipKey, ipCapacity, ipRefillPerSec, now)) return false;
+        return take(accountKey, accountCapacity, accountRefillPerSec, now);
+    }
+
+    private boolean take(String key, int capacity, double refillPerSec, long now) {
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, now));
+        synchronized (bucket) {
+            refill(bucket, capacity, refillPerSec, now);
+            if (bucket.tokens < 1.0) return false;
+            bucket.tokens -= 1.0;
+            return true;
+        }
+    }
+
+    private void refill(Bucket bucket, int capacity, double refillPerSec, long now) {
+        double elapsedSec = (now - bucket.lastRefillNanos) / 1_000_000_000.0;
+        if (elapsedSec > 0) {
+            bucket.tokens = Math.min(capacity, bucket.tokens + elapsedSec * refillPerSec);
+            bucket.lastRefillNanos = now;
+        }
+    }
+
+    // 다시 가득 찼을 버킷은 새로 만든 것과 같으므로 제거해도 된다.
+    private void cleanup(long now) {
+        buckets.entrySet().removeIf(e -> {
+            boolean account = e.getKey().startsWith("acct:");
+            int capacity = account ? accountCapacity : ipCapacity;
+            double refillPerSec = account ? accountRefillPerSec : ipRefillPerSec;
+            Bucket bucket = e.getValue();
+            synchronized (bucket) {
+                refill(bucket, capacity, refillPerSec, now);
+                return bucket.tokens >= capacity;
+            }
+        });
+    }
+}
@@ -4,6 +4,8 @@ import com.nutricare.util.JwtUtil;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
@@ -14,6 +16,8 @@ import java.io.IOException;
 @Component
 public class OAuth2SuccessHandler implements AuthenticationSuccessHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(OAuth2SuccessHandler.class);
+
     private final JwtUtil jwtUtil; // 기존에 만들어둔 토큰 생성기
 
     public OAuth2SuccessHandler(JwtUtil jwtUtil) {
@@ -35,7 +39,7 @@ public class OAuth2SuccessHandler implements AuthenticationSuccessHandler {
         // Long(userId)을 받는지 확인하고 맞춰주세요. 보통 email로 많이 만듭니다.
         String accessToken = jwtUtil.generateAccessToken(userId, email, role);
 
-        System.out.println("토큰 발급 성공: " + accessToken);
+        log.debug("OAuth2 로그인 토큰 발급: userId={}", userId);
 
         // 3. 프론트엔드로 리다이렉트 (토큰을 URL 뒤에 붙여서 보냄)
         // 예: http://localhost:5173/oauth/callback?token=eyJhb...
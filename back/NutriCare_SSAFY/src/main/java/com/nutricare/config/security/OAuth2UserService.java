@@ -1,10 +1,11 @@
 package com.nutricare.config.security;
 
-import com.nutricare.model.dao.UserDao;
 import com.nutricare.model.dto.User;
+import com.nutricare.model.service.UserIdentityService;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 
@@ -14,10 +15,10 @@ import java.util.UUID;
 @Service
 public class OAuth2UserService extends DefaultOAuth2UserService {
 
-    private final UserDao userDao;
+    private final UserIdentityService userIdentityService;
 
-    public OAuth2UserService(UserDao userDao) {
-        this.userDao = userDao;
+    public OAuth2UserService(UserIdentityService userIdentityService) {
+        this.userIdentityService = userIdentityService;
     }
 
     @Override
@@ -31,24 +32,28 @@ public class OAuth2UserService extends DefaultOAuth2UserService {
         String email = oAuth2User.getAttribute("email");
         String name = oAuth2User.getAttribute("name");
 
-        // 3. DB 저장 또는 업데이트 로직
-        // 주의: MyBatis Dao에 findByEmail, insert, update 메서드가 있다고 가정
-        User userEntity = userDao.findByEmail(email); // 이메일로 기존 회원 확인
+        // 3. 기존 회원 확인 (provider + providerId, 같은 이메일의 일반 회원 순 - 모두 캐시 우선)
+        User userEntity = userIdentityService.findByProvider(provider, providerId);
+        if (userEntity == null) {
+            userEntity = userIdentityService.findByEmail(email);
+        }
+
+        if (userEntity == null) {
+            // 없으면 회원가입 - 조회 후 INSERT 대신 원자적 upsert (동시 최초 로그인 시 중복 생성 방지)
+            // 같은 이메일의 기존 회원이 있으면 그 회원으로 로그인된다.
+            User newUser = new User();
+            newUser.setEmail(email);
+            newUser.setName(name);
+            newUser.setPasswordHash(UUID.randomUUID().toString()); // 비밀번호는 랜덤 더미값
+            newUser.setProvider(provider);
+            newUser.setProviderId(providerId);
+            newUser.setRole("USER");
+            userEntity = userIdentityService.upsertOAuthUser(newUser);
+        }
 
         if (userEntity == null) {
-            // 없으면 회원가입
-            userEntity = new User();
-            userEntity.setEmail(email);
-            userEntity.setName(name);
-            userEntity.setPasswordHash(UUID.randomUUID().toString()); // 비밀번호는 랜덤 더미값
-            userEntity.setProvider(provider);
-            userEntity.setProviderId(providerId);
-            userEntity.setRole("USER");
-            userDao.insertUser(userEntity); // DB 저장
-        } else {
-            // 있으면 정보 업데이트 (선택사항)
-            // userEntity.setName(name);
-            // userDao.update(userEntity);
+            // 탈퇴한 회원의 이메일 등으로 활성 계정을 찾을 수 없는 경우
+            throw new OAuth2AuthenticationException(new OAuth2Error("user_not_found"), "사용할 수 없는 계정입니다: " + email);
         }
 
         // 4. 리턴 (SuccessHandler에서 쓸 수 있도록 속성 그대로 반환)
@@ -0,0 +1,357 @@
+package com.nutricare.config.security;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nutricare.util.JwtUtil;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Access Token 폐기 목록.
+ * - jti(UUID)를 long 2개로 저장하는 open addressing 해시 집합 (jti 문자열의 hex를 직접 읽어 객체 할당 없이 O(1) 조회)
+ * - 각 항목은 토큰 만료 시각까지만 유효하고, 주기적으로 만료 항목을 제거해 크기를 유지한다.
+ * - 강제 로그아웃은 회원별 "이 시각 이전 발급 토큰 거부" 기준점으로 처리한다.
+ * - 폐기 기록은 로컬 파일에 추가 기록(append)해 재기동 후에도 유지되고, 정리 시 파일을 다시 압축한다.
+ */
+@Component
+public class TokenRevocationStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationStore.class);
+
+    private static final byte RECORD_JTI = 'J';
+    private static final byte RECORD_USER = 'U';
+    private static final int MIN_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // jti 상/하위 64비트와 만료 시각(ms). expires == 0 은 빈 슬롯
+    private long[] hi;
+    private long[] lo;
+    private long[] expires;
+    private int occupied;
+    private volatile int liveCount;
+
+    // 회원별 강제 로그아웃 기준 시각(초) -> 기준 만료 시각(ms)
+    private final Map<Long, long[]> userCutoffs = new ConcurrentHashMap<>();
+
+    private final Path file;
+    private final long accessTtlMillis;
+    private DataOutputStream journal;
+
+    public TokenRevocationStore(@Value("${security.revocation.file:./data/revoked-tokens.bin}") String file,
+                                JwtUtil jwtUtil) {
+        this.file = file == null || file.isBlank() ? null : Paths.get(file);
+        this.accessTtlMillis = jwtUtil.getACCESS_EXPIRATION();
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * 토큰 폐기 여부. 필터에서 요청마다 호출된다.
+     */
+    public boolean isRevoked(String jti, Long userId, long issuedAtMillis) {
+        long now = System.currentTimeMillis();
+
+        if (userId != null && !userCutoffs.isEmpty()) {
+            long[] cutoff = userCutoffs.get(userId);
+            // 발급 시각은 초 단위라 같은 초에 발급된 토큰도 함께 거부한다
+            if (cutoff != null && cutoff[1] > now && issuedAtMillis / 1000 <= cutoff[0]) {
+                return true;
+            }
+        }
+
+        if (jti == null || liveCount == 0) return false;
+        if (!isUuid(jti)) return false;
+        long h = mostSignificantBits(jti);
+        long l = leastSignificantBits(jti);
+
+        lock.readLock().lock();
+        try {
+            int slot = find(h, l);
+            return slot >= 0 && expires[slot] > now;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 단일 Access Token 폐기 (로그아웃)
+    public void revoke(String jti, long expiresAtMillis) {
+        if (!isUuid(jti) || expiresAtMillis <= System.currentTimeMillis()) return;
+        long h = mostSignificantBits(jti);
+        long l = leastSignificantBits(jti);
+
+        lock.writeLock().lock();
+        try {
+            put(h, l, expiresAtMillis);
+            append(RECORD_JTI, h, l, expiresAtMillis);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 회원이 지금까지 발급받은 Access Token 전체 폐기 (강제 로그아웃)
+    public void revokeAllFor(Long userId) {
+        if (userId == null) return;
+        long now = System.currentTimeMillis();
+        long[] cutoff = { now / 1000, now + accessTtlMillis };
+        userCutoffs.put(userId, cutoff);
+
+        lock.writeLock().lock();
+        try {
+            append(RECORD_USER, userId, cutoff[0], cutoff[1]);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PostConstruct
+    public void load() {
+        if (file == null) return;
+        long now = System.currentTimeMillis();
+        if (Files.exists(file)) {
+            try (InputStream raw = Files.newInputStream(file);
+                 DataInputStream in = new DataInputStream(new BufferedInputStream(raw))) {
+                while (true) {
+                    byte type = in.readByte();
+                    long a = in.readLong();
+                    long b = in.readLong();
+                    long exp = in.readLong();
+                    if (exp <= now) continue;
+                    if (type == RECORD_JTI) {
+                        put(a, b, exp);
+                    } else if (type == RECORD_USER) {
+                        userCutoffs.merge(a, new long[] { b, exp }, (o, n) -> o[0] >= n[0] ? o : n);
+                    }
+                }
+            } catch (EOFException end) {
+                // 파일 끝 (마지막 레코드가 잘려 있어도 그 앞까지만 사용)
+            } catch (IOException e) {
+                log.warn("토큰 폐기 목록 파일을 읽지 못했습니다: {}", e.getMessage());
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            compactFile(now);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 만료된 항목 제거 후 테이블과 파일을 다시 만든다.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval-ms:60000}",
+               initialDelayString = "${security.revocation.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        userCutoffs.values().removeIf(c -> c[1] <= now);
+
+        lock.writeLock().lock();
+        try {
+            rehash(Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, liveCount(now)) * 4)), now);
+            compactFile(now);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            closeJournal();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int find(long h, long l) {
+        int mask = hi.length - 1;
+        int i = index(h, l, mask);
+        while (expires[i] != 0) {
+            if (hi[i] == h && lo[i] == l) return i;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void put(long h, long l, long exp) {
+        if ((occupied + 1) * 2 > hi.length) {
+            long now = System.currentTimeMillis();
+            int live = liveCount(now);
+            rehash(live * 4 > hi.length ? hi.length * 2 : hi.length, now);
+        }
+        int mask = hi.length - 1;
+        int i = index(h, l, mask);
+        while (expires[i] != 0) {
+            if (hi[i] == h && lo[i] == l) {
+                expires[i] = Math.max(expires[i], exp);
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        hi[i] = h;
+        lo[i] = l;
+        expires[i] = exp;
+        occupied++;
+        liveCount++;
+    }
+
+    // 만료 항목을 버리고 새 테이블로 옮긴다 (선형 탐사 체인을 끊지 않기 위해 삭제는 재구성으로만 처리)
+    private void rehash(int capacity, long now) {
+        long[] oldHi = hi, oldLo = lo, oldExp = expires;
+        allocate(capacity);
+        for (int i = 0; i < oldExp.length; i++) {
+            if (oldExp[i] > now) {
+                put(oldHi[i], oldLo[i], oldExp[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        hi = new long[capacity];
+        lo = new long[capacity];
+        expires = new long[capacity];
+        occupied = 0;
+        liveCount = 0;
+    }
+
+    private int liveCount(long now) {
+        int n = 0;
+        for (long exp : expires) {
+            if (exp > now) n++;
+        }
+        return n;
+    }
+
+    private static int index(long h, long l, int mask) {
+        long x = h ^ l;
+        x ^= (x >>> 33);
+        x *= 0xff51afd7ed558ccdL;
+        x ^= (x >>> 33);
+        return (int) x & mask;
+    }
+
+    // 발급 형식(UUID.toString, 8-4-4-4-12 hex)인지 검사. UUID 객체를 만들지 않는다
+    static boolean isUuid(String jti) {
+        if (jti == null || jti.length() != 36) return false;
+        for (int i = 0; i < 36; i++) {
+            char c = jti.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') return false;
+            } else if (hex(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // UUID.getMostSignificantBits 와 같은 값 (isUuid 검사 후 호출)
+    static long mostSignificantBits(String jti) {
+        return hexBits(jti, 0, 18);
+    }
+
+    // UUID.getLeastSignificantBits 와 같은 값 (isUuid 검사 후 호출)
+    static long leastSignificantBits(String jti) {
+        return hexBits(jti, 19, 36);
+    }
+
+    private static long hexBits(String s, int from, int to) {
+        long bits = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c != '-') bits = (bits << 4) | hex(c);
+        }
+        return bits;
+    }
+
+    // ASCII hex 숫자만 허용 (Character.digit 은 전각 숫자 등도 받아들인다)
+    private static int hex(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        return -1;
+    }
+
+    private void append(byte type, long a, long b, long exp) {
+        if (file == null) return;
+        try {
+            if (journal == null) {
+                Path parent = file.toAbsolutePath().getParent();
+                if (parent != null) Files.createDirectories(parent);
+                OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                journal = new DataOutputStream(new BufferedOutputStream(out));
+            }
+            journal.writeByte(type);
+            journal.writeLong(a);
+            journal.writeLong(b);
+            journal.writeLong(exp);
+            journal.flush();
+        } catch (IOException e) {
+            log.warn("토큰 폐기 기록을 파일에 쓰지 못했습니다: {}", e.getMessage());
+            closeJournal();
+        }
+    }
+
+    // 살아 있는 항목만 임시 파일에 쓰고 원자적으로 교체
+    private void compactFile(long now) {
+        if (file == null) return;
+        closeJournal();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                for (int i = 0; i < expires.length; i++) {
+                    if (expires[i] > now) {
+                        out.writeByte(RECORD_JTI);
+                        out.writeLong(hi[i]);
+                        out.writeLong(lo[i]);
+                        out.writeLong(expires[i]);
+                    }
+                }
+                for (Map.Entry<Long, long[]> e : userCutoffs.entrySet()) {
+                    out.writeByte(RECORD_USER);
+                    out.writeLong(e.getKey());
+                    out.writeLong(e.getValue()[0]);
+                    out.writeLong(e.getValue()[1]);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("토큰 폐기 목록 파일을 정리하지 못했습니다: {}", e.getMessage());
+        }
+    }
+
+    private void closeJournal() {
+        if (journal == null) return;
+        try {
+            journal.close();
+        } catch (IOException ignored) {
+            // 닫기 실패는 무시
+        } finally {
+            journal = null;
+        }
+    }
+}
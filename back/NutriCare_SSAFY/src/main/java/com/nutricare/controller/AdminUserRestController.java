@@ -1,18 +1,31 @@
 package com.nutricare.controller;
 
-import java.util.List;
+import java.io.IOException;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
-import com.nutricare.model.dto.User;
+import com.nutricare.model.dto.AdminUserFilter;
+import com.nutricare.model.dto.AdminUserPage;
+import com.nutricare.model.dto.DietQueueStatus;
+import com.nutricare.model.service.DietGenerationScheduler;
 import com.nutricare.model.service.UserService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 
 @Tag(name = "Admin API", description = "관리자 전용 API (전체 회원 관리)")
 @RestController
@@ -23,18 +36,85 @@ public class AdminUserRestController {
 	@Autowired
 	private UserService userService;
 
+	@Autowired
+	private DietGenerationScheduler dietGenerationScheduler;
+
 	
 	@Operation(
-	        summary = "전체 회원 조회",
+	        summary = "회원 목록 조회",
 	        description = """
-	                      전체 회원 리스트를 조회합니다.<br>
+	                      회원 목록을 user_id 순서로 페이지 단위 조회합니다. (비밀번호 해시 제외)<br>
+	                      다음 페이지는 응답의 nextCursor를 cursor로 넘깁니다. nextCursor가 null이면 마지막 페이지입니다.<br>
+	                      필터: provider(google, naver, ... / 일반 가입은 local), role, createdFrom ~ createdTo<br>
 	                      이 API는 관리자(Admin Role)만 접근할 수 있습니다.<br><br>
 	                      **Authorization: Bearer {JWT} 필수**  
 	                      JWT 내부 Claims.role 값이 'ADMIN' 이어야 접근 가능
 	                      """
 	    )
 	@GetMapping("/users")
-	public List<User> getAll() {
-		return userService.getAllUsers();
+	public AdminUserPage getAll(@RequestParam(required = false) Long cursor,
+	                            @RequestParam(defaultValue = "50") int size,
+	                            @RequestParam(required = false) String provider,
+	                            @RequestParam(required = false) String role,
+	                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+	                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+		AdminUserFilter filter = filter(provider, role, createdFrom, createdTo);
+		filter.setAfterId(cursor);
+		return userService.getUsers(filter, size);
+	}
+
+	@Operation(
+	        summary = "회원 내보내기",
+	        description = """
+	                      조건에 맞는 전체 회원을 NDJSON(한 줄에 JSON 하나) 또는 CSV로 내려받습니다. (비밀번호 해시 제외)<br>
+	                      DB 커서로 한 행씩 읽어 바로 응답에 쓰므로 회원 수와 관계없이 서버 메모리 사용량이 일정합니다.
+	                      """
+	    )
+	@GetMapping("/users/export")
+	public void export(@RequestParam(defaultValue = "ndjson") String format,
+	                   @RequestParam(required = false) String provider,
+	                   @RequestParam(required = false) String role,
+	                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+	                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+	                   HttpServletResponse response) throws IOException {
+		boolean csv = "csv".equalsIgnoreCase(format);
+		if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be ndjson or csv");
+		}
+		response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				"attachment; filename=\"users." + (csv ? "csv" : "ndjson") + "\"");
+		userService.exportUsers(filter(provider, role, createdFrom, createdTo), format, response.getOutputStream());
+	}
+
+	private static AdminUserFilter filter(String provider, String role, LocalDateTime createdFrom, LocalDateTime createdTo) {
+		AdminUserFilter filter = new AdminUserFilter();
+		filter.setProvider(provider == null || provider.isBlank() ? null : provider);
+		filter.setRole(role == null || role.isBlank() ? null : role);
+		filter.setCreatedFrom(createdFrom);
+		filter.setCreatedTo(createdTo);
+		return filter;
+	}
+
+	@Operation(
+	        summary = "회원 강제 로그아웃",
+	        description = """
+	                      해당 회원의 Refresh Token을 모두 삭제하고,<br>
+	                      이미 발급된 Access Token도 즉시 사용할 수 없도록 폐기합니다.
+	                      """
+	    )
+	@PostMapping("/users/{userId}/logout")
+	public ResponseEntity<String> forceLogout(@PathVariable Long userId) {
+		userService.forceLogout(userId);
+		return ResponseEntity.ok("강제 로그아웃 완료");
+	}
+
+	@Operation(
+	        summary = "식단 생성 대기열 현황",
+	        description = "LLM 동시 실행 한도, 실행 중/대기 중 요청 수와 회원별 실행 중/대기 요청 수를 조회합니다."
+	    )
+	@GetMapping("/diet-queue")
+	public DietQueueStatus getDietQueue() {
+		return dietGenerationScheduler.status();
 	}
 }
\ No newline at end of file
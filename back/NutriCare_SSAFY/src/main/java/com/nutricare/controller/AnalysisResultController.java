@@ -1,22 +1,31 @@
 package com.nutricare.controller;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.nutricare.config.security.CustomUserDetails;
 import com.nutricare.model.dto.AnalysisResult;
+import com.nutricare.model.dto.SkinTrend;
 import com.nutricare.model.dto.Photo;
 import com.nutricare.model.service.AiAnalysisApiService;
 import com.nutricare.model.service.AnalysisResultService;
 import com.nutricare.model.service.PhotoService;
+import com.nutricare.model.service.SkinTrendService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -26,10 +35,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "AnalysisResult API", description = "AI 사진 진단 결과 관리 API")
 public class AnalysisResultController {
 
+    private static final Logger log = LoggerFactory.getLogger(AnalysisResultController.class);
+
     private final AnalysisResultService analysisResultService;
+    private final SkinTrendService skinTrendService;
 
-    public AnalysisResultController(AnalysisResultService analysisResultService) {
+    public AnalysisResultController(AnalysisResultService analysisResultService, SkinTrendService skinTrendService) {
         this.analysisResultService = analysisResultService;
+        this.skinTrendService = skinTrendService;
     }
 
     // 1. 진단 결과 저장
@@ -45,7 +58,7 @@ public class AnalysisResultController {
             }
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("saveResult 처리 실패", e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
@@ -62,7 +75,7 @@ public class AnalysisResultController {
             }
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("getByPhotoId 처리 실패", e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
@@ -78,7 +91,28 @@ public class AnalysisResultController {
             }
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("getById 처리 실패", e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // 4. 내 피부 상태 추이 (일/주 단위 평균 + 이동 평균 + 추세)
+    @Operation(summary = "피부 상태 추이 조회",
+               description = "로그인한 사용자의 6개 확률 값을 일(DAY)/주(WEEK) 단위 평균, 이동 평균, 선형 추세로 반환합니다. "
+                       + "응답은 buckets와 같은 길이의 평행 배열입니다. 기본 범위: DAY 최근 90일, WEEK 최근 1년")
+    @GetMapping("/trend")
+    public ResponseEntity<?> getMyTrend(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                        @RequestParam(defaultValue = "DAY") String period,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                        @RequestParam(defaultValue = "7") int window) {
+        try {
+            SkinTrend trend = skinTrendService.getTrend(userDetails.getUser().getUserId(), period, from, to, window);
+            return new ResponseEntity<>(trend, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.error("getMyTrend 처리 실패", e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
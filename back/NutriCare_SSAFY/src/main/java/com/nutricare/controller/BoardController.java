@@ -2,6 +2,8 @@ package com.nutricare.controller;
 
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -28,6 +30,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "Board RESful API", description = "게시글 CRUD를 할 수 있는 REST API")
 public class BoardController {
 
+	private static final Logger log = LoggerFactory.getLogger(BoardController.class);
+
 	private final BoardService boardService;
 
 	@Autowired
@@ -46,7 +50,7 @@ public class BoardController {
 			}
 			return new ResponseEntity<List<Board>>(boardList, HttpStatus.NO_CONTENT);
 		} catch (Exception e) {
-			e.printStackTrace();
+			log.error("getList 처리 실패", e);
 			return new ResponseEntity<Void>(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
@@ -62,7 +66,7 @@ public class BoardController {
 			}
 			return new ResponseEntity<Void>(HttpStatus.NO_CONTENT);
 		} catch (Exception e) {
-			e.printStackTrace();
+			log.error("getBoard 처리 실패", e);
 			return new ResponseEntity<Void>(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
@@ -78,7 +82,7 @@ public class BoardController {
 			}
 			return new ResponseEntity<Void>(HttpStatus.NO_CONTENT);
 		} catch (Exception e) {
-			e.printStackTrace();
+			log.error("getMyBoard 처리 실패", e);
 			return new ResponseEntity<Void>(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
@@ -98,7 +102,7 @@ public class BoardController {
 			}
 			return new ResponseEntity<Void>(HttpStatus.BAD_REQUEST);
 		} catch (Exception e) {
-			e.printStackTrace(); 
+			log.error("write 처리 실패", e);
 			return new ResponseEntity<Void>(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
@@ -132,7 +136,7 @@ public class BoardController {
 			}
 			return new ResponseEntity<Void>(HttpStatus.BAD_REQUEST);
 		} catch (Exception e) {
-			e.printStackTrace();
+			log.error("delete 처리 실패", e);
 			return new ResponseEntity<Void>(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
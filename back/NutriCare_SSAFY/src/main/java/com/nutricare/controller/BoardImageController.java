@@ -6,6 +6,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -21,10 +23,13 @@ import com.google.cloud.storage.Storage;
 import com.nutricare.config.GcsProperties;
 import com.nutricare.model.dto.Board;
 import com.nutricare.model.dto.BoardImage;
+import com.nutricare.model.dto.ImageDerivatives;
 import com.nutricare.model.service.AiAnalysisApiService;
 import com.nutricare.model.service.AnalysisResultService;
 import com.nutricare.model.service.BoardService;
+import com.nutricare.model.service.ImageDerivativeService;
 import com.nutricare.model.service.PhotoService;
+import com.nutricare.util.OutboundMetrics;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -34,17 +39,25 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "File Upload API", description = "Google Cloud Storage 업로드 API")
 public class BoardImageController {
 
+    private static final Logger log = LoggerFactory.getLogger(BoardImageController.class);
+
     private final BoardService boardService;
     private final Storage storage;
+    private final OutboundMetrics outboundMetrics;
     private final GcsProperties gcsProps;
+    private final ImageDerivativeService imageDerivativeService;
 
     public BoardImageController(PhotoService photoService,
                           BoardService boardService,
                           Storage storage,
                           GcsProperties gcsProps,
                           AiAnalysisApiService aiAnalysisApiService,
-                          AnalysisResultService analysisResultService) {
+                          AnalysisResultService analysisResultService,
+                          OutboundMetrics outboundMetrics,
+                          ImageDerivativeService imageDerivativeService) {
         this.boardService = boardService;
+        this.imageDerivativeService = imageDerivativeService;
+        this.outboundMetrics = outboundMetrics;
         this.storage = storage;
         this.gcsProps = gcsProps;
     }
@@ -57,15 +70,26 @@ public class BoardImageController {
             if (boardId == null || files == null || files.isEmpty()) {
                 return ResponseEntity.badRequest().body("boardId and files are required");
             }
-            List<BoardImage> images = new ArrayList<>();
+            List<MultipartFile> uploads = new ArrayList<>();
+            List<String> objectNames = new ArrayList<>();
             List<String> urls = new ArrayList<>();
 
             for (MultipartFile f : files) {
                 if (f.isEmpty()) continue;
                 String objectName = buildObjectName(gcsProps.getPrefixBoard(), String.valueOf(boardId), f.getOriginalFilename());
-                String fileUrl = uploadToGcs(objectName, f);
-                images.add(new BoardImage(boardId, fileUrl));
-                urls.add(fileUrl);
+                urls.add(uploadToGcs(objectName, f));
+                uploads.add(f);
+                objectNames.add(objectName);
+            }
+
+            // 목록/상세용 축소본 - 전체를 한 번에 제출하고 요청당 한 번의 제한 시간만 기다린다 (실패하면 null -> 화면에서 원본 사용)
+            List<ImageDerivatives> derivatives = imageDerivativeService.create(uploads, objectNames, false);
+            List<BoardImage> images = new ArrayList<>();
+            for (int i = 0; i < uploads.size(); i++) {
+                BoardImage image = new BoardImage(boardId, urls.get(i));
+                image.setThumbnailUrl(derivatives.get(i).getThumbnailUrl());
+                image.setDisplayUrl(derivatives.get(i).getDisplayUrl());
+                images.add(image);
             }
 
             if (!images.isEmpty()) {
@@ -78,7 +102,7 @@ public class BoardImageController {
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(Map.of("boardId", boardId, "imageUrls", urls));
         } catch (IOException e) {
-            e.printStackTrace();
+            log.error("uploadBoardImage 처리 실패", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("File Upload Failed");
         }
     }
@@ -98,7 +122,8 @@ public class BoardImageController {
                 .setContentType(contentType)
                 .build();
 
-        storage.create(blobInfo, multipartFile.getBytes());
+        byte[] content = multipartFile.getBytes();
+        outboundMetrics.record("gcs", () -> storage.create(blobInfo, content));
 
         String baseUrl = (gcsProps.getBaseUrl() != null && !gcsProps.getBaseUrl().isBlank())
                 ? gcsProps.getBaseUrl()
@@ -1,5 +1,7 @@
 ﻿package com.nutricare.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -23,6 +25,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @RequestMapping("/api")
 @Tag(name = "Comment RESful API", description = "댓글 CRUD를 제공하는 REST API")
 public class CommentController {
+
+	private static final Logger log = LoggerFactory.getLogger(CommentController.class);
+
 	private final CommentService commentService;
 
 	public CommentController(CommentService commentService) {
@@ -36,7 +41,7 @@ public class CommentController {
 		try {
 			return ResponseEntity.ok(commentService.selectAll(boardId.intValue()));
 		} catch (Exception e) {
-			e.printStackTrace();
+			log.error("list 처리 실패", e);
 			return new ResponseEntity<Void>(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
@@ -55,7 +60,7 @@ public class CommentController {
 			}
 			return ResponseEntity.badRequest().body("comment writing failed");
 		} catch (Exception e) {
-			e.printStackTrace();
+			log.error("insert 처리 실패", e);
 			return ResponseEntity.internalServerError().body("server Error");
 		}
 	}
@@ -74,7 +79,7 @@ public class CommentController {
 			}
 			return ResponseEntity.badRequest().body("comment updating failed");
 		} catch (Exception e) {
-			e.printStackTrace();
+			log.error("update 처리 실패", e);
 			return ResponseEntity.internalServerError().body("serverError");
 		}
 	}
@@ -102,7 +107,7 @@ public class CommentController {
             }
             return ResponseEntity.badRequest().body("comment deleting failed");
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("delete 처리 실패", e);
             return ResponseEntity.internalServerError().body("server Error");
         }
     }
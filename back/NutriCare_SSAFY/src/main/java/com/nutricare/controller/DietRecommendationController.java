@@ -2,6 +2,8 @@ package com.nutricare.controller;
 
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -12,18 +14,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.nutricare.config.security.CustomUserDetails;
 import com.nutricare.model.dto.DietContext;
+import com.nutricare.model.dto.DietQueuePosition;
 import com.nutricare.model.dto.DietRecommendation;
 import com.nutricare.model.dto.DietResult;
 import com.nutricare.model.dto.HealthProfile;
 import com.nutricare.model.service.AnalysisResultService;
 import com.nutricare.model.service.CalorieCalculator;
 import com.nutricare.model.service.DietContextService;
-import com.nutricare.model.service.DietLlmService;
+import com.nutricare.model.service.DietGenerationScheduler;
+import com.nutricare.model.service.DietGenerationService;
 import com.nutricare.model.service.DietRuleEngine;
 import com.nutricare.model.service.DietRecommendationService;
 import com.nutricare.model.service.DietResultService;
@@ -39,6 +44,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "DietRecommendation API", description = "식단 추천 생성/조회 API")
 public class DietRecommendationController {
 
+    private static final Logger log = LoggerFactory.getLogger(DietRecommendationController.class);
+
     public static class CreateRequest {
         private Long photoId;
         private Long analysisId;
@@ -52,26 +59,29 @@ public class DietRecommendationController {
     }
 
     private final DietContextService dietContextService;
-    private final DietLlmService dietLlmService;
+    private final DietGenerationService dietGenerationService;
     private final DietRuleEngine dietRuleEngine;
     private final DietResultService dietResultService;
     private final DietRecommendationService dietRecommendationService;
     private final HealthProfileService healthProfileService;
+    private final DietGenerationScheduler dietGenerationScheduler;
 
     public DietRecommendationController(DietContextService dietContextService,
-                                        DietLlmService dietLlmService,
+                                        DietGenerationService dietGenerationService,
                                         DietRuleEngine dietRuleEngine,
                                         DietResultService dietResultService,
                                         DietRecommendationService dietRecommendationService,
                                         PhotoService photoService,
                                         AnalysisResultService analysisResultService,
-                                        HealthProfileService healthProfileService) {
+                                        HealthProfileService healthProfileService,
+                                        DietGenerationScheduler dietGenerationScheduler) {
         this.dietContextService = dietContextService;
-        this.dietLlmService = dietLlmService;
+        this.dietGenerationService = dietGenerationService;
         this.dietRuleEngine = dietRuleEngine;
         this.dietResultService = dietResultService;
         this.dietRecommendationService = dietRecommendationService;
         this.healthProfileService = healthProfileService;
+        this.dietGenerationScheduler = dietGenerationScheduler;
     }
 
     // ===========================
@@ -98,12 +108,23 @@ public class DietRecommendationController {
     //    - 컨텍스트 + (옵션) 칼로리 플랜을 FastAPI로 전달
     //    - 프롬프트/룰 구성은 Python 단 처리
     // ===========================
-    @Operation(summary = "AI 식단 추천 생성", description = "추천 기록(recId) 컨텍스트를 AI에 전달하고 응답을 diet_result에 저장합니다.")
+    @Operation(summary = "AI 식단 추천 생성", description = """
+            추천 기록(recId) 컨텍스트를 AI에 전달하고 응답을 diet_result에 저장합니다.<br>
+            LLM 호출은 회원별 공정 대기열을 거치며, 기다리는 동안 GET /queue/me 로 대기 순번을 확인할 수 있습니다.<br>
+            priority=batch는 재생성 등 백그라운드 요청용으로 화면 요청(interactive)보다 뒤에 처리됩니다.<br>
+            같은 조건(진단/목표/활동량/열량 구간)의 응답이 캐시에 있으면 LLM을 호출하지 않습니다. (batch 요청은 항상 새로 생성)<br>
+            캐시가 없으면 가장 가까운 검수 템플릿으로 먼저 응답하고(TEMPLATE), LLM 개인화 결과는 완료되는 대로 diet_result를 교체합니다.<br>
+            생성 상태는 diet_recommendation.gen_status(REQUESTED → GENERATING → [TEMPLATE →] GENERATED → PERSISTED)로 관리되며,
+            이전 요청에서 생성은 끝났지만 저장에 실패했다면 LLM을 다시 호출하지 않고 보관된 응답으로 저장합니다. (staged)<br>
+            같은 recId를 생성 중이면 409를 반환합니다.<br>
+            응답 헤더 X-Diet-Source: cache | template | llm | staged
+            """)
     @PreAuthorize("@dietSecurity.isRecOwner(#recId, principal)")
     @PostMapping("/{recId}")
     public ResponseEntity<?> generateDietResult(
             @Parameter(description = "추천 식단 기록 ID", required = true)
-            @PathVariable Long recId) {
+            @PathVariable Long recId,
+            @RequestParam(defaultValue = "interactive") String priority) {
 
         try {
             // 1) 컨텍스트 조회
@@ -119,23 +140,32 @@ public class DietRecommendationController {
                 plan = healthProfileService.calculateCaloriePlan(hp, ageYears, context.getGender());
             }
 
-            // 3) FastAPI/LLM 호출 (프롬프트 구성은 Python 단 처리)
+            // 3) 캐시 / 템플릿 / FastAPI·LLM 순서로 생성하고 diet_result에 저장 (프롬프트 구성은 Python 단 처리)
             DietRuleEngine.RuleText ruleText = dietRuleEngine.buildRules(context, plan);
-            String responseJson = dietLlmService.requestDietGeneration(context, plan, ruleText.toString());
-
-            // 4) 응답 JSON을 diet_result에 저장
-            dietResultService.saveDietResultsFromJson(recId, responseJson);
-            return ResponseEntity.ok(responseJson);
+            DietGenerationScheduler.Priority schedulePriority = "batch".equalsIgnoreCase(priority)
+                    ? DietGenerationScheduler.Priority.BATCH
+                    : DietGenerationScheduler.Priority.INTERACTIVE;
+            DietGenerationService.Generated generated =
+                    dietGenerationService.generate(recId, context, plan, ruleText, schedulePriority);
+            return ResponseEntity.ok()
+                    .header("X-Diet-Source", generated.source())
+                    .body(generated.json());
         } catch (ResponseStatusException rse) {
             throw rse;
         } catch (IllegalArgumentException iae) {
             return ResponseEntity.badRequest().body(iae.getMessage());
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("generateDietResult 처리 실패", e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    @Operation(summary = "식단 생성 대기 순번 조회", description = "내 식단 생성 요청 앞에 남은 대기 요청 수와 내 대기/실행 중 요청 수를 조회합니다.")
+    @GetMapping("/queue/me")
+    public DietQueuePosition getMyQueuePosition(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        return dietGenerationScheduler.position(userDetails.getUser().getUserId());
+    }
+
     // ===========================
     // 2. 추천 식단 목록 조회 (List)
     // ===========================
@@ -171,7 +201,7 @@ public class DietRecommendationController {
             }
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("getDetail 처리 실패", e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
@@ -199,7 +229,7 @@ public class DietRecommendationController {
             }
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("delete 처리 실패", e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
@@ -1,5 +1,7 @@
 package com.nutricare.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -21,6 +23,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "HealthProfile API", description = "사용자 건강 정보(키, 몸무게 등) 관리 API")
 public class HealthProfileController {
 
+    private static final Logger log = LoggerFactory.getLogger(HealthProfileController.class);
+
     private final HealthProfileService healthProfileService;
 
     public HealthProfileController(HealthProfileService healthProfileService) {
@@ -39,7 +43,7 @@ public class HealthProfileController {
             }
             return new ResponseEntity<>(HttpStatus.NO_CONTENT); // 정보 없음 (204)
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("getMyProfile 처리 실패", e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
@@ -60,7 +64,7 @@ public class HealthProfileController {
             }
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("saveProfile 처리 실패", e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
@@ -6,6 +6,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -24,10 +26,13 @@ import com.google.cloud.storage.Storage;
 import com.nutricare.config.GcsProperties;
 import com.nutricare.config.security.CustomUserDetails;
 import com.nutricare.model.dto.AnalysisResult;
+import com.nutricare.model.dto.ImageDerivatives;
 import com.nutricare.model.dto.Photo;
 import com.nutricare.model.service.AiAnalysisApiService;
 import com.nutricare.model.service.AnalysisResultService;
+import com.nutricare.model.service.ImageDerivativeService;
 import com.nutricare.model.service.PhotoService;
+import com.nutricare.util.OutboundMetrics;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -37,15 +42,22 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "Photo RESTful API", description = "사용자 얼굴 사진 CRD을 할수있는 REST API")
 public class UserPhotoController {
 
+	private static final Logger log = LoggerFactory.getLogger(UserPhotoController.class);
+
 	private final PhotoService photoService;
 	private final AiAnalysisApiService aiAnalysisApiService;
 	private final AnalysisResultService analysisResultService;
 	private final Storage storage; // 파일 업로드를 위해 추가
 	private final GcsProperties gcsProps;// 파일 업로드를 위해 추가
+	private final OutboundMetrics outboundMetrics;
+	private final ImageDerivativeService imageDerivativeService;
 
 	public UserPhotoController(PhotoService photoService, AiAnalysisApiService aiAnalysisApiService,
-			AnalysisResultService analysisResultService, Storage storage, GcsProperties gcsProps) {
+			AnalysisResultService analysisResultService, Storage storage, GcsProperties gcsProps,
+			OutboundMetrics outboundMetrics, ImageDerivativeService imageDerivativeService) {
 		this.photoService = photoService;
+		this.imageDerivativeService = imageDerivativeService;
+		this.outboundMetrics = outboundMetrics;
 		this.aiAnalysisApiService = aiAnalysisApiService;
 		this.analysisResultService = analysisResultService;
 		this.storage = storage;
@@ -62,7 +74,7 @@ public class UserPhotoController {
 			}
 			return new ResponseEntity<Void>(HttpStatus.NO_CONTENT);
 		} catch (Exception e) {
-			e.printStackTrace();
+			log.error("findById 처리 실패", e);
 			return new ResponseEntity<Void>(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
@@ -77,7 +89,7 @@ public class UserPhotoController {
 			}
 			return new ResponseEntity<Void>(HttpStatus.NO_CONTENT);
 		} catch (Exception e) {
-			e.printStackTrace();
+			log.error("findListByUserId 처리 실패", e);
 			return new ResponseEntity<Void>(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
@@ -93,7 +105,7 @@ public class UserPhotoController {
 			}
 			return new ResponseEntity<Void>(HttpStatus.NO_CONTENT);
 		} catch (Exception e) {
-			e.printStackTrace();
+			log.error("findMyPhotos 처리 실패", e);
 			return new ResponseEntity<Void>(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
@@ -117,28 +129,28 @@ public class UserPhotoController {
             Long analysisId = null;
             // 2. Photo 메타데이터 DB 저장
             Photo photo = new Photo(userId, fileUrl);
+            ImageDerivatives derivatives = imageDerivativeService.create(file, objectName, true);
+            photo.setThumbnailUrl(derivatives.getThumbnailUrl());
+            photo.setDisplayUrl(derivatives.getDisplayUrl());
+            photo.setModelUrl(derivatives.getModelUrl());
             photoService.insert(photo);
 
             // 3. AI 분석 요청 및 결과 저장
             AnalysisResult analysisResult = null;
             String diagnosis = null;
             try {
-            	analysisResult = aiAnalysisApiService.requestAnalysis(photo.getPhotoId(), fileUrl);
+            	// AI 서버에는 정규화된 모델 입력 이미지 전달 (생성 실패 시 원본)
+            	String modelUrl = photo.getModelUrl() != null ? photo.getModelUrl() : fileUrl;
+            	analysisResult = aiAnalysisApiService.requestAnalysis(photo.getPhotoId(), modelUrl);
                 if (analysisResult != null) {
-                    System.out.println("저장할 데이터 확인: " + analysisResult); 
-                    System.out.println("건선 확률(probGunsun): " + analysisResult.getProbGunsun());
-                    System.out.println("여드름 확률(probGunsun): " + analysisResult.getProbAcne());
-                    System.out.println("아토피 확률(probGunsun): " + analysisResult.getProbAtopy());
-                    System.out.println("정상 확률(probGunsun): " + analysisResult.getProbNormal());
-                    System.out.println("주사 확률(probGunsun): " + analysisResult.getProbRosacea());
-                    System.out.println("지루 확률(probGunsun): " + analysisResult.getProbSeborr());
+                    log.debug("AI 분석 결과 저장: photoId={}, diagnosis={}", photo.getPhotoId(), analysisResult.getDiagnosisName());
                     analysisResultService.save(analysisResult);
                     analysisId = analysisResult.getAnalysisId();
                     diagnosis = analysisResult.getDiagnosisName();
                 }
             } catch (Exception e) {
                 // AI 분석 실패는 로그만 남기고, 사진 등록은 성공으로 처리 (정책에 따라 변경 가능)
-                e.printStackTrace(); 
+                log.error("AI 분석 실패 (사진 등록은 성공): photoId={}", photo.getPhotoId(), e);
             }
 
             // 4. 응답 반환
@@ -146,13 +158,14 @@ public class UserPhotoController {
             response.put("analysisId", analysisId);
             response.put("photoId", photo.getPhotoId());
             response.put("fileUrl", fileUrl);
+            response.put("thumbnailUrl", photo.getThumbnailUrl());
             response.put("diagnosis", diagnosis);
             response.put("result", analysisResult);
 
             return new ResponseEntity<>(response, HttpStatus.CREATED);
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("createPhoto 처리 실패", e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
@@ -169,7 +182,8 @@ public class UserPhotoController {
 		BlobId blobId = BlobId.of(bucket, objectName);
 		BlobInfo blobInfo = BlobInfo.newBuilder(blobId).setContentType(contentType).build();
 
-		storage.create(blobInfo, multipartFile.getBytes());
+		byte[] content = multipartFile.getBytes();
+		outboundMetrics.record("gcs", () -> storage.create(blobInfo, content));
 
 		String baseUrl = (gcsProps.getBaseUrl() != null && !gcsProps.getBaseUrl().isBlank()) ? gcsProps.getBaseUrl()
 				: "https://storage.googleapis.com";
@@ -1,5 +1,7 @@
 package com.nutricare.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -9,37 +11,54 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.nutricare.config.security.CustomUserDetails;
+import com.nutricare.config.security.LoginAttemptThrottle;
+import com.nutricare.model.dto.DashboardResponse;
 import com.nutricare.model.dto.HealthProfile;
 import com.nutricare.model.dto.LoginResponse;
 import com.nutricare.model.dto.PasswordUpdateRequest;
 import com.nutricare.model.dto.User;
 import com.nutricare.model.dto.UserDetailResponse;
+import com.nutricare.model.service.DashboardService;
 import com.nutricare.model.service.HealthProfileService;
+import com.nutricare.model.service.RefreshTokenService;
 import com.nutricare.model.service.UserService;
 import com.nutricare.util.JwtUtil;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 
 @Tag(name = "User API", description = "회원 관련 API (회원가입, 로그인, 내 정보 관리)")	
 @RestController
 @RequestMapping("/api/users")
 public class UserRestController {
 
+    private static final Logger log = LoggerFactory.getLogger(UserRestController.class);
+
     private final UserService userService;
     private final HealthProfileService healthProfileService;
     private final JwtUtil jwtUtil;
+    private final LoginAttemptThrottle loginAttemptThrottle;
+    private final RefreshTokenService refreshTokenService;
+    private final DashboardService dashboardService;
     
     // 의존성 주입
-    public UserRestController(UserService userService, HealthProfileService healthProfileService, JwtUtil jwtUtil) {
+    public UserRestController(UserService userService, HealthProfileService healthProfileService, JwtUtil jwtUtil,
+                              LoginAttemptThrottle loginAttemptThrottle, RefreshTokenService refreshTokenService,
+                              DashboardService dashboardService) {
         this.userService = userService;
         this.healthProfileService = healthProfileService;
         this.jwtUtil = jwtUtil;
+        this.loginAttemptThrottle = loginAttemptThrottle;
+        this.refreshTokenService = refreshTokenService;
+        this.dashboardService = dashboardService;
     }
 
     
@@ -60,38 +79,36 @@ public class UserRestController {
                         + "발급된 JWT는 Authorization 헤더에 Bearer {token} 형태로 포함하여 요청해야 합니다."
     )
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestParam String email, @RequestParam String password) {
+    public ResponseEntity<?> login(@RequestParam String email, @RequestParam String password,
+                                   HttpServletRequest request) {
+        // 0. 계정별/IP별 로그인 시도 제한 (BCrypt 검증 전에 차단)
+        //    remoteAddr은 신뢰 프록시의 X-Forwarded-For가 반영된 클라이언트 주소 (server.forward-headers-strategy=native)
+        if (!loginAttemptThrottle.tryAcquire(email, request.getRemoteAddr())) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
         User user = userService.login(email, password);
         if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인 실패");
 
-        // 1. 토큰 생성
+        // 1. 토큰 생성 (Refresh Token은 해시로만 저장)
         String accessToken = jwtUtil.generateAccessToken(user.getUserId(), user.getEmail(), user.getRole());
-        String refreshToken = jwtUtil.generateRefreshToken(user.getUserId());
-
-        // 2. DB에 Refresh Token 저장 (UserService 호출)
-        // REFRESH_EXPIRATION 값은 JwtUtil에 정의된 값을 가져오거나 별도로 관리
-        userService.saveRefreshToken(user.getUserId(), refreshToken, jwtUtil.getREFRESH_EXPIRATION()); 
+        String refreshToken = refreshTokenService.issue(user.getUserId());
 
         return ResponseEntity.ok(new LoginResponse(accessToken, refreshToken, user.getUserId()));
     }
     
+    @Operation(
+            summary = "토큰 재발급",
+            description = "Refresh Token을 1회 사용하고 새 Access Token과 Refresh Token을 함께 발급합니다.<br>"
+                        + "이미 사용된 Refresh Token을 다시 보내면 해당 로그인 세션 전체가 폐기됩니다."
+    )
     @PostMapping("/refresh")
     public ResponseEntity<?> refresh(@RequestParam String refreshToken) {
-    	if (jwtUtil.validateToken(refreshToken)) {
-    		Long userId = jwtUtil.getUserIdFromToken(refreshToken);
-    		
-    		if (!userService.isValidRefreshToken(userId, refreshToken)) {
-    			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("이미 로그아웃되었거나 유효하지 않은 토큰입니다.");
-    		}
-    		
-    		User user = userService.getUserById(userId);
-    		
-    		if (user != null) {
-    			String newAccessToken = jwtUtil.generateAccessToken(user.getUserId(), user.getEmail(), user.getRole());
-    			return ResponseEntity.ok(newAccessToken);
-    		}
-    	}
-    	return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("유효하지 않은 Refresh Token입니다.");
+        try {
+            return ResponseEntity.ok(refreshTokenService.rotate(refreshToken));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+        }
     }
 
  // 3) 내 정보 조회 
@@ -107,7 +124,21 @@ public class UserRestController {
             
             return new ResponseEntity<>(response, HttpStatus.OK);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("getMyInfo 처리 실패", e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // 3-1) 마이페이지 대시보드 (내 정보 + 사진/분석/식단 추천 + 내 게시글)
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @Operation(summary = "마이페이지 대시보드", description = "회원 정보, 건강 프로필, 사진별 최신 분석 결과와 식단 추천, 내 게시글을 한 번에 반환합니다.")
+    @GetMapping("/me/dashboard")
+    public ResponseEntity<?> getMyDashboard(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        try {
+            DashboardResponse response = dashboardService.getDashboard(userDetails.getUser().getUserId());
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (Exception e) {
+            log.error("getMyDashboard 처리 실패", e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
@@ -137,7 +168,7 @@ public class UserRestController {
             return ResponseEntity.ok("정보 수정 성공");
             
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("updateMyInfo 처리 실패", e);
             return ResponseEntity.badRequest().body("정보 수정 실패");
         }
     }
@@ -178,14 +209,16 @@ public class UserRestController {
     // 6) 로그아웃
     @Operation(
             summary = "로그아웃",
-            description = "JWT 기반 인증 시스템에서는 서버 로그아웃 처리가 없습니다.<br>"
-                        + "프론트엔드에서 토큰 삭제 방식으로 처리합니다."
+            description = "서버에 저장된 Refresh Token을 모두 폐기하고,<br>"
+                        + "현재 Access Token도 만료 시각까지 사용할 수 없도록 폐기 목록에 등록합니다."
     )
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(@AuthenticationPrincipal CustomUserDetails userDetails) {
+    public ResponseEntity<?> logout(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                    @RequestHeader(value = "Authorization", required = false) String authHeader) {
         if (userDetails != null) {
             Long userId = userDetails.getUser().getUserId();
-            userService.logout(userId); // DB에서 리프레시 토큰 삭제
+            String accessToken = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+            userService.logout(userId, accessToken); // 리프레시 토큰 삭제 + 현재 Access Token 폐기
             return ResponseEntity.ok("로그아웃 성공");
         }
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("인증된 사용자가 아닙니다.");
@@ -1,32 +1,39 @@
 package com.nutricare.controller;
 
-import com.nutricare.model.service.VoiceService;
+import com.nutricare.config.security.CustomUserDetails;
+import com.nutricare.model.dto.VoiceIntent;
+import com.nutricare.model.service.VoiceCommandService;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.Map;
-
 @RestController
 @RequestMapping("/api/voice")
 public class VoiceController {
 
-    private final VoiceService voiceService;
+    private static final Logger log = LoggerFactory.getLogger(VoiceController.class);
+
+    private final VoiceCommandService voiceCommandService;
 
-    public VoiceController(VoiceService voiceService) {
-        this.voiceService = voiceService;
+    public VoiceController(VoiceCommandService voiceCommandService) {
+        this.voiceCommandService = voiceCommandService;
     }
 
     @PostMapping(value = "/command", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<?> handleVoiceCommand(@RequestParam("file") MultipartFile file) {
-        // 1. 서비스 호출 (파일 -> 텍스트)
-        String commandText = voiceService.transcribe(file);
+    public ResponseEntity<?> handleVoiceCommand(@RequestParam("file") MultipartFile file,
+                                                @AuthenticationPrincipal CustomUserDetails userDetails) {
+        // 1. 서비스 호출 (파일 -> 텍스트 -> 명령 의도), 키워드 인식 템플릿은 로그인 사용자별로만 쌓는다
+        Long userId = userDetails != null ? userDetails.getUser().getUserId() : null;
+        VoiceIntent intent = voiceCommandService.handle(file, userId);
         
-        System.out.println("인식된 음성 명령: " + commandText);
+        log.debug("인식된 음성 명령: {} -> {}", intent.getText(), intent.getType());
 
-        // 2. 결과 반환 (프론트엔드에서 이 텍스트를 보고 페이지 이동 등을 처리)
-        return ResponseEntity.ok(Map.of("text", commandText));
+        // 2. 결과 반환 (text는 기존과 동일, type/target으로 프론트에서 바로 페이지 이동 등을 처리)
+        return ResponseEntity.ok(intent);
     }
 }
\ No newline at end of file
@@ -1,5 +1,9 @@
 package com.nutricare.model.dao;
 
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+
 import com.nutricare.model.dto.AnalysisResult;
 
 public interface AnalysisResultDao {
@@ -7,9 +11,15 @@ public interface AnalysisResultDao {
     // 1. 분석 결과 저장
     int insert(AnalysisResult analysisResult);
 
-    // 2. 사진 ID로 분석 결과 조회 (사진 1장당 결과 1개라고 가정)
+    // 1-1. 사진의 최신 분석 결과 포인터(photo.latest_analysis_id) 갱신
+    int markLatest(@Param("analysisId") Long analysisId, @Param("photoId") Long photoId);
+
+    // 2. 사진의 최신 분석 결과 조회 (photo.latest_analysis_id 포인터 기준)
     AnalysisResult selectByPhotoId(Long photoId);
 
+    // 2-1. 여러 사진의 최신 분석 결과를 IN 조회 한 번으로 (photoIds는 비어 있지 않아야 함)
+    List<AnalysisResult> selectByPhotoIds(@Param("photoIds") List<Long> photoIds);
+
     // 3. 분석 ID로 단건 조회
     AnalysisResult selectById(Long analysisId);
     
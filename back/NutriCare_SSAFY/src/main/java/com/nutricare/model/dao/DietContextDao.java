@@ -1,8 +1,13 @@
 package com.nutricare.model.dao;
 
+import java.util.List;
+
 import com.nutricare.model.dto.DietContext;
 
 public interface DietContextDao {
 
     DietContext findDietContextByRecId(Long recId);
+
+    // 템플릿 빌드용: 저장 완료(PERSISTED)된 진단 기반 추천, 최신순
+    List<DietContext> findPersistedContexts(int limit);
 }
@@ -0,0 +1,14 @@
+package com.nutricare.model.dao;
+
+import com.nutricare.model.dto.DietGenerationOutput;
+
+public interface DietGenerationOutputDao {
+
+    // 원본 응답 보관 (같은 rec_id면 덮어씀)
+    int upsert(DietGenerationOutput output);
+
+    DietGenerationOutput selectByRecId(Long recId);
+
+    // diet_result 저장 완료 후 삭제
+    int deleteByRecId(Long recId);
+}
@@ -1,5 +1,10 @@
 package com.nutricare.model.dao;
 
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+
+import com.nutricare.model.dto.DietGenerationStatus;
 import com.nutricare.model.dto.DietRecommendation;
 
 public interface DietRecommendationDao {
@@ -7,8 +12,53 @@ public interface DietRecommendationDao {
     // diet_recommendation 신규 생성
     int insert(DietRecommendation rec);
 
+    /**
+     * 사진의 최신 분석 결과 + 소유자의 건강 프로필로 한 번에 생성 (INSERT ... SELECT).
+     * admin이 아니면 사진 소유자(userId)일 때만 삽입된다. 반환값 0 = 대상 없음 또는 권한 없음.
+     */
+    int insertFromPhoto(@Param("rec") DietRecommendation rec, @Param("photoId") Long photoId,
+                        @Param("userId") Long userId, @Param("admin") boolean admin);
+
+    // 분석 결과 기준 단일 문장 생성 (소유자 조건 포함)
+    int insertFromAnalysis(@Param("rec") DietRecommendation rec, @Param("analysisId") Long analysisId,
+                           @Param("userId") Long userId, @Param("admin") boolean admin);
+
+    // 분석 결과의 최신 추천 포인터(analysis_result.latest_rec_id) 갱신
+    int markLatest(Long recId);
+
     // rec_id로 단건 조회.
     DietRecommendation selectById(Long recId);
-    
+
+    // 분석 결과의 최신 추천 조회 (analysis_result.latest_rec_id 포인터 기준)
     DietRecommendation selectByAnalysisId(Long analysisId);
+
+    // 여러 분석 결과의 최신 추천을 IN 조회 한 번으로 (analysisIds는 비어 있지 않아야 함)
+    List<DietRecommendation> selectByAnalysisIds(@Param("analysisIds") List<Long> analysisIds);
+
+    /**
+     * 생성 선점: REQUESTED/TEMPLATE/PERSISTED/FAILED -> GENERATING.
+     * 이미 GENERATING이어도 staleSeconds 이상 갱신이 없으면 중단된 생성으로 보고 다시 선점한다. 반환값 0 = 다른 요청이 생성 중.
+     */
+    int claimGeneration(@Param("recId") Long recId, @Param("staleSeconds") int staleSeconds);
+
+    // 저장 대기(GENERATED) 행의 저장 재시도 선점 (staleSeconds 이상 갱신이 없을 때만, 시도 횟수 증가)
+    int claimPersist(@Param("recId") Long recId, @Param("staleSeconds") int staleSeconds);
+
+    // 템플릿(TEMPLATE) 행의 개인화 재시도 선점 (staleSeconds 이상 갱신이 없을 때만, 시도 횟수 증가)
+    int claimUpgrade(@Param("recId") Long recId, @Param("staleSeconds") int staleSeconds);
+
+    // 상태 전이 (현재 상태가 from일 때만 반영)
+    int updateGenStatus(@Param("recId") Long recId,
+                        @Param("from") DietGenerationStatus from, @Param("to") DietGenerationStatus to);
+
+    // 중단된 생성: GENERATING/GENERATED/TEMPLATE 상태로 staleSeconds 이상 갱신이 없고 시도 횟수가 남은 행
+    List<DietRecommendation> selectStaleGenerations(@Param("staleSeconds") int staleSeconds,
+                                                    @Param("maxAttempts") int maxAttempts,
+                                                    @Param("limit") int limit);
+
+    // 스위퍼가 처리하거나 정리할 행이 있는지
+    boolean existsStaleGeneration(@Param("staleSeconds") int staleSeconds, @Param("maxAttempts") int maxAttempts);
+
+    // 시도 횟수를 소진한 중단 생성을 FAILED로 (TEMPLATE 행은 템플릿 결과가 있으므로 그대로 둔다)
+    int failExhaustedGenerations(@Param("staleSeconds") int staleSeconds, @Param("maxAttempts") int maxAttempts);
 }
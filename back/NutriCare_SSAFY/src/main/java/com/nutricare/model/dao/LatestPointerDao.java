@@ -0,0 +1,23 @@
+package com.nutricare.model.dao;
+
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 최신 행 포인터(photo.latest_analysis_id, analysis_result.latest_rec_id) 백필용.
+ * 범위는 (fromId, toId] 이며, 이미 최신 값을 가리키는 행은 건드리지 않는다.
+ */
+public interface LatestPointerDao {
+
+    long maxPhotoId();
+
+    int backfillPhotos(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    long maxAnalysisId();
+
+    int backfillAnalyses(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // data_backfill 완료 기록
+    boolean isBackfillDone(@Param("name") String name);
+
+    int markBackfillDone(@Param("name") String name);
+}
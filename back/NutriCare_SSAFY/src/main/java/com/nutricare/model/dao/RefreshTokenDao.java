@@ -2,18 +2,28 @@ package com.nutricare.model.dao;
 
 import com.nutricare.model.dto.RefreshToken;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 @Mapper
 public interface RefreshTokenDao {
-    // 토큰 저장 (로그인 시)
+    // 토큰 저장 (로그인 / 재발급 시)
     int insertToken(RefreshToken token);
 
-    // 사용자 ID로 토큰 조회 (재발급 시 검증용)
-    RefreshToken findByUserId(Long userId);
+    // 토큰 해시로 조회 (재발급 시 검증용, uk_refresh_token_hash)
+    RefreshToken findByTokenHash(String tokenHash);
 
-    // 기존 토큰 업데이트 (중복 로그인 처리 등)
-    int updateToken(RefreshToken token);
+    // 재발급에 사용 처리 (아직 사용 전인 경우에만 1 반환 -> 동시 재사용 방지)
+    int markUsed(String tokenHash);
 
-    // 토큰 삭제 (로그아웃 시)
+    // 토큰 계열 전체 폐기 (재사용 탐지 시)
+    int deleteByFamilyId(String familyId);
+
+    // 토큰 삭제 (로그아웃 / 재로그인 시)
     int deleteByUserId(Long userId);
-}
\ No newline at end of file
+
+    // 만료 토큰 배치 삭제 (스위퍼)
+    int deleteExpired(@Param("limit") int limit);
+
+    // 재사용 탐지 기간(seconds)이 지난 사용 토큰 배치 삭제 (스위퍼)
+    int deleteUsedBefore(@Param("seconds") long seconds, @Param("limit") int limit);
+}
@@ -0,0 +1,21 @@
+package com.nutricare.model.dao;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+
+import com.nutricare.model.dto.SkinTrendRollup;
+
+public interface SkinTrendDao {
+
+    // 분석 결과 1건을 해당 회원의 일/주 집계에 더한다
+    int addAnalysis(Long analysisId);
+
+    // 사진 삭제 전 그 사진의 분석 결과를 일/주 집계에서 뺀다
+    int subtractPhoto(Long photoId);
+
+    // 회원의 [from, to] 구간 집계 (bucket_start 오름차순, 건수 0인 구간 제외)
+    List<SkinTrendRollup> selectRange(@Param("userId") Long userId, @Param("period") String period,
+                                      @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
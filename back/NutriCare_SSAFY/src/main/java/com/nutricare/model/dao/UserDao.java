@@ -1,17 +1,25 @@
 package com.nutricare.model.dao;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import com.nutricare.model.dto.AdminUserFilter;
+import com.nutricare.model.dto.AdminUserItem;
 import com.nutricare.model.dto.User;
+import com.nutricare.model.dto.UserSummary;
 
 public interface UserDao {
     // 1) 유저 정보 등록 (POST /user)
     int insertUser(User user);
 
-    // 2) 유저 전체 조회 (GET /admin/user)
-    List<User> findAllUsers();
+    // 2) 관리자 회원 목록 - keyset 페이지 (password_hash 제외)
+    List<AdminUserItem> selectAdminUsers(@Param("filter") AdminUserFilter filter, @Param("limit") int limit);
+
+    // 2 - 1) 관리자 회원 내보내기 - 드라이버 스트리밍 커서 (열린 트랜잭션 안에서 순회해야 함)
+    Cursor<AdminUserItem> streamAdminUsers(@Param("filter") AdminUserFilter filter);
 
     // 3) 유저 상세 조회 (GET /user/me)
     User findUserById(Long userId);
@@ -27,4 +35,13 @@ public interface UserDao {
 
     // 6) 로그인 (POST /user/login)
     User findByEmail(String email);
+
+    // 6 - 1) OAuth 로그인 (provider + provider_id로 조회)
+    User findByProvider(@Param("provider") String provider, @Param("providerId") String providerId);
+
+    // 6 - 2) OAuth 최초 로그인 (이미 있으면 아무 것도 바꾸지 않는 원자적 upsert)
+    int upsertOAuthUser(User user);
+
+    // 7) 작성자 표시용 요약 정보 일괄 조회 (게시글/댓글 목록)
+    List<UserSummary> selectUserSummariesByIds(@Param("userIds") Collection<Long> userIds);
 }
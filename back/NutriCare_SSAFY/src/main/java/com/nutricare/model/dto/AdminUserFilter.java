@@ -0,0 +1,34 @@
+package com.nutricare.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 관리자 회원 목록 조건.
+ * - afterId: 이전 페이지의 nextCursor (user_id 오름차순 keyset 페이지네이션)
+ * - provider: "local"이면 일반 가입 회원(provider IS NULL)
+ */
+public class AdminUserFilter {
+
+    private Long afterId;
+    private String provider;
+    private String role;
+    private LocalDateTime createdFrom; // 포함
+    private LocalDateTime createdTo;   // 미포함
+
+    public AdminUserFilter() {}
+
+    public Long getAfterId() { return afterId; }
+    public void setAfterId(Long afterId) { this.afterId = afterId; }
+
+    public String getProvider() { return provider; }
+    public void setProvider(String provider) { this.provider = provider; }
+
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+
+    public LocalDateTime getCreatedFrom() { return createdFrom; }
+    public void setCreatedFrom(LocalDateTime createdFrom) { this.createdFrom = createdFrom; }
+
+    public LocalDateTime getCreatedTo() { return createdTo; }
+    public void setCreatedTo(LocalDateTime createdTo) { this.createdTo = createdTo; }
+}
@@ -0,0 +1,49 @@
+package com.nutricare.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 관리자 회원 목록/내보내기 한 행.
+ * - password_hash는 조회하지도, 필드로 두지도 않는다.
+ */
+public class AdminUserItem {
+
+    private Long userId;             // user_id
+    private String email;            // email
+    private String name;             // name
+    private Integer birthYear;       // birth_year
+    private String gender;           // gender
+    private String role;             // role
+    private String provider;         // provider (일반 가입이면 null)
+    private LocalDateTime createdAt; // created_at
+    private LocalDateTime updatedAt; // updated_at
+
+    public AdminUserItem() {}
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Integer getBirthYear() { return birthYear; }
+    public void setBirthYear(Integer birthYear) { this.birthYear = birthYear; }
+
+    public String getGender() { return gender; }
+    public void setGender(String gender) { this.gender = gender; }
+
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+
+    public String getProvider() { return provider; }
+    public void setProvider(String provider) { this.provider = provider; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
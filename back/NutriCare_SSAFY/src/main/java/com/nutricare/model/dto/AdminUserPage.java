@@ -0,0 +1,21 @@
+package com.nutricare.model.dto;
+
+import java.util.List;
+
+/**
+ * 관리자 회원 목록 한 페이지. nextCursor가 null이면 마지막 페이지.
+ */
+public class AdminUserPage {
+
+    private List<AdminUserItem> items;
+    private Long nextCursor;
+
+    public AdminUserPage(List<AdminUserItem> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<AdminUserItem> getItems() { return items; }
+
+    public Long getNextCursor() { return nextCursor; }
+}
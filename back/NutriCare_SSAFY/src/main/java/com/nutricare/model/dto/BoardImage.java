@@ -7,6 +7,8 @@ public class BoardImage {
     private Long imageId;        // image_id
     private Long boardId;        // 게시글 FK
     private String imageUrl;     // 파일 URL
+    private String thumbnailUrl; // 목록용 축소본 URL (없으면 null)
+    private String displayUrl;   // 상세용 축소본 URL (없으면 null)
     private LocalDateTime createdAt;
 
     public BoardImage() {}
@@ -49,6 +51,22 @@ public class BoardImage {
         this.imageUrl = imageUrl;
     }
 
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public String getDisplayUrl() {
+        return displayUrl;
+    }
+
+    public void setDisplayUrl(String displayUrl) {
+        this.displayUrl = displayUrl;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
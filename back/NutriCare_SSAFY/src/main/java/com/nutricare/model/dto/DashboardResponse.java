@@ -0,0 +1,40 @@
+package com.nutricare.model.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 마이페이지 대시보드 통합 응답.
+ * - 사진별 최신 분석 결과와 분석별 최신 식단 추천은 id를 키로 하는 맵으로 전달한다. (없는 항목은 키 없음)
+ */
+public class DashboardResponse {
+
+    private User user;                                        // 기본 회원 정보 (password_hash 제외)
+    private HealthProfile healthProfile;                      // 건강 정보 (없을 수도 있음)
+    private List<Photo> photos;                               // 내 사진 목록
+    private Map<Long, AnalysisResult> analysisByPhotoId;      // photoId -> 최신 분석 결과
+    private Map<Long, DietRecommendation> recommendationByAnalysisId; // analysisId -> 최신 식단 추천
+    private List<Board> boards;                               // 내 게시글 목록
+
+    public DashboardResponse() {}
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public HealthProfile getHealthProfile() { return healthProfile; }
+    public void setHealthProfile(HealthProfile healthProfile) { this.healthProfile = healthProfile; }
+
+    public List<Photo> getPhotos() { return photos; }
+    public void setPhotos(List<Photo> photos) { this.photos = photos; }
+
+    public Map<Long, AnalysisResult> getAnalysisByPhotoId() { return analysisByPhotoId; }
+    public void setAnalysisByPhotoId(Map<Long, AnalysisResult> analysisByPhotoId) { this.analysisByPhotoId = analysisByPhotoId; }
+
+    public Map<Long, DietRecommendation> getRecommendationByAnalysisId() { return recommendationByAnalysisId; }
+    public void setRecommendationByAnalysisId(Map<Long, DietRecommendation> recommendationByAnalysisId) {
+        this.recommendationByAnalysisId = recommendationByAnalysisId;
+    }
+
+    public List<Board> getBoards() { return boards; }
+    public void setBoards(List<Board> boards) { this.boards = boards; }
+}
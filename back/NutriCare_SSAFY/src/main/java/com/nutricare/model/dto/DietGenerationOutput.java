@@ -0,0 +1,34 @@
+package com.nutricare.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * diet_generation_output 테이블 DTO. (파싱 전 LLM 원본 응답 보관)
+ */
+public class DietGenerationOutput {
+
+    private Long recId;         // PK, FK: diet_recommendation.rec_id
+    private String rawOutput;   // 원본 응답 JSON
+    private String source;      // cache | template | llm
+    private LocalDateTime createdAt;
+
+    public DietGenerationOutput() {}
+
+    public DietGenerationOutput(Long recId, String rawOutput, String source) {
+        this.recId = recId;
+        this.rawOutput = rawOutput;
+        this.source = source;
+    }
+
+    public Long getRecId() { return recId; }
+    public void setRecId(Long recId) { this.recId = recId; }
+
+    public String getRawOutput() { return rawOutput; }
+    public void setRawOutput(String rawOutput) { this.rawOutput = rawOutput; }
+
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,20 @@
+package com.nutricare.model.dto;
+
+/**
+ * diet_recommendation.gen_status
+ * REQUESTED -> GENERATING -> GENERATED -> PERSISTED
+ *                           -> TEMPLATE -> GENERATED -> PERSISTED (템플릿 응답 후 LLM 개인화로 업그레이드)
+ * - GENERATING: LLM(또는 캐시) 생성 중
+ * - TEMPLATE  : 검수 템플릿이 diet_result에 저장됨. 새 생성 요청을 받을 수 있고, 백그라운드 개인화/스위퍼가 교체한다
+ * - GENERATED : 원본 응답이 diet_generation_output에 보관됨, diet_result 저장 전
+ * - PERSISTED : diet_result 저장 완료
+ * - FAILED    : 재시도 횟수 소진 또는 응답 형식 오류
+ */
+public enum DietGenerationStatus {
+    REQUESTED,
+    GENERATING,
+    GENERATED,
+    TEMPLATE,
+    PERSISTED,
+    FAILED
+}
@@ -0,0 +1,23 @@
+package com.nutricare.model.dto;
+
+/**
+ * 식단 생성 대기열에서 내 요청 상태. position은 내 앞에 처리될 대기 요청 수 (대기 중이 아니면 0).
+ */
+public class DietQueuePosition {
+
+    private int position;
+    private int queued;   // 내 대기 요청 수
+    private int inFlight; // 내 실행 중 요청 수
+
+    public DietQueuePosition(int position, int queued, int inFlight) {
+        this.position = position;
+        this.queued = queued;
+        this.inFlight = inFlight;
+    }
+
+    public int getPosition() { return position; }
+
+    public int getQueued() { return queued; }
+
+    public int getInFlight() { return inFlight; }
+}
@@ -0,0 +1,51 @@
+package com.nutricare.model.dto;
+
+import java.util.List;
+
+/**
+ * 식단 생성 스케줄러 현황 (관리자용).
+ */
+public class DietQueueStatus {
+
+    public static class UserLoad {
+        private Long userId;
+        private int inFlight;
+        private int queued;
+
+        public UserLoad(Long userId, int inFlight, int queued) {
+            this.userId = userId;
+            this.inFlight = inFlight;
+            this.queued = queued;
+        }
+
+        public Long getUserId() { return userId; }
+
+        public int getInFlight() { return inFlight; }
+
+        public int getQueued() { return queued; }
+    }
+
+    private int maxConcurrency;
+    private int inFlight;
+    private int queuedInteractive;
+    private int queuedBatch;
+    private List<UserLoad> users; // 실행 중 또는 대기 중인 회원만
+
+    public DietQueueStatus(int maxConcurrency, int inFlight, int queuedInteractive, int queuedBatch, List<UserLoad> users) {
+        this.maxConcurrency = maxConcurrency;
+        this.inFlight = inFlight;
+        this.queuedInteractive = queuedInteractive;
+        this.queuedBatch = queuedBatch;
+        this.users = users;
+    }
+
+    public int getMaxConcurrency() { return maxConcurrency; }
+
+    public int getInFlight() { return inFlight; }
+
+    public int getQueuedInteractive() { return queuedInteractive; }
+
+    public int getQueuedBatch() { return queuedBatch; }
+
+    public List<UserLoad> getUsers() { return users; }
+}
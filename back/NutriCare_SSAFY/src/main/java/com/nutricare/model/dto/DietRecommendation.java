@@ -8,6 +8,7 @@ import java.time.LocalDateTime;
  * - healthId: health_profile FK
  * - analysisId: 얼굴 분석 FK (nullable)
  * - memo: 요청 시 메모
+ * - genStatus: 식단 생성 상태 (REQUESTED -> GENERATING -> GENERATED -> PERSISTED)
  */
 public class DietRecommendation {
 
@@ -15,6 +16,9 @@ public class DietRecommendation {
     private Long healthId;      // FK: health_profile.health_id
     private Long analysisId;    // FK: analysis_result.analysis_id (nullable)
     private String memo;        // 메모
+    private DietGenerationStatus genStatus; // 식단 생성 상태
+    private Integer genAttempts;            // 생성 시도 횟수 (스위퍼 재시도 포함)
+    private LocalDateTime genUpdatedAt;     // 생성 상태 변경 시각
     private LocalDateTime createdAt; // 생성 시각
 
     public DietRecommendation() {}
@@ -37,6 +41,15 @@ public class DietRecommendation {
     public String getMemo() { return memo; }
     public void setMemo(String memo) { this.memo = memo; }
 
+    public DietGenerationStatus getGenStatus() { return genStatus; }
+    public void setGenStatus(DietGenerationStatus genStatus) { this.genStatus = genStatus; }
+
+    public Integer getGenAttempts() { return genAttempts; }
+    public void setGenAttempts(Integer genAttempts) { this.genAttempts = genAttempts; }
+
+    public LocalDateTime getGenUpdatedAt() { return genUpdatedAt; }
+    public void setGenUpdatedAt(LocalDateTime genUpdatedAt) { this.genUpdatedAt = genUpdatedAt; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
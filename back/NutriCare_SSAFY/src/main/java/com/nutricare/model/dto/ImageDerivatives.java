@@ -0,0 +1,27 @@
+package com.nutricare.model.dto;
+
+/**
+ * 업로드 이미지 파생본 URL. 생성하지 못했거나 원본이 목표 폭보다 작으면 null (원본 URL 사용).
+ */
+public class ImageDerivatives {
+
+    private String thumbnailUrl; // 목록/피드용
+    private String displayUrl;   // 상세 화면용
+    private String modelUrl;     // AI 서버 입력용 (분석 사진만)
+
+    public ImageDerivatives() {}
+
+    public ImageDerivatives(String thumbnailUrl, String displayUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+        this.displayUrl = displayUrl;
+    }
+
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+
+    public String getDisplayUrl() { return displayUrl; }
+    public void setDisplayUrl(String displayUrl) { this.displayUrl = displayUrl; }
+
+    public String getModelUrl() { return modelUrl; }
+    public void setModelUrl(String modelUrl) { this.modelUrl = modelUrl; }
+}
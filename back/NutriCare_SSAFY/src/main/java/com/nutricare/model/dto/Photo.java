@@ -6,6 +6,9 @@ public class Photo {
     private Long photoId;
     private Long userId;
     private String photoUrl;
+    private String thumbnailUrl; // 목록용 축소본 (없으면 null)
+    private String displayUrl;   // 상세용 축소본 (없으면 null)
+    private String modelUrl;     // 진단 모델 입력용 정규화 이미지 (없으면 null)
     private LocalDateTime createdAt;
 
     public Photo() {
@@ -47,6 +50,30 @@ public class Photo {
         this.photoUrl = photoUrl;
     }
 
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public String getDisplayUrl() {
+        return displayUrl;
+    }
+
+    public void setDisplayUrl(String displayUrl) {
+        this.displayUrl = displayUrl;
+    }
+
+    public String getModelUrl() {
+        return modelUrl;
+    }
+
+    public void setModelUrl(String modelUrl) {
+        this.modelUrl = modelUrl;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
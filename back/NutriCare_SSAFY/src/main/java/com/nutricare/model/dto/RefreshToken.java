@@ -5,17 +5,20 @@ import java.time.LocalDateTime;
 public class RefreshToken {
 	private Long tokenId;
 	private Long userId;
-	private String tokenValue;
+	private String familyId;   // 로그인 1회당 발급되는 토큰 계열 ID (rotation 시 유지)
+	private String tokenHash;  // 토큰 원문의 SHA-256 hex
+	private Boolean used;      // 재발급에 이미 사용된 토큰 여부
 	private LocalDateTime expiryDate;
 	private LocalDateTime createdAt;
 	
 	public RefreshToken() {
 	}
 
-	public RefreshToken(Long userId, String tokenValue, LocalDateTime expiryDate) {
+	public RefreshToken(Long userId, String familyId, String tokenHash, LocalDateTime expiryDate) {
 		super();
 		this.userId = userId;
-		this.tokenValue = tokenValue;
+		this.familyId = familyId;
+		this.tokenHash = tokenHash;
 		this.expiryDate = expiryDate;
 	}
 
@@ -35,12 +38,28 @@ public class RefreshToken {
 		this.userId = userId;
 	}
 
-	public String getTokenValue() {
-		return tokenValue;
+	public String getFamilyId() {
+		return familyId;
 	}
 
-	public void setTokenValue(String tokenValue) {
-		this.tokenValue = tokenValue;
+	public void setFamilyId(String familyId) {
+		this.familyId = familyId;
+	}
+
+	public String getTokenHash() {
+		return tokenHash;
+	}
+
+	public void setTokenHash(String tokenHash) {
+		this.tokenHash = tokenHash;
+	}
+
+	public Boolean getUsed() {
+		return used;
+	}
+
+	public void setUsed(Boolean used) {
+		this.used = used;
 	}
 
 	public LocalDateTime getExpiryDate() {
@@ -0,0 +1,45 @@
+package com.nutricare.model.dto;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 피부 상태 추이 응답 (열 단위 JSON).
+ * - buckets[i], counts[i], series.{이름}[i] 가 같은 구간을 나타내는 평행 배열이다.
+ * - series: 구간별 평균 확률 / movingAverage: 최근 window개 구간의 표본 수 가중 이동 평균
+ * - slope: 조회 범위 전체의 선형 추세 (구간 1개당 확률 변화량, 양수면 증가 추세)
+ */
+public class SkinTrend {
+
+    private String period;                                   // DAY | WEEK
+    private int window;                                      // 이동 평균 구간 수 (0이면 계산 안 함)
+    private List<String> buckets;                            // 구간 시작일 (yyyy-MM-dd)
+    private int[] counts;                                    // 구간별 분석 건수
+    private Map<String, float[]> series = new LinkedHashMap<>();
+    private Map<String, float[]> movingAverage = new LinkedHashMap<>();
+    private Map<String, Float> slope = new LinkedHashMap<>();
+
+    public SkinTrend() {}
+
+    public String getPeriod() { return period; }
+    public void setPeriod(String period) { this.period = period; }
+
+    public int getWindow() { return window; }
+    public void setWindow(int window) { this.window = window; }
+
+    public List<String> getBuckets() { return buckets; }
+    public void setBuckets(List<String> buckets) { this.buckets = buckets; }
+
+    public int[] getCounts() { return counts; }
+    public void setCounts(int[] counts) { this.counts = counts; }
+
+    public Map<String, float[]> getSeries() { return series; }
+    public void setSeries(Map<String, float[]> series) { this.series = series; }
+
+    public Map<String, float[]> getMovingAverage() { return movingAverage; }
+    public void setMovingAverage(Map<String, float[]> movingAverage) { this.movingAverage = movingAverage; }
+
+    public Map<String, Float> getSlope() { return slope; }
+    public void setSlope(Map<String, Float> slope) { this.slope = slope; }
+}
@@ -0,0 +1,52 @@
+package com.nutricare.model.dto;
+
+import java.time.LocalDate;
+
+/**
+ * skin_trend_rollup 한 행 - 회원의 일/주 단위 확률 합계.
+ */
+public class SkinTrendRollup {
+
+    private Long userId;          // user_id
+    private String period;        // DAY | WEEK
+    private LocalDate bucketStart; // bucket_start
+    private int sampleCount;      // sample_count
+    private double sumGunsun;     // sum_gunsun
+    private double sumAtopy;      // sum_atopy
+    private double sumAcne;       // sum_acne
+    private double sumNormal;     // sum_normal
+    private double sumRosacea;    // sum_rosacea
+    private double sumSeborr;     // sum_seborr
+
+    public SkinTrendRollup() {}
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getPeriod() { return period; }
+    public void setPeriod(String period) { this.period = period; }
+
+    public LocalDate getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDate bucketStart) { this.bucketStart = bucketStart; }
+
+    public int getSampleCount() { return sampleCount; }
+    public void setSampleCount(int sampleCount) { this.sampleCount = sampleCount; }
+
+    public double getSumGunsun() { return sumGunsun; }
+    public void setSumGunsun(double sumGunsun) { this.sumGunsun = sumGunsun; }
+
+    public double getSumAtopy() { return sumAtopy; }
+    public void setSumAtopy(double sumAtopy) { this.sumAtopy = sumAtopy; }
+
+    public double getSumAcne() { return sumAcne; }
+    public void setSumAcne(double sumAcne) { this.sumAcne = sumAcne; }
+
+    public double getSumNormal() { return sumNormal; }
+    public void setSumNormal(double sumNormal) { this.sumNormal = sumNormal; }
+
+    public double getSumRosacea() { return sumRosacea; }
+    public void setSumRosacea(double sumRosacea) { this.sumRosacea = sumRosacea; }
+
+    public double getSumSeborr() { return sumSeborr; }
+    public void setSumSeborr(double sumSeborr) { this.sumSeborr = sumSeborr; }
+}
@@ -1,21 +1,40 @@
 package com.nutricare.model.dto;
 
-import java.util.Base64;
+import java.io.IOException;
+import java.io.InputStream;
 
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * STT 요청 본문.
+ * 오디오를 Base64 문자열로 미리 만들지 않고, 직렬화 시점에 입력 스트림을 읽으면서
+ * JsonGenerator에 바로 Base64로 써 넣는다. (오디오 크기만큼의 byte[] / String을 만들지 않음)
+ */
 public class SttRequest {
     private Config config;
-    private Audio audio;
+    private InputStream audio;
+    private int audioLength; // 모르면 -1
 
-    public SttRequest(byte[] audioBytes, int sampleRate) {
-        // 오디오 데이터를 Base64 문자열로 변환 (REST API 필수)
-        String base64Audio = Base64.getEncoder().encodeToString(audioBytes);
-        
-        this.audio = new Audio(base64Audio);
+    public SttRequest(InputStream audio, int audioLength, int sampleRate) {
+        this.audio = audio;
+        this.audioLength = audioLength;
         this.config = new Config(sampleRate);
     }
 
     public Config getConfig() { return config; }
-    public Audio getAudio() { return audio; }
+
+    // {"config": {...}, "audio": {"content": "<base64>"}} 형태로 스트리밍 직렬화
+    public void writeTo(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeObjectField("config", config);
+        gen.writeObjectFieldStart("audio");
+        gen.writeFieldName("content");
+        gen.writeBinary(Base64Variants.MIME_NO_LINEFEEDS, audio, audioLength); // 표준 Base64 (줄바꿈 없음)
+        gen.writeEndObject();
+        gen.writeEndObject();
+        gen.flush();
+    }
 
     // 내부 클래스: 설정 정보
     public static class Config {
@@ -33,11 +52,4 @@ public class SttRequest {
         public String getLanguageCode() { return languageCode; }
         public String getModel() { return model; }
     }
-
-    // 내부 클래스: 오디오 데이터
-    public static class Audio {
-        private String content;
-        public Audio(String content) { this.content = content; }
-        public String getContent() { return content; }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package com.nutricare.model.dto;
+
+/**
+ * 게시글/댓글 작성자 표시용 최소 회원 정보.
+ * - password_hash 등 민감 정보 없이 userId, name만 보관한다.
+ */
+public class UserSummary {
+
+    private Long userId;   // user_id
+    private String name;   // name
+
+    public UserSummary() {}
+
+    public UserSummary(Long userId, String name) {
+        this.userId = userId;
+        this.name = name;
+    }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    @Override
+    public String toString() {
+        return "UserSummary [userId=" + userId + ", name=" + name + "]";
+    }
+}
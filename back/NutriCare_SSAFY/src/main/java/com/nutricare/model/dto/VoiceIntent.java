@@ -0,0 +1,92 @@
+package com.nutricare.model.dto;
+
+/**
+ * 음성 명령 해석 결과.
+ * - type: NAVIGATE(target = 라우트 경로), SCROLL(target = down/up/top), HISTORY(target = back/forward),
+ *         MY_INFO, OPEN_POST(postId), UNKNOWN
+ * - text: STT 인식 원문 (기존 응답과의 호환용), 키워드 인식으로 STT를 생략했으면 일치한 명령어
+ */
+public class VoiceIntent {
+
+    private String type;
+    private String target;
+    private Long postId;
+    private String text;
+    private String matchedPhrase;
+    private double score;    // 정확 일치 1.0, 유사 일치는 1 - (자모 편집거리 / 길이), 키워드 인식은 1 - (DTW 거리 / 최대 거리)
+    private boolean cached;  // 동일 음성 재요청이라 이전 STT 결과를 재사용했는지
+    private boolean spotted; // 로컬 키워드 인식으로 STT 없이 의도를 정했는지 (STT 원문 없음, score는 DTW 기준)
+
+    public VoiceIntent() {
+    }
+
+    public VoiceIntent(String type, String target, String text) {
+        this.type = type;
+        this.target = target;
+        this.text = text;
+    }
+
+	public String getType() {
+		return type;
+	}
+
+	public void setType(String type) {
+		this.type = type;
+	}
+
+	public String getTarget() {
+		return target;
+	}
+
+	public void setTarget(String target) {
+		this.target = target;
+	}
+
+	public Long getPostId() {
+		return postId;
+	}
+
+	public void setPostId(Long postId) {
+		this.postId = postId;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	public void setText(String text) {
+		this.text = text;
+	}
+
+	public String getMatchedPhrase() {
+		return matchedPhrase;
+	}
+
+	public void setMatchedPhrase(String matchedPhrase) {
+		this.matchedPhrase = matchedPhrase;
+	}
+
+	public double getScore() {
+		return score;
+	}
+
+	public void setScore(double score) {
+		this.score = score;
+	}
+
+	public boolean isCached() {
+		return cached;
+	}
+
+	public void setCached(boolean cached) {
+		this.cached = cached;
+	}
+
+	public boolean isSpotted() {
+		return spotted;
+	}
+
+	public void setSpotted(boolean spotted) {
+		this.spotted = spotted;
+	}
+}
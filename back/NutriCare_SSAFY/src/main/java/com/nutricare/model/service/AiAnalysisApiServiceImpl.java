@@ -2,18 +2,18 @@ package com.nutricare.model.service;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.server.ResponseStatusException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,17 +26,18 @@ import com.nutricare.model.dto.AnalysisResult;
 @Service
 public class AiAnalysisApiServiceImpl implements AiAnalysisApiService {
 
-    private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
-
-    // FastAPI URL (.env로 관리)
-    private final String aiUrl;
     private final Logger log = LoggerFactory.getLogger(getClass());
+    // FastAPI 호출은 마이크로 배칭 디스패처를 거친다 (ai.fastapi.url / ai.fastapi.batch-url)
+    private final AnalysisBatchDispatcher batchDispatcher;
+    private final long timeoutMillis;
+
     public AiAnalysisApiServiceImpl(ObjectMapper objectMapper,
-                                    @Value("${ai.fastapi.url}") String aiUrl) {
-        this.restTemplate = new RestTemplate();
+                                    AnalysisBatchDispatcher batchDispatcher,
+                                    @Value("${ai.batch.timeout-ms:60000}") long timeoutMillis) {
         this.objectMapper = objectMapper;
-        this.aiUrl = aiUrl;
+        this.batchDispatcher = batchDispatcher;
+        this.timeoutMillis = timeoutMillis;
     }
 
     @Override
@@ -52,13 +53,8 @@ public class AiAnalysisApiServiceImpl implements AiAnalysisApiService {
             requestBody.put("user_id", currentUserId);
             requestBody.put("photo_url", photoUrl);
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-
-            // 2. 요청 전송
-            Map<String, Object> response = restTemplate.postForObject(aiUrl, entity, Map.class);
+            // 2. 요청 전송 (다른 요청과 묶여 배치로 전송될 수 있음)
+            Map<String, Object> response = await(batchDispatcher.submit(requestBody));
             
             // 3. 결과 파싱 (Null 체크 강화)
             if (response == null || !response.containsKey("diagnosis_name")) {
@@ -85,10 +81,28 @@ public class AiAnalysisApiServiceImpl implements AiAnalysisApiService {
             log.error("AI 서버 연결 실패: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.REQUEST_TIMEOUT, "AI 서버 응답 시간이 초과되었습니다.");
 
+        } catch (ResponseStatusException e) {
+            // 결과 형식 오류 / 대기열 초과: 상태 코드 그대로 전달
+            throw e;
+
         } catch (Exception e) {
             // 그 외 알 수 없는 오류
             log.error("AI 분석 중 알 수 없는 오류 발생", e);
             throw new RuntimeException("시스템 내부 오류로 분석에 실패했습니다.", e);
         }
     }
+
+    // 디스패처 결과 대기. 위의 예외 처리(4xx/5xx/연결 실패)가 그대로 적용되도록 원래 예외를 꺼내서 던진다
+    private Map<String, Object> await(CompletableFuture<Map<String, Object>> future) {
+        try {
+            return future.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TimeoutException) {
+                throw new ResourceAccessException("AI 분석 응답 대기 시간 초과");
+            }
+            if (cause instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,268 @@
+package com.nutricare.model.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.nutricare.util.OutboundMetrics;
+import com.nutricare.util.WorkerThreads;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 피부 분석 요청 마이크로 배칭.
+ * - 요청을 대기열에 모았다가 최대 max-wait-ms 또는 max-batch-size 건 단위로 배치 엔드포인트에 한 번에 보내고,
+ *   응답 배열(request_id 기준)을 각 호출자의 CompletableFuture로 나눠 준다.
+ * - 도착 간격의 지수 이동 평균으로 배치 크기/대기 시간을 정한다. 요청이 드물면 기다리지 않고 바로 보낸다. (지연 시간 보호)
+ * - batch-url이 비어 있으면 배칭 없이 기존 단건 엔드포인트를 그대로 호출한다.
+ *   배치 엔드포인트가 404면 (AI 서버 미배포) 단건 호출로 자동 전환한다.
+ * - 배치 응답에서 error만 있는 항목(이미지를 받지 못함)은 단건 호출의 400과 같게 처리한다.
+ * - 배치 크기 분포: ai.analysis.batch.size
+ */
+@Component
+public class AnalysisBatchDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisBatchDispatcher.class);
+
+    private static final double EWMA_ALPHA = 0.2;
+
+    private record Pending(long requestId, Map<String, Object> body, CompletableFuture<Map<String, Object>> future) {}
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final OutboundMetrics outboundMetrics;
+    private final DistributionSummary batchSizes;
+    private final String singleUrl;
+    private final String batchUrl;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+
+    private final BlockingQueue<Pending> queue;
+    private final ThreadPoolExecutor senders;
+    private final Thread dispatcher;
+    private final AtomicLong requestIds = new AtomicLong();
+    private volatile boolean running = true;
+    private volatile boolean batchUnsupported;
+
+    // 도착 간격(ns) 지수 이동 평균. submit()에서만 갱신
+    private final Object arrivalLock = new Object();
+    private long lastArrival;
+    private volatile double avgInterval = -1;
+
+    public AnalysisBatchDispatcher(OutboundMetrics outboundMetrics, MeterRegistry registry,
+                                   @Value("${ai.fastapi.url}") String singleUrl,
+                                   @Value("${ai.fastapi.batch-url:}") String batchUrl,
+                                   @Value("${ai.batch.max-batch-size:16}") int maxBatchSize,
+                                   @Value("${ai.batch.max-wait-ms:20}") long maxWaitMillis,
+                                   @Value("${ai.batch.queue-capacity:256}") int queueCapacity,
+                                   @Value("${ai.batch.max-in-flight:2}") int maxInFlight,
+                                   @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.outboundMetrics = outboundMetrics;
+        this.singleUrl = singleUrl;
+        this.batchUrl = batchUrl == null || batchUrl.isBlank() ? null : batchUrl.trim();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMillis));
+        this.batchSizes = DistributionSummary.builder("ai.analysis.batch.size")
+                .description("AI 분석 배치당 요청 수")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        int inFlight = Math.max(1, maxInFlight);
+        // 전송 스레드가 모두 바쁘면 디스패처가 직접 보낸다 (그동안 대기열에 요청이 더 쌓여 다음 배치가 커진다)
+        this.senders = new ThreadPoolExecutor(inFlight, inFlight, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1),
+                WorkerThreads.factory("ai-batch-sender-", virtualThreads),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.dispatcher = new Thread(this::dispatchLoop, "ai-batch-dispatcher");
+        this.dispatcher.setDaemon(true);
+        if (this.batchUrl != null) {
+            this.dispatcher.start();
+        }
+    }
+
+    /**
+     * 분석 요청 1건 제출. 응답 본문(Map)으로 완료되고, HTTP 오류는 해당 예외로 완료된다.
+     */
+    public CompletableFuture<Map<String, Object>> submit(Map<String, Object> body) {
+        if (batchUrl == null || batchUnsupported) {
+            return sendSingle(body);
+        }
+        recordArrival();
+        Pending pending = new Pending(requestIds.incrementAndGet(), body, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            return CompletableFuture.failedFuture(
+                    new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "AI 분석 요청이 많습니다. 잠시 후 다시 시도해 주세요."));
+        }
+        return pending.future();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        dispatcher.interrupt();
+        senders.shutdown();
+    }
+
+    private void recordArrival() {
+        long now = System.nanoTime();
+        synchronized (arrivalLock) {
+            if (lastArrival != 0) {
+                long interval = now - lastArrival;
+                avgInterval = avgInterval < 0 ? interval : EWMA_ALPHA * interval + (1 - EWMA_ALPHA) * avgInterval;
+            }
+            lastArrival = now;
+        }
+    }
+
+    // 최대 대기 시간 동안 들어올 것으로 예상되는 요청 수 (1이면 기다리지 않음)
+    private int targetBatchSize() {
+        double interval = avgInterval;
+        if (interval <= 0) return 1;
+        long expected = (long) (maxWaitNanos / interval) + 1;
+        return (int) Math.max(1, Math.min(maxBatchSize, expected));
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            List<Pending> batch = new ArrayList<>(maxBatchSize);
+            try {
+                Pending first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                int target = targetBatchSize();
+                long deadline = System.nanoTime() + Math.min(maxWaitNanos, (long) ((target - 1) * Math.max(0, avgInterval)));
+                while (batch.size() < target) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                if (!running) {
+                    queue.drainTo(batch);
+                    failAll(batch, new IllegalStateException("AI 분석 디스패처가 종료되었습니다."));
+                    return;
+                }
+                continue;
+            }
+            // 이미 도착해 있는 요청은 함께 보낸다
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            senders.execute(() -> sendBatch(batch));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sendBatch(List<Pending> batch) {
+        batchSizes.record(batch.size());
+        if (batch.size() == 1 || batchUnsupported) {
+            for (Pending p : batch) {
+                sendSingle(p.body()).whenComplete((r, e) -> complete(p, r, e));
+            }
+            return;
+        }
+
+        List<Map<String, Object>> items = new ArrayList<>(batch.size());
+        for (Pending p : batch) {
+            Map<String, Object> item = new HashMap<>(p.body());
+            item.put("request_id", p.requestId());
+            items.add(item);
+        }
+        Map<String, Object> response;
+        try {
+            response = outboundMetrics.record("fastapi-batch",
+                    () -> restTemplate.postForObject(batchUrl, jsonEntity(Map.of("items", items)), Map.class));
+        } catch (HttpClientErrorException.NotFound e) {
+            log.warn("AI 배치 엔드포인트가 없어 단건 호출로 전환합니다: {}", batchUrl);
+            batchUnsupported = true;
+            for (Pending p : batch) {
+                sendSingle(p.body()).whenComplete((r, ex) -> complete(p, r, ex));
+            }
+            return;
+        } catch (RuntimeException e) {
+            failAll(batch, e);
+            return;
+        }
+
+        Object results = response != null ? response.get("results") : null;
+        if (!(results instanceof List<?> list)) {
+            failAll(batch, new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "AI 배치 응답 형식이 올바르지 않습니다."));
+            return;
+        }
+        // request_id로 매칭하고, 없으면 요청 순서대로 매칭
+        Map<Long, Map<String, Object>> byId = new HashMap<>();
+        for (Object o : list) {
+            if (o instanceof Map<?, ?> m && m.get("request_id") instanceof Number id) {
+                byId.put(id.longValue(), (Map<String, Object>) m);
+            }
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            Pending p = batch.get(i);
+            Map<String, Object> result = byId.get(p.requestId());
+            if (result == null && byId.isEmpty() && i < list.size() && list.get(i) instanceof Map<?, ?> m) {
+                result = (Map<String, Object>) m;
+            }
+            if (result == null) {
+                p.future().completeExceptionally(
+                        new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "AI 배치 응답에 결과가 없습니다."));
+            } else if (result.get("error") != null) {
+                log.warn("AI 배치 항목 실패: {}", result.get("error"));
+                p.future().completeExceptionally(
+                        new ResponseStatusException(HttpStatus.BAD_REQUEST, "AI 분석 요청 데이터가 올바르지 않습니다."));
+            } else {
+                result.remove("request_id");
+                p.future().complete(result);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Map<String, Object>> sendSingle(Map<String, Object> body) {
+        try {
+            Map<String, Object> response = outboundMetrics.record("fastapi",
+                    () -> restTemplate.postForObject(singleUrl, jsonEntity(body), Map.class));
+            return CompletableFuture.completedFuture(response);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static void complete(Pending p, Map<String, Object> result, Throwable error) {
+        if (error != null) p.future().completeExceptionally(error);
+        else p.future().complete(result);
+    }
+
+    private static void failAll(List<Pending> batch, Throwable error) {
+        for (Pending p : batch) {
+            p.future().completeExceptionally(error);
+        }
+    }
+
+    private static HttpEntity<Map<String, Object>> jsonEntity(Map<String, Object> body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(body, headers);
+    }
+}
@@ -5,28 +5,47 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.nutricare.model.dao.AnalysisResultDao;
+import com.nutricare.model.dao.SkinTrendDao;
 import com.nutricare.model.dto.AnalysisResult;
 
 @Service
 public class AnalysisResultServiceImpl implements AnalysisResultService {
 
     private final AnalysisResultDao analysisResultDao;
+    private final LatestPointerService latestPointerService;
+    private final SkinTrendDao skinTrendDao;
 
-    public AnalysisResultServiceImpl(AnalysisResultDao analysisResultDao) {
+    public AnalysisResultServiceImpl(AnalysisResultDao analysisResultDao,
+                                     LatestPointerService latestPointerService,
+                                     SkinTrendDao skinTrendDao) {
         this.analysisResultDao = analysisResultDao;
+        this.latestPointerService = latestPointerService;
+        this.skinTrendDao = skinTrendDao;
     }
 
     @Override
     @Transactional
     public boolean save(AnalysisResult analysisResult) {
         // insert 성공 시 1 반환 -> true
-        return analysisResultDao.insert(analysisResult) > 0;
+        if (analysisResultDao.insert(analysisResult) <= 0) {
+            return false;
+        }
+        // 같은 트랜잭션에서 사진의 최신 분석 결과 포인터 갱신
+        analysisResultDao.markLatest(analysisResult.getAnalysisId(), analysisResult.getPhotoId());
+        // 피부 상태 추이 일/주 집계 누적
+        skinTrendDao.addAnalysis(analysisResult.getAnalysisId());
+        return true;
     }
 
     @Override
     @PreAuthorize("@dietSecurity.isPhotoOwner(#photoId, principal)")
     public AnalysisResult getByPhotoId(Long photoId) {
-        return analysisResultDao.selectByPhotoId(photoId);
+        AnalysisResult result = analysisResultDao.selectByPhotoId(photoId);
+        // 백필 전 데이터면 포인터를 채운 뒤 다시 조회
+        if (result == null && latestPointerService.repairPhoto(photoId)) {
+            result = analysisResultDao.selectByPhotoId(photoId);
+        }
+        return result;
     }
 
     @Override
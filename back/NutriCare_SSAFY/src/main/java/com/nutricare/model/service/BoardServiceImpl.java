@@ -1,6 +1,8 @@
 package com.nutricare.model.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -8,32 +10,39 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.nutricare.model.dao.BoardDao;
 import com.nutricare.model.dto.Board;
+import com.nutricare.model.dto.UserSummary;
 
 @Service
 public class BoardServiceImpl implements BoardService {
 
 	private final BoardDao boardDao;
+	private final UserSummaryService userSummaryService;
 	
-	public BoardServiceImpl(BoardDao boardDao) {
+	public BoardServiceImpl(BoardDao boardDao, UserSummaryService userSummaryService) {
 		this.boardDao = boardDao;
+		this.userSummaryService = userSummaryService;
 	}
 	
 	@Override
 	public List<Board> selectAll() {
-		return  boardDao.selectAll();
+		return fillAuthorNames(boardDao.selectAll());
 	}
 
 	@Transactional
 	@Override
 	public Board selectById(long id) {
 		updateViewCnt(id);
-		return boardDao.selectById(id);
+		Board board = boardDao.selectById(id);
+		if (board != null) {
+			fillAuthorNames(List.of(board));
+		}
+		return board;
 	}
 	
 	@Transactional
 	@Override
 	public List<Board> selectListByUserId(Long userId) {
-		return boardDao.selectListByUserId(userId);
+		return fillAuthorNames(boardDao.selectListByUserId(userId));
 	}
 
 	
@@ -73,4 +82,21 @@ public class BoardServiceImpl implements BoardService {
 	public int insertBoardImages(Board board) {
 		return boardDao.insertBoardImages(board);
 	}
+
+	// 목록의 작성자 id를 모아 한 번에 조회 후 authorName 채우기 (user 조인 대체)
+	private List<Board> fillAuthorNames(List<Board> boards) {
+		if (boards == null || boards.isEmpty()) return boards;
+		
+		List<Long> userIds = new ArrayList<>(boards.size());
+		for (Board board : boards) {
+			userIds.add(board.getUserId());
+		}
+		
+		Map<Long, UserSummary> authors = userSummaryService.getSummaries(userIds);
+		for (Board board : boards) {
+			UserSummary author = authors.get(board.getUserId());
+			board.setAuthorName(author != null ? author.getName() : board.getUserName());
+		}
+		return boards;
+	}
 }
@@ -8,12 +8,16 @@ import com.nutricare.model.dto.HealthProfile;
  * - 활동계수: LOW=1.2, MEDIUM=1.55, HIGH=1.725 (기본 1.2)
  * - 목표 보정: LOSE=-500kcal, MAINTAIN=0kcal, GAIN=+300kcal
  * - 목표 칼로리 하한선: 1200kcal
+ * - 1식 목표 칼로리: 하루 목표 / 3끼 (LLM 프롬프트와 식단 검증은 메뉴 1개 = 1식 기준)
  */
 public final class CalorieCalculator {
 
     private CalorieCalculator() {}
 
     public static class CaloriePlan {
+        // 하루 식단 끼니 수 (아침/점심/저녁)
+        public static final int MEALS_PER_DAY = 3;
+
         private final int bmr;
         private final int tdee;
         private final int targetCalories;
@@ -36,6 +40,7 @@ public final class CalorieCalculator {
         public int getBmr() { return bmr; }
         public int getTdee() { return tdee; }
         public int getTargetCalories() { return targetCalories; }
+        public int getMealCalories() { return (int) Math.round((double) targetCalories / MEALS_PER_DAY); }
         public double getActivityFactor() { return activityFactor; }
         public int getAgeUsed() { return ageUsed; }
         public String getGenderUsed() { return genderUsed; }
@@ -1,6 +1,8 @@
 package com.nutricare.model.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -8,20 +10,36 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.nutricare.model.dao.CommentDao;
 import com.nutricare.model.dto.Comment;
+import com.nutricare.model.dto.UserSummary;
 
 @Service
 @Transactional
 public class CommentServiceImpl implements CommentService{
 
 	private final CommentDao commentDao;
+	private final UserSummaryService userSummaryService;
 
-	public CommentServiceImpl(CommentDao commentDao) {
+	public CommentServiceImpl(CommentDao commentDao, UserSummaryService userSummaryService) {
 		this.commentDao = commentDao;
+		this.userSummaryService = userSummaryService;
 	}
 	
 	@Override
 	public List<Comment> selectAll(long boardId) {
-		return commentDao.selectAll(boardId);
+		List<Comment> comments = commentDao.selectAll(boardId);
+		if (comments == null || comments.isEmpty()) return comments;
+		
+		// 댓글 작성자 이름을 목록 단위로 한 번에 조회
+		List<Long> userIds = new ArrayList<>(comments.size());
+		for (Comment comment : comments) {
+			userIds.add(comment.getUserId());
+		}
+		Map<Long, UserSummary> authors = userSummaryService.getSummaries(userIds);
+		for (Comment comment : comments) {
+			UserSummary author = authors.get(comment.getUserId());
+			comment.setAuthorName(author != null ? author.getName() : comment.getUserName());
+		}
+		return comments;
 	}
 	
 	@Override
@@ -0,0 +1,9 @@
+package com.nutricare.model.service;
+
+import com.nutricare.model.dto.DashboardResponse;
+
+public interface DashboardService {
+
+    // 회원 정보 / 건강 프로필 / 사진 + 최신 분석 결과 + 최신 식단 추천 / 내 게시글을 한 번에 조회
+    DashboardResponse getDashboard(Long userId);
+}
@@ -0,0 +1,172 @@
+package com.nutricare.model.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.nutricare.model.dao.AnalysisResultDao;
+import com.nutricare.model.dao.DietRecommendationDao;
+import com.nutricare.model.dao.HealthProfileDao;
+import com.nutricare.model.dao.PhotoDao;
+import com.nutricare.model.dao.UserDao;
+import com.nutricare.model.dto.AnalysisResult;
+import com.nutricare.model.dto.Board;
+import com.nutricare.model.dto.DashboardResponse;
+import com.nutricare.model.dto.DietRecommendation;
+import com.nutricare.model.dto.HealthProfile;
+import com.nutricare.model.dto.Photo;
+import com.nutricare.model.dto.User;
+import com.nutricare.util.QueryCounter;
+import com.nutricare.util.WorkerThreads;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 마이페이지 대시보드 조합.
+ * - 회원 정보 / 건강 프로필 / 게시글 / (사진 -> 분석 결과 -> 식단 추천) 을 작업 스레드에서 병렬로 조회한다.
+ * - 사진별 분석 결과, 분석별 추천은 IN 조회로 묶어 사진 수와 관계없이 쿼리 6개로 끝난다.
+ * - 작업 스레드의 쿼리도 요청의 쿼리 집계(QueryCounter)에 포함된다.
+ */
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private final UserDao userDao;
+    private final HealthProfileDao healthProfileDao;
+    private final PhotoDao photoDao;
+    private final AnalysisResultDao analysisResultDao;
+    private final DietRecommendationDao dietRecommendationDao;
+    private final BoardService boardService;
+    private final LatestPointerService latestPointerService;
+    private final ThreadPoolExecutor executor;
+
+    public DashboardServiceImpl(UserDao userDao, HealthProfileDao healthProfileDao, PhotoDao photoDao,
+                                AnalysisResultDao analysisResultDao, DietRecommendationDao dietRecommendationDao,
+                                BoardService boardService, LatestPointerService latestPointerService,
+                                @Value("${dashboard.parallelism:8}") int parallelism,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.userDao = userDao;
+        this.healthProfileDao = healthProfileDao;
+        this.photoDao = photoDao;
+        this.analysisResultDao = analysisResultDao;
+        this.dietRecommendationDao = dietRecommendationDao;
+        this.boardService = boardService;
+        this.latestPointerService = latestPointerService;
+
+        int poolSize = Math.max(1, parallelism);
+        // 대기열이 가득 차면 요청 스레드에서 직접 실행 (과부하 시 순차 처리로 자연스럽게 후퇴)
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(poolSize * 16),
+                WorkerThreads.factory("dashboard-", virtualThreads),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public DashboardResponse getDashboard(Long userId) {
+        QueryCounter.Scope requestScope = QueryCounter.current();
+
+        CompletableFuture<User> user = supply(requestScope, () -> userDao.findUserById(userId));
+        CompletableFuture<HealthProfile> profile = supply(requestScope, () -> healthProfileDao.selectByUserId(userId));
+        CompletableFuture<List<Board>> boards = supply(requestScope, () -> boardService.selectListByUserId(userId));
+        CompletableFuture<List<Photo>> photos = supply(requestScope, () -> photoDao.selectListByUserId(userId));
+        CompletableFuture<Map<Long, AnalysisResult>> analyses = photos.thenApplyAsync(
+                list -> inScope(requestScope, () -> latestAnalyses(list)), executor);
+        CompletableFuture<Map<Long, DietRecommendation>> recommendations = analyses.thenApplyAsync(
+                map -> inScope(requestScope, () -> latestRecommendations(map)), executor);
+
+        try {
+            DashboardResponse response = new DashboardResponse();
+            User u = user.join();
+            if (u != null) {
+                u.setPasswordHash(null);
+            }
+            response.setUser(u);
+            response.setHealthProfile(profile.join());
+            response.setPhotos(photos.join());
+            response.setAnalysisByPhotoId(analyses.join());
+            response.setRecommendationByAnalysisId(recommendations.join());
+            response.setBoards(boards.join());
+            return response;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private Map<Long, AnalysisResult> latestAnalyses(List<Photo> photos) {
+        if (photos == null || photos.isEmpty()) return Collections.emptyMap();
+        List<Long> photoIds = new ArrayList<>(photos.size());
+        for (Photo p : photos) photoIds.add(p.getPhotoId());
+
+        Map<Long, AnalysisResult> byPhotoId = new LinkedHashMap<>();
+        for (AnalysisResult ar : analysisResultDao.selectByPhotoIds(photoIds)) {
+            byPhotoId.put(ar.getPhotoId(), ar);
+        }
+        // 포인터 백필 전이면 빠진 사진만 채운 뒤 한 번 더 조회
+        if (byPhotoId.size() < photoIds.size() && !latestPointerService.isBackfilled()) {
+            List<Long> missing = new ArrayList<>();
+            for (Long id : photoIds) {
+                if (!byPhotoId.containsKey(id) && latestPointerService.repairPhoto(id)) missing.add(id);
+            }
+            if (!missing.isEmpty()) {
+                for (AnalysisResult ar : analysisResultDao.selectByPhotoIds(missing)) {
+                    byPhotoId.put(ar.getPhotoId(), ar);
+                }
+            }
+        }
+        return byPhotoId;
+    }
+
+    private Map<Long, DietRecommendation> latestRecommendations(Map<Long, AnalysisResult> analyses) {
+        if (analyses.isEmpty()) return Collections.emptyMap();
+        List<Long> analysisIds = new ArrayList<>(analyses.size());
+        for (AnalysisResult ar : analyses.values()) analysisIds.add(ar.getAnalysisId());
+
+        Map<Long, DietRecommendation> byAnalysisId = new LinkedHashMap<>();
+        for (DietRecommendation rec : dietRecommendationDao.selectByAnalysisIds(analysisIds)) {
+            byAnalysisId.put(rec.getAnalysisId(), rec);
+        }
+        if (byAnalysisId.size() < analysisIds.size() && !latestPointerService.isBackfilled()) {
+            List<Long> missing = new ArrayList<>();
+            for (Long id : analysisIds) {
+                if (!byAnalysisId.containsKey(id) && latestPointerService.repairAnalysis(id)) missing.add(id);
+            }
+            if (!missing.isEmpty()) {
+                for (DietRecommendation rec : dietRecommendationDao.selectByAnalysisIds(missing)) {
+                    byAnalysisId.put(rec.getAnalysisId(), rec);
+                }
+            }
+        }
+        return byAnalysisId;
+    }
+
+    private <T> CompletableFuture<T> supply(QueryCounter.Scope requestScope, Supplier<T> task) {
+        return CompletableFuture.supplyAsync(() -> inScope(requestScope, task), executor);
+    }
+
+    // 작업 스레드에서 실행된 쿼리를 요청 scope에 집계 (CallerRuns로 요청 스레드에서 실행돼도 한 번만 집계)
+    @SuppressWarnings("try") // JDK 17 javac은 이름이 ignored여도 미사용 리소스를 경고한다
+    private static <T> T inScope(QueryCounter.Scope requestScope, Supplier<T> task) {
+        if (requestScope == null || QueryCounter.current() == requestScope) {
+            return task.get();
+        }
+        try (QueryCounter.Scope ignored = QueryCounter.attach(requestScope)) {
+            return task.get();
+        }
+    }
+}
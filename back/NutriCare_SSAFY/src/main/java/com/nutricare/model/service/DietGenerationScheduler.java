@@ -0,0 +1,24 @@
+package com.nutricare.model.service;
+
+import java.util.concurrent.Callable;
+
+import com.nutricare.model.dto.DietQueuePosition;
+import com.nutricare.model.dto.DietQueueStatus;
+
+public interface DietGenerationScheduler {
+
+    enum Priority {
+        INTERACTIVE, // 사용자가 화면에서 기다리는 요청
+        BATCH        // 재생성 등 백그라운드 작업
+    }
+
+    /**
+     * 차례가 올 때까지 기다린 뒤 호출한 스레드에서 task를 실행한다.
+     * 회원별 대기 한도 초과는 429, 대기 시간 초과/대기열 가득 참은 503 (ResponseStatusException).
+     */
+    <T> T run(Long userId, Priority priority, Callable<T> task) throws Exception;
+
+    DietQueuePosition position(Long userId);
+
+    DietQueueStatus status();
+}
@@ -0,0 +1,326 @@
+package com.nutricare.model.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.nutricare.model.dto.DietQueuePosition;
+import com.nutricare.model.dto.DietQueueStatus;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 식단 LLM 호출 스케줄러.
+ * - 전체 동시 실행 수를 LLM 서버 처리 용량(max-concurrency)으로 제한한다.
+ * - 대기 요청은 회원별 가상 시간 태그(가중 공정 큐)로 정렬한다. 태그는 요청 1건마다 그 회원의 예상 비용만큼 전진하고,
+ *   실행이 끝나면 실제로 LLM을 점유한 시간(cost-unit-ms 단위)과의 차이만큼 그 회원의 대기 요청과 다음 태그를 보정한다.
+ *   요청을 많이 쌓거나 오래 걸리는 요청(긴 프롬프트, 재생성)을 보내는 회원일수록 뒤로 밀려 다른 회원의 요청이 먼저 처리된다.
+ *   비용 기록(마지막 태그, 평균 비용)은 대기/실행 중인 요청이 없어도 cost-state-ttl-ms 동안 유지하고(최대 cost-state-max-users명, LRU),
+ *   한 번에 한 건씩 보내는 회원에게도 측정한 비용이 반영되게 한다.
+ *   회원별 동시 실행 수도 제한한다.
+ * - INTERACTIVE가 BATCH보다 항상 먼저이고, BATCH는 batch-max-concurrency 이상 동시에 실행되지 않는다. (화면 요청용 자리 확보)
+ * - 실행은 호출한 스레드에서 하고, 스케줄러는 차례만 정한다.
+ */
+@Service
+public class DietGenerationSchedulerImpl implements DietGenerationScheduler {
+
+    private static final class Ticket {
+        private final Long userId;
+        private final Priority priority;
+        private final double cost;
+        private double tag;
+        private boolean granted;
+        private long startedAt;
+
+        private Ticket(Long userId, Priority priority, double cost, double tag) {
+            this.userId = userId;
+            this.priority = priority;
+            this.cost = cost;
+            this.tag = tag;
+        }
+
+        // 먼저 처리될 순서: 우선순위 -> 가상 시간 태그
+        private boolean before(Ticket other) {
+            if (priority != other.priority) return priority.ordinal() < other.priority.ordinal();
+            return tag < other.tag;
+        }
+    }
+
+    // 대기열 관리용 (대기/실행 중인 요청이 없으면 지운다)
+    private static final class UserState {
+        private int inFlight;
+        private int queued;
+    }
+
+    // 가중 공정 큐 비용 기록 (요청이 없어도 TTL 동안 유지)
+    private static final class CostState {
+        private double lastTag;
+        // 최근 요청의 실제 비용 이동 평균 (다음 요청의 예상 비용)
+        private double avgCost = 1.0;
+        private long touchedAt;
+    }
+
+    private static final double MIN_COST = 0.1;
+    private static final double MAX_COST = 10.0;
+    private static final double COST_ALPHA = 0.3;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final List<Ticket> waiting = new ArrayList<>();
+    private final Map<Long, UserState> users = new HashMap<>();
+    private final Map<Long, CostState> costs;
+    private double virtualTime;
+    private int inFlight;
+    private int batchInFlight;
+
+    private final int maxConcurrency;
+    private final int batchMaxConcurrency;
+    private final int maxInFlightPerUser;
+    private final int maxQueuedPerUser;
+    private final int queueCapacity;
+    private final long maxWaitNanos;
+    private final long costUnitNanos;
+    private final long costStateTtlNanos;
+
+    public DietGenerationSchedulerImpl(MeterRegistry registry,
+                                       @Value("${diet.scheduler.max-concurrency:2}") int maxConcurrency,
+                                       @Value("${diet.scheduler.batch-max-concurrency:1}") int batchMaxConcurrency,
+                                       @Value("${diet.scheduler.max-in-flight-per-user:1}") int maxInFlightPerUser,
+                                       @Value("${diet.scheduler.max-queued-per-user:3}") int maxQueuedPerUser,
+                                       @Value("${diet.scheduler.queue-capacity:100}") int queueCapacity,
+                                       @Value("${diet.scheduler.max-wait-ms:120000}") long maxWaitMillis,
+                                       @Value("${diet.scheduler.cost-unit-ms:10000}") long costUnitMillis,
+                                       @Value("${diet.scheduler.cost-state-ttl-ms:1800000}") long costStateTtlMillis,
+                                       @Value("${diet.scheduler.cost-state-max-users:10000}") int costStateMaxUsers) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.batchMaxConcurrency = Math.max(1, Math.min(this.maxConcurrency, batchMaxConcurrency));
+        this.maxInFlightPerUser = Math.max(1, maxInFlightPerUser);
+        this.maxQueuedPerUser = Math.max(1, maxQueuedPerUser);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMillis));
+        this.costUnitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, costUnitMillis));
+        this.costStateTtlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, costStateTtlMillis));
+        int maxCostUsers = Math.max(1, costStateMaxUsers);
+        this.costs = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CostState> eldest) {
+                return size() > maxCostUsers;
+            }
+        };
+
+        Gauge.builder("diet.scheduler.queued", this, s -> s.locked(() -> s.waiting.size()))
+                .description("식단 생성 대기 요청 수")
+                .register(registry);
+        Gauge.builder("diet.scheduler.in_flight", this, s -> s.locked(() -> s.inFlight))
+                .description("식단 생성 실행 중 요청 수")
+                .register(registry);
+    }
+
+    @Override
+    public <T> T run(Long userId, Priority priority, Callable<T> task) throws Exception {
+        Ticket ticket = enqueue(userId, priority == null ? Priority.INTERACTIVE : priority);
+        await(ticket);
+        try {
+            return task.call();
+        } finally {
+            release(ticket);
+        }
+    }
+
+    @Override
+    public DietQueuePosition position(Long userId) {
+        return locked(() -> {
+            UserState us = users.get(userId);
+            if (us == null) return new DietQueuePosition(0, 0, 0);
+
+            Ticket mine = null;
+            for (Ticket t : waiting) {
+                if (t.userId.equals(userId) && (mine == null || t.before(mine))) mine = t;
+            }
+            int ahead = 0;
+            if (mine != null) {
+                for (Ticket t : waiting) {
+                    if (t.before(mine)) ahead++;
+                }
+            }
+            return new DietQueuePosition(ahead, us.queued, us.inFlight);
+        });
+    }
+
+    @Override
+    public DietQueueStatus status() {
+        return locked(() -> {
+            int interactive = 0;
+            for (Ticket t : waiting) {
+                if (t.priority == Priority.INTERACTIVE) interactive++;
+            }
+            List<DietQueueStatus.UserLoad> loads = new ArrayList<>(users.size());
+            users.forEach((id, us) -> loads.add(new DietQueueStatus.UserLoad(id, us.inFlight, us.queued)));
+            loads.sort((a, b) -> Integer.compare(b.getInFlight() + b.getQueued(), a.getInFlight() + a.getQueued()));
+            return new DietQueueStatus(maxConcurrency, inFlight, interactive, waiting.size() - interactive, loads);
+        });
+    }
+
+    private Ticket enqueue(Long userId, Priority priority) {
+        lock.lock();
+        try {
+            UserState us = users.computeIfAbsent(userId, k -> new UserState());
+            if (us.queued >= maxQueuedPerUser) {
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                        "이미 처리 대기 중인 식단 생성 요청이 있습니다. 잠시 후 다시 시도해 주세요.");
+            }
+            if (waiting.size() >= queueCapacity) {
+                cleanup(userId, us);
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "식단 생성 요청이 많습니다. 잠시 후 다시 시도해 주세요.");
+            }
+            // 마지막 요청의 태그 뒤에 예상 비용만큼 붙인다 (쉬고 있던 회원은 현재 가상 시간부터 시작)
+            CostState cs = costState(userId);
+            double cost = cs.avgCost;
+            double tag = Math.max(virtualTime, cs.lastTag) + cost;
+            cs.lastTag = tag;
+            us.queued++;
+            Ticket ticket = new Ticket(userId, priority, cost, tag);
+            waiting.add(ticket);
+            dispatch();
+            return ticket;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void await(Ticket ticket) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = maxWaitNanos;
+            while (!ticket.granted) {
+                if (remaining <= 0) {
+                    abandon(ticket);
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                            "식단 생성 대기 시간이 초과되었습니다. 잠시 후 다시 시도해 주세요.");
+                }
+                try {
+                    remaining = changed.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    if (ticket.granted) {
+                        release(ticket);
+                    } else {
+                        abandon(ticket);
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Ticket ticket) {
+        lock.lock();
+        try {
+            UserState us = users.get(ticket.userId);
+            inFlight--;
+            if (ticket.priority == Priority.BATCH) batchInFlight--;
+            charge(ticket);
+            if (us != null) {
+                us.inFlight--;
+                cleanup(ticket.userId, us);
+            }
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 실제 비용과 예상 비용의 차이만큼 그 회원의 대기 요청과 다음 태그를 밀거나 당긴다
+    private void charge(Ticket ticket) {
+        double actual = (double) (System.nanoTime() - ticket.startedAt) / costUnitNanos;
+        actual = Math.min(MAX_COST, Math.max(MIN_COST, actual));
+        double delta = actual - ticket.cost;
+        for (Ticket t : waiting) {
+            if (t.userId.equals(ticket.userId)) t.tag += delta;
+        }
+        CostState cs = costState(ticket.userId);
+        cs.lastTag += delta;
+        cs.avgCost += COST_ALPHA * (actual - cs.avgCost);
+    }
+
+    // 회원의 비용 기록 (없거나 TTL이 지났으면 새로 시작)
+    private CostState costState(Long userId) {
+        long now = System.nanoTime();
+        CostState cs = costs.get(userId);
+        if (cs == null || now - cs.touchedAt > costStateTtlNanos) {
+            cs = new CostState();
+            costs.put(userId, cs);
+        }
+        cs.touchedAt = now;
+        return cs;
+    }
+
+    private void abandon(Ticket ticket) {
+        waiting.remove(ticket);
+        UserState us = users.get(ticket.userId);
+        if (us != null) {
+            us.queued--;
+            cleanup(ticket.userId, us);
+        }
+        dispatch();
+    }
+
+    // 빈 자리에 실행 가능한 요청 중 가장 앞선 것을 차례로 허가 (lock 보유 상태에서 호출)
+    private void dispatch() {
+        boolean grantedAny = false;
+        while (inFlight < maxConcurrency) {
+            Ticket next = null;
+            for (Ticket t : waiting) {
+                if (!eligible(t)) continue;
+                if (next == null || t.before(next)) next = t;
+            }
+            if (next == null) break;
+
+            waiting.remove(next);
+            next.granted = true;
+            next.startedAt = System.nanoTime();
+            inFlight++;
+            if (next.priority == Priority.BATCH) batchInFlight++;
+            UserState us = users.get(next.userId);
+            us.queued--;
+            us.inFlight++;
+            virtualTime = Math.max(virtualTime, next.tag - next.cost);
+            grantedAny = true;
+        }
+        if (grantedAny) changed.signalAll();
+    }
+
+    private boolean eligible(Ticket t) {
+        if (t.priority == Priority.BATCH && batchInFlight >= batchMaxConcurrency) return false;
+        return users.get(t.userId).inFlight < maxInFlightPerUser;
+    }
+
+    // 대기열 관리 상태만 지운다 (비용 기록은 costs에서 TTL/LRU로 만료)
+    private void cleanup(Long userId, UserState us) {
+        if (us.inFlight <= 0 && us.queued <= 0) users.remove(userId);
+    }
+
+    private <T> T locked(Supplier<T> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
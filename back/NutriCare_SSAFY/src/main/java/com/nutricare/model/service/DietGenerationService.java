@@ -0,0 +1,22 @@
+package com.nutricare.model.service;
+
+import com.nutricare.model.dto.DietContext;
+import com.nutricare.model.service.CalorieCalculator.CaloriePlan;
+import com.nutricare.model.service.DietRuleEngine.RuleText;
+
+public interface DietGenerationService {
+
+    /**
+     * @param json   앱 내부 형식(camelCase) DietResult 배열 JSON
+     * @param source cache | template | llm | staged (이전 요청에서 보관된 응답으로 저장만 한 경우)
+     */
+    record Generated(String json, String source) {}
+
+    /**
+     * 식단을 생성해 recId의 diet_result로 저장한다.
+     * 캐시 -> 템플릿(즉시 응답 + 백그라운드 LLM 개인화) -> LLM 순서로 시도한다.
+     * 같은 recId를 다른 요청이 생성 중이면 409 CONFLICT.
+     */
+    Generated generate(Long recId, DietContext context, CaloriePlan plan, RuleText rules,
+                       DietGenerationScheduler.Priority priority) throws Exception;
+}
@@ -0,0 +1,265 @@
+package com.nutricare.model.service;
+
+import java.time.LocalDate;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.nutricare.model.dao.HealthProfileDao;
+import com.nutricare.model.dto.DietContext;
+import com.nutricare.model.dto.DietGenerationOutput;
+import com.nutricare.model.dto.DietGenerationStatus;
+import com.nutricare.model.dto.DietRecommendation;
+import com.nutricare.model.dto.HealthProfile;
+import com.nutricare.model.service.CalorieCalculator.CaloriePlan;
+import com.nutricare.model.service.DietRuleEngine.RuleText;
+import com.nutricare.util.WorkerThreads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 식단 생성 흐름.
+ * - 같은 조건의 캐시 응답이 있고 이 회원의 조건으로 다시 검증해 통과하면 그대로 사용한다.
+ * - 없으면 가장 가까운 템플릿을 이 회원의 조건으로 DietPlanValidator.accepts 검증한 뒤, 통과하면 먼저 저장하고
+ *   TEMPLATE 상태로 즉시 응답한다. (통과하지 못하면 LLM 동기 호출) LLM 개인화는 백그라운드(BATCH 우선순위)
+ *   업그레이드로 돌려 완료되면 diet_result를 교체한다. 그 사이 새 요청은 409 없이 받고, 개인화가 밀리거나 실패하면
+ *   스위퍼가 오래된 TEMPLATE 행을 다시 업그레이드한다.
+ * - 템플릿도 없거나 재생성(BATCH) 요청이면 LLM을 동기 호출한다.
+ * - LLM 결과는 캐시/보관 전에 DietPlanValidator로 열량/제한 식재료를 검증하고 위반 메뉴만 교체한다.
+ * - 생성 상태는 diet_recommendation.gen_status로 관리한다. 응답은 파싱 전에 diet_generation_output에 먼저 보관하므로,
+ *   저장이 실패해도 다음 요청/스위퍼가 LLM 재호출 없이 저장만 다시 한다.
+ * - 스위퍼: 재시작 등으로 중단된 생성(오래된 GENERATING/GENERATED/TEMPLATE)을 화면 요청이 없을 때 BATCH 우선순위로 이어서 처리한다.
+ * - 스케줄러가 백그라운드 개인화를 거절(429/503)하거나 개인화 대기열이 가득 차면 템플릿 결과를 유지하고
+ *   diet.templates.personalization.dropped로 센다.
+ */
+@Service
+public class DietGenerationServiceImpl implements DietGenerationService {
+
+    private static final Logger log = LoggerFactory.getLogger(DietGenerationServiceImpl.class);
+
+    private final DietLlmService dietLlmService;
+    private final DietPlanValidator dietPlanValidator;
+    private final DietRecommendationService dietRecommendationService;
+    private final DietResultService dietResultService;
+    private final DietResponseCache dietResponseCache;
+    private final DietTemplateLibrary dietTemplateLibrary;
+    private final DietGenerationScheduler dietGenerationScheduler;
+    private final DietContextService dietContextService;
+    private final DietRuleEngine dietRuleEngine;
+    private final HealthProfileDao healthProfileDao;
+    private final boolean templatesEnabled;
+    private final int sweepBatchSize;
+    private final ThreadPoolExecutor personalizer;
+    private final Counter personalizationThrottled;
+    private final Counter personalizationQueueFull;
+    private final Counter personalizationFailed;
+
+    public DietGenerationServiceImpl(DietLlmService dietLlmService,
+                                     DietPlanValidator dietPlanValidator,
+                                     DietRecommendationService dietRecommendationService,
+                                     DietResultService dietResultService,
+                                     DietResponseCache dietResponseCache,
+                                     DietTemplateLibrary dietTemplateLibrary,
+                                     DietGenerationScheduler dietGenerationScheduler,
+                                     DietContextService dietContextService,
+                                     DietRuleEngine dietRuleEngine,
+                                     HealthProfileDao healthProfileDao,
+                                     MeterRegistry registry,
+                                     @Value("${diet.templates.enabled:true}") boolean templatesEnabled,
+                                     @Value("${diet.templates.personalize-threads:2}") int threads,
+                                     @Value("${diet.templates.personalize-queue-capacity:50}") int queueCapacity,
+                                     @Value("${diet.generation.sweep-batch-size:5}") int sweepBatchSize,
+                                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.dietLlmService = dietLlmService;
+        this.dietPlanValidator = dietPlanValidator;
+        this.dietRecommendationService = dietRecommendationService;
+        this.dietResultService = dietResultService;
+        this.dietResponseCache = dietResponseCache;
+        this.dietTemplateLibrary = dietTemplateLibrary;
+        this.dietGenerationScheduler = dietGenerationScheduler;
+        this.dietContextService = dietContextService;
+        this.dietRuleEngine = dietRuleEngine;
+        this.healthProfileDao = healthProfileDao;
+        this.templatesEnabled = templatesEnabled;
+        this.sweepBatchSize = Math.max(1, sweepBatchSize);
+        this.personalizationThrottled = droppedCounter(registry, "throttled");
+        this.personalizationQueueFull = droppedCounter(registry, "queue_full");
+        this.personalizationFailed = droppedCounter(registry, "error");
+
+        int poolSize = Math.max(1, threads);
+        this.personalizer = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                WorkerThreads.factory("diet-personalize-", virtualThreads),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public Generated generate(Long recId, DietContext context, CaloriePlan plan, RuleText rules,
+                              DietGenerationScheduler.Priority priority) throws Exception {
+        boolean fresh = priority == DietGenerationScheduler.Priority.BATCH;
+
+        // 이전 요청에서 생성은 끝났지만 저장에 실패한 경우: LLM을 다시 부르지 않고 보관된 응답으로 저장만 한다
+        if (dietRecommendationService.getGenerationStatus(recId) == DietGenerationStatus.GENERATED) {
+            DietGenerationOutput staged = persist(recId);
+            if (staged != null) return new Generated(staged.getRawOutput(), "staged");
+        }
+        if (!dietRecommendationService.startGeneration(recId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 식단을 생성 중입니다. 잠시 후 다시 확인해 주세요.");
+        }
+
+        String json = null;
+        String source = "llm";
+        try {
+            if (!fresh) {
+                json = dietResponseCache.peek(context, plan, rules,
+                        reused -> dietPlanValidator.accepts(plan, rules, reused));
+                if (json != null) {
+                    source = "cache";
+                } else {
+                    DietTemplateLibrary.Match match = templatesEnabled ? dietTemplateLibrary.nearest(context, plan) : null;
+                    if (match != null && dietPlanValidator.accepts(plan, rules, match.json())) {
+                        // 템플릿을 먼저 저장한 뒤 개인화를 예약해야 개인화 결과가 템플릿에 덮이지 않는다
+                        dietResultService.replaceDietResultsFromJson(recId, match.json());
+                        dietRecommendationService.markTemplateServed(recId);
+                        personalizeLater(recId, context, plan, rules);
+                        log.debug("식단 템플릿 응답: recId={}, template={}, distance={}", recId, match.index(), match.distance());
+                        return new Generated(match.json(), "template");
+                    }
+                }
+            }
+            if (json == null) {
+                json = generateNow(context, plan, rules, priority, fresh);
+            }
+        } catch (Exception e) {
+            dietRecommendationService.releaseGeneration(recId);
+            throw e;
+        }
+
+        dietRecommendationService.stageGeneratedOutput(recId, json, source);
+        persist(recId);
+        return new Generated(json, source);
+    }
+
+    /**
+     * 중단된 식단 생성 재개. 화면 요청이 대기 중이거나 백그라운드 대기열에 자리가 없으면 이번 주기는 건너뛴다.
+     */
+    @Scheduled(fixedDelayString = "${diet.generation.sweep-interval-ms:60000}",
+               initialDelayString = "${diet.generation.sweep-interval-ms:60000}")
+    public void resumeStaleGenerations() {
+        int free = Math.min(sweepBatchSize, personalizer.getQueue().remainingCapacity());
+        if (free <= 0) return;
+        if (!dietRecommendationService.hasStaleGenerations()) return;
+        if (dietGenerationScheduler.status().getQueuedInteractive() > 0) return;
+
+        for (DietRecommendation rec : dietRecommendationService.claimStaleGenerations(free)) {
+            try {
+                personalizer.execute(() -> resume(rec));
+            } catch (RejectedExecutionException e) {
+                break; // 선점만 된 행은 다음 주기에 다시 오래된 행으로 잡힌다
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        personalizer.shutdown();
+    }
+
+    private String generateNow(DietContext context, CaloriePlan plan, RuleText rules,
+                               DietGenerationScheduler.Priority priority, boolean fresh) throws Exception {
+        return dietResponseCache.getOrGenerate(context, plan, rules, fresh,
+                reused -> dietPlanValidator.accepts(plan, rules, reused),
+                () -> dietGenerationScheduler.run(context.getUserId(), priority,
+                        () -> dietPlanValidator.correct(context, plan, rules,
+                                dietLlmService.requestDietGeneration(context, plan, rules.toString()))));
+    }
+
+    // 보관된 응답 저장. 응답 형식 오류는 재시도해도 같으므로 FAILED로 끝낸다
+    private DietGenerationOutput persist(Long recId) {
+        try {
+            return dietRecommendationService.persistStagedOutput(recId);
+        } catch (IllegalArgumentException e) {
+            dietRecommendationService.failGeneration(recId);
+            throw e;
+        }
+    }
+
+    // 백그라운드 LLM 개인화 예약. 하지 못하면 TEMPLATE 상태로 남겨 두고 스위퍼가 이어서 처리한다
+    private void personalizeLater(Long recId, DietContext context, CaloriePlan plan, RuleText rules) {
+        try {
+            personalizer.execute(() -> {
+                try {
+                    upgrade(recId, generateNow(context, plan, rules, DietGenerationScheduler.Priority.BATCH, false));
+                } catch (ResponseStatusException e) {
+                    personalizationThrottled.increment();
+                    log.warn("식단 개인화 거절({}), 템플릿 결과 유지: recId={}, userId={}",
+                            e.getStatusCode().value(), recId, context.getUserId());
+                } catch (Exception e) {
+                    personalizationFailed.increment();
+                    log.warn("식단 개인화 실패, 템플릿 결과 유지: recId={} ({})", recId, e.toString());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            personalizationQueueFull.increment();
+            log.warn("식단 개인화 대기열이 가득 차 템플릿 결과 유지: recId={}, userId={}", recId, context.getUserId());
+        }
+    }
+
+    // 템플릿 결과를 개인화 결과로 교체 (그 사이 새 생성 요청이 행을 가져갔으면 버린다)
+    private void upgrade(Long recId, String json) {
+        if (dietRecommendationService.stageUpgradeOutput(recId, json, "llm")) {
+            persist(recId);
+        } else {
+            log.debug("식단 개인화 결과 폐기: 새 생성 요청이 진행 중 (recId={})", recId);
+        }
+    }
+
+    private void resume(DietRecommendation rec) {
+        Long recId = rec.getRecId();
+        try {
+            if (rec.getGenStatus() == DietGenerationStatus.GENERATED) {
+                persist(recId);
+            } else {
+                DietContext context = dietContextService.getContextForRec(recId);
+                CaloriePlan plan = planFor(context);
+                RuleText rules = dietRuleEngine.buildRules(context, plan);
+                String json = generateNow(context, plan, rules, DietGenerationScheduler.Priority.BATCH, false);
+                if (rec.getGenStatus() == DietGenerationStatus.TEMPLATE) {
+                    upgrade(recId, json);
+                } else {
+                    dietRecommendationService.stageGeneratedOutput(recId, json, "llm");
+                    persist(recId);
+                }
+            }
+            log.info("중단된 식단 생성 재개 완료: recId={}, 이전 상태={}", recId, rec.getGenStatus());
+        } catch (Exception e) {
+            log.warn("중단된 식단 생성 재개 실패: recId={} ({})", recId, e.toString());
+        }
+    }
+
+    private static Counter droppedCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("diet.templates.personalization.dropped")
+                .description("템플릿 응답 후 LLM 개인화를 하지 못한 건수")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    // 요청 스레드가 아니라 인증 정보가 없으므로 건강 프로필은 DAO로 직접 조회
+    private CaloriePlan planFor(DietContext context) {
+        HealthProfile hp = healthProfileDao.selectByUserId(context.getUserId());
+        if (hp == null) return null;
+        Integer ageYears = context.getBirthYear() != null ? LocalDate.now().getYear() - context.getBirthYear() : null;
+        return CalorieCalculator.calculate(hp, ageYears, context.getGender());
+    }
+}
@@ -1,5 +1,7 @@
 package com.nutricare.model.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -8,7 +10,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -16,10 +17,14 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.nutricare.model.dto.DietContext;
 import com.nutricare.model.dto.DietResult;
 import com.nutricare.model.service.CalorieCalculator.CaloriePlan;
+import com.nutricare.util.LenientJson;
+import com.nutricare.util.OutboundMetrics;
 
 @Service
 public class DietLlmServiceImpl implements DietLlmService {
 
+    private static final Logger log = LoggerFactory.getLogger(DietLlmServiceImpl.class);
+
     // FastAPI 서버로 HTTP 요청을 보내기 위한 Spring 기본 HTTP 클라이언트
     private final RestTemplate restTemplate;
 
@@ -32,13 +37,17 @@ public class DietLlmServiceImpl implements DietLlmService {
     // FastAPI 식단 생성 엔드포인트 URL (properties/환경변수에서 주입)
     private final String dietLlmUrl;
 
+    // 외부 호출 지연 시간 측정
+    private final OutboundMetrics outboundMetrics;
+
     /**
      * 기본 생성자
      * - RestTemplate 초기화
      * - ObjectMapper 구성 + LocalDateTime 직렬화를 위한 JavaTimeModule 등록
      */
-    public DietLlmServiceImpl(@Value("${ai.diet.url}") String dietLlmUrl) {
+    public DietLlmServiceImpl(@Value("${ai.diet.url}") String dietLlmUrl, OutboundMetrics outboundMetrics) {
         this.restTemplate = new RestTemplate();
+        this.outboundMetrics = outboundMetrics;
 
         this.appMapper = new ObjectMapper();
         this.appMapper.registerModule(new JavaTimeModule());
@@ -68,8 +77,7 @@ public class DietLlmServiceImpl implements DietLlmService {
 
             // 2) Java 객체 -> JSON 문자열 변환 (snake_case)
             String json = fastApiMapper.writeValueAsString(payload);
-            System.out.println("========== 식단 요청 json ========= ");
-            System.out.println(json);
+            log.debug("식단 생성 요청 payload: {}", json);
 
             // 3) 헤더 설정: JSON 포맷으로 보냄
             HttpHeaders headers = new HttpHeaders();
@@ -81,34 +89,25 @@ public class DietLlmServiceImpl implements DietLlmService {
             // 5) FastAPI 서버에 POST 요청 전송
             // - body : context JSON
             // - return type : String
-            System.out.println("========== Fast Api 호출 전 ========= ");
-            String response = restTemplate.postForObject(dietLlmUrl, entity, String.class);
-            System.out.println(response);
-            System.out.println("========== 호출 후 ========= ");
+            String response = outboundMetrics.record("diet-llm",
+                    () -> restTemplate.postForObject(dietLlmUrl, entity, String.class));
+            log.debug("식단 생성 응답: {}", response);
             // 6) FastAPI 응답(JSON, snake_case)을 파싱해 DietResult 리스트로 역직렬화
-            var results = fastApiMapper.readValue(
-                    cleanJson(response),
-                    new TypeReference<java.util.List<DietResult>>() {});
+            //    앞뒤 설명 문장/코드 펜스는 건너뛰고, 잘린 응답이면 완전한 항목만 살린다 (LLM 재호출 방지)
+            LenientJson.Result<DietResult> results = LenientJson.readArray(fastApiMapper, response, DietResult.class);
+            if (results.items().isEmpty() && (results.skipped() > 0 || !results.complete())) {
+                throw new IllegalArgumentException("식단 생성 응답에서 메뉴를 읽지 못했습니다.");
+            }
+            if (results.salvaged() > 0) {
+                log.warn("손상된 식단 생성 응답에서 {}개 항목 복구 (잘림={}, 버린 항목={})",
+                        results.salvaged(), !results.complete(), results.skipped());
+            }
 
             // 7) 앱 내부에서는 camelCase JSON으로 재직렬화 후 반환 (DietResultServiceImpl 호환)
-            return appMapper.writeValueAsString(results);
+            return appMapper.writeValueAsString(results.items());
 
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Failed to serialize DietContext", e);
         }
     }
-
-    private String cleanJson(String response) {
-        if (response == null) return "[]";
-        String trimmed = response.trim();
-        if (trimmed.startsWith("```json")) {
-            trimmed = trimmed.substring(7);
-        } else if (trimmed.startsWith("```")) {
-            trimmed = trimmed.substring(3);
-        }
-        if (trimmed.endsWith("```")) {
-            trimmed = trimmed.substring(0, trimmed.length() - 3);
-        }
-        return trimmed.trim();
-    }
 }
@@ -0,0 +1,246 @@
+package com.nutricare.model.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nutricare.model.dto.DietContext;
+import com.nutricare.model.dto.DietResult;
+import com.nutricare.model.service.CalorieCalculator.CaloriePlan;
+import com.nutricare.model.service.DietRuleEngine.RuleText;
+import com.nutricare.util.AhoCorasick;
+import com.nutricare.util.LenientJson;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * LLM 식단 결과 검증/보정.
+ * - 열량: 각 메뉴(1식)의 calories가 1식 목표 열량(하루 목표 / 3끼) ± calorie-tolerance-kcal 안인지
+ *   (룰 엔진이 프롬프트에 넣는 ±50kcal 조건)
+ * - 제한 식재료: RuleText.avoid에서 뽑은 금지어를 메뉴명/설명에서 Aho-Corasick으로 한 번에 찾는다.
+ *   "과다", "지나친"처럼 양을 제한하는 항목은 금지어가 아니므로 제외한다.
+ *   부정 표현("튀김 대신", "디저트 없이", "무설탕")으로 쓰인 금지어는 위반이 아니다.
+ * - 위반 메뉴만 LLM에 대체 메뉴를 요청해 교체한다. (전체 재생성 대신, 최대 max-regenerate-rounds회)
+ *   끝까지 교체하지 못한 제한 식재료 메뉴는 제외하고(전부 위반이면 원본 유지), 열량만 벗어난 메뉴는 그대로 둔다.
+ * - 템플릿/캐시처럼 다른 회원의 조건으로 검증된 응답은 accepts()로 이 회원의 조건에서 다시 확인한다. (교체 없이 통과/거절만)
+ * - 메트릭: diet.validation.violations{reason=calorie|banned}, diet.validation.replaced, diet.validation.reuse.rejected
+ */
+@Component
+public class DietPlanValidator {
+
+    private static final Logger log = LoggerFactory.getLogger(DietPlanValidator.class);
+
+    private static final Set<String> LIMIT_QUALIFIERS = Set.of("과다", "지나친", "많이");
+    private static final Set<String> GENERIC_WORDS = Set.of("고당", "지수", "식품", "음식");
+    // 금지어 뒤(조사/공백 다음)에 오면 그 식재료를 쓰지 않았다는 뜻
+    private static final List<String> NEGATION_AFTER = List.of("대신", "없이", "없는", "제외", "빼고", "말고");
+    private static final String PARTICLES = "을를은는이가도";
+
+    public record Violation(int index, String menuName, String reason, boolean banned) {}
+
+    private final DietLlmService dietLlmService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int calorieTolerance;
+    private final int maxRounds;
+
+    // avoid 문구별 오토마톤 (룰 엔진의 avoid 문구는 진단별 고정 문자열이라 개수가 몇 개로 한정된다)
+    private final Map<String, AhoCorasick> automata = new ConcurrentHashMap<>();
+
+    private final Counter calorieViolations;
+    private final Counter bannedViolations;
+    private final Counter replaced;
+    private final Counter reuseRejected;
+
+    public DietPlanValidator(DietLlmService dietLlmService, ObjectMapper objectMapper, MeterRegistry registry,
+                             @Value("${diet.validation.enabled:true}") boolean enabled,
+                             @Value("${diet.validation.calorie-tolerance-kcal:50}") int calorieTolerance,
+                             @Value("${diet.validation.max-regenerate-rounds:1}") int maxRounds) {
+        this.dietLlmService = dietLlmService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.calorieTolerance = Math.max(0, calorieTolerance);
+        this.maxRounds = Math.max(0, maxRounds);
+
+        this.calorieViolations = violationCounter(registry, "calorie");
+        this.bannedViolations = violationCounter(registry, "banned");
+        this.replaced = Counter.builder("diet.validation.replaced")
+                .description("검증 위반으로 대체 생성해 교체한 메뉴 수")
+                .register(registry);
+        this.reuseRejected = Counter.builder("diet.validation.reuse.rejected")
+                .description("이 회원의 조건에서 검증을 통과하지 못해 쓰지 않은 템플릿/캐시 응답 수")
+                .register(registry);
+    }
+
+    /**
+     * 재사용 응답(템플릿, 캐시)이 이 회원의 열량 계획/제한 식재료 조건에서 위반 없는지. LLM은 부르지 않는다.
+     * 메뉴가 하나도 없거나 읽을 수 없으면 거절한다. (검증 비활성화 시 항상 통과)
+     */
+    public boolean accepts(CaloriePlan plan, RuleText rules, String json) {
+        if (!enabled) return true;
+        List<DietResult> items = LenientJson.readArray(objectMapper, json, DietResult.class).items();
+        List<Violation> violations = items.isEmpty() ? null : validate(items, plan, automaton(rules));
+        if (violations != null && violations.isEmpty()) return true;
+        reuseRejected.increment();
+        log.debug("재사용 식단 응답 거절: {}", violations == null ? "메뉴 없음" : violations);
+        return false;
+    }
+
+    /**
+     * 생성 결과(앱 내부 camelCase JSON 배열)를 검증하고, 위반 메뉴만 대체 생성해 교체한 JSON을 반환한다.
+     */
+    public String correct(DietContext context, CaloriePlan plan, RuleText rules, String json) throws JsonProcessingException {
+        if (!enabled) return json;
+        List<DietResult> items = new ArrayList<>(LenientJson.readArray(objectMapper, json, DietResult.class).items());
+        if (items.isEmpty()) return json;
+
+        AhoCorasick banned = automaton(rules);
+        List<Violation> violations = validate(items, plan, banned);
+        if (violations.isEmpty()) return json;
+        for (Violation v : violations) {
+            (v.banned() ? bannedViolations : calorieViolations).increment();
+        }
+
+        for (int round = 0; round < maxRounds && !violations.isEmpty(); round++) {
+            List<DietResult> candidates = requestReplacements(context, plan, rules, violations);
+            if (candidates.isEmpty()) break;
+
+            Set<String> names = new HashSet<>();
+            for (DietResult item : items) names.add(normalize(item.getMenuName()));
+            int used = 0;
+            for (Violation v : violations) {
+                DietResult replacement = null;
+                while (used < candidates.size() && replacement == null) {
+                    DietResult c = candidates.get(used++);
+                    if (check(v.index(), c, plan, banned) == null && names.add(normalize(c.getMenuName()))) {
+                        replacement = c;
+                    }
+                }
+                if (replacement == null) break;
+                items.set(v.index(), replacement);
+                replaced.increment();
+            }
+            violations = validate(items, plan, banned);
+        }
+
+        if (!violations.isEmpty()) {
+            log.warn("식단 검증 위반 {}건을 교체하지 못했습니다: {}", violations.size(), violations);
+            List<DietResult> kept = new ArrayList<>(items.size());
+            Set<Integer> drop = new HashSet<>();
+            for (Violation v : violations) {
+                if (v.banned()) drop.add(v.index());
+            }
+            for (int i = 0; i < items.size(); i++) {
+                if (!drop.contains(i)) kept.add(items.get(i));
+            }
+            if (!kept.isEmpty()) items = kept;
+        }
+        return objectMapper.writeValueAsString(items);
+    }
+
+    private List<Violation> validate(List<DietResult> items, CaloriePlan plan, AhoCorasick banned) {
+        List<Violation> violations = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            Violation v = check(i, items.get(i), plan, banned);
+            if (v != null) violations.add(v);
+        }
+        return violations;
+    }
+
+    private Violation check(int index, DietResult item, CaloriePlan plan, AhoCorasick banned) {
+        AhoCorasick.Hit hit = bannedHit(banned, item.getMenuName());
+        if (hit == null) hit = bannedHit(banned, item.getDescription());
+        if (hit != null) {
+            return new Violation(index, item.getMenuName(), "제한 식재료 포함: " + hit.pattern(), true);
+        }
+        if (plan != null) {
+            Integer calories = item.getCalories();
+            int target = plan.getMealCalories();
+            if (calories == null || Math.abs(calories - target) > calorieTolerance) {
+                return new Violation(index, item.getMenuName(),
+                        String.format("열량 %s kcal (목표 %d±%d kcal)", calories, target, calorieTolerance), false);
+            }
+        }
+        return null;
+    }
+
+    private static AhoCorasick.Hit bannedHit(AhoCorasick banned, String text) {
+        return banned.findFirst(text, h -> !negated(text, h.start(), h.end()));
+    }
+
+    // "무설탕" / "튀김 대신", "디저트를 빼고" 처럼 금지어를 쓰지 않는다는 표현인지
+    static boolean negated(String text, int start, int end) {
+        if (start > 0 && text.charAt(start - 1) == '무') return true;
+        int i = end;
+        if (i < text.length() && PARTICLES.indexOf(text.charAt(i)) >= 0) i++;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) i++;
+        for (String marker : NEGATION_AFTER) {
+            if (text.startsWith(marker, i)) return true;
+        }
+        return false;
+    }
+
+    // 위반 메뉴 수만큼 대체 메뉴 요청 (룰 텍스트의 조건에 교체 지시를 덧붙인다. 프롬프트 구성은 Python 단 처리)
+    private List<DietResult> requestReplacements(DietContext context, CaloriePlan plan, RuleText rules,
+                                                 List<Violation> violations) {
+        StringBuilder targets = new StringBuilder();
+        for (Violation v : violations) {
+            if (targets.length() > 0) targets.append("; ");
+            targets.append(v.menuName()).append('(').append(v.reason()).append(')');
+        }
+        RuleText replacementRules = new RuleText(rules.getAllow(), rules.getAvoid(),
+                rules.getConditions() + String.format(", 다음 %d개 메뉴를 대체할 새 메뉴 %d개만 생성: %s",
+                        violations.size(), violations.size(), targets));
+        try {
+            String response = dietLlmService.requestDietGeneration(context, plan, replacementRules.toString());
+            return LenientJson.readArray(objectMapper, response, DietResult.class).items();
+        } catch (RuntimeException e) {
+            log.warn("식단 대체 메뉴 생성 실패 ({})", e.toString());
+            return List.of();
+        }
+    }
+
+    private AhoCorasick automaton(RuleText rules) {
+        String avoid = rules == null || rules.getAvoid() == null ? "" : rules.getAvoid();
+        return automata.computeIfAbsent(avoid, a -> AhoCorasick.compile(bannedKeywords(a)));
+    }
+
+    // "고당도 디저트, 튀김, 과다 나트륨" -> [고당도, 디저트, 튀김]
+    static List<String> bannedKeywords(String avoid) {
+        List<String> keywords = new ArrayList<>();
+        for (String phrase : avoid.split(",")) {
+            String[] words = phrase.trim().split("[/·()\\s]+");
+            boolean limitOnly = false;
+            for (String w : words) {
+                if (LIMIT_QUALIFIERS.contains(w)) limitOnly = true;
+            }
+            if (limitOnly) continue;
+            for (String w : words) {
+                if (w.length() >= 2 && !GENERIC_WORDS.contains(w)) keywords.add(w);
+            }
+        }
+        return keywords;
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.replaceAll("\\s+", "").toLowerCase();
+    }
+
+    private static Counter violationCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("diet.validation.violations")
+                .description("식단 검증 위반 메뉴 수")
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -1,11 +1,16 @@
 package com.nutricare.model.service;
 
+import java.util.List;
+
+import com.nutricare.model.dto.DietGenerationOutput;
+import com.nutricare.model.dto.DietGenerationStatus;
 import com.nutricare.model.dto.DietRecommendation;
 
 public interface DietRecommendationService {
 
     /**
      * photoId 기반으로 최신 분석 결과를 찾아 diet_recommendation 생성.
+     * 소유권 확인까지 단일 INSERT ... SELECT로 처리하며, 반환 객체에는 recId/memo만 채워진다.
      */
     DietRecommendation createByPhotoId(Long photoId, String memo);
 
@@ -15,4 +20,56 @@ public interface DietRecommendationService {
     DietRecommendation createByAnalysisId(Long analysisId, String memo);
     
     DietRecommendation getByAnalysisId(Long analysisId);
+
+    // ===== 식단 생성 상태 머신 (REQUESTED -> GENERATING -> GENERATED -> PERSISTED) =====
+
+    DietGenerationStatus getGenerationStatus(Long recId);
+
+    /**
+     * GENERATING으로 선점한다. 다른 요청이 생성 중이면 false.
+     */
+    boolean startGeneration(Long recId);
+
+    /**
+     * 템플릿 결과를 저장한 뒤 선점 해제 (GENERATING -> TEMPLATE). 이후 요청은 409 없이 새로 생성할 수 있다.
+     */
+    void markTemplateServed(Long recId);
+
+    /**
+     * 개인화 결과 보관: 아직 TEMPLATE 상태일 때만 GENERATED로 전환하고 원본 응답을 보관한다.
+     * 그 사이 새 생성 요청이 행을 가져갔으면 false. (결과는 버린다)
+     */
+    boolean stageUpgradeOutput(Long recId, String rawOutput, String source);
+
+    /**
+     * 생성 실패 시 선점 해제 (GENERATING -> REQUESTED). 사용자가 바로 다시 요청할 수 있다.
+     */
+    void releaseGeneration(Long recId);
+
+    /**
+     * 파싱 전 원본 응답을 diet_generation_output에 보관하고 GENERATED로 전환한다.
+     */
+    void stageGeneratedOutput(Long recId, String rawOutput, String source);
+
+    /**
+     * 보관된 원본 응답으로 diet_result를 교체하고 PERSISTED로 전환한 뒤 보관본을 지운다. (한 트랜잭션)
+     * 보관본이 없으면 REQUESTED로 되돌리고 null. 응답 형식 오류는 IllegalArgumentException.
+     */
+    DietGenerationOutput persistStagedOutput(Long recId);
+
+    /**
+     * 응답 형식 오류 등 재시도해도 소용없는 경우 (GENERATED -> FAILED)
+     */
+    void failGeneration(Long recId);
+
+    /**
+     * 스위퍼용: 이어서 처리하거나 정리할 중단 생성이 있는지.
+     */
+    boolean hasStaleGenerations();
+
+    /**
+     * 스위퍼용: 시도 횟수를 소진한 중단 생성은 FAILED로 정리하고, 이어서 처리할 중단 생성을 최대 limit건 선점해 반환한다.
+     * 반환 객체의 genStatus는 선점 전 상태(GENERATING: 생성부터 / GENERATED: 저장만 / TEMPLATE: 개인화 업그레이드)다.
+     */
+    List<DietRecommendation> claimStaleGenerations(int limit);
 }
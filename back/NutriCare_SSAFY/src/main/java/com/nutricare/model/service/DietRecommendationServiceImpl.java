@@ -1,16 +1,25 @@
 package com.nutricare.model.service;
 
-import org.springframework.security.access.prepost.PreAuthorize;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.nutricare.config.security.CustomUserDetails;
+
 import com.nutricare.model.dao.AnalysisResultDao;
+import com.nutricare.model.dao.DietGenerationOutputDao;
 import com.nutricare.model.dao.DietRecommendationDao;
-import com.nutricare.model.dao.HealthProfileDao;
 import com.nutricare.model.dao.PhotoDao;
 import com.nutricare.model.dto.AnalysisResult;
+import com.nutricare.model.dto.DietGenerationOutput;
+import com.nutricare.model.dto.DietGenerationStatus;
 import com.nutricare.model.dto.DietRecommendation;
-import com.nutricare.model.dto.HealthProfile;
 import com.nutricare.model.dto.Photo;
 
 @Service
@@ -19,62 +28,182 @@ public class DietRecommendationServiceImpl implements DietRecommendationService
     private final DietRecommendationDao dietRecommendationDao;
     private final AnalysisResultDao analysisResultDao;
     private final PhotoDao photoDao;
-    private final HealthProfileDao healthProfileDao;
+    private final LatestPointerService latestPointerService;
+    private final DietGenerationOutputDao dietGenerationOutputDao;
+    private final DietResultService dietResultService;
+    private final int staleSeconds;
+    private final int maxAttempts;
 
     public DietRecommendationServiceImpl(DietRecommendationDao dietRecommendationDao,
                                          AnalysisResultDao analysisResultDao,
                                          PhotoDao photoDao,
-                                         HealthProfileDao healthProfileDao) {
+                                         LatestPointerService latestPointerService,
+                                         DietGenerationOutputDao dietGenerationOutputDao,
+                                         DietResultService dietResultService,
+                                         @Value("${diet.generation.stale-seconds:600}") int staleSeconds,
+                                         @Value("${diet.generation.max-attempts:3}") int maxAttempts) {
         this.dietRecommendationDao = dietRecommendationDao;
         this.analysisResultDao = analysisResultDao;
         this.photoDao = photoDao;
-        this.healthProfileDao = healthProfileDao;
+        this.latestPointerService = latestPointerService;
+        this.dietGenerationOutputDao = dietGenerationOutputDao;
+        this.dietResultService = dietResultService;
+        this.staleSeconds = Math.max(1, staleSeconds);
+        this.maxAttempts = Math.max(1, maxAttempts);
     }
 
     @Override
-    @PreAuthorize("@dietSecurity.isPhotoOwner(#photoId, principal)")
     @Transactional
     public DietRecommendation createByPhotoId(Long photoId, String memo) {
-        // photo -> analysis_result(최신) 조회
-        AnalysisResult ar = analysisResultDao.selectByPhotoId(photoId);
-        if (ar == null) {
-            throw new IllegalArgumentException("analysis_result not found for photoId=" + photoId);
+        // 소유권 확인 + 최신 분석 결과/건강 프로필 조회 + 생성을 INSERT ... SELECT 한 번으로 처리
+        CustomUserDetails principal = currentUser();
+        Long userId = principal.getUser().getUserId();
+        DietRecommendation rec = new DietRecommendation(null, null, memo);
+        int rows = dietRecommendationDao.insertFromPhoto(rec, photoId, userId, isAdmin(principal));
+        // 백필 전 사진이면 최신 분석 포인터를 채운 뒤 한 번만 재시도
+        if (rows <= 0 && latestPointerService.repairPhoto(photoId)) {
+            rows = dietRecommendationDao.insertFromPhoto(rec, photoId, userId, isAdmin(principal));
         }
-        return createInternal(ar, memo);
+        if (rows <= 0 || rec.getRecId() == null) {
+            // 실패한 경우에만 원인 확인용 조회 (정상 경로는 1 round-trip)
+            Photo photo = photoDao.selectOne(photoId);
+            if (photo != null && !isAdmin(principal) && !principal.getUser().getUserId().equals(photo.getUserId())) {
+                throw new AccessDeniedException("not the owner of photoId=" + photoId);
+            }
+            if (photo == null || analysisResultDao.selectByPhotoId(photoId) == null) {
+                throw new IllegalArgumentException("analysis_result not found for photoId=" + photoId);
+            }
+            throw new IllegalArgumentException("health_profile not found for userId=" + photo.getUserId());
+        }
+        dietRecommendationDao.markLatest(rec.getRecId());
+        return rec;
     }
 
     @Override
-    @PreAuthorize("@dietSecurity.isAnalysisOwner(#analysisId, principal)")
     @Transactional
     public DietRecommendation createByAnalysisId(Long analysisId, String memo) {
-        // analysis_id 직접 지정
-        AnalysisResult ar = analysisResultDao.selectById(analysisId);
-        if (ar == null) {
-            throw new IllegalArgumentException("analysis_result not found for analysisId=" + analysisId);
+        CustomUserDetails principal = currentUser();
+        DietRecommendation rec = new DietRecommendation(null, analysisId, memo);
+        int rows = dietRecommendationDao.insertFromAnalysis(rec, analysisId, principal.getUser().getUserId(), isAdmin(principal));
+        if (rows <= 0 || rec.getRecId() == null) {
+            AnalysisResult ar = analysisResultDao.selectById(analysisId);
+            if (ar == null) {
+                throw new IllegalArgumentException("analysis_result not found for analysisId=" + analysisId);
+            }
+            Photo photo = photoDao.selectOne(ar.getPhotoId());
+            if (photo == null) {
+                throw new IllegalArgumentException("photo not found. photoId=" + ar.getPhotoId());
+            }
+            if (!isAdmin(principal) && !principal.getUser().getUserId().equals(photo.getUserId())) {
+                throw new AccessDeniedException("not the owner of analysisId=" + analysisId);
+            }
+            throw new IllegalArgumentException("health_profile not found for userId=" + photo.getUserId());
         }
-        return createInternal(ar, memo);
+        dietRecommendationDao.markLatest(rec.getRecId());
+        return rec;
     }
 
-    private DietRecommendation createInternal(AnalysisResult ar, String memo) {
-        // 분석 결과 -> photo -> user -> health_profile 순으로 FK 확인
-        Photo photo = photoDao.selectOne(ar.getPhotoId());
-        if (photo == null) {
-            throw new IllegalArgumentException("photo not found. photoId=" + ar.getPhotoId());
-        }
-        HealthProfile hp = healthProfileDao.selectByUserId(photo.getUserId());
-        if (hp == null) {
-            throw new IllegalArgumentException("health_profile not found for userId=" + photo.getUserId());
+    private static CustomUserDetails currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof CustomUserDetails principal)) {
+            throw new AccessDeniedException("authentication required");
         }
-        DietRecommendation rec = new DietRecommendation(hp.getHealthId(), ar.getAnalysisId(), memo);
-        int rows = dietRecommendationDao.insert(rec);
-        if (rows <= 0 || rec.getRecId() == null) {
-            throw new IllegalStateException("failed to insert diet_recommendation");
-        }
-        return rec;
+        return principal;
+    }
+
+    private static boolean isAdmin(CustomUserDetails principal) {
+        return "ADMIN".equals(principal.getUser().getRole());
     }
     
     @Override
     public DietRecommendation getByAnalysisId(Long analysisId) {
-        return dietRecommendationDao.selectByAnalysisId(analysisId);
+        DietRecommendation rec = dietRecommendationDao.selectByAnalysisId(analysisId);
+        // 백필 전 데이터면 포인터를 채운 뒤 다시 조회
+        if (rec == null && latestPointerService.repairAnalysis(analysisId)) {
+            rec = dietRecommendationDao.selectByAnalysisId(analysisId);
+        }
+        return rec;
+    }
+
+    @Override
+    public DietGenerationStatus getGenerationStatus(Long recId) {
+        DietRecommendation rec = dietRecommendationDao.selectById(recId);
+        if (rec == null) {
+            throw new IllegalArgumentException("diet_recommendation not found. recId=" + recId);
+        }
+        return rec.getGenStatus();
+    }
+
+    @Override
+    public boolean startGeneration(Long recId) {
+        return dietRecommendationDao.claimGeneration(recId, staleSeconds) > 0;
+    }
+
+    @Override
+    public void markTemplateServed(Long recId) {
+        dietRecommendationDao.updateGenStatus(recId, DietGenerationStatus.GENERATING, DietGenerationStatus.TEMPLATE);
+    }
+
+    @Override
+    @Transactional
+    public boolean stageUpgradeOutput(Long recId, String rawOutput, String source) {
+        if (dietRecommendationDao.updateGenStatus(recId, DietGenerationStatus.TEMPLATE, DietGenerationStatus.GENERATED) == 0) {
+            return false;
+        }
+        dietGenerationOutputDao.upsert(new DietGenerationOutput(recId, rawOutput, source));
+        return true;
+    }
+
+    @Override
+    public void releaseGeneration(Long recId) {
+        dietRecommendationDao.updateGenStatus(recId, DietGenerationStatus.GENERATING, DietGenerationStatus.REQUESTED);
+    }
+
+    @Override
+    @Transactional
+    public void stageGeneratedOutput(Long recId, String rawOutput, String source) {
+        dietGenerationOutputDao.upsert(new DietGenerationOutput(recId, rawOutput, source));
+        dietRecommendationDao.updateGenStatus(recId, DietGenerationStatus.GENERATING, DietGenerationStatus.GENERATED);
+    }
+
+    @Override
+    @Transactional
+    public DietGenerationOutput persistStagedOutput(Long recId) {
+        DietGenerationOutput output = dietGenerationOutputDao.selectByRecId(recId);
+        if (output == null) {
+            dietRecommendationDao.updateGenStatus(recId, DietGenerationStatus.GENERATED, DietGenerationStatus.REQUESTED);
+            return null;
+        }
+        dietResultService.replaceDietResultsFromJson(recId, output.getRawOutput());
+        dietRecommendationDao.updateGenStatus(recId, DietGenerationStatus.GENERATED, DietGenerationStatus.PERSISTED);
+        dietGenerationOutputDao.deleteByRecId(recId);
+        return output;
+    }
+
+    @Override
+    public void failGeneration(Long recId) {
+        dietRecommendationDao.updateGenStatus(recId, DietGenerationStatus.GENERATED, DietGenerationStatus.FAILED);
+    }
+
+    @Override
+    public boolean hasStaleGenerations() {
+        return dietRecommendationDao.existsStaleGeneration(staleSeconds, maxAttempts);
+    }
+
+    @Override
+    public List<DietRecommendation> claimStaleGenerations(int limit) {
+        dietRecommendationDao.failExhaustedGenerations(staleSeconds, maxAttempts);
+        List<DietRecommendation> stale = dietRecommendationDao.selectStaleGenerations(staleSeconds, maxAttempts, limit);
+        List<DietRecommendation> claimed = new ArrayList<>(stale.size());
+        for (DietRecommendation rec : stale) {
+            // 조건부 UPDATE로 선점 (여러 인스턴스가 같은 행을 동시에 재개하지 않도록)
+            int rows = switch (rec.getGenStatus()) {
+                case GENERATED -> dietRecommendationDao.claimPersist(rec.getRecId(), staleSeconds);
+                case TEMPLATE -> dietRecommendationDao.claimUpgrade(rec.getRecId(), staleSeconds);
+                default -> dietRecommendationDao.claimGeneration(rec.getRecId(), staleSeconds);
+            };
+            if (rows > 0) claimed.add(rec);
+        }
+        return claimed;
     }
 }
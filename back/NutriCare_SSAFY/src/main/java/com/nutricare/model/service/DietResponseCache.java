@@ -0,0 +1,221 @@
+package com.nutricare.model.service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.nutricare.model.dto.DietContext;
+import com.nutricare.model.service.CalorieCalculator.CaloriePlan;
+import com.nutricare.model.service.DietRuleEngine.RuleText;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 식단 생성 응답 캐시.
+ * - 키: 진단명 / 목표 / 활동량 / 목표 열량 구간 / 룰 텍스트(숫자는 제거 - 열량 구간에 이미 반영)
+ *   같은 조건의 회원에게는 LLM을 다시 부르지 않고 저장된 응답을 돌려준다.
+ * - TTL + 최대 개수(LRU)로 제한한다.
+ * - personalization: none(항상 캐시) / memo(추천 메모가 있으면 우회 - 기본) / all(캐시 사용 안 함)
+ * - 같은 키로 동시에 들어온 요청은 LLM 호출 한 번의 결과를 함께 받는다.
+ * - 다른 회원과 공유되는 응답(저장/동시 요청 공유)에서는 요청별 필드(recId, resultId)를 지운다.
+ * - 저장된 응답은 다른 회원의 열량 계획으로 검증된 것이므로(열량 구간 안에서도 1식 허용 오차를 벗어날 수 있다)
+ *   적중/공유 시 accept(이 회원의 조건으로 재검증)를 통과해야 쓴다. 통과하지 못하면 새로 생성한다.
+ * - 메트릭: diet.cache.requests{result=hit|miss|bypass|rejected}, diet.cache.hit.ratio
+ */
+@Component
+public class DietResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(DietResponseCache.class);
+
+    // 요청(추천 기록)마다 달라 공유하면 안 되는 필드
+    private static final Set<String> PER_REQUEST_FIELDS = Set.of("recId", "resultId", "rec_id", "result_id");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private record Entry(String response, long expiresAt) {}
+
+    private final Map<String, Entry> entries;
+    private final Map<String, CompletableFuture<String>> loading = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int calorieBucket;
+    private final String personalization;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bypasses;
+    private final Counter rejected;
+
+    public DietResponseCache(MeterRegistry registry,
+                             @Value("${diet.cache.max-size:2000}") int maxSize,
+                             @Value("${diet.cache.ttl-minutes:360}") long ttlMinutes,
+                             @Value("${diet.cache.calorie-bucket-kcal:100}") int calorieBucket,
+                             @Value("${diet.cache.personalization:memo}") String personalization) {
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        this.calorieBucket = Math.max(1, calorieBucket);
+        this.personalization = personalization == null ? "memo" : personalization.trim().toLowerCase(Locale.ROOT);
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<String, Entry>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        });
+
+        this.hits = counter(registry, "hit");
+        this.misses = counter(registry, "miss");
+        this.bypasses = counter(registry, "bypass");
+        this.rejected = counter(registry, "rejected");
+        Gauge.builder("diet.cache.hit.ratio", this, c -> {
+                    double total = c.hits.count() + c.misses.count() + c.rejected.count();
+                    return total == 0 ? 0 : c.hits.count() / total;
+                })
+                .description("식단 응답 캐시 적중률 (우회 요청 제외)")
+                .register(registry);
+        Gauge.builder("diet.cache.size", entries, Map::size)
+                .description("식단 응답 캐시 항목 수")
+                .register(registry);
+    }
+
+    /**
+     * 캐시된 응답만 조회한다. (없거나, 우회 대상이거나, accept를 통과하지 못하면 null. 적중/거절만 메트릭에 기록)
+     */
+    public String peek(DietContext context, CaloriePlan plan, RuleText rules, Predicate<String> accept) {
+        if (bypass(context)) return null;
+        Entry entry = entries.get(key(context, plan, rules));
+        if (entry == null || entry.expiresAt() <= System.currentTimeMillis()) return null;
+        if (!accept.test(entry.response())) {
+            rejected.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.response();
+    }
+
+    /**
+     * 캐시된 응답이 있으면 반환하고, 없으면 generator로 생성해 저장한다.
+     * forceFresh(재생성 요청 등)이거나 personalization 정책상 우회 대상이면 항상 generator를 호출하고 저장하지 않는다.
+     * 저장된 응답이 accept를 통과하지 못하면 새로 생성해 교체하고, 동시 요청의 결과가 통과하지 못하면 따로 생성한다.
+     */
+    public String getOrGenerate(DietContext context, CaloriePlan plan, RuleText rules, boolean forceFresh,
+                                Predicate<String> accept, Callable<String> generator) throws Exception {
+        if (forceFresh || bypass(context)) {
+            bypasses.increment();
+            return generator.call();
+        }
+
+        String key = key(context, plan, rules);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+            if (accept.test(entry.response())) {
+                hits.increment();
+                return entry.response();
+            }
+            rejected.increment(); // 이 회원의 조건에 맞지 않음 -> 새로 생성해 교체
+        } else {
+            if (entry != null) entries.remove(key); // 만료
+            misses.increment();
+        }
+
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> running = loading.putIfAbsent(key, mine);
+        if (running != null) {
+            // 같은 키를 먼저 생성 중인 요청의 결과를 기다린다
+            String shared;
+            try {
+                shared = running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Exception cause) throw cause;
+                throw e;
+            }
+            if (accept.test(shared)) return shared;
+            rejected.increment();
+            return generator.call();
+        }
+        try {
+            String response = generator.call();
+            String shared = shareable(response);
+            if (shared != null && !"[]".equals(shared)) {
+                entries.put(key, new Entry(shared, System.currentTimeMillis() + ttlMillis));
+            }
+            mine.complete(shared != null ? shared : response);
+            return response;
+        } catch (Exception e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    // 요청별 필드를 지운 JSON 배열 (배열이 아니거나 읽을 수 없으면 null -> 저장하지 않음)
+    static String shareable(String response) {
+        if (response == null || response.isBlank()) return null;
+        try {
+            JsonNode root = MAPPER.readTree(response);
+            if (root == null || !root.isArray()) return null;
+            for (JsonNode item : root) {
+                if (item instanceof ObjectNode obj) obj.remove(PER_REQUEST_FIELDS);
+            }
+            return MAPPER.writeValueAsString(root);
+        } catch (JsonProcessingException e) {
+            log.debug("식단 응답 캐시 저장 생략: JSON 배열 아님 ({})", e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 다른 회원과 공유해도 되는 추천인지 (personalization 정책상 우회 대상이 아닌지). 템플릿 빌더도 같은 규칙을 쓴다.
+     */
+    public boolean isShareable(DietContext context) {
+        return !bypass(context);
+    }
+
+    private boolean bypass(DietContext context) {
+        return switch (personalization) {
+            case "none" -> false;
+            case "all" -> true;
+            default -> context.getRecMemo() != null && !context.getRecMemo().isBlank();
+        };
+    }
+
+    // 정규화된 특징 벡터 문자열
+    private String key(DietContext context, CaloriePlan plan, RuleText rules) {
+        String calories = plan == null ? "-"
+                : String.valueOf(Math.round((double) plan.getTargetCalories() / calorieBucket) * calorieBucket);
+        return String.join("|",
+                normalize(context.getDiagnosisName()),
+                normalize(context.getHealthGoalType()),
+                normalize(context.getActivityLevel()),
+                calories,
+                rules == null ? "-" : normalize(rules.getAllow()) + "/" + normalize(rules.getAvoid())
+                        + "/" + normalize(rules.getConditions()).replaceAll("\\d+", "#"));
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "-" : value.trim().replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("diet.cache.requests")
+                .description("식단 응답 캐시 조회 수")
+                .tag("result", result)
+                .register(registry);
+    }
+}
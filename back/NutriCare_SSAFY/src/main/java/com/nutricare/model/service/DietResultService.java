@@ -22,6 +22,9 @@ public interface DietResultService {
     // 5. RAG 응답(JSON 문자열)을 파싱하여 식단 데이터 일괄 저장 (핵심)
     void saveDietResultsFromJson(Long recId, String jsonResponse);
     
+    // 기존 식단을 JSON 응답으로 교체 (백그라운드 개인화 결과 반영용 - 권한 검사 없음)
+    void replaceDietResultsFromJson(Long recId, String jsonResponse);
+
     // 기존 식단 전체 삭제 (재생성 시 필요)
     boolean deleteDietResultsByRecId(Long recId);
 }
\ No newline at end of file
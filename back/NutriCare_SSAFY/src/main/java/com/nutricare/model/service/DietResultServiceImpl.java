@@ -2,19 +2,22 @@ package com.nutricare.model.service;
 
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nutricare.model.dao.DietResultDao;
 import com.nutricare.model.dto.DietResult;
+import com.nutricare.util.LenientJson;
 
 @Service
 public class DietResultServiceImpl implements DietResultService {
 
+    private static final Logger log = LoggerFactory.getLogger(DietResultServiceImpl.class);
+
     private final DietResultDao dietResultDao;
     private final ObjectMapper objectMapper; // JSON 파싱용
 
@@ -57,52 +60,45 @@ public class DietResultServiceImpl implements DietResultService {
     /**
      * RAG 모델의 JSON 응답을 파싱하여 DB에 저장합니다.
      * 가정: RAG가 `[ { "menuName": "...", "calories": 500, ... }, ... ]` 형태의 JSON 배열을 반환한다고 가정
+     * 앞뒤 설명 문장/코드 펜스는 건너뛰고, 잘린 배열이면 완전한 항목만 저장한다. (LenientJson)
      */
     @Override
     @Transactional
     public void saveDietResultsFromJson(Long recId, String jsonResponse) {
-        try {
-            // 1. JSON 문자열 전처리
-            String cleanJson = cleanJson(jsonResponse);
-
-            // 2. 파싱 (예외 발생 가능 지점)
-            List<DietResult> results = objectMapper.readValue(cleanJson, new TypeReference<List<DietResult>>() {});
+        // 1. 파싱 (읽을 수 있는 항목이 하나도 없으면 형식 오류)
+        LenientJson.Result<DietResult> parsed = LenientJson.readArray(objectMapper, jsonResponse, DietResult.class);
+        if (parsed.items().isEmpty() && (parsed.skipped() > 0 || !parsed.complete())) {
+            log.error("saveDietResultsFromJson 처리 실패: JSON 항목 없음 (recId={})", recId);
+            throw new IllegalArgumentException("RAG 응답 JSON 파싱 실패: 형식이 올바르지 않습니다.");
+        }
+        if (parsed.salvaged() > 0) {
+            log.warn("손상된 식단 JSON에서 {}개 항목 복구 (recId={}, 잘림={}, 버린 항목={})",
+                    parsed.salvaged(), recId, !parsed.complete(), parsed.skipped());
+        }
 
-            // 3. DB 저장
-            for (DietResult result : results) {
+        try {
+            // 2. DB 저장
+            for (DietResult result : parsed.items()) {
                 result.setRecId(recId);
                 // [반영] dao 직접 호출 대신, 위에서 만든 메서드 재사용
                 // (내부 호출이라 @Transactional 전파는 안 되지만, 이 메서드 자체가 Transactional이라 괜찮음)
                 insertDietResult(result);
             }
 
-        } catch (JsonProcessingException e) {
-            // [반영] JSON 파싱 에러를 명확한 RuntimeException으로 감싸서 던짐
-            e.printStackTrace();
-            throw new IllegalArgumentException("RAG 응답 JSON 파싱 실패: 형식이 올바르지 않습니다.", e);
         } catch (Exception e) {
             // 그 외 DB 오류 등
-            e.printStackTrace();
+            log.error("saveDietResultsFromJson 처리 실패", e);
             throw new RuntimeException("식단 결과 저장 중 알 수 없는 오류 발생", e);
         }
     }
 
-    // JSON 문자열 전처리 (필요 시 RAG 응답 특성에 맞춰 수정)
-    private String cleanJson(String response) {
-        if (response == null) return "[]";
-        String trimmed = response.trim();
-        // 마크다운 코드 블록 제거
-        if (trimmed.startsWith("```json")) {
-            trimmed = trimmed.substring(7);
-        } else if (trimmed.startsWith("```")) {
-            trimmed = trimmed.substring(3);
-        }
-        if (trimmed.endsWith("```")) {
-            trimmed = trimmed.substring(0, trimmed.length() - 3);
-        }
-        return trimmed.trim();
+    @Override
+    @Transactional
+    public void replaceDietResultsFromJson(Long recId, String jsonResponse) {
+        dietResultDao.deleteByRecId(recId);
+        saveDietResultsFromJson(recId, jsonResponse);
     }
-    
+
     @Override
     @PreAuthorize("@dietSecurity.isRecOwner(#recId, principal)")
     @Transactional
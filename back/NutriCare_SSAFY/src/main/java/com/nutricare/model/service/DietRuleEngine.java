@@ -56,8 +56,8 @@ public class DietRuleEngine {
         String conditions = "1식 열량은 계획에 맞추고(±50kcal) 단백질/채소를 충분히 포함";
         if (plan != null) {
             conditions = String.format("1식 열량 %.0f~%.0f kcal, 단백질 우선, 채소 충분",
-                    plan.getTargetCalories() - 50.0,
-                    plan.getTargetCalories() + 50.0);
+                    plan.getMealCalories() - 50.0,
+                    plan.getMealCalories() + 50.0);
         }
         if ("LOSE".equalsIgnoreCase(String.valueOf(goal))) {
             conditions += ", 가공당/설탕 음료 금지";
@@ -0,0 +1,152 @@
+package com.nutricare.model.service;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nutricare.model.dao.DietContextDao;
+import com.nutricare.model.dao.DietResultDao;
+import com.nutricare.model.dto.DietContext;
+import com.nutricare.model.dto.DietResult;
+import com.nutricare.model.dto.HealthProfile;
+import com.nutricare.model.service.CalorieCalculator.CaloriePlan;
+
+/**
+ * 식단 템플릿 라이브러리 빌더.
+ * - 저장 완료(PERSISTED)된 최근 추천의 diet_result를 템플릿으로 모아 DietTemplateLibrary 파일을 다시 쓰고 바로 다시 매핑한다.
+ *   (LLM 응답은 저장 전에 DietPlanValidator를 거쳤으므로 검수된 식단만 들어간다)
+ * - 진단 / 목표 / 목표 열량 구간(calorie-bucket-kcal)마다 가장 최근 추천 하나만 쓴다.
+ * - 메모로 개인화된 추천은 응답 캐시와 같은 규칙(DietResponseCache.isShareable)으로 제외한다. (다른 회원에게 공유하지 않음)
+ * - 매일 rebuild-cron에 실행하고, 기동 시 라이브러리가 비어 있으면 한 번 실행한다.
+ */
+@Component
+public class DietTemplateBuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(DietTemplateBuilder.class);
+
+    private final DietContextDao dietContextDao;
+    private final DietResultDao dietResultDao;
+    private final DietTemplateLibrary dietTemplateLibrary;
+    private final DietResponseCache dietResponseCache;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final boolean enabled;
+    private final int sourceLimit;
+    private final int calorieBucket;
+
+    public DietTemplateBuilder(DietContextDao dietContextDao,
+                               DietResultDao dietResultDao,
+                               DietTemplateLibrary dietTemplateLibrary,
+                               DietResponseCache dietResponseCache,
+                               @Value("${diet.templates.enabled:true}") boolean enabled,
+                               @Value("${diet.templates.build-source-limit:5000}") int sourceLimit,
+                               @Value("${diet.templates.build-calorie-bucket-kcal:100}") int calorieBucket) {
+        this.dietContextDao = dietContextDao;
+        this.dietResultDao = dietResultDao;
+        this.dietTemplateLibrary = dietTemplateLibrary;
+        this.dietResponseCache = dietResponseCache;
+        this.enabled = enabled;
+        this.sourceLimit = Math.max(1, sourceLimit);
+        this.calorieBucket = Math.max(1, calorieBucket);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (enabled && dietTemplateLibrary.isEmpty()) rebuild();
+    }
+
+    @Scheduled(cron = "${diet.templates.rebuild-cron:0 30 4 * * *}")
+    public void scheduledRebuild() {
+        if (enabled) rebuild();
+    }
+
+    /**
+     * 템플릿 파일을 다시 만든다. 모은 템플릿이 없으면 기존 파일을 그대로 둔다.
+     *
+     * @return 기록한 템플릿 수
+     */
+    public int rebuild() {
+        if (dietTemplateLibrary.getFile() == null) return 0;
+        long start = System.currentTimeMillis();
+        try {
+            List<DietTemplateLibrary.Template> templates = collect();
+            if (templates.isEmpty()) {
+                log.info("식단 템플릿 빌드 건너뜀: 저장 완료된 추천이 없습니다");
+                return 0;
+            }
+            DietTemplateLibrary.write(dietTemplateLibrary.getFile(), templates);
+            dietTemplateLibrary.load();
+            log.info("식단 템플릿 {}개 빌드 ({}ms)", templates.size(), System.currentTimeMillis() - start);
+            return templates.size();
+        } catch (IOException | RuntimeException e) {
+            log.warn("식단 템플릿 빌드 실패, 기존 라이브러리 유지: {}", e.toString());
+            return 0;
+        }
+    }
+
+    List<DietTemplateLibrary.Template> collect() {
+        // 구간별 가장 최근 추천 (쿼리가 최신순)
+        Map<String, DietContext> latest = new LinkedHashMap<>();
+        Map<String, CaloriePlan> plans = new LinkedHashMap<>();
+        for (DietContext context : dietContextDao.findPersistedContexts(sourceLimit)) {
+            if (!dietResponseCache.isShareable(context)) continue;
+            CaloriePlan plan = planFor(context);
+            if (plan == null) continue;
+            String key = bucket(context, plan);
+            if (latest.putIfAbsent(key, context) == null) plans.put(key, plan);
+        }
+
+        List<DietTemplateLibrary.Template> templates = new ArrayList<>(latest.size());
+        latest.forEach((key, context) -> {
+            String json = payload(dietResultDao.selectByRecId(context.getRecId()));
+            if (json == null) return;
+            templates.add(new DietTemplateLibrary.Template(
+                    DietTemplateLibrary.features(context.getDiagnosisName(), context.getHealthGoalType(),
+                            plans.get(key).getTargetCalories()),
+                    json));
+        });
+        return templates;
+    }
+
+    private String bucket(DietContext context, CaloriePlan plan) {
+        return String.join("|",
+                String.valueOf(context.getDiagnosisName()).toUpperCase(Locale.ROOT),
+                String.valueOf(context.getHealthGoalType()).toUpperCase(Locale.ROOT),
+                String.valueOf(Math.round((double) plan.getTargetCalories() / calorieBucket)));
+    }
+
+    // 키/몸무게가 없으면 열량 계획을 세울 수 없어 템플릿으로 쓰지 않는다
+    private static CaloriePlan planFor(DietContext context) {
+        if (context.getHeightCm() == null || context.getWeightKg() == null) return null;
+        HealthProfile hp = new HealthProfile();
+        hp.setHeightCm(context.getHeightCm());
+        hp.setWeightKg(context.getWeightKg());
+        hp.setActivityLevel(context.getActivityLevel());
+        hp.setGoalType(context.getHealthGoalType());
+        Integer ageYears = context.getBirthYear() != null ? LocalDate.now().getYear() - context.getBirthYear() : null;
+        return CalorieCalculator.calculate(hp, ageYears, context.getGender());
+    }
+
+    // 다른 회원에게 나갈 응답이므로 recId/resultId는 지운다
+    private String payload(List<DietResult> results) {
+        if (results == null || results.isEmpty()) return null;
+        try {
+            return DietResponseCache.shareable(objectMapper.writeValueAsString(results));
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
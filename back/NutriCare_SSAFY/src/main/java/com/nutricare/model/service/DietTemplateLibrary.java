@@ -0,0 +1,196 @@
+package com.nutricare.model.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.nutricare.model.dto.DietContext;
+import com.nutricare.model.service.CalorieCalculator.CaloriePlan;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 식단 템플릿 라이브러리 (DietTemplateBuilder가 저장 완료된 추천에서 모아 write()로 생성한 바이너리 파일).
+ * - 템플릿은 원래 회원의 조건으로만 검증된 응답이므로, 응답하기 전에 DietPlanValidator.accepts로 요청 회원의 조건에서 다시 확인한다.
+ * - 파일을 메모리 매핑해서 읽기 때문에 기동 시 전체를 읽어 들이지 않는다.
+ * - 빌더가 파일을 교체하면 load()로 다시 매핑한다. (조회 중인 요청은 이전 매핑을 끝까지 사용)
+ * - 특징 벡터는 템플릿 순서대로 float 배열에 연속 배치되어 있고, 조회는 전체를 순차 비교하는 최근접 탐색이다.
+ *   (차원이 작아 KD-tree보다 순차 비교가 캐시 효율이 좋고, 거리 합이 현재 최솟값을 넘으면 그 템플릿은 바로 건너뛴다)
+ * - 파일 형식: magic(int) version(int) count(int) dims(int) | features float[count*dims]
+ *              | payloadOffsets long[count+1] | payload (UTF-8 JSON, 앱 내부 camelCase DietResult 배열)
+ */
+@Component
+public class DietTemplateLibrary {
+
+    private static final Logger log = LoggerFactory.getLogger(DietTemplateLibrary.class);
+
+    private static final int MAGIC = 0x4E434454; // "NCDT"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    public static final int DIMS = 6;
+    private static final float CALORIE_SCALE = 500f; // 하루 목표 500kcal 차이 = 거리 1 (1식 기준 약 167kcal)
+    private static final float MACRO_WEIGHT = 5f;
+    private static final float FLAG_WEIGHT = 10f;    // 진단이 다르면 사실상 매칭되지 않도록
+
+    public record Template(float[] features, String json) {}
+
+    public record Match(int index, double distance, String json) {}
+
+    private final Path file;
+    private final double maxDistanceSquared;
+
+    // 한 번에 교체되는 매핑 (재로드 중 조회가 서로 다른 파일의 버퍼를 섞어 읽지 않도록)
+    private record Mapped(ByteBuffer buf, FloatBuffer features, LongBuffer offsets, int count, long payloadStart) {}
+
+    private volatile Mapped mapped;
+
+    public DietTemplateLibrary(@Value("${diet.templates.file:./data/diet-templates.bin}") String file,
+                               @Value("${diet.templates.max-distance:0.2}") double maxDistance) {
+        this.file = file == null || file.isBlank() ? null : Paths.get(file);
+        this.maxDistanceSquared = maxDistance * maxDistance;
+    }
+
+    @PostConstruct
+    public synchronized void load() {
+        if (file == null || !Files.exists(file)) {
+            log.info("식단 템플릿 파일이 없어 템플릿 응답을 사용하지 않습니다: {}", file);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("템플릿 파일이 너무 큽니다 (2GB 초과)");
+            }
+            ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION || buf.getInt(12) != DIMS) {
+                throw new IOException("템플릿 파일 형식이 올바르지 않습니다");
+            }
+            int n = buf.getInt(8);
+            int featureBytes = n * DIMS * Float.BYTES;
+            int offsetBytes = (n + 1) * Long.BYTES;
+
+            this.mapped = new Mapped(buf,
+                    buf.slice(HEADER_BYTES, featureBytes).asFloatBuffer(),
+                    buf.slice(HEADER_BYTES + featureBytes, offsetBytes).asLongBuffer(),
+                    n, (long) HEADER_BYTES + featureBytes + offsetBytes);
+            log.info("식단 템플릿 {}개 로드 ({})", n, file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("식단 템플릿 파일을 읽지 못했습니다: {}", e.getMessage());
+        }
+    }
+
+    public boolean isEmpty() {
+        Mapped m = mapped;
+        return m == null || m.count() == 0;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * 가장 가까운 템플릿. 라이브러리가 비었거나, 열량 계획이 없거나, 최대 거리 밖이면 null.
+     */
+    public Match nearest(DietContext context, CaloriePlan plan) {
+        Mapped m = mapped;
+        if (m == null || m.count() == 0 || plan == null) return null;
+        float[] q = features(context.getDiagnosisName(), context.getHealthGoalType(), plan.getTargetCalories());
+
+        FloatBuffer f = m.features();
+        int n = m.count();
+        int best = -1;
+        float bestDist = (float) maxDistanceSquared;
+        for (int i = 0, base = 0; i < n; i++, base += DIMS) {
+            float d = 0;
+            for (int j = 0; j < DIMS; j++) {
+                float diff = f.get(base + j) - q[j];
+                d += diff * diff;
+                if (d > bestDist) break;
+            }
+            if (d <= bestDist) {
+                bestDist = d;
+                best = i;
+            }
+        }
+        if (best < 0) return null;
+        return new Match(best, Math.sqrt(bestDist), payload(m, best));
+    }
+
+    private static String payload(Mapped m, int index) {
+        long start = m.offsets().get(index);
+        long end = m.offsets().get(index + 1);
+        byte[] bytes = new byte[(int) (end - start)];
+        m.buf().get((int) (m.payloadStart() + start), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 템플릿 특징 벡터: [목표 열량, 단백질/탄수화물/지방 비율(목표별), 여드름, 아토피]
+     * 오프라인 빌드와 조회가 같은 함수를 써야 한다.
+     */
+    public static float[] features(String diagnosisName, String goalType, int targetCalories) {
+        String diagnosis = diagnosisName == null ? "" : diagnosisName.toUpperCase();
+        String goal = goalType == null ? "" : goalType.toUpperCase();
+        float[] macros = switch (goal) {
+            case "LOSE" -> new float[] { 0.30f, 0.40f, 0.30f };
+            case "GAIN" -> new float[] { 0.25f, 0.50f, 0.25f };
+            default -> new float[] { 0.20f, 0.50f, 0.30f };
+        };
+        return new float[] {
+                targetCalories / CALORIE_SCALE,
+                macros[0] * MACRO_WEIGHT,
+                macros[1] * MACRO_WEIGHT,
+                macros[2] * MACRO_WEIGHT,
+                "ACNE".equals(diagnosis) ? FLAG_WEIGHT : 0f,
+                "ATOPIC".equals(diagnosis) ? FLAG_WEIGHT : 0f,
+        };
+    }
+
+    /**
+     * 빌드용: 템플릿 목록을 라이브러리 파일로 쓴다. (임시 파일에 쓴 뒤 교체)
+     */
+    public static void write(Path target, List<Template> templates) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        byte[][] payloads = new byte[templates.size()][];
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = templates.get(i).json().getBytes(StandardCharsets.UTF_8);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(templates.size());
+            out.writeInt(DIMS);
+            for (Template t : templates) {
+                if (t.features().length != DIMS) throw new IllegalArgumentException("특징 벡터 차원이 다릅니다");
+                for (float v : t.features()) out.writeFloat(v);
+            }
+            long offset = 0;
+            out.writeLong(0);
+            for (byte[] p : payloads) {
+                offset += p.length;
+                out.writeLong(offset);
+            }
+            for (byte[] p : payloads) out.write(p);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
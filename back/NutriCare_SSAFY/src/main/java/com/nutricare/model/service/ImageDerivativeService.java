@@ -0,0 +1,31 @@
+package com.nutricare.model.service;
+
+import java.util.List;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.nutricare.model.dto.ImageDerivatives;
+
+public interface ImageDerivativeService {
+
+    /**
+     * 업로드 원본(objectName)과 같은 경로에 축소 JPEG 파생본을 만들어 저장한다.
+     * 실패해도 예외를 던지지 않고 해당 URL을 null로 돌려준다. (업로드 자체는 성공 처리)
+     */
+    default ImageDerivatives create(MultipartFile file, String objectName) {
+        return create(file, objectName, false);
+    }
+
+    /**
+     * modelInput이면 AI 서버 입력용 정규화 이미지(EXIF 방향 보정, 크롭 없이 모델 입력 크기 정사각형으로 리사이즈)도 함께 만든다.
+     */
+    default ImageDerivatives create(MultipartFile file, String objectName, boolean modelInput) {
+        return create(List.of(file), List.of(objectName), modelInput).get(0);
+    }
+
+    /**
+     * 한 요청의 여러 이미지를 한꺼번에 처리한다. 모두 먼저 대기열에 넣어 병렬로 만들고, 대기 시간 제한은 요청 전체에 한 번 적용한다.
+     * 결과는 files와 같은 순서이며 시간 안에 못 만든 항목은 URL이 null이다.
+     */
+    List<ImageDerivatives> create(List<MultipartFile> files, List<String> objectNames, boolean modelInput);
+}
@@ -0,0 +1,276 @@
+package com.nutricare.model.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.nutricare.config.GcsProperties;
+import com.nutricare.model.dto.ImageDerivatives;
+import com.nutricare.util.ExifOrientation;
+import com.nutricare.util.OutboundMetrics;
+import com.nutricare.util.WorkerThreads;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 업로드 이미지의 축소 JPEG 파생본(목록용/상세용) 생성.
+ * - 헤더로 크기만 먼저 읽고, 목표 폭에 맞춘 서브샘플링으로 디코딩해 원본 해상도 비트맵을 만들지 않는다.
+ * - 디코딩은 메모리/CPU를 많이 쓰므로 크기 제한된 전용 풀에서 실행하고, 풀이 가득 차거나 시간 초과면 파생본 없이 진행한다.
+ *   한 요청의 이미지는 모두 먼저 제출한 뒤 하나의 마감 시각(timeout-ms)까지만 기다린다. (이미지 수만큼 대기 시간이 늘지 않음)
+ * - 파생본은 원본과 같은 경로에 {원본 이름}_w{폭}.jpg 로 저장한다. (이름이 고유하므로 장기 캐시 허용)
+ * - 분석용 사진은 EXIF 방향 보정 후 모델 입력 크기의 정사각형으로 늘리거나 줄인(크롭 없음) {원본 이름}_m{크기}.jpg 도 만든다.
+ *   학습 전처리(resnet_mlflow.build_transform: Resize((224, 224)))와 같은 변환이라 AI 서버의 리사이즈는 no-op이 된다.
+ *   진단(ResNet) 요청만 원본 대신 이 파일을 쓴다. 식단 VLM은 비율이 유지된 상세용 축소본(display_url)을 받는다.
+ */
+@Service
+public class ImageDerivativeServiceImpl implements ImageDerivativeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageDerivativeServiceImpl.class);
+
+    // image: EXIF 방향까지 적용된 (서브샘플링된) 이미지, sourceWidth: 방향 적용 후 원본 폭
+    private record Decoded(BufferedImage image, int sourceWidth) {}
+
+    private final Storage storage;
+    private final GcsProperties gcsProps;
+    private final OutboundMetrics outboundMetrics;
+    private final int thumbnailWidth;
+    private final int displayWidth;
+    private final float jpegQuality;
+    private final int modelInputSize;
+    private final float modelJpegQuality;
+    private final long maxPixels;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor executor;
+
+    public ImageDerivativeServiceImpl(Storage storage, GcsProperties gcsProps, OutboundMetrics outboundMetrics,
+                                      @Value("${image.derivatives.thumbnail-width:320}") int thumbnailWidth,
+                                      @Value("${image.derivatives.display-width:1080}") int displayWidth,
+                                      @Value("${image.derivatives.jpeg-quality:0.82}") float jpegQuality,
+                                      @Value("${image.derivatives.model-input-size:224}") int modelInputSize,
+                                      @Value("${image.derivatives.model-jpeg-quality:0.9}") float modelJpegQuality,
+                                      @Value("${image.derivatives.max-pixels:50000000}") long maxPixels,
+                                      @Value("${image.derivatives.threads:2}") int threads,
+                                      @Value("${image.derivatives.queue-capacity:16}") int queueCapacity,
+                                      @Value("${image.derivatives.timeout-ms:10000}") long timeoutMillis) {
+        this.storage = storage;
+        this.gcsProps = gcsProps;
+        this.outboundMetrics = outboundMetrics;
+        this.thumbnailWidth = thumbnailWidth;
+        this.displayWidth = displayWidth;
+        this.jpegQuality = jpegQuality;
+        this.modelInputSize = modelInputSize;
+        this.modelJpegQuality = modelJpegQuality;
+        this.maxPixels = maxPixels;
+        this.timeoutMillis = timeoutMillis;
+
+        int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                WorkerThreads.factory("image-derivative-", false),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public List<ImageDerivatives> create(List<MultipartFile> files, List<String> objectNames, boolean modelInput) {
+        List<Future<ImageDerivatives>> futures = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            futures.add(submit(files.get(i), objectNames.get(i), modelInput));
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        List<ImageDerivatives> results = new ArrayList<>(files.size());
+        for (int i = 0; i < futures.size(); i++) {
+            results.add(await(futures.get(i), objectNames.get(i), deadline));
+        }
+        return results;
+    }
+
+    // 대기열이 가득 차면 null (AbortPolicy, 원본만 사용)
+    private Future<ImageDerivatives> submit(MultipartFile file, String objectName, boolean modelInput) {
+        try {
+            return executor.submit(() -> generate(file, objectName, modelInput));
+        } catch (RejectedExecutionException e) {
+            log.warn("이미지 파생본 대기열이 가득 차 원본만 사용합니다: {}", objectName);
+            return null;
+        }
+    }
+
+    private ImageDerivatives await(Future<ImageDerivatives> future, String objectName, long deadline) {
+        if (future == null) {
+            return new ImageDerivatives();
+        }
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("이미지 파생본 생성 시간 초과: {}", objectName);
+        } catch (ExecutionException e) {
+            log.warn("이미지 파생본 생성 실패: {} ({})", objectName, e.getCause().toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new ImageDerivatives();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private ImageDerivatives generate(MultipartFile file, String objectName, boolean modelInput) throws IOException {
+        Decoded decoded = decode(file, modelInput);
+        if (decoded == null) {
+            return new ImageDerivatives();
+        }
+        // 원본이 목표 폭 이하이면 파생본을 만들지 않는다 (원본 사용)
+        String display = decoded.sourceWidth() > displayWidth
+                ? store(resize(decoded.image(), displayWidth), derivedName(objectName, "_w" + displayWidth), jpegQuality) : null;
+        String thumbnail = decoded.sourceWidth() > thumbnailWidth
+                ? store(resize(decoded.image(), thumbnailWidth), derivedName(objectName, "_w" + thumbnailWidth), jpegQuality) : null;
+        ImageDerivatives derivatives = new ImageDerivatives(thumbnail, display);
+        if (modelInput) {
+            derivatives.setModelUrl(store(resize(decoded.image(), modelInputSize, modelInputSize),
+                    derivedName(objectName, "_m" + modelInputSize), modelJpegQuality));
+        }
+        return derivatives;
+    }
+
+    // 필요한 가장 큰 결과 크기 이상이 되도록 서브샘플링해서 디코딩 (이미지가 아니거나 너무 크면 null)
+    private Decoded decode(MultipartFile file, boolean modelInput) throws IOException {
+        try (InputStream in = file.getInputStream();
+             ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            if (iis == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int rawWidth = reader.getWidth(0);
+                int rawHeight = reader.getHeight(0);
+                if ((long) rawWidth * rawHeight > maxPixels) {
+                    log.warn("이미지가 너무 커서 파생본을 만들지 않습니다: {}x{}", rawWidth, rawHeight);
+                    return null;
+                }
+                // 화면에 보이는 방향 기준의 가로/세로 (세로 사진은 EXIF 6/8로 90도 회전되어 저장됨)
+                int orientation = ExifOrientation.read(reader.getImageMetadata(0));
+                boolean swap = ExifOrientation.swapsAxes(orientation);
+                int width = swap ? rawHeight : rawWidth;
+                int height = swap ? rawWidth : rawHeight;
+
+                int target = width > displayWidth ? displayWidth : width > thumbnailWidth ? thumbnailWidth : 0;
+                if (target == 0 && !modelInput) return null; // 만들 파생본 없음 -> 디코딩 생략
+
+                int step = target > 0 ? width / target : 1;
+                if (modelInput) {
+                    // 가로/세로 모두 모델 입력 크기 이상 남도록 (이후 정사각형으로 축소)
+                    step = Math.min(step, Math.min(width, height) / modelInputSize);
+                }
+                step = Math.max(1, step);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return new Decoded(ExifOrientation.apply(reader.read(0, param), orientation), width);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 비율을 유지해 목표 폭으로 축소
+    private static BufferedImage resize(BufferedImage src, int targetWidth) {
+        return resize(src, targetWidth, Math.max(1, (int) Math.round((double) src.getHeight() * targetWidth / src.getWidth())));
+    }
+
+    // 절반씩 줄이다가 마지막에 목표 크기로 보간 (한 번에 크게 줄일 때의 계단 현상 방지). 투명 배경은 흰색으로
+    // 원본이 목표보다 작으면 한 번에 확대한다. (모델 입력은 크기가 고정)
+    private static BufferedImage resize(BufferedImage src, int targetWidth, int targetHeight) {
+        BufferedImage current = src;
+        int w = src.getWidth();
+        int h = src.getHeight();
+        do {
+            int nextW = w > targetWidth ? Math.max(targetWidth, w / 2) : targetWidth;
+            int nextH = h > targetHeight ? Math.max(targetHeight, h / 2) : targetHeight;
+            BufferedImage next = new BufferedImage(nextW, nextH, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, nextW, nextH, Color.WHITE, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+            w = nextW;
+            h = nextH;
+        } while (w != targetWidth || h != targetHeight);
+        return current;
+    }
+
+    private String store(BufferedImage image, String objectName, float quality) throws IOException {
+        byte[] jpeg = encodeJpeg(image, quality);
+        BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(gcsProps.getBucketName(), objectName))
+                .setContentType("image/jpeg")
+                .setCacheControl("public, max-age=31536000, immutable")
+                .build();
+        outboundMetrics.record("gcs", () -> storage.create(blobInfo, jpeg));
+
+        String baseUrl = (gcsProps.getBaseUrl() != null && !gcsProps.getBaseUrl().isBlank())
+                ? gcsProps.getBaseUrl()
+                : "https://storage.googleapis.com";
+        return baseUrl + "/" + gcsProps.getBucketName() + "/" + objectName;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    // board/1/uuid_a.png + "_w320" -> board/1/uuid_a_w320.jpg
+    private static String derivedName(String objectName, String suffix) {
+        int slash = objectName.lastIndexOf('/');
+        int dot = objectName.lastIndexOf('.');
+        String base = dot > slash ? objectName.substring(0, dot) : objectName;
+        return base + suffix + ".jpg";
+    }
+}
@@ -0,0 +1,16 @@
+package com.nutricare.model.service;
+
+public interface LatestPointerService {
+
+    // 기존 데이터의 최신 행 포인터를 구간 단위로 채운다. (재실행해도 안전)
+    void backfill();
+
+    // 전체 백필이 끝났는지 (끝나기 전에는 포인터가 비어 있는 행이 있을 수 있음)
+    boolean isBackfilled();
+
+    // 포인터가 비어 있을 때 해당 사진 1건만 즉시 백필. 갱신되었으면 true
+    boolean repairPhoto(Long photoId);
+
+    // 포인터가 비어 있을 때 해당 분석 결과 1건만 즉시 백필. 갱신되었으면 true
+    boolean repairAnalysis(Long analysisId);
+}
@@ -0,0 +1,83 @@
+package com.nutricare.model.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.nutricare.model.dao.LatestPointerDao;
+
+/**
+ * photo.latest_analysis_id / analysis_result.latest_rec_id 백필.
+ * - 기동 완료 후 id 구간(batch-size)별 UPDATE로 채운다. 구간마다 자동 커밋되어 긴 잠금을 만들지 않는다.
+ * - 백필이 끝나기 전 조회에서 포인터가 비어 있으면 해당 행만 즉시 채운 뒤 다시 읽는다.
+ * - 완료 시 data_backfill 에 기록하고, 다음 기동부터는 건너뛴다. (이후 행은 삽입 트랜잭션에서 포인터를 갱신)
+ */
+@Service
+public class LatestPointerServiceImpl implements LatestPointerService {
+
+    private static final Logger log = LoggerFactory.getLogger(LatestPointerServiceImpl.class);
+    private static final String BACKFILL_NAME = "latest-pointers";
+
+    private final LatestPointerDao latestPointerDao;
+    private final boolean enabled;
+    private final int batchSize;
+    private volatile boolean backfilled;
+
+    public LatestPointerServiceImpl(LatestPointerDao latestPointerDao,
+                                    @Value("${backfill.latest-pointers.enabled:true}") boolean enabled,
+                                    @Value("${backfill.latest-pointers.batch-size:1000}") int batchSize) {
+        this.latestPointerDao = latestPointerDao;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!enabled) return;
+        if (latestPointerDao.isBackfillDone(BACKFILL_NAME)) {
+            backfilled = true;
+            log.info("Latest pointer backfill already completed, skipping");
+            return;
+        }
+        backfill();
+    }
+
+    @Override
+    public void backfill() {
+        long start = System.currentTimeMillis();
+        int photos = 0;
+        long maxPhotoId = latestPointerDao.maxPhotoId();
+        for (long from = 0; from < maxPhotoId; from += batchSize) {
+            photos += latestPointerDao.backfillPhotos(from, Math.min(from + batchSize, maxPhotoId));
+        }
+        int analyses = 0;
+        long maxAnalysisId = latestPointerDao.maxAnalysisId();
+        for (long from = 0; from < maxAnalysisId; from += batchSize) {
+            analyses += latestPointerDao.backfillAnalyses(from, Math.min(from + batchSize, maxAnalysisId));
+        }
+        latestPointerDao.markBackfillDone(BACKFILL_NAME);
+        backfilled = true;
+        log.info("Latest pointer backfill done: photos={} analyses={} in {}ms",
+                photos, analyses, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public boolean isBackfilled() {
+        return backfilled;
+    }
+
+    @Override
+    public boolean repairPhoto(Long photoId) {
+        if (backfilled || photoId == null) return false;
+        return latestPointerDao.backfillPhotos(photoId - 1, photoId) > 0;
+    }
+
+    @Override
+    public boolean repairAnalysis(Long analysisId) {
+        if (backfilled || analysisId == null) return false;
+        return latestPointerDao.backfillAnalyses(analysisId - 1, analysisId) > 0;
+    }
+}
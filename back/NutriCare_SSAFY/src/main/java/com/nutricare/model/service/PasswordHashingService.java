@@ -0,0 +1,13 @@
+package com.nutricare.model.service;
+
+public interface PasswordHashingService {
+
+    // 평문 비밀번호 해시 (전용 스레드 풀에서 실행, 대기열 초과 시 429)
+    String encode(String rawPassword);
+
+    // 평문 vs 저장된 해시 검증 (전용 스레드 풀에서 실행, 대기열 초과 시 429)
+    boolean matches(String rawPassword, String encodedPassword);
+
+    // 저장된 해시의 cost가 현재 cost와 다르면 true (로그인 성공 시 재해시 대상)
+    boolean needsRehash(String encodedPassword);
+}
@@ -0,0 +1,109 @@
+package com.nutricare.model.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.nutricare.config.BCryptCostCalibrator;
+import com.nutricare.util.WorkerThreads;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * BCrypt 해시/검증을 Tomcat 요청 스레드가 아닌 크기 제한된 전용 스레드 풀에서 실행한다.
+ * - 로그인 폭주(credential stuffing) 시에도 CPU를 모두 점유하지 못하게 스레드 수를 제한한다.
+ * - 대기열이 가득 차면 즉시 429(Too Many Requests)로 거절해 다른 API가 굶지 않게 한다.
+ */
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final int currentCost;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingServiceImpl(PasswordEncoder passwordEncoder,
+                                      BCryptCostCalibrator calibrator,
+                                      @Value("${security.password.hash-threads:0}") int threads,
+                                      @Value("${security.password.hash-queue-capacity:64}") int queueCapacity,
+                                      @Value("${security.password.hash-timeout-ms:5000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.currentCost = calibrator.getCost();
+        this.timeoutMillis = timeoutMillis;
+
+        // 0이면 코어의 절반 (최소 1) - 나머지 코어는 일반 API 처리용으로 남긴다.
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                WorkerThreads.factory("password-hash-", false),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) return false;
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        int storedCost = parseCost(encodedPassword);
+        return storedCost > 0 && storedCost != currentCost;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "요청이 많아 잠시 후 다시 시도해 주세요.");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "비밀번호 처리 시간이 초과되었습니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 처리 중 인터럽트 발생", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("비밀번호 처리 실패", cause);
+        }
+    }
+
+    // BCrypt 해시 형식: $2a$10$... -> 10
+    private int parseCost(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') return -1;
+        int second = encodedPassword.indexOf('$', 1);
+        if (second < 0 || encodedPassword.length() < second + 3) return -1;
+        try {
+            return Integer.parseInt(encodedPassword.substring(second + 1, second + 3));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -4,17 +4,21 @@ import java.util.List;
 
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.nutricare.model.dao.PhotoDao;
+import com.nutricare.model.dao.SkinTrendDao;
 import com.nutricare.model.dto.Photo;
 
 @Service
 public class PhotoServiceImpl implements PhotoService {
 	
 	private final PhotoDao photoDao;
+	private final SkinTrendDao skinTrendDao;
 	
-	public PhotoServiceImpl(PhotoDao photoDao) {
+	public PhotoServiceImpl(PhotoDao photoDao, SkinTrendDao skinTrendDao) {
 		this.photoDao = photoDao;
+		this.skinTrendDao = skinTrendDao;
 	}
 		
 	@Override
@@ -36,7 +40,10 @@ public class PhotoServiceImpl implements PhotoService {
 
 	@Override
 	@PreAuthorize("@dietSecurity.isPhotoOwner(#photoId, principal)")
+	@Transactional
 	public int delete(long photoId) {
+		// 연쇄 삭제될 분석 결과를 피부 상태 추이 집계에서 먼저 뺀다
+		skinTrendDao.subtractPhoto(photoId);
 		return photoDao.delete(photoId);
 	}
 
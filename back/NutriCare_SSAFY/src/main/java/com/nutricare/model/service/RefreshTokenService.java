@@ -0,0 +1,18 @@
+package com.nutricare.model.service;
+
+import com.nutricare.model.dto.LoginResponse;
+
+public interface RefreshTokenService {
+
+    // 로그인 시 새 토큰 계열(family)로 Refresh Token 발급 (기존 토큰은 폐기)
+    String issue(Long userId);
+
+    /**
+     * Refresh Token을 1회용으로 소비하고 같은 계열의 새 토큰과 Access Token을 발급한다.
+     * 이미 사용된 토큰이 다시 오면 재사용(탈취)으로 보고 계열 전체를 폐기한 뒤 401을 던진다.
+     */
+    LoginResponse rotate(String refreshToken);
+
+    // 로그아웃 / 강제 로그아웃 시 해당 회원의 모든 토큰 폐기
+    void revokeAll(Long userId);
+}
@@ -0,0 +1,211 @@
+package com.nutricare.model.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.nutricare.model.dao.RefreshTokenDao;
+import com.nutricare.model.dao.UserDao;
+import com.nutricare.model.dto.LoginResponse;
+import com.nutricare.model.dto.RefreshToken;
+import com.nutricare.model.dto.User;
+import com.nutricare.util.JwtUtil;
+
+/**
+ * Refresh Token 저장소.
+ * - DB에는 토큰 원문 대신 SHA-256 해시만 저장하고 해시(unique index)로 조회한다.
+ * - 재발급마다 토큰을 교체(rotation)하고, 이미 사용된 토큰이 다시 오면 계열 전체를 폐기한다.
+ * - 활성 토큰 해시는 메모리에 슬라이딩 TTL로 캐시해 재발급 시 SELECT를 생략한다.
+ * - 폐기된 계열은 토큰 만료 시각까지 메모리 폐기 목록에 남겨 캐시 경로에서도 즉시 차단한다.
+ * - 사용된 토큰 행은 재사용 탐지 기간(reuse-detection-seconds)까지만 보관한다.
+ */
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final class Entry {
+        private final Long userId;
+        private final String familyId;
+        private final long expiresAt;
+        private volatile long lastAccess;
+
+        private Entry(Long userId, String familyId, long expiresAt, long now) {
+            this.userId = userId;
+            this.familyId = familyId;
+            this.expiresAt = expiresAt;
+            this.lastAccess = now;
+        }
+    }
+
+    private final RefreshTokenDao refreshTokenDao;
+    private final UserDao userDao;
+    private final JwtUtil jwtUtil;
+    private final long idleTtlMillis;
+    private final int maxSize;
+    private final int sweepBatchSize;
+    private final long reuseDetectionSeconds;
+
+    // 토큰 해시 -> 활성 토큰 정보
+    private final Map<String, Entry> active = new ConcurrentHashMap<>();
+    // 폐기된 familyId -> 폐기 목록 유지 만료 시각
+    private final Map<String, Long> revokedFamilies = new ConcurrentHashMap<>();
+
+    public RefreshTokenServiceImpl(RefreshTokenDao refreshTokenDao, UserDao userDao, JwtUtil jwtUtil,
+                                   @Value("${security.refresh.cache-idle-seconds:900}") long idleSeconds,
+                                   @Value("${security.refresh.cache-max-size:50000}") int maxSize,
+                                   @Value("${security.refresh.sweep-batch-size:1000}") int sweepBatchSize,
+                                   @Value("${security.refresh.reuse-detection-seconds:86400}") long reuseDetectionSeconds) {
+        this.refreshTokenDao = refreshTokenDao;
+        this.userDao = userDao;
+        this.jwtUtil = jwtUtil;
+        this.idleTtlMillis = idleSeconds * 1000;
+        this.maxSize = maxSize;
+        this.sweepBatchSize = sweepBatchSize;
+        this.reuseDetectionSeconds = reuseDetectionSeconds;
+    }
+
+    @Override
+    @Transactional
+    public String issue(Long userId) {
+        // 기존과 동일하게 회원당 하나의 로그인 세션만 유지
+        revokeAll(userId);
+        return store(userId, UUID.randomUUID().toString());
+    }
+
+    @Override
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public LoginResponse rotate(String refreshToken) {
+        if (refreshToken == null || !jwtUtil.validateToken(refreshToken)) {
+            throw unauthorized("유효하지 않은 Refresh Token입니다.");
+        }
+
+        String hash = digest(refreshToken);
+        long now = System.currentTimeMillis();
+
+        // 1. 캐시 우선 조회 (소비되는 토큰이므로 꺼내면서 제거)
+        Entry entry = active.remove(hash);
+        Long userId;
+        String familyId;
+        if (entry != null && entry.expiresAt > now) {
+            userId = entry.userId;
+            familyId = entry.familyId;
+        } else {
+            RefreshToken stored = refreshTokenDao.findByTokenHash(hash);
+            if (stored == null) {
+                throw unauthorized("이미 로그아웃되었거나 유효하지 않은 토큰입니다.");
+            }
+            userId = stored.getUserId();
+            familyId = stored.getFamilyId();
+            if (Boolean.TRUE.equals(stored.getUsed())) {
+                revokeFamily(familyId, now);
+                throw unauthorized("이미 사용된 Refresh Token입니다. 다시 로그인해 주세요.");
+            }
+            if (stored.getExpiryDate() != null && stored.getExpiryDate().isBefore(LocalDateTime.now())) {
+                throw unauthorized("만료된 Refresh Token입니다.");
+            }
+        }
+
+        if (revokedFamilies.containsKey(familyId)) {
+            throw unauthorized("이미 로그아웃되었거나 유효하지 않은 토큰입니다.");
+        }
+
+        // 2. 조건부 사용 처리 - 동시에 같은 토큰으로 재발급하면 한쪽만 성공하고 나머지는 재사용으로 본다
+        if (refreshTokenDao.markUsed(hash) == 0) {
+            revokeFamily(familyId, now);
+            throw unauthorized("이미 사용된 Refresh Token입니다. 다시 로그인해 주세요.");
+        }
+
+        User user = userDao.findUserById(userId);
+        if (user == null) {
+            revokeFamily(familyId, now);
+            throw unauthorized("존재하지 않는 회원입니다.");
+        }
+
+        // 3. 같은 계열로 새 토큰 발급
+        String newRefreshToken = store(userId, familyId);
+        String accessToken = jwtUtil.generateAccessToken(user.getUserId(), user.getEmail(), user.getRole());
+        return new LoginResponse(accessToken, newRefreshToken, userId);
+    }
+
+    @Override
+    public void revokeAll(Long userId) {
+        if (userId == null) return;
+        long now = System.currentTimeMillis();
+        active.values().removeIf(e -> {
+            if (!userId.equals(e.userId)) return false;
+            revokedFamilies.put(e.familyId, e.expiresAt);
+            return true;
+        });
+        refreshTokenDao.deleteByUserId(userId);
+        revokedFamilies.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+    /**
+     * 만료된 토큰 행과 재사용 탐지 기간이 지난 사용 토큰 행을 배치 단위로 삭제하고,
+     * 유휴/만료 캐시 항목과 폐기 목록을 정리한다.
+     * 한 번에 지우는 행 수를 제한해 긴 잠금을 피한다.
+     */
+    @Scheduled(fixedDelayString = "${security.refresh.sweep-interval-ms:600000}",
+               initialDelayString = "${security.refresh.sweep-interval-ms:600000}")
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        active.values().removeIf(e -> e.expiresAt <= now || now - e.lastAccess >= idleTtlMillis);
+        revokedFamilies.values().removeIf(expiresAt -> expiresAt <= now);
+
+        int deleted;
+        do {
+            deleted = refreshTokenDao.deleteExpired(sweepBatchSize);
+        } while (deleted >= sweepBatchSize);
+        do {
+            deleted = refreshTokenDao.deleteUsedBefore(reuseDetectionSeconds, sweepBatchSize);
+        } while (deleted >= sweepBatchSize);
+    }
+
+    private String store(Long userId, String familyId) {
+        String token = jwtUtil.generateRefreshToken(userId);
+        String hash = digest(token);
+        long now = System.currentTimeMillis();
+        long expiresAt = now + jwtUtil.getREFRESH_EXPIRATION();
+
+        LocalDateTime expiryDate = LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneId.systemDefault());
+        refreshTokenDao.insertToken(new RefreshToken(userId, familyId, hash, expiryDate));
+
+        // 캐시가 가득 차면 캐시하지 않고 DB 조회 경로를 사용
+        if (active.size() < maxSize) {
+            active.put(hash, new Entry(userId, familyId, expiresAt, now));
+        }
+        return token;
+    }
+
+    private void revokeFamily(String familyId, long now) {
+        revokedFamilies.put(familyId, now + jwtUtil.getREFRESH_EXPIRATION());
+        active.values().removeIf(e -> familyId.equals(e.familyId));
+        refreshTokenDao.deleteByFamilyId(familyId);
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static ResponseStatusException unauthorized(String message) {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, message);
+    }
+}
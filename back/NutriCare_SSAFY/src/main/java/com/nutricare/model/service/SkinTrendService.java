@@ -0,0 +1,15 @@
+package com.nutricare.model.service;
+
+import java.time.LocalDate;
+
+import com.nutricare.model.dto.SkinTrend;
+
+public interface SkinTrendService {
+
+    /**
+     * 회원의 피부 상태 추이 (일/주 단위 집계 기반).
+     * @param period DAY | WEEK
+     * @param window 이동 평균 구간 수 (0이면 이동 평균 생략)
+     */
+    SkinTrend getTrend(Long userId, String period, LocalDate from, LocalDate to, int window);
+}
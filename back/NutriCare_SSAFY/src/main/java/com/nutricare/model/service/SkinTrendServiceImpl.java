@@ -0,0 +1,139 @@
+package com.nutricare.model.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.nutricare.model.dao.SkinTrendDao;
+import com.nutricare.model.dto.SkinTrend;
+import com.nutricare.model.dto.SkinTrendRollup;
+
+/**
+ * 피부 상태 추이 조회.
+ * - 원본 analysis_result 대신 skin_trend_rollup(일/주 합계)만 읽는다. (1년 = 최대 366행 / 53행)
+ * - 구간 평균, 표본 수 가중 이동 평균, 최소제곱 선형 추세를 열 단위 배열로 만든다.
+ */
+@Service
+public class SkinTrendServiceImpl implements SkinTrendService {
+
+    private static final String[] NAMES = {
+            "probGunsun", "probAtopy", "probAcne", "probNormal", "probRosacea", "probSeborr" };
+
+    private final SkinTrendDao skinTrendDao;
+    private final int maxDays;
+
+    public SkinTrendServiceImpl(SkinTrendDao skinTrendDao,
+                                @Value("${skin-trend.max-range-days:731}") int maxDays) {
+        this.skinTrendDao = skinTrendDao;
+        this.maxDays = maxDays;
+    }
+
+    @Override
+    public SkinTrend getTrend(Long userId, String period, LocalDate from, LocalDate to, int window) {
+        String p = period == null ? "DAY" : period.toUpperCase();
+        if (!"DAY".equals(p) && !"WEEK".equals(p)) {
+            throw new IllegalArgumentException("period must be DAY or WEEK: " + period);
+        }
+        if (window < 0) {
+            throw new IllegalArgumentException("window must be >= 0: " + window);
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays("DAY".equals(p) ? 90 : 364);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(start, end) > maxDays) {
+            throw new IllegalArgumentException("range must be at most " + maxDays + " days");
+        }
+
+        List<SkinTrendRollup> rows = skinTrendDao.selectRange(userId, p, start, end);
+        int n = rows.size();
+        int stepDays = "DAY".equals(p) ? 1 : 7;
+
+        SkinTrend trend = new SkinTrend();
+        trend.setPeriod(p);
+        trend.setWindow(window);
+
+        List<String> buckets = new ArrayList<>(n);
+        int[] counts = new int[n];
+        double[] x = new double[n]; // 첫 구간 기준 구간 번호 (빈 구간도 간격에 반영)
+        for (int i = 0; i < n; i++) {
+            SkinTrendRollup r = rows.get(i);
+            buckets.add(r.getBucketStart().toString());
+            counts[i] = r.getSampleCount();
+            x[i] = (double) ChronoUnit.DAYS.between(rows.get(0).getBucketStart(), r.getBucketStart()) / stepDays;
+        }
+        trend.setBuckets(buckets);
+        trend.setCounts(counts);
+
+        for (int k = 0; k < NAMES.length; k++) {
+            double[] sums = new double[n];
+            float[] mean = new float[n];
+            for (int i = 0; i < n; i++) {
+                sums[i] = sum(rows.get(i), k);
+                mean[i] = (float) (sums[i] / counts[i]);
+            }
+            trend.getSeries().put(NAMES[k], mean);
+            if (window > 0) {
+                trend.getMovingAverage().put(NAMES[k], movingAverage(x, sums, counts, window));
+            }
+            trend.getSlope().put(NAMES[k], slope(x, mean));
+        }
+        return trend;
+    }
+
+    private static double sum(SkinTrendRollup r, int k) {
+        switch (k) {
+            case 0: return r.getSumGunsun();
+            case 1: return r.getSumAtopy();
+            case 2: return r.getSumAcne();
+            case 3: return r.getSumNormal();
+            case 4: return r.getSumRosacea();
+            default: return r.getSumSeborr();
+        }
+    }
+
+    // 최근 window개 구간(달력 기준, 빈 구간 포함) 합계 / 건수 (두 포인터로 O(n))
+    // 표본이 없는 구간은 조회되지 않으므로 행 개수가 아니라 구간 번호 x로 창을 자른다
+    private static float[] movingAverage(double[] x, double[] sums, int[] counts, int window) {
+        int n = sums.length;
+        float[] out = new float[n];
+        double sum = 0;
+        long count = 0;
+        int left = 0;
+        for (int i = 0; i < n; i++) {
+            sum += sums[i];
+            count += counts[i];
+            while (x[i] - x[left] >= window) {
+                sum -= sums[left];
+                count -= counts[left];
+                left++;
+            }
+            out[i] = count > 0 ? (float) (sum / count) : 0f;
+        }
+        return out;
+    }
+
+    // 구간 평균에 대한 최소제곱 기울기 (구간 2개 미만이면 0)
+    private static float slope(double[] x, float[] y) {
+        int n = x.length;
+        if (n < 2) return 0f;
+        double mx = 0, my = 0;
+        for (int i = 0; i < n; i++) {
+            mx += x[i];
+            my += y[i];
+        }
+        mx /= n;
+        my /= n;
+        double num = 0, den = 0;
+        for (int i = 0; i < n; i++) {
+            num += (x[i] - mx) * (y[i] - my);
+            den += (x[i] - mx) * (x[i] - mx);
+        }
+        return den == 0 ? 0f : (float) (num / den);
+    }
+}
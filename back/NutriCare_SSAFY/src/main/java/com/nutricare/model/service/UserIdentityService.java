@@ -0,0 +1,23 @@
+package com.nutricare.model.service;
+
+import com.nutricare.model.dto.User;
+
+public interface UserIdentityService {
+
+    // 이메일로 인증 주체 조회 (없으면 null, 짧은 시간 동안 부재 결과도 캐시)
+    User findByEmail(String email);
+
+    // OAuth provider + providerId로 인증 주체 조회
+    User findByProvider(String provider, String providerId);
+
+    /**
+     * OAuth 최초 로그인 시 회원을 원자적으로 생성(이미 있으면 유지)하고 최종 회원 정보를 반환한다.
+     */
+    User upsertOAuthUser(User user);
+
+    // 회원 정보/비밀번호 변경, 탈퇴 시 캐시 무효화
+    void evict(Long userId);
+
+    // 회원가입 시 해당 이메일의 부재 캐시 제거
+    void evictEmail(String email);
+}
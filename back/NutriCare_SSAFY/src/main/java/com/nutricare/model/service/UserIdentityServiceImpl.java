@@ -0,0 +1,131 @@
+package com.nutricare.model.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.nutricare.model.dao.UserDao;
+import com.nutricare.model.dto.User;
+
+/**
+ * 인증 주체(User) 조회 캐시.
+ * - 키: email, provider:providerId
+ * - 존재하지 않는 이메일은 짧은 TTL로 부재 결과를 캐시해 무작위 이메일 대입 시 DB 조회를 막는다.
+ * - 최대 크기를 넘으면 만료 항목을 정리하고, 그래도 가득 차 있으면 캐시하지 않는다.
+ */
+@Service
+public class UserIdentityServiceImpl implements UserIdentityService {
+
+    private static final class Entry {
+        private final User user; // null이면 부재 결과
+        private final long expiresAt;
+
+        private Entry(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    private final UserDao userDao;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final int maxSize;
+
+    private final Map<String, Entry> byEmail = new ConcurrentHashMap<>();
+    private final Map<String, Entry> byProvider = new ConcurrentHashMap<>();
+
+    public UserIdentityServiceImpl(UserDao userDao,
+                                   @Value("${user.identity.cache-ttl-seconds:300}") long ttlSeconds,
+                                   @Value("${user.identity.negative-ttl-seconds:30}") long negativeTtlSeconds,
+                                   @Value("${user.identity.cache-max-size:10000}") int maxSize) {
+        this.userDao = userDao;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.negativeTtlMillis = negativeTtlSeconds * 1000;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        if (email == null) return null;
+        long now = System.currentTimeMillis();
+
+        Entry entry = byEmail.get(email);
+        if (entry != null && !entry.isExpired(now)) {
+            return entry.user;
+        }
+
+        User user = userDao.findByEmail(email);
+        if (user != null) {
+            cache(user, now);
+        } else {
+            put(byEmail, email, new Entry(null, now + negativeTtlMillis), now);
+        }
+        return user;
+    }
+
+    @Override
+    public User findByProvider(String provider, String providerId) {
+        if (provider == null || providerId == null) return null;
+        long now = System.currentTimeMillis();
+
+        Entry entry = byProvider.get(providerKey(provider, providerId));
+        if (entry != null && entry.user != null && !entry.isExpired(now)) {
+            return entry.user;
+        }
+
+        User user = userDao.findByProvider(provider, providerId);
+        if (user != null) {
+            cache(user, now);
+        }
+        return user;
+    }
+
+    @Override
+    public User upsertOAuthUser(User user) {
+        // 동시에 최초 로그인해도 uk_user_email / uk_user_provider 기준으로 한 행만 생성된다.
+        userDao.upsertOAuthUser(user);
+
+        // 부재 캐시를 지우고 실제 저장된 행(기존 회원일 수 있음)을 다시 읽는다.
+        byEmail.remove(user.getEmail());
+        return findByEmail(user.getEmail());
+    }
+
+    @Override
+    public void evict(Long userId) {
+        if (userId == null) return;
+        byEmail.values().removeIf(e -> e.user != null && userId.equals(e.user.getUserId()));
+        byProvider.values().removeIf(e -> e.user != null && userId.equals(e.user.getUserId()));
+    }
+
+    @Override
+    public void evictEmail(String email) {
+        if (email != null) byEmail.remove(email);
+    }
+
+    private void cache(User user, long now) {
+        Entry entry = new Entry(user, now + ttlMillis);
+        put(byEmail, user.getEmail(), entry, now);
+        if (user.getProvider() != null && user.getProviderId() != null) {
+            put(byProvider, providerKey(user.getProvider(), user.getProviderId()), entry, now);
+        }
+    }
+
+    private void put(Map<String, Entry> map, String key, Entry entry, long now) {
+        if (key == null) return;
+        if (map.size() >= maxSize) {
+            map.values().removeIf(e -> e.isExpired(now));
+            if (map.size() >= maxSize) return;
+        }
+        map.put(key, entry);
+    }
+
+    private String providerKey(String provider, String providerId) {
+        return provider + ":" + providerId;
+    }
+}
@@ -1,7 +1,10 @@
 package com.nutricare.model.service;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 
+import com.nutricare.model.dto.AdminUserFilter;
+import com.nutricare.model.dto.AdminUserPage;
 import com.nutricare.model.dto.User;
 import com.nutricare.model.dto.UserDetailResponse;
 
@@ -9,8 +12,11 @@ public interface UserService {
     // 회원가입
     boolean registerUser(User user);
 
-    // 전체 조회 (admin)
-    List<User> getAllUsers();
+    // 회원 목록 (admin) - keyset 페이지네이션 + 필터
+    AdminUserPage getUsers(AdminUserFilter filter, int size);
+
+    // 회원 내보내기 (admin) - format: ndjson | csv, out에 바로 스트리밍
+    void exportUsers(AdminUserFilter filter, String format, OutputStream out) throws IOException;
 
     // 상세 조회
     User getUserDetail(Long userId);
@@ -26,12 +32,11 @@ public interface UserService {
     // 로그인
     User login(String email, String password);
 	
-    // 로그아웃 (토큰 기반이면 Service에서 로직 없음)
-    void logout(Long userId);
-    
-    UserDetailResponse getUserWithProfile(Long userId);
+    // 로그아웃 (해당 회원의 Refresh Token 전체 + 현재 Access Token 폐기)
+    void logout(Long userId, String accessToken);
     
-    void saveRefreshToken(Long userId, String token, long expirationMillis);
+    // 강제 로그아웃 (admin) - 이미 발급된 모든 토큰 폐기
+    void forceLogout(Long userId);
     
-    boolean isValidRefreshToken(Long userId, String token);
+    UserDetailResponse getUserWithProfile(Long userId);
 }
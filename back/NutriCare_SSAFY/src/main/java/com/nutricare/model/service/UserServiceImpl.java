@@ -1,52 +1,157 @@
 package com.nutricare.model.service;
 
-import java.time.LocalDateTime;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import com.nutricare.config.security.TokenRevocationStore;
 import com.nutricare.model.dao.HealthProfileDao;
-import com.nutricare.model.dao.RefreshTokenDao;
 import com.nutricare.model.dao.UserDao;
+import com.nutricare.model.dto.AdminUserFilter;
+import com.nutricare.model.dto.AdminUserItem;
+import com.nutricare.model.dto.AdminUserPage;
 import com.nutricare.model.dto.HealthProfile;
-import com.nutricare.model.dto.RefreshToken;
 import com.nutricare.model.dto.User;
 import com.nutricare.model.dto.UserDetailResponse;
+import com.nutricare.util.JwtUtil;
+
+import io.jsonwebtoken.Claims;
 
 @Service
 public class UserServiceImpl implements UserService {
 
     private final UserDao userDao;
     private final HealthProfileDao healthProfileDao;
-    private final PasswordEncoder passwordEncoder;
-    private final RefreshTokenDao refreshTokenDao;
+    private final PasswordHashingService passwordHashingService;
+    private final RefreshTokenService refreshTokenService;
+    private final UserSummaryService userSummaryService;
+    private final UserIdentityService userIdentityService;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final int maxPageSize;
 
     @Autowired
-    public UserServiceImpl(UserDao userDao, HealthProfileDao healthProfileDao, PasswordEncoder passwordEncoder, RefreshTokenDao refreshTokenDao) {
+    public UserServiceImpl(UserDao userDao, HealthProfileDao healthProfileDao, PasswordHashingService passwordHashingService, RefreshTokenService refreshTokenService,
+                           UserSummaryService userSummaryService, UserIdentityService userIdentityService,
+                           TokenRevocationStore tokenRevocationStore, JwtUtil jwtUtil, ObjectMapper objectMapper,
+                           @Value("${admin.users.max-page-size:200}") int maxPageSize) {
         this.userDao = userDao;
         this.healthProfileDao = healthProfileDao;
-        this.passwordEncoder = passwordEncoder;
-        this.refreshTokenDao = refreshTokenDao;
+        this.passwordHashingService = passwordHashingService;
+        this.refreshTokenService = refreshTokenService;
+        this.userSummaryService = userSummaryService;
+        this.userIdentityService = userIdentityService;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.maxPageSize = maxPageSize;
     }
 
     // 1) 회원가입
     @Override
     public boolean registerUser(User user) {
-        String hashed = passwordEncoder.encode(user.getPasswordHash());
+        String hashed = passwordHashingService.encode(user.getPasswordHash());
         user.setPasswordHash(hashed);
 
-        return userDao.insertUser(user) > 0;
+        boolean inserted = userDao.insertUser(user) > 0;
+        // 가입 전 조회로 남은 부재 캐시 제거
+        userIdentityService.evictEmail(user.getEmail());
+        return inserted;
+    }
+
+    // 2) 회원 목록 - 한 건 더 읽어서 다음 페이지 유무 판단
+    @PreAuthorize("hasRole('ADMIN')")
+    @Override
+    public AdminUserPage getUsers(AdminUserFilter filter, int size) {
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        List<AdminUserItem> rows = userDao.selectAdminUsers(filter, limit + 1);
+        Long nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = rows.get(limit - 1).getUserId();
+        }
+        return new AdminUserPage(rows, nextCursor);
     }
 
-    // 2) 전체조회
-    @PreAuthorize("hasAuthority('ADMIN')")
+    // 2 - 1) 회원 내보내기 - 커서로 한 행씩 읽어 바로 쓰므로 회원 수와 관계없이 메모리 사용량 일정
+    @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
     @Override
-    public List<User> getAllUsers() {
-        return userDao.findAllUsers();
+    public void exportUsers(AdminUserFilter filter, String format, OutputStream out) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("format must be ndjson or csv: " + format);
+        }
+        try (Cursor<AdminUserItem> cursor = userDao.streamAdminUsers(filter)) {
+            if (csv) {
+                writeCsv(cursor, out);
+            } else {
+                writeNdjson(cursor, out);
+            }
+        }
+    }
+
+    private void writeNdjson(Cursor<AdminUserItem> cursor, OutputStream out) throws IOException {
+        // 응답 스트림은 컨테이너가 닫는다 (generator를 닫아도 out은 닫지 않음)
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+             SequenceWriter seq = objectMapper.writerFor(AdminUserItem.class)
+                .withRootValueSeparator("\n").writeValues(gen)) {
+            boolean any = false;
+            for (AdminUserItem item : cursor) {
+                seq.write(item);
+                any = true;
+            }
+            if (any) gen.writeRaw('\n');
+        }
+    }
+
+    private static void writeCsv(Cursor<AdminUserItem> cursor, OutputStream out) throws IOException {
+        Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        w.write("userId,email,name,birthYear,gender,role,provider,createdAt,updatedAt\r\n");
+        for (AdminUserItem u : cursor) {
+            w.write(String.valueOf(u.getUserId()));
+            csvField(w, u.getEmail());
+            csvField(w, u.getName());
+            csvField(w, u.getBirthYear() == null ? null : u.getBirthYear().toString());
+            csvField(w, u.getGender());
+            csvField(w, u.getRole());
+            csvField(w, u.getProvider());
+            csvField(w, u.getCreatedAt() == null ? null : u.getCreatedAt().toString());
+            csvField(w, u.getUpdatedAt() == null ? null : u.getUpdatedAt().toString());
+            w.write("\r\n");
+        }
+        w.flush();
+    }
+
+    // RFC 4180 따옴표 처리 + 스프레드시트 수식 실행 방지(=, +, -, @, 탭, CR 로 시작하면 ' 접두)
+    private static void csvField(Writer w, String value) throws IOException {
+        w.write(',');
+        if (value == null || value.isEmpty()) return;
+        String v = "=+-@\t\r".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        if (v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0 || v.indexOf('\r') >= 0) {
+            w.write('"');
+            w.write(v.replace("\"", "\"\""));
+            w.write('"');
+        } else {
+            w.write(v);
+        }
     }
 
     // 3) 상세조회
@@ -65,7 +170,11 @@ public class UserServiceImpl implements UserService {
     @Override
     @PreAuthorize("@userSecurity.isSelf(#user.userId, principal)")
     public boolean updateUserInfo(User user) {
-        return userDao.updateUserInfo(user) > 0;
+        boolean updated = userDao.updateUserInfo(user) > 0;
+        // 작성자 이름 / 인증 주체 캐시 무효화
+        userSummaryService.evict(user.getUserId());
+        userIdentityService.evict(user.getUserId());
+        return updated;
     }
     
     // 4-2) 비밀번호 변경 (핵심 로직)
@@ -77,22 +186,27 @@ public class UserServiceImpl implements UserService {
         if (user == null) return false;
 
         // 2. 현재 비밀번호 검증 (입력받은 평문 vs DB의 해시)
-        if (!passwordEncoder.matches(currentPassword, user.getPasswordHash())) {
+        if (!passwordHashingService.matches(currentPassword, user.getPasswordHash())) {
             throw new IllegalArgumentException("현재 비밀번호가 일치하지 않습니다."); // 또는 false 반환
         }
 
         // 3. 새 비밀번호 암호화
-        String newHashed = passwordEncoder.encode(newPassword);
+        String newHashed = passwordHashingService.encode(newPassword);
 
-        // 4. DB 업데이트
-        return userDao.updatePassword(userId, newHashed) > 0;
+        // 4. DB 업데이트 (캐시된 해시 무효화)
+        boolean updated = userDao.updatePassword(userId, newHashed) > 0;
+        userIdentityService.evict(userId);
+        return updated;
     }
 
     // 5) 삭제
     @Override
     @PreAuthorize("@userSecurity.isSelf(#userId, principal)")
     public boolean deleteUser(Long userId) {
-        return userDao.deleteUser(userId) > 0;
+        boolean deleted = userDao.deleteUser(userId) > 0;
+        userSummaryService.evict(userId);
+        userIdentityService.evict(userId);
+        return deleted;
     }
 
     // 6) 로그인
@@ -104,19 +218,44 @@ public class UserServiceImpl implements UserService {
         if (user == null) return null;
 
         // 2) 입력된 비밀번호(raw) vs DB 해시 비교
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (!passwordHashingService.matches(password, user.getPasswordHash())) {
             return null;
         }
 
-        // 3) 성공시 user 정보 반환
+        // 3) 저장된 해시의 cost가 현재 cost와 다르면 평문을 알고 있는 지금 재해시
+        if (passwordHashingService.needsRehash(user.getPasswordHash())) {
+            String rehashed = passwordHashingService.encode(password);
+            if (userDao.updatePassword(user.getUserId(), rehashed) > 0) {
+                user.setPasswordHash(rehashed);
+                userIdentityService.evict(user.getUserId());
+            }
+        }
+
+        // 4) 성공시 user 정보 반환
         return user;
     }
     
     // 7) 로그아웃
     @Override
-    public void logout(Long userId) {
-        // JWT를 사용한다면 서버에서는 특별한 동작 없음 -> 추후 고민할 내용
-    	refreshTokenDao.deleteByUserId(userId);
+    public void logout(Long userId, String accessToken) {
+        // 해당 회원의 Refresh Token 계열 전체 폐기 (DB + 메모리 캐시)
+    	refreshTokenService.revokeAll(userId);
+
+        // 현재 Access Token은 만료 시각까지 폐기 목록에 등록
+        if (accessToken != null) {
+            Claims claims = jwtUtil.getClaims(accessToken);
+            if (claims.getExpiration() != null) {
+                tokenRevocationStore.revoke(claims.getId(), claims.getExpiration().getTime());
+            }
+        }
+    }
+
+    // 7-1) 강제 로그아웃 (admin)
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public void forceLogout(Long userId) {
+        refreshTokenService.revokeAll(userId);
+        tokenRevocationStore.revokeAllFor(userId);
     }
     
     // 8) 회원 정보 + 건강 정보 조합하여 반환
@@ -132,24 +271,5 @@ public class UserServiceImpl implements UserService {
         // 3. 두 정보를 DTO 하나로 묶어서 반환
         return new UserDetailResponse(user, hp);
     }
-    
-    @Transactional
-    public void saveRefreshToken(Long userId, String token, long expirationMillis) {
-        LocalDateTime expiryDate = LocalDateTime.now().plusNanos(expirationMillis * 1_000_000);
-        RefreshToken refreshToken = new RefreshToken(userId, token, expiryDate);
-
-        // 기존 토큰이 있는지 확인
-        RefreshToken existing = refreshTokenDao.findByUserId(userId);
-        if (existing != null) {
-            refreshTokenDao.updateToken(refreshToken); // 있으면 업데이트
-        } else {
-            refreshTokenDao.insertToken(refreshToken); // 없으면 신규 저장
-        }
-    }
-    
-    public boolean isValidRefreshToken(Long userId, String token) {
-        RefreshToken storedToken = refreshTokenDao.findByUserId(userId);
-        return storedToken != null && storedToken.getTokenValue().equals(token);
-    }
 
 }
@@ -0,0 +1,18 @@
+package com.nutricare.model.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+import com.nutricare.model.dto.UserSummary;
+
+public interface UserSummaryService {
+
+    /**
+     * userId 목록의 작성자 요약 정보를 반환한다.
+     * 캐시에 없는 id만 모아 한 번의 IN 쿼리로 조회한다.
+     */
+    Map<Long, UserSummary> getSummaries(Collection<Long> userIds);
+
+    // 회원 정보 변경/탈퇴 시 캐시 무효화
+    void evict(Long userId);
+}
@@ -0,0 +1,73 @@
+package com.nutricare.model.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.nutricare.model.dao.UserDao;
+import com.nutricare.model.dto.UserSummary;
+
+/**
+ * 작성자 이름 조회용 LRU 캐시.
+ * - 게시글/댓글 목록마다 user 테이블을 조인하지 않고, 목록 단위로 한 번만 일괄 조회한다.
+ * - 최대 크기를 넘으면 가장 오래 사용하지 않은 항목부터 제거한다.
+ */
+@Service
+public class UserSummaryServiceImpl implements UserSummaryService {
+
+    private final UserDao userDao;
+    private final Map<Long, UserSummary> cache;
+
+    public UserSummaryServiceImpl(UserDao userDao,
+                                  @Value("${user.summary.cache-max-size:10000}") int maxSize) {
+        this.userDao = userDao;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<Long, UserSummary>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserSummary> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    @Override
+    public Map<Long, UserSummary> getSummaries(Collection<Long> userIds) {
+        Map<Long, UserSummary> found = new HashMap<>();
+        if (userIds == null || userIds.isEmpty()) return found;
+
+        // 1) 캐시 적중분 먼저 채우고, 없는 id만 모은다 (중복 제거)
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long userId : userIds) {
+            if (userId == null) continue;
+            UserSummary cached = cache.get(userId);
+            if (cached != null) {
+                found.put(userId, cached);
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        // 2) 캐시 미스는 IN 쿼리 한 번으로 조회
+        if (!missing.isEmpty()) {
+            List<UserSummary> loaded = userDao.selectUserSummariesByIds(new ArrayList<>(missing));
+            for (UserSummary summary : loaded) {
+                cache.put(summary.getUserId(), summary);
+                found.put(summary.getUserId(), summary);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void evict(Long userId) {
+        if (userId != null) cache.remove(userId);
+    }
+}
@@ -0,0 +1,14 @@
+package com.nutricare.model.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.nutricare.model.dto.VoiceIntent;
+
+public interface VoiceCommandService {
+
+    // 음성 파일 -> (캐시, 사용자별 키워드 인식 또는 STT) -> 명령 의도. userId는 비로그인이면 null
+    VoiceIntent handle(MultipartFile audioFile, Long userId);
+
+    // 인식된 텍스트 -> 명령 의도 (STT 없이 로컬 매칭만)
+    VoiceIntent match(String text);
+}
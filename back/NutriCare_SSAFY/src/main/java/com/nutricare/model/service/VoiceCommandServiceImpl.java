@@ -0,0 +1,295 @@
+package com.nutricare.model.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.nutricare.model.dto.VoiceIntent;
+import com.nutricare.util.HangulJamo;
+
+/**
+ * 음성 명령 해석기.
+ * - 같은 음성 파일(SHA-256 지문)이 다시 오면 LRU 캐시의 인식 결과를 사용해 STT 호출을 생략한다.
+ * - 처음 보는 음성은 VoiceKeywordSpotter가 같은 사용자의 이전에 STT로 확인된 명령 음성과 비교해, 확실하면 STT 없이 의도를 정한다.
+ * - 인식 텍스트는 자모 단위로 분해한 뒤, 미리 만들어 둔 명령어 trie로 부분 문자열 일치를 찾는다.
+ * - 정확히 일치하는 명령이 없으면 자모 편집 거리로 가장 가까운 명령을 찾는다. (받침/모음 한 글자 오인식 보정)
+ */
+@Service
+public class VoiceCommandServiceImpl implements VoiceCommandService {
+
+    private static final class Rule {
+        private final String type;
+        private final String target;
+        private final int priority; // 작을수록 우선 (구체적인 명령을 앞에 둔다)
+
+        private Rule(String type, String target, int priority) {
+            this.type = type;
+            this.target = target;
+            this.priority = priority;
+        }
+    }
+
+    private static final class Phrase {
+        private final String text;
+        private final String jamo;
+        private final Rule rule;
+
+        private Phrase(String text, Rule rule) {
+            this.text = text;
+            this.jamo = HangulJamo.decompose(text);
+            this.rule = rule;
+        }
+    }
+
+    private static final class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private Phrase phrase;
+    }
+
+    private static final String FAILED_TRANSCRIPT = "음성 인식 실패";
+    // 아라비아 숫자는 "번" 생략 가능, 한글 수사는 "번"이 붙어야 한다 ("일", "이번" 같은 일반 단어 제외)
+    private static final Pattern POST_NUMBER = Pattern.compile("^(?:(\\d+)번?|(?!이번$)([일이삼사오육칠팔구십백천]+)번)$");
+    private static final int FUZZY_MIN_JAMO = 6; // 2음절 미만 명령은 유사 일치 대상에서 제외
+
+    private final VoiceService voiceService;
+    private final VoiceKeywordSpotter keywordSpotter;
+    private final List<Phrase> phrases = new ArrayList<>();
+    private final TrieNode root = new TrieNode();
+    private final Map<String, String> transcriptCache;
+
+    public VoiceCommandServiceImpl(VoiceService voiceService, VoiceKeywordSpotter keywordSpotter,
+                                   @Value("${voice.command.cache-max-size:1000}") int maxSize) {
+        this.voiceService = voiceService;
+        this.keywordSpotter = keywordSpotter;
+        this.transcriptCache = Collections.synchronizedMap(new LinkedHashMap<String, String>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxSize;
+            }
+        });
+
+        // 프론트엔드(stores/voice.js)의 명령 목록과 같은 순서/의미
+        register("MY_INFO", null, "내정보");
+        register("HISTORY", "back", "뒤로");
+        register("HISTORY", "forward", "앞으로");
+        register("SCROLL", "top", "맨위", "상단");
+        register("SCROLL", "down", "내려", "아래로");
+        register("SCROLL", "up", "올려", "위로");
+        register("NAVIGATE", "/board/create", "글쓰기", "게시글작성");
+        register("NAVIGATE", "/user/myboards", "내게시글", "내가쓴글", "내게식을");
+        register("NAVIGATE", "/board", "게시판", "커뮤니티");
+        register("NAVIGATE", "/analysis/upload", "분석업로드", "사진올리기", "업로드");
+        register("NAVIGATE", "/analysis", "식단추천", "식단분석", "분석");
+        register("NAVIGATE", "/mypage", "마이페이지");
+        register("NAVIGATE", "/user/login", "로그인");
+        register("NAVIGATE", "/user/join", "회원가입");
+        register("NAVIGATE", "/engineeringDescribe", "기술소개", "기술");
+        register("NAVIGATE", "/", "메인", "홈", "처음으로");
+    }
+
+    @Override
+    public VoiceIntent handle(MultipartFile audioFile, Long userId) {
+        String fingerprint = fingerprint(audioFile);
+
+        String text = fingerprint != null ? transcriptCache.get(fingerprint) : null;
+        if (text != null) {
+            VoiceIntent intent = match(text);
+            intent.setCached(true);
+            return intent;
+        }
+
+        // 로컬 키워드 인식 (검증 표본이면 STT도 호출해 비교)
+        float[][] features = keywordSpotter.features(audioFile);
+        VoiceKeywordSpotter.Spot spot = keywordSpotter.spot(userId, features);
+        if (spot != null && !keywordSpotter.shouldVerify()) {
+            VoiceIntent intent = new VoiceIntent(spot.type(), spot.target(), spot.phrase());
+            intent.setMatchedPhrase(spot.phrase());
+            intent.setScore(spot.score());
+            intent.setSpotted(true);
+            return intent;
+        }
+
+        text = voiceService.transcribe(audioFile);
+        // 인식 실패/빈 결과는 캐시하지 않음 (다음 요청에서 다시 시도)
+        if (fingerprint != null && text != null && !text.isBlank() && !FAILED_TRANSCRIPT.equals(text)) {
+            transcriptCache.put(fingerprint, text);
+        }
+
+        VoiceIntent intent = match(text);
+        keywordSpotter.verify(userId, spot, intent);
+        keywordSpotter.learn(userId, intent, features);
+        return intent;
+    }
+
+    @Override
+    public VoiceIntent match(String text) {
+        String compact = text == null ? "" : text.replaceAll("\\s+", "");
+
+        // 1) 게시물 번호 ("3번", "십이번") - 적용 여부(게시판 화면인지)는 프론트에서 판단
+        Matcher m = POST_NUMBER.matcher(compact);
+        if (m.matches()) {
+            Long postId = parseKoreanNumber(m.group(1) != null ? m.group(1) : m.group(2));
+            if (postId != null) {
+                VoiceIntent intent = new VoiceIntent("OPEN_POST", null, text);
+                intent.setPostId(postId);
+                intent.setScore(1.0);
+                return intent;
+            }
+        }
+
+        String jamo = HangulJamo.decompose(text);
+
+        // 2) trie 정확 일치 (우선순위가 가장 높은 명령)
+        Phrase exact = findExact(jamo);
+        if (exact != null) {
+            return toIntent(exact, text, 1.0);
+        }
+
+        // 3) 자모 편집 거리 기반 유사 일치
+        Phrase best = null;
+        double bestScore = 0;
+        for (Phrase phrase : phrases) {
+            int len = phrase.jamo.length();
+            if (len < FUZZY_MIN_JAMO) continue;
+            int distance = minWindowDistance(jamo, phrase.jamo);
+            if (distance > Math.max(1, len / 4)) continue;
+
+            double score = 1.0 - (double) distance / len;
+            if (best == null || score > bestScore
+                    || (score == bestScore && phrase.rule.priority < best.rule.priority)) {
+                best = phrase;
+                bestScore = score;
+            }
+        }
+        if (best != null) {
+            return toIntent(best, text, bestScore);
+        }
+
+        return new VoiceIntent("UNKNOWN", null, text);
+    }
+
+    private void register(String type, String target, String... texts) {
+        Rule rule = new Rule(type, target, phrases.size());
+        for (String text : texts) {
+            Phrase phrase = new Phrase(text, rule);
+            phrases.add(phrase);
+
+            TrieNode node = root;
+            for (int i = 0; i < phrase.jamo.length(); i++) {
+                node = node.children.computeIfAbsent(phrase.jamo.charAt(i), k -> new TrieNode());
+            }
+            node.phrase = phrase;
+        }
+    }
+
+    // 모든 시작 위치에서 trie를 따라가며 일치하는 명령 중 우선순위가 가장 높은 것 (같으면 긴 것)
+    private Phrase findExact(String jamo) {
+        Phrase best = null;
+        for (int start = 0; start < jamo.length(); start++) {
+            TrieNode node = root;
+            for (int i = start; i < jamo.length(); i++) {
+                node = node.children.get(jamo.charAt(i));
+                if (node == null) break;
+                Phrase p = node.phrase;
+                if (p != null && (best == null || p.rule.priority < best.rule.priority
+                        || (p.rule.priority == best.rule.priority && p.jamo.length() > best.jamo.length()))) {
+                    best = p;
+                }
+            }
+        }
+        return best;
+    }
+
+    // 입력 안의 임의 구간과 명령어 사이 최소 편집 거리 (근사 부분 문자열 매칭)
+    private static int minWindowDistance(String text, String pattern) {
+        int m = pattern.length();
+        int n = text.length();
+        if (n == 0) return m;
+
+        // 첫 행을 0으로 두면 입력의 어느 위치에서든 매칭을 시작할 수 있다
+        int[] prev = new int[n + 1];
+        int[] cur = new int[n + 1];
+        for (int i = 1; i <= m; i++) {
+            cur[0] = i;
+            char pc = pattern.charAt(i - 1);
+            for (int j = 1; j <= n; j++) {
+                int cost = pc == text.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+            }
+            int[] tmp = prev;
+            prev = cur;
+            cur = tmp;
+        }
+
+        int min = Integer.MAX_VALUE;
+        for (int j = 0; j <= n; j++) {
+            min = Math.min(min, prev[j]);
+        }
+        return min;
+    }
+
+    private static VoiceIntent toIntent(Phrase phrase, String text, double score) {
+        VoiceIntent intent = new VoiceIntent(phrase.rule.type, phrase.rule.target, text);
+        intent.setMatchedPhrase(phrase.text);
+        intent.setScore(score);
+        return intent;
+    }
+
+    // "12", "십이", "백삼" -> 숫자
+    private static Long parseKoreanNumber(String word) {
+        if (word.chars().allMatch(Character::isDigit)) {
+            try {
+                return Long.parseLong(word);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        String digits = "일이삼사오육칠팔구";
+        long result = 0;
+        long temp = 0;
+        for (char c : word.toCharArray()) {
+            int d = digits.indexOf(c);
+            if (d >= 0) {
+                temp = d + 1;
+            } else if (c == '십' || c == '백' || c == '천') {
+                long unit = c == '십' ? 10 : c == '백' ? 100 : 1000;
+                result += (temp == 0 ? 1 : temp) * unit;
+                temp = 0;
+            } else {
+                return null; // 숫자 혼용 등은 처리하지 않음
+            }
+        }
+        result += temp;
+        return result > 0 ? result : null;
+    }
+
+    // 업로드 파일 전체의 SHA-256 (스트림으로 읽어 메모리에 올리지 않음)
+    private static String fingerprint(MultipartFile audioFile) {
+        try (InputStream in = audioFile.getInputStream()) {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                md.update(buf, 0, n);
+            }
+            return HexFormat.of().formatHex(md.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return null; // 지문을 못 만들면 캐시 없이 STT로 처리
+        }
+    }
+}
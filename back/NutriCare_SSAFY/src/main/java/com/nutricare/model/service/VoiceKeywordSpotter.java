@@ -0,0 +1,443 @@
+package com.nutricare.model.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.nutricare.model.dto.VoiceIntent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 음성 명령 키워드 인식 (STT 호출 전 로컬 fast path).
+ * - STT 결과가 명령어와 정확히 일치한 음성의 음향 특징(log-mel 켑스트럼)을 사용자/명령별 템플릿으로 모아 둔다.
+ *   목소리가 다른 사용자의 템플릿과는 비교하지 않고, 비로그인 요청은 학습/인식하지 않는다. (사용자 수는 max-users로 LRU 제한)
+ * - 새 음성은 DTW 거리로 템플릿과 비교해, 충분히 가깝고(max-distance) 다른 명령보다 확실히 가까울 때(min-margin)만
+ *   STT 없이 의도를 확정한다.
+ * - verify-every번째 인식마다 STT도 호출해 결과를 비교하고, 다르면 해당 명령의 템플릿을 버린다. (잘못 배운 템플릿 제거)
+ * - 16bit mono WAV(프론트엔드 녹음 형식)만 처리하고, 그 외 형식은 STT 경로를 그대로 사용한다.
+ * - 메트릭: voice.kws.spots{result=hit|miss}, voice.kws.verifications{result=agree|disagree}
+ * - 임계값(max-distance, min-margin)을 실제 녹음 거리 분포로 보정하기 전까지는 기본 비활성(voice.kws.enabled=false)
+ */
+@Component
+public class VoiceKeywordSpotter {
+
+    private static final Logger log = LoggerFactory.getLogger(VoiceKeywordSpotter.class);
+
+    public record Spot(String type, String target, String phrase, double distance, double score) {}
+
+    private record Template(String type, String target, String phrase, float[][] features) {}
+
+    record Pcm(float[] samples, int sampleRate) {}
+
+    static final int MEL_BANDS = 20;
+    static final int CEPSTRA = 12;
+    private static final int TARGET_RATE = 16000;
+    private static final int MIN_FRAMES = 10;      // 100ms 미만 발화는 비교하지 않음
+    private static final double TRIM_DB = 30;      // 최대 에너지 대비 이보다 작은 앞뒤 프레임은 무음으로 보고 잘라낸다
+
+    private final boolean enabled;
+    private final double maxDistance;
+    private final double minMargin;
+    private final int minTemplates;
+    private final int maxTemplates;
+    private final long maxBytes;
+    private final int verifyEvery;
+
+    // 사용자 -> 명령(type:target) -> 최근 템플릿 (오래된 것부터 제거). 최근 사용한 max-users명만 유지
+    private final Map<Long, Map<String, Deque<Template>>> templates;
+    private final AtomicLong hits = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter agreeCounter;
+    private final Counter disagreeCounter;
+
+    public VoiceKeywordSpotter(MeterRegistry registry,
+                               @Value("${voice.kws.enabled:false}") boolean enabled,
+                               @Value("${voice.kws.max-distance:6.0}") double maxDistance,
+                               @Value("${voice.kws.min-margin:1.0}") double minMargin,
+                               @Value("${voice.kws.min-templates:2}") int minTemplates,
+                               @Value("${voice.kws.max-templates:8}") int maxTemplates,
+                               @Value("${voice.kws.max-seconds:4}") int maxSeconds,
+                               @Value("${voice.kws.verify-every:10}") int verifyEvery,
+                               @Value("${voice.kws.max-users:1000}") int maxUsers) {
+        this.enabled = enabled;
+        this.maxDistance = maxDistance;
+        this.minMargin = minMargin;
+        this.minTemplates = Math.max(1, minTemplates);
+        this.maxTemplates = Math.max(this.minTemplates, maxTemplates);
+        this.maxBytes = 4096L + maxSeconds * 48000L * 2; // 48kHz 16bit mono 기준
+        this.verifyEvery = verifyEvery;
+        this.templates = Collections.synchronizedMap(new LinkedHashMap<Long, Map<String, Deque<Template>>>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Map<String, Deque<Template>>> eldest) {
+                return size() > maxUsers;
+            }
+        });
+
+        this.hitCounter = spotCounter(registry, "hit");
+        this.missCounter = spotCounter(registry, "miss");
+        this.agreeCounter = verificationCounter(registry, "agree");
+        this.disagreeCounter = verificationCounter(registry, "disagree");
+    }
+
+    /**
+     * 업로드 음성의 특징 행렬 [프레임][켑스트럼]. 비활성/형식 불일치/너무 길거나 짧으면 null.
+     */
+    public float[][] features(MultipartFile audioFile) {
+        if (!enabled || audioFile == null || audioFile.getSize() > maxBytes) return null;
+        try {
+            return features(audioFile.getBytes());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 해당 사용자 템플릿 중 가장 가까운 명령. 비로그인이거나 확신할 수 없으면 null (STT 경로 사용)
+     */
+    public Spot spot(Long userId, float[][] features) {
+        if (features == null || userId == null) return null;
+        Map<String, Deque<Template>> userTemplates = templates.get(userId);
+        if (userTemplates == null) return null;
+
+        Template best = null;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        double secondDistance = Double.POSITIVE_INFINITY; // best와 다른 명령 중 최소 거리
+        for (Map.Entry<String, Deque<Template>> entry : userTemplates.entrySet()) {
+            List<Template> list;
+            synchronized (entry.getValue()) {
+                if (entry.getValue().size() < minTemplates) continue;
+                list = List.copyOf(entry.getValue());
+            }
+            Template keyBest = null;
+            double keyDistance = Double.POSITIVE_INFINITY;
+            for (Template t : list) {
+                double d = distance(features, t.features());
+                if (d < keyDistance) {
+                    keyDistance = d;
+                    keyBest = t;
+                }
+            }
+            if (keyDistance < bestDistance) {
+                secondDistance = bestDistance;
+                bestDistance = keyDistance;
+                best = keyBest;
+            } else if (keyDistance < secondDistance) {
+                secondDistance = keyDistance;
+            }
+        }
+
+        if (best == null || bestDistance > maxDistance || secondDistance - bestDistance < minMargin) {
+            missCounter.increment();
+            if (best != null) {
+                log.debug("Keyword spot miss: best={} distance={} second={}", best.phrase(), bestDistance, secondDistance);
+            }
+            return null;
+        }
+        hitCounter.increment();
+        return new Spot(best.type(), best.target(), best.phrase(), bestDistance, Math.max(0, 1.0 - bestDistance / maxDistance));
+    }
+
+    // 키워드 인식 결과 중 STT로 검증할 표본인지
+    public boolean shouldVerify() {
+        return verifyEvery > 0 && hits.incrementAndGet() % verifyEvery == 0;
+    }
+
+    // STT로 정확히 일치한 명령만 템플릿으로 저장 (게시물 번호/미확인 명령 제외)
+    public void learn(Long userId, VoiceIntent intent, float[][] features) {
+        if (userId == null || features == null || intent == null || intent.getMatchedPhrase() == null || intent.getScore() < 1.0) return;
+        Deque<Template> deque = templates.computeIfAbsent(userId, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key(intent.getType(), intent.getTarget()), k -> new ArrayDeque<>());
+        synchronized (deque) {
+            deque.addLast(new Template(intent.getType(), intent.getTarget(), intent.getMatchedPhrase(), features));
+            while (deque.size() > maxTemplates) {
+                deque.removeFirst();
+            }
+        }
+    }
+
+    // 키워드 인식 결과를 STT 결과와 비교. 다르면 그 사용자의 해당 명령 템플릿을 버린다 (STT가 명령을 못 찾은 경우는 판단하지 않음)
+    public void verify(Long userId, Spot spot, VoiceIntent actual) {
+        if (userId == null || spot == null || actual == null || "UNKNOWN".equals(actual.getType())) return;
+        if (key(spot.type(), spot.target()).equals(key(actual.getType(), actual.getTarget()))) {
+            agreeCounter.increment();
+            return;
+        }
+        disagreeCounter.increment();
+        Map<String, Deque<Template>> userTemplates = templates.get(userId);
+        if (userTemplates != null) {
+            userTemplates.remove(key(spot.type(), spot.target()));
+        }
+        log.info("Keyword spot '{}' disagreed with STT '{}' (distance={}), templates dropped",
+                spot.phrase(), actual.getText(), spot.distance());
+    }
+
+    static float[][] features(byte[] wav) {
+        Pcm pcm = decode(wav);
+        return pcm == null ? null : cepstra(pcm);
+    }
+
+    // 16bit mono PCM WAV -> [-1, 1] 샘플. 16kHz의 정수배 샘플링이면 구간 평균으로 16kHz 부근까지 줄인다
+    static Pcm decode(byte[] wav) {
+        if (wav == null || wav.length < 12
+                || !"RIFF".equals(new String(wav, 0, 4, StandardCharsets.US_ASCII))
+                || !"WAVE".equals(new String(wav, 8, 4, StandardCharsets.US_ASCII))) {
+            return null;
+        }
+
+        ByteBuffer buf = ByteBuffer.wrap(wav).order(ByteOrder.LITTLE_ENDIAN);
+        int channels = 0;
+        int sampleRate = 0;
+        int bitsPerSample = 0;
+        int pos = 12;
+        while (pos + 8 <= wav.length) {
+            String id = new String(wav, pos, 4, StandardCharsets.US_ASCII);
+            long size = Integer.toUnsignedLong(buf.getInt(pos + 4));
+            if ("fmt ".equals(id) && pos + 24 <= wav.length) {
+                channels = buf.getShort(pos + 10);
+                sampleRate = buf.getInt(pos + 12);
+                bitsPerSample = buf.getShort(pos + 22);
+            } else if ("data".equals(id)) {
+                if (channels != 1 || bitsPerSample != 16 || sampleRate <= 0) return null;
+                int start = pos + 8;
+                int length = (int) Math.min(size, wav.length - start);
+                int factor = Math.max(1, sampleRate / TARGET_RATE);
+                int n = length / 2 / factor;
+                float[] samples = new float[n];
+                for (int i = 0; i < n; i++) {
+                    int sum = 0;
+                    for (int k = 0; k < factor; k++) {
+                        sum += buf.getShort(start + 2 * (i * factor + k));
+                    }
+                    samples[i] = sum / (factor * 32768f);
+                }
+                return new Pcm(samples, sampleRate / factor);
+            }
+            if (size > wav.length) return null;
+            pos += 8 + (int) (size + (size & 1)); // 청크는 2바이트 정렬
+        }
+        return null;
+    }
+
+    // 25ms/10ms 프레임의 log-mel 에너지 -> DCT 켑스트럼(c1~c12). 앞뒤 무음을 잘라내고 평균을 빼서(CMN) 녹음 환경 차이를 줄인다
+    static float[][] cepstra(Pcm pcm) {
+        int rate = pcm.sampleRate();
+        int frameLen = rate * 25 / 1000;
+        int hop = rate / 100;
+        if (frameLen < 2 || hop < 1) return null;
+        int nfft = Integer.highestOneBit(frameLen - 1) << 1;
+
+        float[] s = pcm.samples();
+        int frames = s.length < frameLen ? 0 : 1 + (s.length - frameLen) / hop;
+        if (frames < MIN_FRAMES) return null;
+
+        double[][] filters = melFilters(nfft, rate);
+        double[] window = new double[frameLen];
+        for (int i = 0; i < frameLen; i++) {
+            window[i] = 0.54 - 0.46 * Math.cos(2 * Math.PI * i / (frameLen - 1));
+        }
+
+        double[] re = new double[nfft];
+        double[] im = new double[nfft];
+        double[] power = new double[nfft / 2 + 1];
+        double[][] logMel = new double[frames][MEL_BANDS];
+        double[] energy = new double[frames];
+        for (int f = 0; f < frames; f++) {
+            Arrays.fill(re, 0);
+            Arrays.fill(im, 0);
+            int off = f * hop;
+            for (int i = 0; i < frameLen; i++) {
+                double prev = off + i > 0 ? s[off + i - 1] : 0;
+                re[i] = (s[off + i] - 0.97 * prev) * window[i]; // pre-emphasis
+            }
+            fft(re, im);
+
+            double total = 0;
+            for (int k = 0; k < power.length; k++) {
+                power[k] = re[k] * re[k] + im[k] * im[k];
+                total += power[k];
+            }
+            energy[f] = Math.log(total + 1e-10);
+            for (int b = 0; b < MEL_BANDS; b++) {
+                double sum = 0;
+                for (int k = 0; k < power.length; k++) {
+                    sum += filters[b][k] * power[k];
+                }
+                logMel[f][b] = Math.log(sum + 1e-10);
+            }
+        }
+
+        double peak = Double.NEGATIVE_INFINITY;
+        for (double e : energy) peak = Math.max(peak, e);
+        double floor = peak - TRIM_DB * Math.log(10) / 10;
+        int first = 0;
+        while (first < frames && energy[first] < floor) first++;
+        int last = frames - 1;
+        while (last > first && energy[last] < floor) last--;
+        int n = last - first + 1;
+        if (n < MIN_FRAMES) return null;
+
+        float[][] out = new float[n][CEPSTRA];
+        double[] mean = new double[CEPSTRA];
+        double scale = Math.sqrt(2.0 / MEL_BANDS);
+        for (int f = 0; f < n; f++) {
+            double[] mel = logMel[first + f];
+            for (int j = 0; j < CEPSTRA; j++) {
+                double sum = 0;
+                for (int b = 0; b < MEL_BANDS; b++) {
+                    sum += mel[b] * Math.cos(Math.PI * (j + 1) * (b + 0.5) / MEL_BANDS);
+                }
+                out[f][j] = (float) (sum * scale);
+                mean[j] += out[f][j];
+            }
+        }
+        for (float[] frame : out) {
+            for (int j = 0; j < CEPSTRA; j++) {
+                frame[j] -= (float) (mean[j] / n);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 두 특징 행렬의 DTW 거리 (경로 길이로 정규화). 길이가 2배 넘게 차이 나면 다른 명령으로 보고 무한대.
+     * 대각선 주변 band 안에서만 계산한다.
+     */
+    static double distance(float[][] a, float[][] b) {
+        int n = a.length;
+        int m = b.length;
+        if (n == 0 || m == 0 || n > 2 * m || m > 2 * n) return Double.POSITIVE_INFINITY;
+        int band = Math.max(Math.abs(n - m), Math.max(n, m) / 4) + 1;
+
+        double[] prev = new double[m + 1];
+        double[] cur = new double[m + 1];
+        Arrays.fill(prev, Double.POSITIVE_INFINITY);
+        prev[0] = 0;
+        for (int i = 1; i <= n; i++) {
+            Arrays.fill(cur, Double.POSITIVE_INFINITY);
+            int center = (int) ((long) i * m / n);
+            int from = Math.max(1, center - band);
+            int to = Math.min(m, center + band);
+            for (int j = from; j <= to; j++) {
+                double step = Math.min(Math.min(prev[j], cur[j - 1]), prev[j - 1]);
+                cur[j] = frameDistance(a[i - 1], b[j - 1]) + step;
+            }
+            double[] tmp = prev;
+            prev = cur;
+            cur = tmp;
+        }
+        return prev[m] / (n + m);
+    }
+
+    private static double frameDistance(float[] x, float[] y) {
+        double sum = 0;
+        for (int i = 0; i < x.length; i++) {
+            double d = x[i] - y[i];
+            sum += d * d;
+        }
+        return Math.sqrt(sum);
+    }
+
+    // 100Hz ~ min(8kHz, Nyquist) 구간의 mel 간격 삼각 필터 [밴드][FFT bin]
+    private static double[][] melFilters(int nfft, int rate) {
+        double low = mel(100);
+        double high = mel(Math.min(8000, rate / 2.0));
+        double[] hz = new double[MEL_BANDS + 2];
+        for (int i = 0; i < hz.length; i++) {
+            double m = low + (high - low) * i / (MEL_BANDS + 1);
+            hz[i] = 700 * (Math.pow(10, m / 2595) - 1);
+        }
+
+        double[][] filters = new double[MEL_BANDS][nfft / 2 + 1];
+        for (int b = 0; b < MEL_BANDS; b++) {
+            for (int k = 0; k <= nfft / 2; k++) {
+                double f = (double) k * rate / nfft;
+                if (f > hz[b] && f <= hz[b + 1]) {
+                    filters[b][k] = (f - hz[b]) / (hz[b + 1] - hz[b]);
+                } else if (f > hz[b + 1] && f < hz[b + 2]) {
+                    filters[b][k] = (hz[b + 2] - f) / (hz[b + 2] - hz[b + 1]);
+                }
+            }
+        }
+        return filters;
+    }
+
+    private static double mel(double hz) {
+        return 2595 * Math.log10(1 + hz / 700);
+    }
+
+    // 제자리 radix-2 FFT (길이는 2의 거듭제곱)
+    private static void fft(double[] re, double[] im) {
+        int n = re.length;
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j) {
+                double t = re[i]; re[i] = re[j]; re[j] = t;
+                t = im[i]; im[i] = im[j]; im[j] = t;
+            }
+        }
+        for (int len = 2; len <= n; len <<= 1) {
+            double angle = -2 * Math.PI / len;
+            double wRe = Math.cos(angle);
+            double wIm = Math.sin(angle);
+            for (int i = 0; i < n; i += len) {
+                double curRe = 1;
+                double curIm = 0;
+                for (int k = 0; k < len / 2; k++) {
+                    int a = i + k;
+                    int b = a + len / 2;
+                    double tRe = re[b] * curRe - im[b] * curIm;
+                    double tIm = re[b] * curIm + im[b] * curRe;
+                    re[b] = re[a] - tRe;
+                    im[b] = im[a] - tIm;
+                    re[a] += tRe;
+                    im[a] += tIm;
+                    double nextRe = curRe * wRe - curIm * wIm;
+                    curIm = curRe * wIm + curIm * wRe;
+                    curRe = nextRe;
+                }
+            }
+        }
+    }
+
+    private static String key(String type, String target) {
+        return type + ":" + target;
+    }
+
+    private static Counter spotCounter(MeterRegistry registry, String result) {
+        return Counter.builder("voice.kws.spots")
+                .description("STT 전 로컬 키워드 인식 결과 (hit이면 STT 호출 생략)")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter verificationCounter(MeterRegistry registry, String result) {
+        return Counter.builder("voice.kws.verifications")
+                .description("키워드 인식 결과를 STT로 검증한 결과")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -1,73 +1,222 @@
 package com.nutricare.model.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nutricare.model.dto.SttRequest;
+import com.nutricare.util.OutboundMetrics;
+import com.nutricare.util.WorkerThreads;
+
+import jakarta.annotation.PreDestroy;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 음성 -> 텍스트 변환.
+ * - 업로드 파일을 byte[]로 읽지 않고 multipart 입력 스트림에서 바로 Base64로 인코딩해 요청 본문에 쓴다.
+ * - segment-seconds가 설정되고 16bit mono WAV이면 PCM 데이터를 구간별로 나눠 병렬 요청하고 순서대로 이어 붙인다.
+ */
 @Service
 public class VoiceServiceImpl implements VoiceService {
 
-    @Value("${STT_API_KEY}")
-    private String apiKey;
+    private static final Logger log = LoggerFactory.getLogger(VoiceServiceImpl.class);
+
+    // 16bit mono WAV 헤더 정보 (data 청크 위치/크기)
+    private static final class WavInfo {
+        private int sampleRate;
+        private int channels;
+        private int bitsPerSample;
+        private long dataOffset;
+        private long dataLength;
+    }
+
+    private static final int WAV_HEADER_PROBE_BYTES = 4096;
 
-    @Value("${STT_URL}")
-    private String sttUrl;
+    private final String apiKey;
+    private final String sttUrl;
+    private final int defaultSampleRate;
+    private final int segmentSeconds;
+    private final ThreadPoolExecutor executor;
+    private final OutboundMetrics outboundMetrics;
 
     private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    public VoiceServiceImpl(@Value("${STT_API_KEY}") String apiKey,
+                            @Value("${STT_URL}") String sttUrl,
+                            @Value("${voice.stt.sample-rate:48000}") int defaultSampleRate,
+                            @Value("${voice.stt.segment-seconds:0}") int segmentSeconds,
+                            @Value("${voice.stt.parallelism:4}") int parallelism,
+                            OutboundMetrics outboundMetrics,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.apiKey = apiKey;
+        this.outboundMetrics = outboundMetrics;
+        this.sttUrl = sttUrl;
+        this.defaultSampleRate = defaultSampleRate;
+        this.segmentSeconds = segmentSeconds;
+
+        int poolSize = Math.max(1, parallelism);
+        // 대기열이 가득 차면 호출 스레드에서 직접 실행 (구간 요청을 버리지 않음)
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(poolSize * 4),
+                WorkerThreads.factory("stt-segment-", virtualThreads),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
     public String transcribe(MultipartFile audioFile) {
         try {
             // 1. 요청 URL 완성 (?key=API_KEY)
             String requestUrl = sttUrl + "?key=" + apiKey;
 
-            // 2. 요청 Body 생성 (오디오 파일 -> Base64 -> DTO)
-            // 주의: 클라이언트가 보내는 파일의 Sample Rate와 일치해야 합니다. (보통 44100 or 48000)
-            SttRequest requestBody = new SttRequest(audioFile.getBytes(), 48000); 
-
-            // 3. Header 설정
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            // 4. HTTP 요청 전송
-            HttpEntity<SttRequest> entity = new HttpEntity<>(requestBody, headers);
-            String response = restTemplate.postForObject(requestUrl, entity, String.class);
+            // 2. 긴 녹음이면 구간별 병렬 요청 (WAV 헤더는 샘플레이트 때문에 항상 읽는다)
+            WavInfo wav = readWavInfo(audioFile);
+            if (wav != null && segmentSeconds > 0) {
+                long segmentBytes = (long) segmentSeconds * wav.sampleRate * 2; // 16bit mono
+                if (wav.dataLength > segmentBytes) {
+                    return transcribeSegments(requestUrl, audioFile, wav, segmentBytes);
+                }
+            }
 
-            // 5. 응답 파싱 (JSON -> 텍스트 추출)
-            return parseResponse(response);
+            // 3. 단일 요청 - 파일 전체를 스트리밍으로 전송
+            // 주의: 클라이언트가 보내는 파일의 Sample Rate와 일치해야 합니다. (보통 44100 or 48000)
+            int sampleRate = wav != null ? wav.sampleRate : defaultSampleRate;
+            try (InputStream in = audioFile.getInputStream()) {
+                return post(requestUrl, new SttRequest(in, (int) audioFile.getSize(), sampleRate));
+            }
 
         } catch (IOException e) {
-            e.printStackTrace();
+            log.error("transcribe 처리 실패", e);
             throw new RuntimeException("오디오 파일 처리 실패", e);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("transcribe 처리 실패", e);
             return "음성 인식 실패";
         }
     }
 
-    public String parseResponse(String jsonResponse) {
-        try {
-            JsonNode root = objectMapper.readTree(jsonResponse);
-            // 구글 응답 구조: results[0].alternatives[0].transcript
-            if (root.has("results")) {
-                JsonNode results = root.path("results");
-                if (results.isArray() && results.size() > 0) {
-                    JsonNode alternatives = results.get(0).path("alternatives");
-                    if (alternatives.isArray() && alternatives.size() > 0) {
-                        return alternatives.get(0).path("transcript").asText();
-                    }
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // PCM 데이터를 segmentBytes 단위로 나눠 병렬 요청 후 순서대로 합친다
+    private String transcribeSegments(String requestUrl, MultipartFile audioFile, WavInfo wav, long segmentBytes)
+            throws IOException, InterruptedException, ExecutionException {
+        List<Future<String>> futures = new ArrayList<>();
+        for (long start = 0; start < wav.dataLength; start += segmentBytes) {
+            long offset = wav.dataOffset + start;
+            int length = (int) Math.min(segmentBytes, wav.dataLength - start);
+            futures.add(executor.submit(() -> {
+                // 구간마다 독립된 스트림을 열어 해당 위치부터 length 바이트만 전송
+                try (InputStream in = audioFile.getInputStream()) {
+                    in.skipNBytes(offset);
+                    return post(requestUrl, new SttRequest(in, length, wav.sampleRate));
                 }
+            }));
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (Future<String> future : futures) {
+            String text = future.get();
+            if (text != null && !text.isBlank()) {
+                if (sb.length() > 0) sb.append(' ');
+                sb.append(text.trim());
+            }
+        }
+        return sb.toString();
+    }
+
+    private String post(String requestUrl, SttRequest requestBody) {
+        return outboundMetrics.record("stt", () -> restTemplate.execute(requestUrl, HttpMethod.POST,
+                request -> {
+                    request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    if (request instanceof StreamingHttpOutputMessage streaming) {
+                        // 본문을 메모리에 모으지 않고 연결에 바로 쓴다 (chunked)
+                        streaming.setBody(out -> writeBody(requestBody, out));
+                    } else {
+                        writeBody(requestBody, request.getBody());
+                    }
+                },
+                response -> extractTranscript(objectMapper.readTree(response.getBody()))));
+    }
+
+    private void writeBody(SttRequest requestBody, OutputStream out) throws IOException {
+        try (JsonGenerator gen = objectMapper.createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            requestBody.writeTo(gen);
+        }
+    }
+
+    // 16bit mono PCM WAV인 경우에만 헤더 정보 반환 (그 외 형식은 구간 분할하지 않음)
+    private WavInfo readWavInfo(MultipartFile audioFile) throws IOException {
+        byte[] head;
+        try (InputStream in = audioFile.getInputStream()) {
+            head = in.readNBytes(WAV_HEADER_PROBE_BYTES);
+        }
+        if (head.length < 12 || !"RIFF".equals(new String(head, 0, 4)) || !"WAVE".equals(new String(head, 8, 4))) {
+            return null;
+        }
+
+        ByteBuffer buf = ByteBuffer.wrap(head).order(ByteOrder.LITTLE_ENDIAN);
+        WavInfo info = new WavInfo();
+        int pos = 12;
+        while (pos + 8 <= head.length) {
+            String id = new String(head, pos, 4);
+            long size = Integer.toUnsignedLong(buf.getInt(pos + 4));
+            if ("fmt ".equals(id) && pos + 24 <= head.length) {
+                info.channels = buf.getShort(pos + 10);
+                info.sampleRate = buf.getInt(pos + 12);
+                info.bitsPerSample = buf.getShort(pos + 22);
+            } else if ("data".equals(id)) {
+                info.dataOffset = pos + 8;
+                info.dataLength = Math.min(size, audioFile.getSize() - info.dataOffset);
+                break;
             }
-            return ""; // 인식된 결과 없음
+            pos += 8 + (int) (size + (size & 1)); // 청크는 2바이트 정렬
+        }
+
+        if (info.dataOffset == 0 || info.channels != 1 || info.bitsPerSample != 16 || info.sampleRate <= 0) {
+            return null;
+        }
+        return info;
+    }
+
+    public String parseResponse(String jsonResponse) {
+        try {
+            return extractTranscript(objectMapper.readTree(jsonResponse));
         } catch (Exception e) {
             return "";
         }
     }
-}
\ No newline at end of file
+
+    private String extractTranscript(JsonNode root) {
+        // 구글 응답 구조: results[0].alternatives[0].transcript
+        if (root != null && root.has("results")) {
+            JsonNode results = root.path("results");
+            if (results.isArray() && results.size() > 0) {
+                JsonNode alternatives = results.get(0).path("alternatives");
+                if (alternatives.isArray() && alternatives.size() > 0) {
+                    return alternatives.get(0).path("transcript").asText();
+                }
+            }
+        }
+        return ""; // 인식된 결과 없음
+    }
+}
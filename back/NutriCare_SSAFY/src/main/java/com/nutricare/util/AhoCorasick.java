@@ -0,0 +1,134 @@
+package com.nutricare.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * 여러 금지어를 한 번의 훑기로 찾는 Aho-Corasick 오토마톤. (대소문자 무시)
+ * compile() 후에는 불변이라 여러 스레드에서 공유해도 된다.
+ * 상태 전이는 노드별 정렬된 문자 배열 + 이진 탐색 (한글 음절처럼 문자 종류가 많아 배열 전이표는 쓰지 않는다)
+ */
+public final class AhoCorasick {
+
+    /**
+     * 본문에서 찾은 패턴과 위치 [start, end)
+     */
+    public record Hit(String pattern, int start, int end) {}
+
+    private final String[] patterns;
+    private final char[][] keys;   // 노드별 전이 문자 (정렬)
+    private final int[][] next;    // 노드별 전이 대상
+    private final int[] fail;      // 실패 링크
+    private final int[] match;     // 이 노드(또는 실패 링크 경로)에서 끝나는 패턴 번호, 없으면 -1
+
+    private AhoCorasick(String[] patterns, char[][] keys, int[][] next, int[] fail, int[] match) {
+        this.patterns = patterns;
+        this.keys = keys;
+        this.next = next;
+        this.fail = fail;
+        this.match = match;
+    }
+
+    public static AhoCorasick compile(Collection<String> words) {
+        List<String> patterns = new ArrayList<>();
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ends.add(-1);
+
+        for (String word : words) {
+            if (word == null || word.isBlank()) continue;
+            String w = word.trim().toLowerCase();
+            int node = 0;
+            for (int i = 0; i < w.length(); i++) {
+                Integer child = trie.get(node).get(w.charAt(i));
+                if (child == null) {
+                    child = trie.size();
+                    trie.get(node).put(w.charAt(i), child);
+                    trie.add(new TreeMap<>());
+                    ends.add(-1);
+                }
+                node = child;
+            }
+            if (ends.get(node) < 0) {
+                ends.set(node, patterns.size());
+                patterns.add(word.trim());
+            }
+        }
+
+        int n = trie.size();
+        char[][] keys = new char[n][];
+        int[][] next = new int[n][];
+        for (int i = 0; i < n; i++) {
+            Map<Character, Integer> edges = trie.get(i);
+            keys[i] = new char[edges.size()];
+            next[i] = new int[edges.size()];
+            int k = 0;
+            for (Map.Entry<Character, Integer> e : edges.entrySet()) { // TreeMap: 문자 순 정렬
+                keys[i][k] = e.getKey();
+                next[i][k++] = e.getValue();
+            }
+        }
+
+        // BFS로 실패 링크 계산 (얕은 노드부터)
+        int[] fail = new int[n];
+        int[] match = new int[n];
+        for (int i = 0; i < n; i++) match[i] = ends.get(i);
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : next[0]) queue.add(child);
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            for (int k = 0; k < keys[u].length; k++) {
+                char c = keys[u][k];
+                int v = next[u][k];
+                int f = fail[u];
+                int t;
+                while ((t = step(keys, next, f, c)) < 0 && f != 0) f = fail[f];
+                fail[v] = t < 0 ? 0 : t;
+                if (match[v] < 0) match[v] = match[fail[v]];
+                queue.add(v);
+            }
+        }
+        return new AhoCorasick(patterns.toArray(new String[0]), keys, next, fail, match);
+    }
+
+    /**
+     * 본문에서 처음 발견되는 패턴 (원래 표기). 없으면 null.
+     */
+    public String findFirst(CharSequence text) {
+        Hit hit = findFirst(text, h -> true);
+        return hit == null ? null : hit.pattern();
+    }
+
+    /**
+     * accept를 통과하는 첫 발견 위치. (앞뒤 문맥으로 걸러낼 때 - 거절된 위치는 건너뛰고 계속 훑는다) 없으면 null.
+     */
+    public Hit findFirst(CharSequence text, Predicate<Hit> accept) {
+        if (text == null || patterns.length == 0) return null;
+        int s = 0;
+        for (int i = 0, len = text.length(); i < len; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int t;
+            while ((t = step(keys, next, s, c)) < 0 && s != 0) s = fail[s];
+            s = t < 0 ? 0 : t;
+            if (match[s] >= 0) {
+                String pattern = patterns[match[s]];
+                Hit hit = new Hit(pattern, i + 1 - pattern.length(), i + 1);
+                if (accept.test(hit)) return hit;
+            }
+        }
+        return null;
+    }
+
+    private static int step(char[][] keys, int[][] next, int node, char c) {
+        int k = Arrays.binarySearch(keys[node], c);
+        return k < 0 ? -1 : next[node][k];
+    }
+}
@@ -0,0 +1,126 @@
+package com.nutricare.util;
+
+import java.awt.image.BufferedImage;
+
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+
+import org.w3c.dom.Node;
+
+/**
+ * JPEG EXIF 방향(Orientation, 0x0112) 태그 읽기/적용.
+ * ImageIO는 EXIF 방향을 무시하고 센서 기준 픽셀을 그대로 돌려주므로,
+ * 휴대폰 세로 사진이 옆으로 누운 채 축소/분석되지 않도록 디코딩 후 직접 회전한다.
+ */
+public final class ExifOrientation {
+
+    public static final int NORMAL = 1;
+
+    private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+    private static final int APP1 = 0xE1;
+    private static final int TAG_ORIENTATION = 0x0112;
+
+    private ExifOrientation() {
+    }
+
+    /**
+     * JPEG 메타데이터의 APP1(Exif) 세그먼트에서 방향 값(1~8)을 읽는다. 없거나 JPEG가 아니면 1.
+     */
+    public static int read(IIOMetadata metadata) {
+        if (metadata == null) return NORMAL;
+        try {
+            Node root = metadata.getAsTree(JPEG_METADATA_FORMAT);
+            for (Node seq = root.getFirstChild(); seq != null; seq = seq.getNextSibling()) {
+                if (!"markerSequence".equals(seq.getNodeName())) continue;
+                for (Node marker = seq.getFirstChild(); marker != null; marker = marker.getNextSibling()) {
+                    if (!"unknown".equals(marker.getNodeName())) continue;
+                    Node tag = marker.getAttributes().getNamedItem("MarkerTag");
+                    if (tag == null || Integer.parseInt(tag.getNodeValue()) != APP1) continue;
+                    Object data = ((IIOMetadataNode) marker).getUserObject();
+                    if (data instanceof byte[] bytes) {
+                        int orientation = parseExif(bytes);
+                        if (orientation != 0) return orientation;
+                    }
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // JPEG 외 형식 (PNG 등): 방향 정보 없음
+        }
+        return NORMAL;
+    }
+
+    /**
+     * 방향 값이 가로/세로를 바꾸는지 (5~8: 90도 회전 포함)
+     */
+    public static boolean swapsAxes(int orientation) {
+        return orientation >= 5 && orientation <= 8;
+    }
+
+    /**
+     * 방향 값에 맞춰 이미지를 바로 세운 새 이미지를 반환한다. (1이면 그대로)
+     */
+    public static BufferedImage apply(BufferedImage src, int orientation) {
+        if (orientation <= NORMAL || orientation > 8) return src;
+        int w = src.getWidth();
+        int h = src.getHeight();
+        boolean swap = swapsAxes(orientation);
+        int dw = swap ? h : w;
+        int dh = swap ? w : h;
+
+        int[] in = src.getRGB(0, 0, w, h, null, 0, w);
+        int[] out = new int[in.length];
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                int dx, dy;
+                switch (orientation) {
+                    case 2 -> { dx = w - 1 - x; dy = y; }          // 좌우 반전
+                    case 3 -> { dx = w - 1 - x; dy = h - 1 - y; }  // 180도
+                    case 4 -> { dx = x; dy = h - 1 - y; }          // 상하 반전
+                    case 5 -> { dx = y; dy = x; }                  // 전치
+                    case 6 -> { dx = h - 1 - y; dy = x; }          // 시계 방향 90도
+                    case 7 -> { dx = h - 1 - y; dy = w - 1 - x; }  // 역전치
+                    default -> { dx = y; dy = w - 1 - x; }         // 8: 반시계 방향 90도
+                }
+                out[dy * dw + dx] = in[y * w + x];
+            }
+        }
+        BufferedImage dst = new BufferedImage(dw, dh,
+                src.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        dst.setRGB(0, 0, dw, dh, out, 0, dw);
+        return dst;
+    }
+
+    // "Exif\0\0" + TIFF 헤더 + IFD0 에서 Orientation 태그 값 (없으면 0)
+    private static int parseExif(byte[] b) {
+        if (b.length < 14 || b[0] != 'E' || b[1] != 'x' || b[2] != 'i' || b[3] != 'f') return 0;
+        int tiff = 6;
+        boolean little;
+        if (b[tiff] == 'I' && b[tiff + 1] == 'I') little = true;
+        else if (b[tiff] == 'M' && b[tiff + 1] == 'M') little = false;
+        else return 0;
+
+        int ifd = tiff + readInt(b, tiff + 4, little);
+        if (ifd < tiff || ifd + 2 > b.length) return 0;
+        int count = readShort(b, ifd, little);
+        for (int i = 0; i < count; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > b.length) return 0;
+            if (readShort(b, entry, little) == TAG_ORIENTATION) {
+                int value = readShort(b, entry + 8, little);
+                return value >= 1 && value <= 8 ? value : 0;
+            }
+        }
+        return 0;
+    }
+
+    private static int readShort(byte[] b, int off, boolean little) {
+        int b0 = b[off] & 0xFF, b1 = b[off + 1] & 0xFF;
+        return little ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+
+    private static int readInt(byte[] b, int off, boolean little) {
+        int lo = readShort(b, little ? off : off + 2, little);
+        int hi = readShort(b, little ? off + 2 : off, little);
+        return (hi << 16) | lo;
+    }
+}
@@ -0,0 +1,41 @@
+package com.nutricare.util;
+
+/**
+ * 한글 음절을 초성/중성/종성 자모로 분해한다.
+ * 음성 인식 결과의 받침 한 글자 차이("게시판" / "게시팡") 같은 오차를
+ * 음절 단위가 아닌 자모 단위 편집 거리로 비교하기 위해 사용한다.
+ */
+public final class HangulJamo {
+
+    private static final int SYLLABLE_BASE = 0xAC00;
+    private static final int SYLLABLE_LAST = 0xD7A3;
+    private static final int JUNG_COUNT = 21;
+    private static final int JONG_COUNT = 28;
+
+    private HangulJamo() {
+    }
+
+    /**
+     * 공백/문장부호를 제거하고 한글 음절은 자모(조합형 U+1100 영역)로 펼친 문자열을 반환한다.
+     * 영문은 소문자로 통일, 숫자는 그대로 둔다.
+     */
+    public static String decompose(String text) {
+        if (text == null) return "";
+        StringBuilder sb = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                int s = c - SYLLABLE_BASE;
+                int cho = s / (JUNG_COUNT * JONG_COUNT);
+                int jung = (s % (JUNG_COUNT * JONG_COUNT)) / JONG_COUNT;
+                int jong = s % JONG_COUNT;
+                sb.append((char) (0x1100 + cho));
+                sb.append((char) (0x1161 + jung));
+                if (jong > 0) sb.append((char) (0x11A7 + jong));
+            } else if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+}
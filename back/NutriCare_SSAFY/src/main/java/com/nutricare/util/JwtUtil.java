@@ -3,6 +3,7 @@ package com.nutricare.util;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -32,6 +33,7 @@ public class JwtUtil {
     }
     public String generateRefreshToken(Long userId) {
     	return Jwts.builder()
+    			.setId(UUID.randomUUID().toString()) // 같은 초에 발급돼도 토큰(해시)이 겹치지 않도록
     			.setSubject(String.valueOf(userId))
     			.setIssuedAt(new Date())
     			.setExpiration(new Date(System.currentTimeMillis() + REFRESH_EXPIRATION))
@@ -42,6 +44,7 @@ public class JwtUtil {
     // 1) 토큰 생성
     public String generateAccessToken(Long userId, String email, String role) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString()) // 로그아웃 시 폐기 목록(jti) 등록용
                 .setSubject(String.valueOf(userId))
                 .claim("email", email)
                 .claim("role", role)
@@ -69,8 +72,8 @@ public class JwtUtil {
         return (String) claims.get("role");
     }
 
-    // 5) Claims 추출
-    private Claims getClaims(String token) {
+    // 5) Claims 추출 (필터처럼 여러 값을 읽을 때는 한 번만 파싱)
+    public Claims getClaims(String token) {
         return Jwts.parserBuilder()
                 .setSigningKey(key)
                 .build()
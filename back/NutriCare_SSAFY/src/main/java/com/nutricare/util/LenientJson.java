@@ -0,0 +1,106 @@
+package com.nutricare.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * LLM 응답용 관대한 JSON 배열 읽기. (스트리밍 JsonParser로 한 번만 훑는다)
+ * - 앞뒤 설명 문장 / 마크다운 코드 펜스는 건너뛴다. (첫 "[{" / "[]" / "{\"" 위치부터 읽고, 값이 닫히면 뒤는 읽지 않음)
+ * - 배열이 중간에 잘렸거나 문법 오류가 나면 그 앞까지의 완전한 객체만 살린다.
+ * - 매핑할 수 없는 항목(객체가 아닌 값, 필드 타입 불일치 등)은 그 항목만 버린다.
+ * - 배열 대신 객체 하나(또는 연속된 객체)만 온 경우도 항목으로 읽는다.
+ * - 끝의 쉼표, 작은따옴표, 따옴표 없는 필드명, 주석을 허용한다.
+ * 필드 이름 규칙(snake_case/camelCase)은 넘겨받은 ObjectMapper 설정을 따른다.
+ */
+public final class LenientJson {
+
+    private static final JsonFactory FACTORY = JsonFactory.builder()
+            .enable(JsonReadFeature.ALLOW_TRAILING_COMMA)
+            .enable(JsonReadFeature.ALLOW_SINGLE_QUOTES)
+            .enable(JsonReadFeature.ALLOW_UNQUOTED_FIELD_NAMES)
+            .enable(JsonReadFeature.ALLOW_JAVA_COMMENTS)
+            .build();
+
+    /**
+     * @param items    읽은 항목
+     * @param complete 배열(또는 마지막 객체)이 끝까지 닫혀 있었는지. false면 items는 잘리거나 깨진 응답에서 건진 항목이다.
+     * @param skipped  매핑할 수 없어 버린 항목 수
+     */
+    public record Result<T>(List<T> items, boolean complete, int skipped) {
+
+        // 손상된 응답에서 건진 항목 수 (정상 응답이면 0)
+        public int salvaged() {
+            return complete && skipped == 0 ? 0 : items.size();
+        }
+    }
+
+    private LenientJson() {
+    }
+
+    public static <T> Result<T> readArray(ObjectMapper mapper, String text, Class<T> type) {
+        List<T> items = new ArrayList<>();
+        int start = text == null ? -1 : findStart(text);
+        if (start < 0) return new Result<>(items, false, 0);
+
+        boolean complete = false;
+        int skipped = 0;
+        try (JsonParser p = FACTORY.createParser(text.substring(start))) {
+            JsonToken t = p.nextToken();
+            if (t == JsonToken.START_ARRAY) {
+                while ((t = p.nextToken()) != null) {
+                    if (t == JsonToken.END_ARRAY) {
+                        complete = true;
+                        break;
+                    }
+                    JsonNode node = mapper.readTree(p); // 잘린 항목이면 여기서 예외 -> 앞 항목까지만 사용
+                    if (!bind(mapper, node, type, items)) skipped++;
+                }
+            } else {
+                // 배열 없이 객체가 하나 이상 온 경우
+                while (t == JsonToken.START_OBJECT) {
+                    complete = false;
+                    JsonNode node = mapper.readTree(p);
+                    if (!bind(mapper, node, type, items)) skipped++;
+                    complete = true;
+                    t = p.nextToken(); // 뒤에 설명 문장이 있으면 예외로 끝난다
+                }
+            }
+        } catch (IOException e) {
+            // 잘림/문법 오류: 여기까지 읽은 항목만 사용
+        }
+        return new Result<>(items, complete, skipped);
+    }
+
+    private static <T> boolean bind(ObjectMapper mapper, JsonNode node, Class<T> type, List<T> items) {
+        if (node == null || !node.isObject()) return false;
+        try {
+            items.add(mapper.treeToValue(node, type));
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // JSON 시작 위치: 객체 배열 "[{" / 빈 배열 "[]" / 객체 "{\"" ("[참고]" 같은 설명 문장의 괄호는 건너뜀)
+    private static int findStart(String text) {
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (c != '[' && c != '{') continue;
+            int j = i + 1;
+            while (j < n && Character.isWhitespace(text.charAt(j))) j++;
+            if (j == n) return i; // 여는 괄호에서 잘린 응답
+            char next = text.charAt(j);
+            if (c == '[' && (next == '{' || next == ']')) return i;
+            if (c == '{' && (next == '"' || next == '\'' || next == '}')) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,46 @@
+package com.nutricare.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 외부 시스템(FastAPI 분석, 식단 LLM, STT, GCS) 호출 지연 시간 측정.
+ * - 메트릭: nutricare.outbound{target, outcome=success|error}
+ * - 예외는 그대로 다시 던진다.
+ */
+@Component
+public class OutboundMetrics {
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    private final MeterRegistry registry;
+
+    public OutboundMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <T, E extends Exception> T record(String target, Call<T, E> call) throws E {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = call.call();
+            outcome = "success";
+            return result;
+        } finally {
+            Timer.builder("nutricare.outbound")
+                    .description("외부 시스템 호출 시간")
+                    .tag("target", target)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
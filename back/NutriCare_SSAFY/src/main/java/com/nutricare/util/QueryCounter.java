@@ -0,0 +1,117 @@
+package com.nutricare.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 현재 스레드(요청)에서 실행된 MyBatis statement 수 집계.
+ * - QueryCountFilter가 요청마다 scope를 열고, QueryGuardInterceptor가 statement마다 기록한다.
+ * - 요청을 나눠 처리하는 작업 스레드는 attach로 요청 scope 하위에 집계한다.
+ * - 통합 테스트에서는 직접 scope를 열고 assertAtMost로 쿼리 예산 초과 시 실패시킬 수 있다.
+ *
+ * <pre>
+ * QueryCounter.Scope scope = QueryCounter.begin();
+ * mockMvc.perform(get("/api/boards"));
+ * scope.close();
+ * scope.assertAtMost(3);
+ * </pre>
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private final Scope restore; // close 후 현재 스레드에 되돌릴 scope
+        private final Map<String, Integer> counts = new LinkedHashMap<>();
+        private int total;
+        private long elapsedNanos;
+        private boolean closed;
+
+        private Scope(Scope parent, Scope restore) {
+            this.parent = parent;
+            this.restore = restore;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        // statement id -> 실행 횟수 (실행 순서 유지)
+        public Map<String, Integer> getCounts() {
+            return counts;
+        }
+
+        // 가장 많이 반복된 statement (N+1 의심 대상)
+        public Map.Entry<String, Integer> mostRepeated() {
+            Map.Entry<String, Integer> max = null;
+            for (Map.Entry<String, Integer> e : counts.entrySet()) {
+                if (max == null || e.getValue() > max.getValue()) max = e;
+            }
+            return max;
+        }
+
+        public void assertAtMost(int maxQueries) {
+            if (total > maxQueries) {
+                throw new AssertionError("쿼리 예산 초과: " + total + " > " + maxQueries + " " + counts);
+            }
+        }
+
+        public void assertAtMost(String statement, int maxExecutions) {
+            int n = counts.getOrDefault(statement, 0);
+            if (n > maxExecutions) {
+                throw new AssertionError("statement 반복 초과: " + statement + " " + n + " > " + maxExecutions);
+            }
+        }
+
+        // 작업 스레드에서 동시에 기록될 수 있으므로 scope 단위로 동기화
+        private synchronized void record(String statement, long nanos) {
+            counts.merge(statement, 1, Integer::sum);
+            total++;
+            elapsedNanos += nanos;
+            if (parent != null) parent.record(statement, nanos);
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            if (CURRENT.get() == this) {
+                if (restore != null) CURRENT.set(restore);
+                else CURRENT.remove();
+            }
+        }
+    }
+
+    // 새 scope 시작 (이미 열린 scope가 있으면 그 안에 중첩되어 상위에도 함께 집계)
+    public static Scope begin() {
+        Scope current = CURRENT.get();
+        Scope scope = new Scope(current, current);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    // 다른 스레드에서 연 scope 하위에 현재 스레드의 scope를 연다. close 시 이 스레드의 이전 scope로 되돌린다
+    public static Scope attach(Scope parent) {
+        Scope scope = new Scope(parent, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    // 현재 scope (없으면 null)
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    public static void record(String statement, long nanos) {
+        Scope scope = CURRENT.get();
+        if (scope != null) scope.record(statement, nanos);
+    }
+}
@@ -0,0 +1,37 @@
+package com.nutricare.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * 직접 만든 실행기(ThreadPoolExecutor)용 스레드 팩토리.
+ * - virtual(spring.threads.virtual.enabled)이고 Java 21 이상이면 가상 스레드, 아니면 이름 붙은 daemon platform 스레드.
+ * - 동시 실행 수는 풀 크기와 대기열이 그대로 제한하므로 가상 스레드를 써도 백프레셔 상한은 바뀌지 않는다.
+ * - I/O 대기 위주 풀(DB 팬아웃, AI/LLM/STT 호출)만 사용한다. CPU 위주 풀(이미지 디코딩, 비밀번호 해시)은 가상 스레드로
+ *   얻는 것이 없고 캐리어 스레드만 오래 점유하므로 항상 platform(false)으로 만든다.
+ */
+public final class WorkerThreads {
+
+    private WorkerThreads() {
+    }
+
+    // 현재 JVM에서 가상 스레드를 만들 수 있는지 (Java 17에서는 설정이 켜져 있어도 platform으로 동작)
+    public static boolean virtualSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    // "dashboard-" -> dashboard-1, dashboard-2 ... (가상 스레드는 dashboard-0부터)
+    public static ThreadFactory factory(String prefix, boolean virtual) {
+        if (virtual && virtualSupported()) {
+            return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+        }
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,30 @@
+-- 마이그레이션 도입 이전(버전 0) 스키마를 V1 기준 스키마로 맞추는 스크립트
+-- 이력 테이블 없이 refresh_token.token_hash 컬럼이 없는 DB에서 V1 대신 한 번만 실행된다.
+
+-- 1) USER: 소셜 계정 중복 방지
+ALTER TABLE `user`
+  ADD UNIQUE KEY `uk_user_provider` (`provider`, `provider_id`);
+
+-- 2) REFRESH_TOKEN: 원문 저장 → SHA-256 hex 저장 + rotation(family) / 재사용 탐지(used)
+ALTER TABLE `refresh_token`
+  ADD COLUMN `family_id`  CHAR(36)   NULL AFTER `user_id`,
+  ADD COLUMN `token_hash` CHAR(64)   NULL AFTER `family_id`,
+  ADD COLUMN `used`       TINYINT(1) NOT NULL DEFAULT 0 AFTER `token_hash`;
+
+-- 기존 토큰은 원문 해시로 옮겨 두어 재로그인 없이 계속 재발급 가능하도록 유지
+UPDATE `refresh_token`
+   SET `family_id` = UUID(),
+       `token_hash` = SHA2(`token_value`, 256);
+
+-- FK(user_id)용 인덱스를 먼저 만든 뒤 기존 unique 키 제거
+ALTER TABLE `refresh_token`
+  ADD KEY `idx_refresh_token_user` (`user_id`);
+
+ALTER TABLE `refresh_token`
+  DROP KEY `uk_refresh_token_user`,
+  DROP COLUMN `token_value`,
+  MODIFY `family_id`  CHAR(36) NOT NULL,
+  MODIFY `token_hash` CHAR(64) NOT NULL,
+  ADD UNIQUE KEY `uk_refresh_token_hash` (`token_hash`),
+  ADD KEY `idx_refresh_token_family` (`family_id`),
+  ADD KEY `idx_refresh_token_expiry` (`expiry_date`);
@@ -0,0 +1,26 @@
+-- 자주 실행되는 조회의 정렬까지 인덱스로 처리 (filesort / 전체 스캔 제거)
+-- 새 복합 인덱스의 선두 컬럼이 외래키를 계속 지원하므로 기존 단일 컬럼 인덱스는 함께 제거한다.
+-- InnoDB 보조 인덱스에는 PK가 포함되므로 (..., created_at) 뒤의 PK 정렬 조건도 인덱스 순서로 처리된다.
+
+-- AnalysisResultDao.selectByPhotoId / DietRecommendationDao.insertFromPhoto
+-- : WHERE photo_id = ? ORDER BY created_at DESC LIMIT 1
+ALTER TABLE `analysis_result`
+  ADD KEY `idx_analysis_photo_created` (`photo_id`, `created_at`),
+  DROP KEY `idx_analysis_photo`;
+
+-- DietRecommendationDao.selectByAnalysisId : WHERE analysis_id = ? ORDER BY created_at DESC LIMIT 1
+ALTER TABLE `diet_recommendation`
+  ADD KEY `idx_rec_analysis_created` (`analysis_id`, `created_at`),
+  DROP KEY `idx_rec_analysis`;
+
+-- BoardDao.selectAll : WHERE is_deleted = FALSE ORDER BY created_at DESC
+-- BoardDao.selectByUserId : WHERE user_id = ? ORDER BY created_at DESC
+ALTER TABLE `board`
+  ADD KEY `idx_board_deleted_created` (`is_deleted`, `created_at`),
+  ADD KEY `idx_board_user_created` (`user_id`, `created_at`),
+  DROP KEY `idx_board_user`;
+
+-- CommentDao.selectAll : WHERE board_id = ? AND is_deleted = FALSE ORDER BY created_at ASC
+ALTER TABLE `comment`
+  ADD KEY `idx_comment_board_created` (`board_id`, `is_deleted`, `created_at`),
+  DROP KEY `idx_comment_board`;
@@ -0,0 +1,10 @@
+-- 최신 행 포인터: ORDER BY created_at DESC LIMIT 1 조회를 PK 조회로 대체
+-- photo.latest_analysis_id        : 사진의 가장 최근 analysis_result
+-- analysis_result.latest_rec_id   : 분석 결과의 가장 최근 diet_recommendation
+-- 행 삽입과 같은 트랜잭션에서 갱신하고, 기존 데이터는 서버 기동 후 배치 백필(LatestPointerService)로 채운다.
+-- 사진 삭제 시 하위 행이 연쇄 삭제되는 순환 경로를 만들지 않도록 외래키는 두지 않는다.
+ALTER TABLE `photo`
+  ADD COLUMN `latest_analysis_id` BIGINT NULL AFTER `photo_url`;
+
+ALTER TABLE `analysis_result`
+  ADD COLUMN `latest_rec_id` BIGINT NULL AFTER `prob_seborr`;
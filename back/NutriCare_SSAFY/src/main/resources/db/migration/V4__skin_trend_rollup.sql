@@ -0,0 +1,38 @@
+-- 피부 상태 추이: 회원별 일/주 단위 확률 합계 (평균 = sum / sample_count)
+-- 분석 결과 저장 시 같은 트랜잭션에서 누적하고, 사진 삭제 시 해당 분석분을 빼서 유지한다.
+-- 1년 조회도 일 365행 / 주 53행만 읽으면 된다.
+CREATE TABLE `skin_trend_rollup` (
+  `user_id`       BIGINT        NOT NULL,
+  `period`        VARCHAR(4)    NOT NULL,          -- DAY | WEEK
+  `bucket_start`  DATE          NOT NULL,          -- DAY: 해당 일자 / WEEK: 해당 주 월요일
+  `sample_count`  INT           NOT NULL DEFAULT 0,
+  `sum_gunsun`    DECIMAL(12,4) NOT NULL DEFAULT 0,
+  `sum_atopy`     DECIMAL(12,4) NOT NULL DEFAULT 0,
+  `sum_acne`      DECIMAL(12,4) NOT NULL DEFAULT 0,
+  `sum_normal`    DECIMAL(12,4) NOT NULL DEFAULT 0,
+  `sum_rosacea`   DECIMAL(12,4) NOT NULL DEFAULT 0,
+  `sum_seborr`    DECIMAL(12,4) NOT NULL DEFAULT 0,
+  `updated_at`    DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (`user_id`, `period`, `bucket_start`),
+  CONSTRAINT `fk_skin_trend_user`
+    FOREIGN KEY (`user_id`)
+    REFERENCES `user` (`user_id`)
+    ON DELETE CASCADE
+    ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 기존 분석 결과로 초기 집계
+INSERT INTO `skin_trend_rollup` (
+  user_id, period, bucket_start, sample_count,
+  sum_gunsun, sum_atopy, sum_acne, sum_normal, sum_rosacea, sum_seborr
+)
+SELECT p.user_id, b.period,
+       CASE b.period WHEN 'DAY' THEN DATE(ar.created_at)
+                     ELSE DATE(ar.created_at) - INTERVAL WEEKDAY(ar.created_at) DAY END AS bucket_start,
+       COUNT(*),
+       SUM(ar.prob_gunsun), SUM(ar.prob_atopy), SUM(ar.prob_acne),
+       SUM(ar.prob_normal), SUM(ar.prob_rosacea), SUM(ar.prob_seborr)
+FROM analysis_result ar
+JOIN photo p ON p.photo_id = ar.photo_id
+CROSS JOIN (SELECT 'DAY' AS period UNION ALL SELECT 'WEEK') b
+GROUP BY p.user_id, b.period, bucket_start;
@@ -0,0 +1,9 @@
+-- 업로드 이미지 파생본 URL (원본과 같은 경로에 저장된 축소 JPEG)
+-- thumbnail_url: 목록/피드용 작은 폭, display_url: 상세 화면용 폭. 생성 실패/원본이 더 작으면 NULL (원본 사용)
+ALTER TABLE `board_image`
+  ADD COLUMN `thumbnail_url` VARCHAR(255) NULL AFTER `image_url`,
+  ADD COLUMN `display_url`   VARCHAR(255) NULL AFTER `thumbnail_url`;
+
+ALTER TABLE `photo`
+  ADD COLUMN `thumbnail_url` VARCHAR(255) NULL AFTER `photo_url`,
+  ADD COLUMN `display_url`   VARCHAR(255) NULL AFTER `thumbnail_url`;
@@ -0,0 +1,4 @@
+-- AI 서버 입력용 정규화 이미지 URL (EXIF 방향 보정 + 중앙 정사각형 크롭 + 모델 입력 크기 JPEG)
+-- 진단/식단 요청은 원본 대신 이 파일을 참조한다. 생성 실패 시 NULL (원본 사용)
+ALTER TABLE `photo`
+  ADD COLUMN `model_url` VARCHAR(255) NULL AFTER `display_url`;
@@ -0,0 +1,26 @@
+-- 식단 생성 상태 머신: REQUESTED -> GENERATING -> GENERATED -> PERSISTED (재시도 소진 시 FAILED)
+-- gen_updated_at이 오래된 GENERATING/GENERATED 행은 서버 재시작 등으로 중단된 생성으로 보고 스위퍼가 이어서 처리한다.
+ALTER TABLE `diet_recommendation`
+  ADD COLUMN `gen_status`     VARCHAR(16) NOT NULL DEFAULT 'REQUESTED' AFTER `memo`,
+  ADD COLUMN `gen_attempts`   INT         NOT NULL DEFAULT 0 AFTER `gen_status`,
+  ADD COLUMN `gen_updated_at` DATETIME    NULL AFTER `gen_attempts`,
+  ADD KEY `idx_rec_gen_status` (`gen_status`, `gen_updated_at`);
+
+-- 기존 추천 중 결과가 저장된 것은 완료 상태로
+UPDATE `diet_recommendation` dr
+SET dr.gen_status = 'PERSISTED'
+WHERE EXISTS (SELECT 1 FROM `diet_result` r WHERE r.rec_id = dr.rec_id);
+
+-- LLM 원본 응답 보관 (파싱/저장 전에 먼저 기록 -> 저장 실패 시 LLM 재호출 없이 재시도)
+CREATE TABLE `diet_generation_output` (
+  `rec_id`      BIGINT      NOT NULL,
+  `raw_output`  MEDIUMTEXT  NOT NULL,
+  `source`      VARCHAR(16) NOT NULL,          -- cache | template | llm
+  `created_at`  DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`rec_id`),
+  CONSTRAINT `fk_generation_output_rec`
+    FOREIGN KEY (`rec_id`)
+    REFERENCES `diet_recommendation` (`rec_id`)
+    ON DELETE CASCADE
+    ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
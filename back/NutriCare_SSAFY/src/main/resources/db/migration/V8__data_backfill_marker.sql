@@ -0,0 +1,6 @@
+-- 1회성 데이터 백필 완료 기록: 완료된 백필은 다음 기동부터 건너뛴다.
+CREATE TABLE `data_backfill` (
+  `name`          VARCHAR(64) NOT NULL,       -- 백필 이름 (예: latest-pointers)
+  `completed_at`  DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,7 @@
+-- 사용된(rotation) 토큰의 사용 시각: 재사용 탐지 기간이 지난 행을 스위퍼가 정리한다.
+ALTER TABLE `refresh_token`
+  ADD COLUMN `used_at` DATETIME NULL AFTER `used`,
+  ADD KEY `idx_refresh_token_used_at` (`used_at`);
+
+-- 이미 사용된 행은 생성 시각을 사용 시각으로 간주
+UPDATE `refresh_token` SET `used_at` = `created_at` WHERE `used` = 1;
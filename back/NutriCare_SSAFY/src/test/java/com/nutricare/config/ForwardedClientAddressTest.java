@@ -0,0 +1,74 @@
+package com.nutricare.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+
+import org.apache.catalina.Valve;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.RemoteIpValve;
+import org.apache.catalina.valves.ValveBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatWebServerFactoryCustomizer;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.mock.env.MockEnvironment;
+
+import jakarta.servlet.ServletException;
+
+// 로그인 IP 제한이 보는 remoteAddr: application.properties 설정으로 Tomcat이 신뢰 프록시의 X-Forwarded-For만 반영하는지
+class ForwardedClientAddressTest {
+
+	private RemoteIpValve valve;
+	private String seenRemoteAddr;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		MockEnvironment environment = new MockEnvironment();
+		environment.getPropertySources().addLast(new ResourcePropertySource("classpath:application.properties"));
+		ServerProperties serverProperties = Binder.get(environment).bind("server", ServerProperties.class)
+				.orElseGet(ServerProperties::new);
+
+		TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory();
+		new TomcatWebServerFactoryCustomizer(environment, serverProperties).customize(factory);
+		for (Valve v : factory.getEngineValves()) {
+			if (v instanceof RemoteIpValve remoteIp) valve = remoteIp;
+		}
+		assertThat(valve).as("server.forward-headers-strategy=native -> RemoteIpValve").isNotNull();
+
+		valve.setNext(new ValveBase() {
+			@Override
+			public void invoke(Request request, Response response) throws IOException, ServletException {
+				seenRemoteAddr = request.getRemoteAddr();
+			}
+		});
+	}
+
+	@Test
+	void usesForwardedClientAddressFromTrustedProxy() throws Exception {
+		assertThat(remoteAddrSeenByApp("10.0.0.5", "203.0.113.7")).isEqualTo("203.0.113.7");
+		// 클라이언트가 보낸 값 뒤에 프록시가 덧붙인 경우 - 신뢰 프록시가 아닌 가장 오른쪽 주소
+		assertThat(remoteAddrSeenByApp("127.0.0.1", "198.51.100.1, 203.0.113.7")).isEqualTo("203.0.113.7");
+	}
+
+	@Test
+	void ignoresForwardedHeaderFromUntrustedPeer() throws Exception {
+		// 프록시를 거치지 않은 외부 클라이언트가 헤더를 위조해도 IP 버킷 키는 바뀌지 않는다
+		assertThat(remoteAddrSeenByApp("198.51.100.9", "203.0.113.7")).isEqualTo("198.51.100.9");
+	}
+
+	private String remoteAddrSeenByApp(String peer, String forwardedFor) throws Exception {
+		Request request = new Request(new Connector());
+		request.setCoyoteRequest(new org.apache.coyote.Request());
+		request.setRemoteAddr(peer);
+		request.getCoyoteRequest().getMimeHeaders().addValue("X-Forwarded-For").setString(forwardedFor);
+		seenRemoteAddr = null;
+		valve.invoke(request, new Response());
+		return seenRemoteAddr;
+	}
+}
@@ -0,0 +1,134 @@
+package com.nutricare.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.nutricare.util.QueryCounter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class QueryCountFilterTest {
+
+	static class BoardController {
+		public void list() {
+		}
+
+		@QueryBudget(5)
+		public void detail() {
+		}
+	}
+
+	private final Configuration configuration = new Configuration();
+	private final QueryGuardInterceptor interceptor = new QueryGuardInterceptor(0); // 모든 statement를 느린 쿼리 로그로
+
+	@Test
+	void recordsQueriesPerEndpointThroughInterceptor() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		QueryCountFilter filter = new QueryCountFilter(registry, 10, true);
+
+		filter.doFilter(request("list", "/api/boards"), new MockHttpServletResponse(), chain(3));
+
+		DistributionSummary summary = registry.find("http.server.requests.queries")
+				.tag("uri", "/api/boards").tag("method", "GET").summary();
+		assertThat(summary).isNotNull();
+		assertThat(summary.count()).isEqualTo(1);
+		assertThat(summary.totalAmount()).isEqualTo(3);
+		// 요청이 끝나면 scope가 닫혀 있다
+		assertThat(QueryCounter.current()).isNull();
+	}
+
+	@Test
+	void strictModeFailsWhenDefaultBudgetExceeded() {
+		QueryCountFilter filter = new QueryCountFilter(new SimpleMeterRegistry(), 2, true);
+
+		assertThatThrownBy(() -> filter.doFilter(request("list", "/api/boards"), new MockHttpServletResponse(), chain(3)))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("3 > 2")
+				.hasMessageContaining("BoardDao.selectById");
+		assertThat(QueryCounter.current()).isNull();
+	}
+
+	@Test
+	void queryBudgetAnnotationOverridesDefault() throws Exception {
+		QueryCountFilter filter = new QueryCountFilter(new SimpleMeterRegistry(), 2, true);
+
+		// @QueryBudget(5) 이므로 4회는 통과
+		filter.doFilter(request("detail", "/api/boards/{boardId}"), new MockHttpServletResponse(), chain(4));
+		assertThatThrownBy(() -> filter.doFilter(request("detail", "/api/boards/{boardId}"),
+				new MockHttpServletResponse(), chain(6)))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void lenientModeOnlyLogs() throws Exception {
+		QueryCountFilter filter = new QueryCountFilter(new SimpleMeterRegistry(), 1, false);
+
+		filter.doFilter(request("list", "/api/boards"), new MockHttpServletResponse(), chain(5));
+	}
+
+	@Test
+	void interceptorOutsideRequestDoesNotRecord() throws Throwable {
+		assertThat(QueryCounter.current()).isNull();
+		runStatement("BoardDao.selectById");
+		assertThat(QueryCounter.current()).isNull();
+	}
+
+	private MockHttpServletRequest request(String method, String pattern) throws NoSuchMethodException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+		request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+				new HandlerMethod(new BoardController(), method));
+		return request;
+	}
+
+	// 컨트롤러 대신 인터셉터를 거쳐 statement를 n번 실행하는 필터 체인
+	private MockFilterChain chain(int queries) {
+		return new MockFilterChain(new HttpServlet() {
+			@Override
+			protected void service(HttpServletRequest req, HttpServletResponse resp) {
+				try {
+					for (int i = 0; i < queries; i++) runStatement("BoardDao.selectById");
+				} catch (Throwable e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		});
+	}
+
+	private void runStatement(String id) throws Throwable {
+		if (!configuration.hasStatement(id)) {
+			configuration.addMappedStatement(new MappedStatement.Builder(configuration, id,
+					new StaticSqlSource(configuration, "SELECT * FROM board WHERE board_id = ?"),
+					SqlCommandType.SELECT).build());
+		}
+		MappedStatement ms = configuration.getMappedStatement(id);
+		Executor executor = mock(Executor.class);
+		when(executor.update(any(), any())).thenReturn(1);
+		Method update = Executor.class.getMethod("update", MappedStatement.class, Object.class);
+		Object result = interceptor.intercept(new Invocation(executor, update, new Object[] { ms, List.of(1) }));
+		assertThat(result).isEqualTo(1);
+	}
+}
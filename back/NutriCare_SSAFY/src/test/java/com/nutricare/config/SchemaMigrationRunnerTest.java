@@ -0,0 +1,142 @@
+package com.nutricare.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.nutricare.config.SchemaMigrationRunner.Migration;
+
+class SchemaMigrationRunnerTest {
+
+	@Test
+	void loadsMigrationsInNumericVersionOrder() {
+		List<Migration> migrations = SchemaMigrationRunner.load("classpath:db/migration-test/*.sql");
+
+		// V10 이 V2 뒤에 와야 한다 (문자열 정렬이 아닌 숫자 정렬), 이름 규칙에 맞지 않는 notes.sql 은 제외
+		assertThat(migrations).extracting(Migration::version).containsExactly(1, 2, 10);
+		assertThat(migrations).extracting(Migration::description).containsExactly("create a", "add b", "add c");
+	}
+
+	@Test
+	void rejectsDuplicateVersions() {
+		assertThatThrownBy(() -> SchemaMigrationRunner.load("classpath:db/migration-dup/*.sql"))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("V1");
+	}
+
+	@Test
+	void checksumIgnoresLineEndingsButNotContent() {
+		long lf = SchemaMigrationRunner.checksum("SELECT 1;\nSELECT 2;\n".getBytes(StandardCharsets.UTF_8));
+		long crlf = SchemaMigrationRunner.checksum("SELECT 1;\r\nSELECT 2;\r\n".getBytes(StandardCharsets.UTF_8));
+		long changed = SchemaMigrationRunner.checksum("SELECT 1;\nSELECT 3;\n".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(crlf).isEqualTo(lf);
+		assertThat(changed).isNotEqualTo(lf);
+	}
+
+	@Test
+	void loadedChecksumMatchesScriptContent() {
+		Migration v2 = SchemaMigrationRunner.load("classpath:db/migration-test/*.sql").get(1);
+
+		assertThat(v2.checksum()).isEqualTo(SchemaMigrationRunner.checksum(
+				"ALTER TABLE a ADD COLUMN b INT;\n".getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void productionMigrationsStartAtBaselineAndAreContiguous() {
+		List<Migration> migrations = SchemaMigrationRunner.load("classpath:db/migration/*.sql");
+
+		assertThat(migrations).isNotEmpty();
+		for (int i = 0; i < migrations.size(); i++) {
+			assertThat(migrations.get(i).version()).isEqualTo(i + 1);
+		}
+	}
+
+	@Test
+	void manualSetupScriptMatchesBaselineMigration() throws IOException {
+		// res/sql.sql 로 만든 DB는 V1 적용으로 기록되므로 두 파일의 테이블 정의가 같아야 한다
+		Path manual = Path.of("..", "res", "sql.sql");
+		Path baseline = Path.of("src", "main", "resources", "db", "migration", "V1__baseline_schema.sql");
+
+		assertThat(statements(manual)).isEqualTo(statements(baseline));
+	}
+
+	@Test
+	void hotQueriesKeepAnIndexMatchingWhereAndOrderBy() {
+		// 임베디드 MySQL이 없어 EXPLAIN 대신, 마이그레이션을 모두 적용한 뒤의 인덱스가
+		// 조회의 WHERE 등호 컬럼 + ORDER BY 컬럼으로 시작하는지 확인한다. (인덱스를 지우거나 바꾸면 실패)
+		Map<String, Map<String, List<String>>> indexes = indexesAfterMigrations();
+
+		assertIndexPrefix(indexes, "analysis_result", "photo_id", "created_at");      // AnalysisResultDao.selectByPhotoId
+		assertIndexPrefix(indexes, "diet_recommendation", "analysis_id", "created_at"); // DietRecommendationDao.selectByAnalysisId
+		assertIndexPrefix(indexes, "board", "is_deleted", "created_at");              // BoardDao.selectAll
+		assertIndexPrefix(indexes, "board", "user_id", "created_at");                 // BoardDao.selectByUserId
+		assertIndexPrefix(indexes, "comment", "board_id", "is_deleted", "created_at"); // CommentDao.selectAll
+		assertIndexPrefix(indexes, "refresh_token", "user_id");
+		assertIndexPrefix(indexes, "refresh_token", "token_hash");
+		assertIndexPrefix(indexes, "user", "email");
+	}
+
+	private static final Pattern CREATE_TABLE = Pattern.compile("^CREATE TABLE `?(\\w+)`?", Pattern.CASE_INSENSITIVE);
+	private static final Pattern ALTER_TABLE = Pattern.compile("^ALTER TABLE `?(\\w+)`?", Pattern.CASE_INSENSITIVE);
+	private static final Pattern ADD_KEY = Pattern.compile(
+			"^(?:ADD\\s+)?(?:UNIQUE\\s+)?(?:KEY|INDEX)\\s+`?(\\w+)`?\\s*\\(([^)]*)\\)", Pattern.CASE_INSENSITIVE);
+	private static final Pattern DROP_KEY = Pattern.compile("^DROP\\s+(?:KEY|INDEX)\\s+`?(\\w+)`?", Pattern.CASE_INSENSITIVE);
+
+	// 테이블 -> (인덱스 이름 -> 컬럼 순서). CREATE TABLE / ALTER TABLE 안의 KEY 정의만 따라간다
+	private static Map<String, Map<String, List<String>>> indexesAfterMigrations() {
+		Map<String, Map<String, List<String>>> indexes = new HashMap<>();
+		for (Migration migration : SchemaMigrationRunner.load("classpath:db/migration/*.sql")) {
+			String table = null;
+			for (String raw : new String(migration.script(), StandardCharsets.UTF_8).split("\\R")) {
+				String line = raw.strip();
+				Matcher m;
+				if ((m = CREATE_TABLE.matcher(line)).find() || (m = ALTER_TABLE.matcher(line)).find()) {
+					table = m.group(1).toLowerCase();
+					indexes.computeIfAbsent(table, k -> new LinkedHashMap<>());
+					continue;
+				}
+				if (table == null) continue;
+				if ((m = ADD_KEY.matcher(line)).find()) {
+					List<String> columns = new ArrayList<>();
+					for (String column : m.group(2).split(",")) columns.add(column.replace("`", "").strip().toLowerCase());
+					indexes.get(table).put(m.group(1), columns);
+				} else if ((m = DROP_KEY.matcher(line)).find()) {
+					indexes.get(table).remove(m.group(1));
+				}
+				if (line.endsWith(";")) table = null;
+			}
+		}
+		return indexes;
+	}
+
+	private static void assertIndexPrefix(Map<String, Map<String, List<String>>> indexes, String table, String... columns) {
+		List<String> expected = List.of(columns);
+		assertThat(indexes.getOrDefault(table, Map.of()).values())
+				.as("%s(%s) 인덱스", table, String.join(", ", columns))
+				.anyMatch(index -> index.size() >= expected.size() && index.subList(0, expected.size()).equals(expected));
+	}
+
+	// 주석/빈 줄, DB 생성·선택 구문을 제외한 SQL 줄
+	private static List<String> statements(Path path) throws IOException {
+		return Files.readAllLines(path, StandardCharsets.UTF_8).stream()
+				.map(String::strip)
+				.filter(line -> !line.isEmpty() && !line.startsWith("--"))
+				.filter(line -> !line.startsWith("DROP DATABASE") && !line.startsWith("CREATE DATABASE") && !line.startsWith("USE "))
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,58 @@
+package com.nutricare.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+class ThreadingModeReporterTest {
+
+	private final Logger logger = (Logger) LoggerFactory.getLogger(ThreadingModeReporter.class);
+	private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+	@BeforeEach
+	void attach() {
+		appender.start();
+		logger.addAppender(appender);
+	}
+
+	@AfterEach
+	void detach() {
+		logger.detachAppender(appender);
+	}
+
+	@Test
+	void reportsPlatformModeWithThreadLimitByDefault() {
+		new ThreadingModeReporter(new MockEnvironment(), false, 200).report();
+
+		assertThat(appender.list).singleElement().satisfies(e -> {
+			assertThat(e.getLevel()).isEqualTo(Level.INFO);
+			assertThat(e.getFormattedMessage()).contains("platform").contains("200");
+		});
+	}
+
+	@Test
+	void reportsVirtualModeOnlyWhenRuntimeSupportsIt() {
+		MockEnvironment env = new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true");
+
+		new ThreadingModeReporter(env, true, 200).report();
+
+		ILoggingEvent event = appender.list.get(0);
+		if (Runtime.version().feature() >= 21) {
+			assertThat(event.getLevel()).isEqualTo(Level.INFO);
+			assertThat(event.getFormattedMessage()).contains("virtual");
+		} else {
+			// Java 17에서는 설정이 무시되므로 platform 모드로 동작한다고 경고해야 한다
+			assertThat(event.getLevel()).isEqualTo(Level.WARN);
+			assertThat(event.getFormattedMessage()).contains("platform").contains("200");
+		}
+	}
+}
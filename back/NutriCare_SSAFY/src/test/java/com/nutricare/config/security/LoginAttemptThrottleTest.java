@@ -0,0 +1,55 @@
+package com.nutricare.config.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LoginAttemptThrottleTest {
+
+	@Test
+	void accountBucketRunsOutAfterCapacityAttempts() {
+		// 계정 3회, IP 100회, 사실상 다시 채워지지 않음
+		LoginAttemptThrottle throttle = new LoginAttemptThrottle(3, 0.0001, 100, 0.0001, 1000);
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(throttle.tryAcquire("User@Example.com", "10.0.0." + i)).isTrue();
+		}
+		// 대소문자/공백이 달라도 같은 계정, IP를 바꿔도 거절
+		assertThat(throttle.tryAcquire(" user@example.com ", "10.0.0.9")).isFalse();
+		assertThat(throttle.tryAcquire("other@example.com", "10.0.0.9")).isTrue();
+	}
+
+	@Test
+	void ipBucketLimitsSprayingAcrossAccounts() {
+		LoginAttemptThrottle throttle = new LoginAttemptThrottle(5, 0.0001, 4, 0.0001, 1000);
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(throttle.tryAcquire("victim" + i + "@example.com", "203.0.113.7")).isTrue();
+		}
+		assertThat(throttle.tryAcquire("victim9@example.com", "203.0.113.7")).isFalse();
+		assertThat(throttle.tryAcquire("victim9@example.com", "198.51.100.1")).isTrue();
+	}
+
+	@Test
+	void rejectedIpDoesNotDrainTheAccountBucket() {
+		LoginAttemptThrottle throttle = new LoginAttemptThrottle(2, 0.0001, 1, 0.0001, 1000);
+
+		assertThat(throttle.tryAcquire("owner@example.com", "203.0.113.7")).isTrue();
+		for (int i = 0; i < 10; i++) {
+			assertThat(throttle.tryAcquire("owner@example.com", "203.0.113.7")).isFalse();
+		}
+		// 공격 IP에서 막힌 시도는 계정 토큰을 쓰지 않으므로 본인은 다른 IP에서 로그인할 수 있다
+		assertThat(throttle.tryAcquire("owner@example.com", "198.51.100.1")).isTrue();
+	}
+
+	@Test
+	void bucketsRefillOverTime() throws InterruptedException {
+		// 분당 6000회 = 10ms마다 1개
+		LoginAttemptThrottle throttle = new LoginAttemptThrottle(1, 6000, 100, 6000, 1000);
+
+		assertThat(throttle.tryAcquire("a@example.com", "10.0.0.1")).isTrue();
+		assertThat(throttle.tryAcquire("a@example.com", "10.0.0.1")).isFalse();
+		Thread.sleep(50);
+		assertThat(throttle.tryAcquire("a@example.com", "10.0.0.1")).isTrue();
+	}
+}
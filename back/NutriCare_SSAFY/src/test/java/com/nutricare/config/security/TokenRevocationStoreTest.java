@@ -0,0 +1,146 @@
+package com.nutricare.config.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.nutricare.util.JwtUtil;
+
+class TokenRevocationStoreTest {
+
+	private static final long ACCESS_TTL_MS = 30 * 60 * 1000L;
+	private static final int RECORD_BYTES = 1 + 8 * 3; // 종류 + long 3개
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void jtiBitsMatchUuid() {
+		for (int i = 0; i < 1000; i++) {
+			UUID uuid = UUID.randomUUID();
+			String jti = i % 2 == 0 ? uuid.toString() : uuid.toString().toUpperCase();
+
+			assertThat(TokenRevocationStore.isUuid(jti)).isTrue();
+			assertThat(TokenRevocationStore.mostSignificantBits(jti)).isEqualTo(uuid.getMostSignificantBits());
+			assertThat(TokenRevocationStore.leastSignificantBits(jti)).isEqualTo(uuid.getLeastSignificantBits());
+		}
+	}
+
+	@Test
+	void rejectsNonCanonicalJti() {
+		assertThat(TokenRevocationStore.isUuid(null)).isFalse();
+		assertThat(TokenRevocationStore.isUuid("")).isFalse();
+		assertThat(TokenRevocationStore.isUuid("not-a-uuid")).isFalse();
+		assertThat(TokenRevocationStore.isUuid("123e4567-e89b-12d3-a456-42661417400")).isFalse();
+		assertThat(TokenRevocationStore.isUuid("123e4567-e89b-12d3-a456-42661417400g")).isFalse();
+		assertThat(TokenRevocationStore.isUuid("123e4567xe89b-12d3-a456-426614174000")).isFalse();
+	}
+
+	@Test
+	void revokedTokenIsRejectedAndOthersAreNot() {
+		TokenRevocationStore store = store("");
+		long now = System.currentTimeMillis();
+		String jti = UUID.randomUUID().toString();
+
+		assertThat(store.isRevoked(jti, 1L, now)).isFalse();
+		store.revoke(jti, now + 60_000);
+
+		assertThat(store.isRevoked(jti, 1L, now)).isTrue();
+		// 대소문자만 다른 같은 jti도 같은 토큰
+		assertThat(store.isRevoked(jti.toUpperCase(), 1L, now)).isTrue();
+		assertThat(store.isRevoked(UUID.randomUUID().toString(), 1L, now)).isFalse();
+		assertThat(store.isRevoked("not-a-uuid", 1L, now)).isFalse();
+		assertThat(store.isRevoked(null, 1L, now)).isFalse();
+	}
+
+	@Test
+	void alreadyExpiredOrMalformedRevocationsAreIgnored() {
+		TokenRevocationStore store = store("");
+		long now = System.currentTimeMillis();
+		String expired = UUID.randomUUID().toString();
+
+		store.revoke(expired, now - 1);
+		store.revoke("not-a-uuid", now + 60_000);
+
+		assertThat(store.isRevoked(expired, 1L, now - 10_000)).isFalse();
+		assertThat(store.isRevoked("not-a-uuid", 1L, now)).isFalse();
+	}
+
+	@Test
+	void forceLogoutRejectsEveryTokenIssuedUpToNowForThatUserOnly() {
+		TokenRevocationStore store = store("");
+		long now = System.currentTimeMillis();
+
+		store.revokeAllFor(7L);
+
+		assertThat(store.isRevoked(UUID.randomUUID().toString(), 7L, now - 60_000)).isTrue();
+		// 같은 초에 발급된 토큰도 거부 (iat는 초 단위)
+		assertThat(store.isRevoked(UUID.randomUUID().toString(), 7L, now)).isTrue();
+		// 다시 로그인해 다음 초 이후 발급된 토큰은 허용
+		assertThat(store.isRevoked(UUID.randomUUID().toString(), 7L, (now / 1000 + 1) * 1000)).isFalse();
+		assertThat(store.isRevoked(UUID.randomUUID().toString(), 8L, now - 60_000)).isFalse();
+	}
+
+	@Test
+	void growsPastInitialCapacityWithoutLosingEntries() {
+		TokenRevocationStore store = store("");
+		long now = System.currentTimeMillis();
+		List<String> jtis = new ArrayList<>();
+		for (int i = 0; i < 5_000; i++) {
+			String jti = UUID.randomUUID().toString();
+			jtis.add(jti);
+			store.revoke(jti, now + 60_000);
+		}
+
+		assertThat(jtis).allSatisfy(jti -> assertThat(store.isRevoked(jti, null, now)).isTrue());
+	}
+
+	@Test
+	void expiredEntriesStopMatchingAndArePurgedFromTableAndFile() throws Exception {
+		Path file = dir.resolve("revoked.bin");
+		TokenRevocationStore store = store(file.toString());
+		store.load();
+		long now = System.currentTimeMillis();
+		String shortLived = UUID.randomUUID().toString();
+		String longLived = UUID.randomUUID().toString();
+
+		store.revoke(shortLived, now + 200);
+		store.revoke(longLived, now + 60_000);
+		assertThat(store.isRevoked(shortLived, null, now)).isTrue();
+		assertThat(Files.size(file)).isEqualTo(2L * RECORD_BYTES);
+
+		// 만료 시각이 지나면 정리 전에도 거부하지 않는다
+		while (System.currentTimeMillis() <= now + 200) {
+			Thread.sleep(20);
+		}
+		assertThat(store.isRevoked(shortLived, null, now)).isFalse();
+		assertThat(store.isRevoked(longLived, null, now)).isTrue();
+
+		// 정리하면 만료 항목이 파일에서도 빠진다
+		store.purgeExpired();
+		assertThat(Files.size(file)).isEqualTo(RECORD_BYTES);
+		store.close();
+
+		// 재기동 후에도 살아 있는 폐기만 유지된다
+		TokenRevocationStore restarted = store(file.toString());
+		restarted.load();
+		assertThat(restarted.isRevoked(longLived, null, now)).isTrue();
+		assertThat(restarted.isRevoked(shortLived, null, now)).isFalse();
+		restarted.close();
+	}
+
+	private static TokenRevocationStore store(String file) {
+		JwtUtil jwtUtil = mock(JwtUtil.class);
+		when(jwtUtil.getACCESS_EXPIRATION()).thenReturn(ACCESS_TTL_MS);
+		return new TokenRevocationStore(file, jwtUtil);
+	}
+}
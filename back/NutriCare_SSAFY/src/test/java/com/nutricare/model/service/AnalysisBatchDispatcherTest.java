@@ -0,0 +1,229 @@
+package com.nutricare.model.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nutricare.util.OutboundMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * resnet_api.py(/analyze, /analyze/batch)를 흉내 내는 로컬 stub 서버로 배칭 동작을 확인한다.
+ * 추론 1회(단건이든 배치든)에 고정 지연을 두어, 같은 부하에서 배치가 stub 서버가 받는 호출 수를 줄이는지 본다.
+ * (실행 시간은 CI 부하에 따라 흔들리므로 비교하지 않는다)
+ */
+class AnalysisBatchDispatcherTest {
+
+	private static final long INFERENCE_MILLIS = 40;
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final AtomicInteger singleCalls = new AtomicInteger();
+	private final AtomicInteger batchCalls = new AtomicInteger();
+	private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+	private HttpServer server;
+	private AnalysisBatchDispatcher dispatcher;
+	private ExecutorService clients;
+
+	@AfterEach
+	void tearDown() {
+		if (dispatcher != null) dispatcher.shutdown();
+		if (clients != null) clients.shutdownNow();
+		if (server != null) server.stop(0);
+	}
+
+	@Test
+	void concurrentRequestsAreBatchedAndMatchedByRequestId() throws Exception {
+		start(true);
+		dispatcher = dispatcher("/analyze/batch");
+
+		List<Map<String, Object>> results = submitConcurrently(32);
+
+		for (int i = 0; i < results.size(); i++) {
+			assertThat(results.get(i)).containsEntry("photo_id", i).containsEntry("diagnosis_name", "normal");
+			assertThat(results.get(i)).doesNotContainKey("request_id");
+		}
+		assertThat(singleCalls.get() + batchCalls.get()).isLessThan(32);
+		assertThat(batchSizes).anyMatch(size -> size > 1);
+	}
+
+	@Test
+	void batchingCutsServerCallsUnderConcurrentLoad() throws Exception {
+		start(true);
+		dispatcher = dispatcher("");
+		submitConcurrently(32);
+		dispatcher.shutdown();
+
+		int singleHttpCalls = singleCalls.getAndSet(0);
+		dispatcher = dispatcher("/analyze/batch");
+		submitConcurrently(32);
+
+		// 배치 없이는 요청마다 1회. 배치는 동시 전송 2건이 추론(40ms) 중인 동안 쌓인 요청을 묶어 보내므로
+		// 32건이 빠짐없이 한 번씩 전달되면서 서버 호출은 절반 이하가 된다
+		assertThat(singleHttpCalls).isEqualTo(32);
+		int batchedItems = batchSizes.stream().mapToInt(Integer::intValue).sum() + singleCalls.get();
+		assertThat(batchedItems).isEqualTo(32);
+		assertThat(batchCalls.get() + singleCalls.get()).isLessThanOrEqualTo(16);
+		assertThat(batchSizes).allMatch(size -> size <= 16);
+	}
+
+	@Test
+	void fallsBackToSingleEndpointWhenBatchIsNotDeployed() throws Exception {
+		start(false);
+		dispatcher = dispatcher("/analyze/batch");
+
+		List<Map<String, Object>> results = submitConcurrently(8);
+
+		assertThat(results).hasSize(8).allMatch(r -> "normal".equals(r.get("diagnosis_name")));
+		// 404를 받기 전에 동시 전송 상한(2)만큼은 배치로 나갈 수 있다
+		assertThat(batchCalls.get()).isLessThanOrEqualTo(2);
+		assertThat(singleCalls.get()).isEqualTo(8);
+	}
+
+	@Test
+	void failedBatchItemFailsOnlyThatRequest() throws Exception {
+		start(true);
+		dispatcher = dispatcher("/analyze/batch");
+		submitConcurrently(16); // 도착 간격 평균을 만들어 다음 요청들이 배치로 묶이게 한다
+
+		List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			String url = i == 5 ? "missing.jpg" : "p" + i + ".jpg";
+			int photoId = i;
+			futures.add(CompletableFuture.supplyAsync(() -> dispatcher.submit(body(photoId, url)).join(), clients));
+		}
+
+		for (int i = 0; i < futures.size(); i++) {
+			CompletableFuture<Map<String, Object>> f = futures.get(i);
+			if (i == 5) {
+				// 배치로 갔으면 400 ResponseStatusException, 단건으로 갔으면 400 HttpClientErrorException
+				assertThatThrownBy(f::join).isInstanceOf(CompletionException.class)
+						.cause().isInstanceOfAny(ResponseStatusException.class, HttpClientErrorException.class);
+			} else {
+				assertThat(f.get(5, TimeUnit.SECONDS)).containsEntry("photo_id", i);
+			}
+		}
+	}
+
+	private AnalysisBatchDispatcher dispatcher(String batchPath) {
+		String base = "http://127.0.0.1:" + server.getAddress().getPort();
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		return new AnalysisBatchDispatcher(new OutboundMetrics(registry), registry,
+				base + "/analyze", batchPath.isEmpty() ? "" : base + batchPath, 16, 20, 256, 2, false);
+	}
+
+	private List<Map<String, Object>> submitConcurrently(int n) throws Exception {
+		if (clients == null) clients = Executors.newFixedThreadPool(n);
+		List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			int photoId = i;
+			futures.add(CompletableFuture.supplyAsync(() -> dispatcher.submit(body(photoId, "p" + photoId + ".jpg")).join(), clients));
+		}
+		List<Map<String, Object>> results = new ArrayList<>();
+		for (CompletableFuture<Map<String, Object>> f : futures) {
+			results.add(f.get(30, TimeUnit.SECONDS));
+		}
+		return results;
+	}
+
+	private static Map<String, Object> body(int photoId, String url) {
+		Map<String, Object> body = new HashMap<>();
+		body.put("photo_id", photoId);
+		body.put("user_id", 1);
+		body.put("photo_url", url);
+		return body;
+	}
+
+	// 추론은 서버 전체에서 한 번에 하나 (GPU 1장), 배치는 크기와 무관하게 1회 지연
+	private void start(boolean batchDeployed) throws IOException {
+		Object gpu = new Object();
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(Executors.newFixedThreadPool(16));
+		server.createContext("/analyze", exchange -> {
+			String path = exchange.getRequestURI().getPath();
+			Map<?, ?> request = mapper.readValue(exchange.getRequestBody(), Map.class);
+			if (path.equals("/analyze/batch")) {
+				batchCalls.incrementAndGet();
+				if (!batchDeployed) {
+					respond(exchange, 404, Map.of("detail", "Not Found"));
+					return;
+				}
+				List<?> items = (List<?>) request.get("items");
+				batchSizes.add(items.size());
+				List<Map<String, Object>> results = new ArrayList<>();
+				synchronized (gpu) {
+					sleep();
+					for (Object o : items) {
+						Map<?, ?> item = (Map<?, ?>) o;
+						if ("missing.jpg".equals(item.get("photo_url"))) {
+							results.add(Map.of("request_id", item.get("request_id"), "error", "파일을 찾을 수 없습니다"));
+						} else {
+							Map<String, Object> result = prediction(item.get("photo_id"));
+							result.put("request_id", item.get("request_id"));
+							results.add(result);
+						}
+					}
+				}
+				respond(exchange, 200, Map.of("results", results));
+			} else {
+				singleCalls.incrementAndGet();
+				synchronized (gpu) {
+					sleep();
+				}
+				if ("missing.jpg".equals(request.get("photo_url"))) {
+					respond(exchange, 400, Map.of("detail", "파일을 찾을 수 없습니다"));
+				} else {
+					respond(exchange, 200, prediction(request.get("photo_id")));
+				}
+			}
+		});
+		server.start();
+	}
+
+	private static Map<String, Object> prediction(Object photoId) {
+		Map<String, Object> result = new HashMap<>();
+		result.put("analysis_id", null);
+		result.put("photo_id", photoId);
+		result.put("diagnosis_name", "normal");
+		result.put("prob_normal", 0.9);
+		return result;
+	}
+
+	private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+		byte[] bytes = mapper.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		exchange.getResponseBody().write(bytes);
+		exchange.close();
+	}
+
+	private static void sleep() {
+		try {
+			Thread.sleep(INFERENCE_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
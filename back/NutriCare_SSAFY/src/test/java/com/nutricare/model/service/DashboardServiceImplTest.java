@@ -0,0 +1,242 @@
+package com.nutricare.model.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.nutricare.model.dao.AnalysisResultDao;
+import com.nutricare.model.dao.DietRecommendationDao;
+import com.nutricare.model.dao.HealthProfileDao;
+import com.nutricare.model.dao.PhotoDao;
+import com.nutricare.model.dao.UserDao;
+import com.nutricare.model.dto.AnalysisResult;
+import com.nutricare.model.dto.Board;
+import com.nutricare.model.dto.DashboardResponse;
+import com.nutricare.model.dto.DietRecommendation;
+import com.nutricare.model.dto.HealthProfile;
+import com.nutricare.model.dto.Photo;
+import com.nutricare.model.dto.User;
+import com.nutricare.util.QueryCounter;
+
+class DashboardServiceImplTest {
+
+	private static final Long USER_ID = 7L;
+
+	private final UserDao userDao = mock(UserDao.class);
+	private final HealthProfileDao healthProfileDao = mock(HealthProfileDao.class);
+	private final PhotoDao photoDao = mock(PhotoDao.class);
+	private final AnalysisResultDao analysisResultDao = mock(AnalysisResultDao.class);
+	private final DietRecommendationDao dietRecommendationDao = mock(DietRecommendationDao.class);
+	private final BoardService boardService = mock(BoardService.class);
+	private final LatestPointerService latestPointerService = mock(LatestPointerService.class);
+
+	// 쿼리를 실행한 스레드 이름 (병렬 조회/CallerRuns 확인용)
+	private final Set<String> queryThreads = ConcurrentHashMap.newKeySet();
+	// 설정되면 작업 스레드(dashboard-*)의 쿼리가 풀릴 때까지 멈춘다
+	private volatile CountDownLatch workerGate;
+	private final CountDownLatch callerRan = new CountDownLatch(1);
+	private DashboardServiceImpl service;
+
+	@AfterEach
+	void tearDown() {
+		if (workerGate != null) workerGate.countDown();
+		if (service != null) service.shutdown();
+	}
+
+	@Test
+	void assemblesDashboardWithOneQueryPerSection() {
+		service = service(4);
+		stubUserData(List.of(1L, 2L, 3L, 4L, 5L), Set.of(11L, 13L));
+		when(latestPointerService.isBackfilled()).thenReturn(true);
+
+		DashboardResponse response;
+		QueryCounter.Scope scope = QueryCounter.begin();
+		try {
+			response = service.getDashboard(USER_ID);
+		} finally {
+			scope.close();
+		}
+
+		// 사진 5장이어도 사진별 분석/분석별 추천은 IN 조회 한 번씩 -> 쿼리 6개
+		assertThat(scope.getTotal()).isEqualTo(6);
+		assertThat(scope.getCounts()).allSatisfy((statement, n) -> assertThat(n).isEqualTo(1));
+		verify(analysisResultDao, times(1)).selectByPhotoIds(List.of(1L, 2L, 3L, 4L, 5L));
+		verify(dietRecommendationDao, times(1)).selectByAnalysisIds(List.of(11L, 12L, 13L, 14L, 15L));
+
+		assertThat(response.getUser().getUserId()).isEqualTo(USER_ID);
+		assertThat(response.getUser().getPasswordHash()).isNull();
+		assertThat(response.getHealthProfile().getUserId()).isEqualTo(USER_ID);
+		assertThat(response.getBoards()).hasSize(1);
+		assertThat(response.getPhotos()).hasSize(5);
+		assertThat(response.getAnalysisByPhotoId()).containsOnlyKeys(1L, 2L, 3L, 4L, 5L);
+		assertThat(response.getAnalysisByPhotoId().get(3L).getAnalysisId()).isEqualTo(13L);
+		assertThat(response.getRecommendationByAnalysisId()).containsOnlyKeys(11L, 13L);
+		assertThat(response.getRecommendationByAnalysisId().get(13L).getRecId()).isEqualTo(113L);
+		// 조회는 요청 스레드가 아니라 작업 스레드에서 실행된다
+		assertThat(queryThreads).allSatisfy(name -> assertThat(name).startsWith("dashboard-"));
+	}
+
+	@Test
+	void repairsMissingPointersBeforeBackfillAndQueriesOnlyThoseAgain() {
+		service = service(4);
+		stubUserData(List.of(1L, 2L, 3L), Set.of(11L, 12L, 13L));
+		when(latestPointerService.isBackfilled()).thenReturn(false);
+		// 사진 3의 최신 분석 포인터가 비어 있어 첫 조회에서 빠진다
+		doAnswer(query("AnalysisResultDao.selectByPhotoIds", inv -> {
+			List<Long> ids = inv.getArgument(0);
+			List<AnalysisResult> rows = new ArrayList<>();
+			for (Long id : ids) {
+				if (ids.size() > 1 && id == 3L) continue;
+				rows.add(analysis(id));
+			}
+			return rows;
+		})).when(analysisResultDao).selectByPhotoIds(anyList());
+		when(latestPointerService.repairPhoto(3L)).thenReturn(true);
+
+		DashboardResponse response;
+		QueryCounter.Scope scope = QueryCounter.begin();
+		try {
+			response = service.getDashboard(USER_ID);
+		} finally {
+			scope.close();
+		}
+
+		assertThat(response.getAnalysisByPhotoId()).containsOnlyKeys(1L, 2L, 3L);
+		assertThat(response.getRecommendationByAnalysisId()).containsOnlyKeys(11L, 12L, 13L);
+		verify(analysisResultDao).selectByPhotoIds(List.of(3L));
+		verify(latestPointerService, times(1)).repairPhoto(any());
+		assertThat(scope.getCounts()).containsEntry("AnalysisResultDao.selectByPhotoIds", 2);
+		assertThat(scope.getTotal()).isEqualTo(7);
+	}
+
+	@Test
+	void saturatedPoolRunsTasksOnRequestThreadAndStillCountsEachQueryOnce() throws Exception {
+		// 작업 스레드 1개 + 대기열 16칸. 작업 스레드를 막아 두고 5개 요청(조회 20건)을 넣으면 대기열이 넘친다
+		service = service(1);
+		stubUserData(List.of(1L, 2L), Set.of(11L));
+		when(latestPointerService.isBackfilled()).thenReturn(true);
+		workerGate = new CountDownLatch(1);
+
+		int requests = 5;
+		DashboardResponse[] responses = new DashboardResponse[requests];
+		QueryCounter.Scope[] scopes = new QueryCounter.Scope[requests];
+		Thread[] threads = new Thread[requests];
+		for (int i = 0; i < requests; i++) {
+			int n = i;
+			threads[i] = new Thread(() -> {
+				scopes[n] = QueryCounter.begin();
+				try {
+					responses[n] = service.getDashboard(USER_ID);
+				} finally {
+					scopes[n].close();
+				}
+			}, "request-" + i);
+			threads[i].start();
+		}
+
+		// CallerRunsPolicy: 거절된 조회는 요청 스레드가 직접 실행한다 (작업 스레드가 막혀 있어도 진행)
+		assertThat(callerRan.await(5, TimeUnit.SECONDS)).isTrue();
+		workerGate.countDown();
+		for (Thread t : threads) t.join(5_000);
+
+		for (int i = 0; i < requests; i++) {
+			assertThat(responses[i]).isNotNull();
+			assertThat(responses[i].getAnalysisByPhotoId()).containsOnlyKeys(1L, 2L);
+			assertThat(responses[i].getRecommendationByAnalysisId()).containsOnlyKeys(11L);
+			// 어느 스레드에서 실행됐든 각 요청 scope에 한 번씩만 집계된다
+			assertThat(scopes[i].getTotal()).isEqualTo(6);
+		}
+		assertThat(queryThreads).anySatisfy(name -> assertThat(name).startsWith("request-"));
+		assertThat(queryThreads).anySatisfy(name -> assertThat(name).startsWith("dashboard-"));
+	}
+
+	private DashboardServiceImpl service(int parallelism) {
+		return new DashboardServiceImpl(userDao, healthProfileDao, photoDao, analysisResultDao, dietRecommendationDao,
+				boardService, latestPointerService, parallelism, false);
+	}
+
+	// 사진 id마다 분석(id = 사진 id + 10), recommended에 든 분석마다 추천(id = 분석 id + 100)
+	private void stubUserData(List<Long> photoIds, Set<Long> recommended) {
+		when(userDao.findUserById(USER_ID)).thenAnswer(query("UserDao.findUserById", inv -> {
+			User user = new User();
+			user.setUserId(USER_ID);
+			user.setPasswordHash("$2a$10$hash");
+			return user;
+		}));
+		when(healthProfileDao.selectByUserId(USER_ID)).thenAnswer(query("HealthProfileDao.selectByUserId", inv -> {
+			HealthProfile profile = new HealthProfile();
+			profile.setUserId(USER_ID);
+			return profile;
+		}));
+		when(boardService.selectListByUserId(USER_ID)).thenAnswer(query("BoardDao.selectListByUserId",
+				inv -> List.of(new Board())));
+		when(photoDao.selectListByUserId(anyLong())).thenAnswer(query("PhotoDao.selectListByUserId", inv -> {
+			List<Photo> photos = new ArrayList<>();
+			for (Long id : photoIds) {
+				Photo photo = new Photo();
+				photo.setPhotoId(id);
+				photos.add(photo);
+			}
+			return photos;
+		}));
+		when(analysisResultDao.selectByPhotoIds(anyList())).thenAnswer(query("AnalysisResultDao.selectByPhotoIds", inv -> {
+			List<AnalysisResult> rows = new ArrayList<>();
+			for (Long id : inv.<List<Long>>getArgument(0)) rows.add(analysis(id));
+			return rows;
+		}));
+		when(dietRecommendationDao.selectByAnalysisIds(anyList())).thenAnswer(query("DietRecommendationDao.selectByAnalysisIds", inv -> {
+			List<DietRecommendation> rows = new ArrayList<>();
+			for (Long id : inv.<List<Long>>getArgument(0)) {
+				if (!recommended.contains(id)) continue;
+				DietRecommendation rec = new DietRecommendation();
+				rec.setAnalysisId(id);
+				rec.setRecId(id + 100);
+				rows.add(rec);
+			}
+			return rows;
+		}));
+	}
+
+	private static AnalysisResult analysis(Long photoId) {
+		AnalysisResult ar = new AnalysisResult();
+		ar.setPhotoId(photoId);
+		ar.setAnalysisId(photoId + 10);
+		return ar;
+	}
+
+	// QueryGuardInterceptor처럼 statement 실행을 현재 scope에 기록하는 DAO 응답
+	private <T> Answer<T> query(String statement, Function<InvocationOnMock, T> result) {
+		return inv -> {
+			String thread = Thread.currentThread().getName();
+			queryThreads.add(thread);
+			if (thread.startsWith("request-")) {
+				callerRan.countDown();
+			}
+			CountDownLatch gate = workerGate;
+			if (gate != null && thread.startsWith("dashboard-")) {
+				gate.await(5, TimeUnit.SECONDS);
+			}
+			QueryCounter.record(statement, 1);
+			return result.apply(inv);
+		};
+	}
+}
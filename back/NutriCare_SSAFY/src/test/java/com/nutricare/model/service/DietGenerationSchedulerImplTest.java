@@ -0,0 +1,147 @@
+package com.nutricare.model.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.nutricare.model.dto.DietQueueStatus;
+import com.nutricare.model.service.DietGenerationScheduler.Priority;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DietGenerationSchedulerImplTest {
+
+	private static final long GATE_USER = 99L;
+
+	// 동시 실행 1, 회원별 대기 3건, 비용 1 = 10ms, 비용 기록 1분 유지
+	private final DietGenerationSchedulerImpl scheduler =
+			new DietGenerationSchedulerImpl(new SimpleMeterRegistry(), 1, 1, 1, 3, 100, 10_000, 10, 60_000, 100);
+	private final List<String> order = Collections.synchronizedList(new ArrayList<>());
+	private final List<Thread> threads = new ArrayList<>();
+	private final CountDownLatch gate = new CountDownLatch(1);
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		gate.countDown();
+		for (Thread t : threads) t.join(5_000);
+	}
+
+	@Test
+	void equalCostsInterleaveUsersInsteadOfFifo() throws Exception {
+		holdSlot();
+		submit(1L, "A1", Priority.INTERACTIVE, 0);
+		submit(1L, "A2", Priority.INTERACTIVE, 0);
+		submit(1L, "A3", Priority.INTERACTIVE, 0);
+		submit(2L, "B1", Priority.INTERACTIVE, 0);
+
+		finish();
+
+		// B는 A가 먼저 쌓아 둔 요청 뒤가 아니라 A1 바로 다음 차례
+		assertThat(order).containsExactly("A1", "B1", "A2", "A3");
+	}
+
+	@Test
+	void interactiveRunsBeforeBatch() throws Exception {
+		holdSlot();
+		submit(1L, "batch", Priority.BATCH, 0);
+		submit(2L, "screen", Priority.INTERACTIVE, 0);
+
+		finish();
+
+		assertThat(order).containsExactly("screen", "batch");
+	}
+
+	@Test
+	void slowRequestsPushTheirOwnersBack() throws Exception {
+		holdSlot();
+		// 가짜 LLM: A의 요청은 80ms(비용 8), B의 요청은 즉시 끝난다
+		submit(1L, "A1", Priority.INTERACTIVE, 80);
+		submit(1L, "A2", Priority.INTERACTIVE, 80);
+		submit(2L, "B1", Priority.INTERACTIVE, 0);
+		submit(2L, "B2", Priority.INTERACTIVE, 0);
+
+		finish();
+
+		// 태그가 일정하게 1씩 오르면 A1, B1, A2, B2 - 실제 점유 시간만큼 A2가 밀린다
+		assertThat(order).containsExactly("A1", "B1", "B2", "A2");
+	}
+
+	@Test
+	void measuredCostSurvivesWhileUserIsIdle() throws Exception {
+		// A가 혼자 느린 요청(80ms, 비용 8)을 하나 끝낸다 -> 대기/실행 중인 요청은 없어진다
+		scheduler.run(1L, Priority.INTERACTIVE, () -> {
+			Thread.sleep(80);
+			return null;
+		});
+		assertThat(scheduler.status().getUsers()).isEmpty();
+
+		holdSlot();
+		submit(1L, "A", Priority.INTERACTIVE, 0);
+		submit(2L, "B", Priority.INTERACTIVE, 0);
+
+		finish();
+
+		// 비용 기록이 남아 있으므로 먼저 도착한 A보다 B가 먼저
+		assertThat(order).containsExactly("B", "A");
+	}
+
+	// 다른 회원의 요청이 슬롯을 잡고 있는 동안 대기열을 쌓는다
+	private void holdSlot() throws InterruptedException {
+		start(() -> scheduler.run(GATE_USER, Priority.INTERACTIVE, () -> {
+			gate.await();
+			return null;
+		}));
+		awaitUntil(() -> scheduler.status().getInFlight() == 1);
+	}
+
+	// 앞 요청이 대기열에 들어간 뒤 다음 요청을 넣어 도착 순서를 고정한다
+	private void submit(Long userId, String label, Priority priority, long llmMillis) throws InterruptedException {
+		int before = queued();
+		start(() -> scheduler.run(userId, priority, () -> {
+			order.add(label);
+			if (llmMillis > 0) Thread.sleep(llmMillis);
+			return label;
+		}));
+		awaitUntil(() -> queued() == before + 1);
+	}
+
+	private void finish() throws InterruptedException {
+		gate.countDown();
+		for (Thread t : threads) t.join(5_000);
+		assertThat(scheduler.status().getInFlight()).isZero();
+	}
+
+	private int queued() {
+		DietQueueStatus s = scheduler.status();
+		return s.getQueuedInteractive() + s.getQueuedBatch();
+	}
+
+	private void start(Callable<?> body) {
+		Thread t = new Thread(() -> {
+			try {
+				body.call();
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		threads.add(t);
+		t.start();
+	}
+
+	private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			if (System.nanoTime() > deadline) throw new AssertionError("timeout");
+			Thread.sleep(5);
+		}
+	}
+}
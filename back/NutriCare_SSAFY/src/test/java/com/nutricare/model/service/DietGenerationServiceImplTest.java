@@ -0,0 +1,140 @@
+package com.nutricare.model.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.nutricare.model.dao.HealthProfileDao;
+import com.nutricare.model.dto.DietContext;
+import com.nutricare.model.dto.DietGenerationOutput;
+import com.nutricare.model.dto.DietGenerationStatus;
+import com.nutricare.model.service.CalorieCalculator.CaloriePlan;
+import com.nutricare.model.service.DietRuleEngine.RuleText;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DietGenerationServiceImplTest {
+
+	private static final Long REC_ID = 7L;
+	private static final String TEMPLATE_JSON = "[{\"menuName\":\"현미밥 정식\"}]";
+	private static final String LLM_JSON = "[{\"menuName\":\"연어 샐러드\"}]";
+
+	private final DietRecommendationService recommendations = mock(DietRecommendationService.class);
+	private final DietResultService results = mock(DietResultService.class);
+	private final DietResponseCache cache = mock(DietResponseCache.class);
+	private final DietTemplateLibrary library = mock(DietTemplateLibrary.class);
+	private final DietGenerationScheduler scheduler = mock(DietGenerationScheduler.class);
+	private final DietPlanValidator validator = mock(DietPlanValidator.class);
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private final CaloriePlan plan = new CaloriePlan(1500, 2000, 1800, 1.55, 30, "FEMALE", "LOSE");
+	private final RuleText rules = new RuleText("채소", "튀김", "1800kcal");
+	private DietContext context;
+	private DietGenerationServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		context = new DietContext();
+		context.setUserId(1L);
+		context.setRecId(REC_ID);
+
+		service = new DietGenerationServiceImpl(mock(DietLlmService.class), validator,
+				recommendations, results, cache, library, scheduler, mock(DietContextService.class),
+				mock(DietRuleEngine.class), mock(HealthProfileDao.class), registry, true, 1, 5, 5, false);
+
+		when(recommendations.getGenerationStatus(REC_ID)).thenReturn(DietGenerationStatus.REQUESTED);
+		when(recommendations.startGeneration(REC_ID)).thenReturn(true);
+		when(library.nearest(any(), any())).thenReturn(new DietTemplateLibrary.Match(0, 0.1, TEMPLATE_JSON));
+		when(validator.accepts(any(), any(), anyString())).thenReturn(true);
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void templateResponseReleasesRowAndUpgradesInBackground() throws Exception {
+		when(cache.getOrGenerate(any(), any(), any(), anyBoolean(), any(), any())).thenReturn(LLM_JSON);
+		when(recommendations.stageUpgradeOutput(REC_ID, LLM_JSON, "llm")).thenReturn(true);
+		when(recommendations.persistStagedOutput(REC_ID)).thenReturn(new DietGenerationOutput(REC_ID, LLM_JSON, "llm"));
+
+		DietGenerationService.Generated generated =
+				service.generate(REC_ID, context, plan, rules, DietGenerationScheduler.Priority.INTERACTIVE);
+
+		assertThat(generated.source()).isEqualTo("template");
+		assertThat(generated.json()).isEqualTo(TEMPLATE_JSON);
+		// 응답 전에 GENERATING을 풀어야 다음 요청이 409를 받지 않는다
+		verify(results).replaceDietResultsFromJson(REC_ID, TEMPLATE_JSON);
+		verify(recommendations).markTemplateServed(REC_ID);
+		verify(recommendations, never()).releaseGeneration(REC_ID);
+
+		verify(recommendations, timeout(2_000)).persistStagedOutput(REC_ID);
+		verify(recommendations, never()).stageGeneratedOutput(anyLong(), anyString(), anyString());
+	}
+
+	@Test
+	void upgradeIsDiscardedWhenANewGenerationTookTheRow() throws Exception {
+		when(cache.getOrGenerate(any(), any(), any(), anyBoolean(), any(), any())).thenReturn(LLM_JSON);
+		when(recommendations.stageUpgradeOutput(REC_ID, LLM_JSON, "llm")).thenReturn(false);
+
+		service.generate(REC_ID, context, plan, rules, DietGenerationScheduler.Priority.INTERACTIVE);
+
+		verify(recommendations, timeout(2_000)).stageUpgradeOutput(REC_ID, LLM_JSON, "llm");
+		verify(recommendations, after(200).never()).persistStagedOutput(REC_ID);
+	}
+
+	@Test
+	void throttledPersonalizationIsCountedAndKeepsTemplate() throws Exception {
+		when(cache.getOrGenerate(any(), any(), any(), anyBoolean(), any(), any()))
+				.thenThrow(new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS));
+
+		service.generate(REC_ID, context, plan, rules, DietGenerationScheduler.Priority.INTERACTIVE);
+
+		verify(cache, timeout(2_000)).getOrGenerate(any(), any(), any(), anyBoolean(), any(), any());
+		verify(recommendations, after(200).never()).stageUpgradeOutput(any(), any(), any());
+		assertThat(registry.get("diet.templates.personalization.dropped").tag("reason", "throttled").counter().count())
+				.isEqualTo(1.0);
+	}
+
+	@Test
+	void templateRejectedForThisUserFallsBackToLlm() throws Exception {
+		when(validator.accepts(plan, rules, TEMPLATE_JSON)).thenReturn(false);
+		when(cache.getOrGenerate(any(), any(), any(), anyBoolean(), any(), any())).thenReturn(LLM_JSON);
+		when(recommendations.persistStagedOutput(REC_ID)).thenReturn(new DietGenerationOutput(REC_ID, LLM_JSON, "llm"));
+
+		DietGenerationService.Generated generated =
+				service.generate(REC_ID, context, plan, rules, DietGenerationScheduler.Priority.INTERACTIVE);
+
+		assertThat(generated.source()).isEqualTo("llm");
+		assertThat(generated.json()).isEqualTo(LLM_JSON);
+		verify(results, never()).replaceDietResultsFromJson(REC_ID, TEMPLATE_JSON);
+		verify(recommendations, never()).markTemplateServed(REC_ID);
+		verify(recommendations).stageGeneratedOutput(REC_ID, LLM_JSON, "llm");
+	}
+
+	@Test
+	void sweeperDoesNotAskSchedulerWhenNothingIsStale() {
+		when(recommendations.hasStaleGenerations()).thenReturn(false);
+
+		service.resumeStaleGenerations();
+
+		verify(scheduler, never()).status();
+		verify(recommendations, never()).claimStaleGenerations(anyInt());
+	}
+}
@@ -0,0 +1,147 @@
+package com.nutricare.model.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nutricare.model.dto.DietContext;
+import com.nutricare.model.dto.DietResult;
+import com.nutricare.model.dto.HealthProfile;
+import com.nutricare.model.service.CalorieCalculator.CaloriePlan;
+import com.nutricare.model.service.DietRuleEngine.RuleText;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DietPlanValidatorTest {
+
+	// DietRuleEngine의 진단별 avoid 문구 (기본 / ACNE / ATOPIC)
+	private static final String DEFAULT_AVOID = "고당도 디저트, 튀김, 과다 나트륨";
+	private static final String ACNE_AVOID = "고당 지수 식품, 유제품 과다, 튀김/포화지방";
+	private static final String ATOPIC_AVOID = "가공식품, 인스턴트, 지나친 설탕/소금";
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final DietLlmService llm = mock(DietLlmService.class);
+	private final DietPlanValidator validator =
+			new DietPlanValidator(llm, objectMapper, new SimpleMeterRegistry(), true, 50, 1);
+	// 여성 30세 160cm / 56.1kg, 활동 LOW, 유지 -> 하루 1500kcal, 1식 500kcal
+	private final CaloriePlan plan = CalorieCalculator.calculate(profile(160.0, 56.1, "LOW", "MAINTAIN"), 30, "FEMALE");
+	private final DietContext context = new DietContext();
+
+	@Test
+	void calorieWindowIsPerMealNotDaily() throws Exception {
+		assertThat(plan.getTargetCalories()).isEqualTo(1500);
+		assertThat(plan.getMealCalories()).isEqualTo(500);
+		// 룰 엔진이 프롬프트에 넣는 조건도 1식 기준
+		assertThat(new DietRuleEngine().buildRules(context, plan).getConditions()).startsWith("1식 열량 450~550 kcal");
+
+		// 1식 목표 안의 메뉴는 그대로 통과
+		String perMeal = json(menu("현미밥 정식", "잡곡밥과 나물", 540), menu("연어 샐러드", "구운 연어", 460));
+		assertThat(validator.correct(context, plan, rules(DEFAULT_AVOID), perMeal)).isEqualTo(perMeal);
+		verify(llm, never()).requestDietGeneration(any(), any(), anyString());
+
+		// 하루 목표만큼의 메뉴는 열량 위반으로 교체
+		when(llm.requestDietGeneration(any(), any(), anyString()))
+				.thenReturn(json(menu("두부 스테이크", "두부와 채소", 510)));
+		String corrected = validator.correct(context, plan, rules(DEFAULT_AVOID), json(
+				menu("현미밥 정식", "잡곡밥과 나물", 500), menu("한상 차림", "하루치 식사", 1500)));
+		assertThat(names(corrected)).containsExactly("현미밥 정식", "두부 스테이크");
+	}
+
+	@Test
+	void bannedKeywordsSkipLimitQualifiersAndGenericWords() {
+		assertThat(DietPlanValidator.bannedKeywords(DEFAULT_AVOID)).containsExactly("고당도", "디저트", "튀김");
+		assertThat(DietPlanValidator.bannedKeywords(ACNE_AVOID)).containsExactly("튀김", "포화지방");
+		assertThat(DietPlanValidator.bannedKeywords(ATOPIC_AVOID)).containsExactly("가공식품", "인스턴트");
+	}
+
+	@Test
+	void negatedMentionsInDescriptionAreNotViolations() throws Exception {
+		String json = json(
+				menu("닭가슴살 구이", "튀김 대신 오븐에 구운 닭가슴살", 500),
+				menu("그릭 요거트 볼", "디저트 없이 과일로 단맛", 510),
+				menu("현미 비빔밥", "인스턴트를 빼고 직접 만든 나물", 490));
+
+		assertThat(validator.correct(context, plan, rules(DEFAULT_AVOID), json)).isEqualTo(json);
+		assertThat(validator.correct(context, plan, rules(ATOPIC_AVOID), json)).isEqualTo(json);
+		verify(llm, never()).requestDietGeneration(any(), any(), anyString());
+	}
+
+	@Test
+	void bannedMenuIsReplacedForEachDiagnosisRule() throws Exception {
+		when(llm.requestDietGeneration(any(), any(), anyString()))
+				.thenReturn(json(menu("연어 스테이크", "구운 연어와 채소", 500)));
+
+		String defaultPlan = validator.correct(context, plan, rules(DEFAULT_AVOID), json(
+				menu("현미밥 정식", "잡곡밥과 나물", 500),
+				menu("새우튀김 덮밥", "바삭한 새우", 500)));
+		assertThat(names(defaultPlan)).containsExactly("현미밥 정식", "연어 스테이크");
+
+		String acnePlan = validator.correct(context, plan, rules(ACNE_AVOID), json(
+				menu("삼겹살 구이", "포화지방이 많은 부위", 500),
+				menu("두부 샐러드", "무설탕 드레싱", 500)));
+		assertThat(names(acnePlan)).containsExactly("연어 스테이크", "두부 샐러드");
+
+		String atopicPlan = validator.correct(context, plan, rules(ATOPIC_AVOID), json(
+				menu("인스턴트 라면", "간편식", 500)));
+		assertThat(names(atopicPlan)).containsExactly("연어 스테이크");
+	}
+
+	@Test
+	void reusedPlanIsAcceptedOnlyWhenItFitsThisUser() throws Exception {
+		String fits = json(menu("현미밥 정식", "잡곡밥과 나물", 520), menu("연어 샐러드", "구운 연어", 480));
+		assertThat(validator.accepts(plan, rules(DEFAULT_AVOID), fits)).isTrue();
+
+		// 다른 회원(1식 650kcal)에게 맞춰진 템플릿 / 이 회원의 제한 식재료 포함 / 메뉴 없음
+		assertThat(validator.accepts(plan, rules(DEFAULT_AVOID), json(menu("닭가슴살 덮밥", "현미와 닭가슴살", 650)))).isFalse();
+		assertThat(validator.accepts(plan, rules(ATOPIC_AVOID), json(menu("인스턴트 라면", "간편식", 500)))).isFalse();
+		assertThat(validator.accepts(plan, rules(DEFAULT_AVOID), "[]")).isFalse();
+		verify(llm, never()).requestDietGeneration(any(), any(), anyString());
+	}
+
+	@Test
+	void negationNeedsTheMarkerRightAfterTheKeyword() {
+		assertThat(DietPlanValidator.negated("튀김 대신 구이", 0, 2)).isTrue();
+		assertThat(DietPlanValidator.negated("디저트를 빼고", 0, 3)).isTrue();
+		assertThat(DietPlanValidator.negated("무설탕 요거트", 1, 3)).isTrue();
+		assertThat(DietPlanValidator.negated("튀김 옷을 입혀 대신 굽기", 0, 2)).isFalse();
+		assertThat(DietPlanValidator.negated("새우튀김", 2, 4)).isFalse();
+	}
+
+	private static HealthProfile profile(double heightCm, double weightKg, String activity, String goal) {
+		HealthProfile hp = new HealthProfile();
+		hp.setHeightCm(heightCm);
+		hp.setWeightKg(weightKg);
+		hp.setActivityLevel(activity);
+		hp.setGoalType(goal);
+		return hp;
+	}
+
+	private static RuleText rules(String avoid) {
+		return new RuleText("채소", avoid, "1식 열량 450~550 kcal");
+	}
+
+	private static DietResult menu(String name, String description, int calories) {
+		DietResult r = new DietResult();
+		r.setMenuName(name);
+		r.setDescription(description);
+		r.setCalories(calories);
+		return r;
+	}
+
+	private String json(DietResult... items) throws Exception {
+		return objectMapper.writeValueAsString(List.of(items));
+	}
+
+	private List<String> names(String json) throws Exception {
+		return List.of(objectMapper.readValue(json, DietResult[].class)).stream().map(DietResult::getMenuName).toList();
+	}
+}
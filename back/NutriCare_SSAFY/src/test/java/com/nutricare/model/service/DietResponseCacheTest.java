@@ -0,0 +1,72 @@
+package com.nutricare.model.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import com.nutricare.model.dto.DietContext;
+import com.nutricare.model.service.CalorieCalculator.CaloriePlan;
+import com.nutricare.model.service.DietRuleEngine.RuleText;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DietResponseCacheTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final DietResponseCache cache = new DietResponseCache(registry, 10, 60, 100, "none");
+	private final CaloriePlan plan = new CaloriePlan(1500, 2000, 1800, 1.375, 40, "M", "MAINTAIN");
+	private final RuleText rules = new RuleText("채소", "튀김", "1800kcal");
+
+	@Test
+	void cachedResponseDoesNotCarryFirstRequestersIds() throws Exception {
+		String first = cache.getOrGenerate(context(1L, 11L), plan, rules, false, any -> true,
+				() -> "[{\"resultId\":7,\"recId\":11,\"menuName\":\"현미밥\",\"calories\":300}]");
+
+		// 처음 요청한 회원은 자기 응답을 그대로 받는다
+		assertThat(first).contains("\"recId\":11");
+
+		String hit = cache.getOrGenerate(context(2L, 22L), plan, rules, false, any -> true, () -> {
+			throw new AssertionError("캐시 적중이어야 함");
+		});
+		assertThat(hit).contains("현미밥").doesNotContain("recId").doesNotContain("resultId");
+		assertThat(cache.peek(context(3L, 33L), plan, rules, any -> true)).isEqualTo(hit);
+	}
+
+	@Test
+	void hitRejectedForThisUserIsRegeneratedAndReplaced() throws Exception {
+		cache.getOrGenerate(context(1L, 11L), plan, rules, false, any -> true,
+				() -> "[{\"menuName\":\"현미밥\",\"calories\":640}]");
+
+		// 같은 열량 구간이지만 이 회원의 1식 허용 범위 밖 -> 적중으로 쓰지 않는다
+		Predicate<String> under620 = json -> !json.contains("640");
+		assertThat(cache.peek(context(2L, 22L), plan, rules, under620)).isNull();
+		String regenerated = cache.getOrGenerate(context(2L, 22L), plan, rules, false, under620,
+				() -> "[{\"menuName\":\"잡곡밥\",\"calories\":600}]");
+		assertThat(regenerated).contains("잡곡밥");
+
+		// 새 응답으로 교체되어 다음 회원은 적중
+		assertThat(cache.peek(context(3L, 33L), plan, rules, under620)).contains("잡곡밥");
+		assertThat(registry.get("diet.cache.requests").tag("result", "rejected").counter().count()).isEqualTo(2.0);
+	}
+
+	@Test
+	void shareableStripsSnakeCaseIdsAndRejectsNonArrays() {
+		assertThat(DietResponseCache.shareable("[{\"rec_id\":1,\"result_id\":2,\"menu_name\":\"국\"}]"))
+				.isEqualTo("[{\"menu_name\":\"국\"}]");
+		assertThat(DietResponseCache.shareable("{\"recId\":1}")).isNull();
+		assertThat(DietResponseCache.shareable("메뉴: [")).isNull();
+		assertThat(DietResponseCache.shareable("  ")).isNull();
+	}
+
+	private static DietContext context(Long userId, Long recId) {
+		DietContext c = new DietContext();
+		c.setUserId(userId);
+		c.setRecId(recId);
+		c.setDiagnosisName("당뇨");
+		c.setHealthGoalType("MAINTAIN");
+		c.setActivityLevel("MODERATE");
+		return c;
+	}
+}
@@ -0,0 +1,125 @@
+package com.nutricare.model.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.nutricare.model.dao.DietContextDao;
+import com.nutricare.model.dao.DietResultDao;
+import com.nutricare.model.dto.DietContext;
+import com.nutricare.model.dto.DietResult;
+import com.nutricare.model.dto.HealthProfile;
+import com.nutricare.model.service.CalorieCalculator.CaloriePlan;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DietTemplateBuilderTest {
+
+	@TempDir
+	Path dir;
+
+	private final DietContextDao contextDao = mock(DietContextDao.class);
+	private final DietResultDao resultDao = mock(DietResultDao.class);
+	private final DietResponseCache cache = new DietResponseCache(new SimpleMeterRegistry(), 100, 60, 100, "memo");
+
+	@Test
+	void buildsFromPersistedPlansAndServesNearestTemplate() {
+		// 최신순: 같은 구간(ACNE/LOSE/같은 체격)의 오래된 추천 3번은 빠져야 한다
+		when(contextDao.findPersistedContexts(anyInt())).thenReturn(List.of(
+				context(5L, "ACNE", "LOSE", 60.0),
+				context(4L, "ATOPIC", "MAINTAIN", 80.0),
+				context(3L, "ACNE", "LOSE", 60.0)));
+		when(resultDao.selectByRecId(5L)).thenReturn(List.of(menu(5L, "현미밥 정식")));
+		when(resultDao.selectByRecId(4L)).thenReturn(List.of(menu(4L, "연어 샐러드")));
+
+		DietTemplateLibrary library = new DietTemplateLibrary(dir.resolve("templates.bin").toString(), 0.2);
+		DietTemplateBuilder builder = new DietTemplateBuilder(contextDao, resultDao, library, cache, true, 100, 100);
+
+		assertThat(builder.rebuild()).isEqualTo(2);
+		verify(resultDao, never()).selectByRecId(3L);
+
+		// 조회 한 번으로 가장 가까운 템플릿 (목표 열량이 조금 달라도 같은 진단/목표)
+		DietContext query = context(99L, "ACNE", "LOSE", 62.0);
+		DietTemplateLibrary.Match match = library.nearest(query, plan(query));
+		assertThat(match).isNotNull();
+		assertThat(match.json()).contains("현미밥 정식").doesNotContain("recId").doesNotContain("resultId");
+
+		DietContext atopic = context(98L, "ATOPIC", "MAINTAIN", 79.0);
+		assertThat(library.nearest(atopic, plan(atopic)).json()).contains("연어 샐러드");
+
+		// 하루 목표가 100kcal 넘게 다르면 최대 거리 밖
+		DietContext heavier = context(96L, "ACNE", "LOSE", 70.0);
+		assertThat(plan(heavier).getTargetCalories() - plan(query).getTargetCalories()).isGreaterThan(100);
+		assertThat(library.nearest(heavier, plan(heavier))).isNull();
+
+		// 진단이 다르면 최대 거리 밖
+		DietContext other = context(97L, "NORMAL", "LOSE", 60.0);
+		assertThat(library.nearest(other, plan(other))).isNull();
+	}
+
+	@Test
+	void keepsExistingLibraryWhenNothingIsPersisted() {
+		when(contextDao.findPersistedContexts(anyInt())).thenReturn(List.of());
+		DietTemplateLibrary library = new DietTemplateLibrary(dir.resolve("templates.bin").toString(), 0.2);
+
+		assertThat(new DietTemplateBuilder(contextDao, resultDao, library, cache, true, 100, 100).rebuild()).isZero();
+		assertThat(dir.resolve("templates.bin")).doesNotExist();
+		assertThat(library.isEmpty()).isTrue();
+	}
+
+	@Test
+	void skipsMemoPersonalizedPlans() {
+		// 최신 추천 6번은 메모로 개인화 -> 같은 구간의 5번이 템플릿이 된다
+		DietContext personalized = context(6L, "ACNE", "LOSE", 60.0);
+		personalized.setRecMemo("견과류 알레르기");
+		when(contextDao.findPersistedContexts(anyInt())).thenReturn(List.of(
+				personalized,
+				context(5L, "ACNE", "LOSE", 60.0)));
+		when(resultDao.selectByRecId(5L)).thenReturn(List.of(menu(5L, "현미밥 정식")));
+
+		DietTemplateLibrary library = new DietTemplateLibrary(dir.resolve("templates.bin").toString(), 0.2);
+		assertThat(new DietTemplateBuilder(contextDao, resultDao, library, cache, true, 100, 100).rebuild()).isEqualTo(1);
+		verify(resultDao, never()).selectByRecId(6L);
+
+		DietContext query = context(99L, "ACNE", "LOSE", 60.0);
+		assertThat(library.nearest(query, plan(query)).json()).contains("현미밥 정식");
+	}
+
+	private static DietContext context(Long recId, String diagnosis, String goal, double weightKg) {
+		DietContext c = new DietContext();
+		c.setRecId(recId);
+		c.setUserId(recId);
+		c.setDiagnosisName(diagnosis);
+		c.setHealthGoalType(goal);
+		c.setActivityLevel("MEDIUM");
+		c.setHeightCm(170.0);
+		c.setWeightKg(weightKg);
+		c.setBirthYear(1995);
+		c.setGender("FEMALE");
+		return c;
+	}
+
+	private static CaloriePlan plan(DietContext c) {
+		HealthProfile hp = new HealthProfile(
+				c.getUserId(), c.getHeightCm(), c.getWeightKg(), c.getActivityLevel(), c.getHealthGoalType());
+		return CalorieCalculator.calculate(hp, 30, c.getGender());
+	}
+
+	private static DietResult menu(Long recId, String name) {
+		DietResult r = new DietResult();
+		r.setResultId(recId * 10);
+		r.setRecId(recId);
+		r.setMenuName(name);
+		r.setCalories(500);
+		return r;
+	}
+}
@@ -0,0 +1,175 @@
+package com.nutricare.model.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.nutricare.config.GcsProperties;
+import com.nutricare.model.dto.ImageDerivatives;
+import com.nutricare.util.OutboundMetrics;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ImageDerivativeServiceImplTest {
+
+	private final Storage storage = mock(Storage.class);
+	private final GcsProperties gcsProps = new GcsProperties();
+	// 저장된 객체 이름 -> JPEG 바이트
+	private final Map<String, byte[]> stored = new ConcurrentHashMap<>();
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final Logger logger = (Logger) LoggerFactory.getLogger(ImageDerivativeServiceImpl.class);
+	private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+	private ImageDerivativeServiceImpl service;
+
+	ImageDerivativeServiceImplTest() {
+		gcsProps.setBucketName("bucket");
+		gcsProps.setBaseUrl("https://cdn.test");
+		doAnswer(inv -> {
+			BlobInfo info = inv.getArgument(0);
+			stored.put(info.getName(), inv.getArgument(1));
+			return null;
+		}).when(storage).create(any(BlobInfo.class), any(byte[].class));
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		logger.detachAppender(appender);
+		if (service != null) {
+			service.shutdown();
+		}
+	}
+
+	@Test
+	void decodesAndStoresDisplayThumbnailAndModelInput() throws IOException {
+		service = service(50_000_000L, 2, 16, 10_000);
+
+		ImageDerivatives derivatives = service.create(png(2400, 1200), "photo/1/a.png", true);
+
+		assertThat(derivatives.getDisplayUrl()).isEqualTo("https://cdn.test/bucket/photo/1/a_w1080.jpg");
+		assertThat(derivatives.getThumbnailUrl()).isEqualTo("https://cdn.test/bucket/photo/1/a_w320.jpg");
+		assertThat(derivatives.getModelUrl()).isEqualTo("https://cdn.test/bucket/photo/1/a_m224.jpg");
+		assertThat(size(stored.get("photo/1/a_w1080.jpg"))).containsExactly(1080, 540);
+		assertThat(size(stored.get("photo/1/a_w320.jpg"))).containsExactly(320, 160);
+		// 모델 입력은 크롭 없이 정사각형으로
+		assertThat(size(stored.get("photo/1/a_m224.jpg"))).containsExactly(224, 224);
+	}
+
+	@Test
+	void skipsDerivativesForSmallImagesAndNonImages() {
+		service = service(50_000_000L, 2, 16, 10_000);
+
+		ImageDerivatives small = service.create(png(200, 100), "board/1/s.png");
+		ImageDerivatives text = service.create(new MockMultipartFile("file", "a.txt", "text/plain", "hello".getBytes()), "board/1/a.txt");
+
+		assertThat(small.getThumbnailUrl()).isNull();
+		assertThat(small.getDisplayUrl()).isNull();
+		assertThat(text.getThumbnailUrl()).isNull();
+		verify(storage, never()).create(any(BlobInfo.class), any(byte[].class));
+	}
+
+	@Test
+	void rejectsImagesAboveMaxPixelsWithoutDecoding() {
+		service = service(1_000_000L, 2, 16, 10_000);
+
+		ImageDerivatives derivatives = service.create(png(2000, 1000), "board/1/big.png");
+
+		assertThat(derivatives.getThumbnailUrl()).isNull();
+		assertThat(derivatives.getDisplayUrl()).isNull();
+		verify(storage, never()).create(any(BlobInfo.class), any(byte[].class));
+	}
+
+	@Test
+	void fullQueueFallsBackToOriginalInsteadOfWaiting() {
+		service = service(50_000_000L, 1, 1, 300);
+		blockStorage();
+		appender.start();
+		logger.addAppender(appender);
+
+		// 스레드 1개가 막혀 있고 대기열 1칸이 차면 세 번째는 AbortPolicy로 거절된다
+		List<ImageDerivatives> results = service.create(
+				List.of(png(400, 200), png(400, 200), png(400, 200)),
+				List.of("board/1/a.png", "board/1/b.png", "board/1/c.png"), false);
+
+		assertThat(results).hasSize(3);
+		assertThat(results).allSatisfy(d -> assertThat(d.getThumbnailUrl()).isNull());
+		assertThat(appender.list).anySatisfy(e -> assertThat(e.getFormattedMessage())
+				.contains("대기열이 가득 차").contains("board/1/c.png"));
+	}
+
+	@Test
+	void timeoutBoundsTheWholeRequestNotEachImage() {
+		service = service(50_000_000L, 4, 4, 1000);
+		blockStorage();
+		List<MultipartFile> files = List.of(png(400, 200), png(400, 200), png(400, 200), png(400, 200));
+
+		long start = System.nanoTime();
+		List<ImageDerivatives> results = service.create(files,
+				List.of("board/1/a.png", "board/1/b.png", "board/1/c.png", "board/1/d.png"), false);
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertThat(results).allSatisfy(d -> assertThat(d.getThumbnailUrl()).isNull());
+		// 이미지마다 제한 시간을 새로 기다리면 최소 4000ms (마감 시각 하나면 1000ms 남짓)
+		assertThat(elapsedMillis).isGreaterThanOrEqualTo(1000).isLessThan(3000);
+	}
+
+	private ImageDerivativeServiceImpl service(long maxPixels, int threads, int queueCapacity, long timeoutMillis) {
+		return new ImageDerivativeServiceImpl(storage, gcsProps, new OutboundMetrics(new SimpleMeterRegistry()),
+				320, 1080, 0.82f, 224, 0.9f, maxPixels, threads, queueCapacity, timeoutMillis);
+	}
+
+	// 저장 호출이 release 전까지 끝나지 않게 한다 (느린 GCS)
+	private void blockStorage() {
+		doAnswer(inv -> {
+			release.await();
+			return null;
+		}).when(storage).create(any(BlobInfo.class), any(byte[].class));
+	}
+
+	private static MultipartFile png(int width, int height) {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				image.setRGB(x, y, (x * 255 / width) << 16 | (y * 255 / height) << 8);
+			}
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			ImageIO.write(image, "png", out);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return new MockMultipartFile("file", "image.png", "image/png", out.toByteArray());
+	}
+
+	private static int[] size(byte[] jpeg) throws IOException {
+		BufferedImage image = ImageIO.read(new ByteArrayInputStream(jpeg));
+		return new int[] { image.getWidth(), image.getHeight() };
+	}
+}
@@ -0,0 +1,109 @@
+package com.nutricare.model.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.nutricare.config.BCryptCostCalibrator;
+
+class PasswordHashingServiceImplTest {
+
+	// 호출 스레드 이름을 기록하고, gate가 열릴 때까지 붙잡는 느린 인코더
+	private static final class BlockingEncoder implements PasswordEncoder {
+		private final CountDownLatch gate = new CountDownLatch(1);
+		private final CountDownLatch started = new CountDownLatch(1);
+		private volatile String thread;
+
+		@Override
+		public String encode(CharSequence rawPassword) {
+			thread = Thread.currentThread().getName();
+			started.countDown();
+			try {
+				gate.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "$2a$12$" + rawPassword;
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			return encodedPassword.endsWith(rawPassword.toString());
+		}
+	}
+
+	private final BlockingEncoder encoder = new BlockingEncoder();
+	private PasswordHashingServiceImpl service;
+
+	@AfterEach
+	void tearDown() {
+		encoder.gate.countDown();
+		if (service != null) service.shutdown();
+	}
+
+	@Test
+	void hashingRunsOnDedicatedPoolAndNeedsRehashComparesCost() {
+		encoder.gate.countDown();
+		service = new PasswordHashingServiceImpl(encoder, calibrator(12), 1, 4, 1000);
+
+		assertThat(service.encode("pw")).isEqualTo("$2a$12$pw");
+		assertThat(encoder.thread).startsWith("password-hash-");
+		assertThat(service.matches("pw", "$2a$12$pw")).isTrue();
+		assertThat(service.matches(null, "$2a$12$pw")).isFalse();
+
+		assertThat(service.needsRehash("$2a$10$abcdefghijklmnopqrstuv")).isTrue();
+		assertThat(service.needsRehash("$2a$12$abcdefghijklmnopqrstuv")).isFalse();
+		assertThat(service.needsRehash("plain")).isFalse();
+	}
+
+	@Test
+	void fullQueueIsRejectedWith429() throws Exception {
+		// 스레드 1개 + 대기열 1개: 실행 중 1건, 대기 1건, 다음은 거절
+		service = new PasswordHashingServiceImpl(encoder, calibrator(10), 1, 1, 5000);
+		Thread running = new Thread(() -> service.encode("a"));
+		running.start();
+		assertThat(encoder.started.await(2, TimeUnit.SECONDS)).isTrue();
+		Thread queued = new Thread(() -> service.encode("b"));
+		queued.start();
+		waitUntilWaiting(queued);
+
+		assertThatThrownBy(() -> service.encode("c"))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+
+		encoder.gate.countDown();
+		running.join(2_000);
+		queued.join(2_000);
+	}
+
+	@Test
+	void slowHashTimesOutWith503() {
+		service = new PasswordHashingServiceImpl(encoder, calibrator(10), 1, 4, 50);
+
+		assertThatThrownBy(() -> service.encode("a"))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+	}
+
+	// 제출을 마친 호출 스레드는 future.get(timeout)에서 기다린다
+	private static void waitUntilWaiting(Thread caller) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+		while (caller.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) Thread.sleep(5);
+	}
+
+	private static BCryptCostCalibrator calibrator(int cost) {
+		BCryptCostCalibrator calibrator = mock(BCryptCostCalibrator.class);
+		when(calibrator.getCost()).thenReturn(cost);
+		return calibrator;
+	}
+}
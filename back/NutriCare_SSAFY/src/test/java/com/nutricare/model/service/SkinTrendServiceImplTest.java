@@ -0,0 +1,86 @@
+package com.nutricare.model.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.nutricare.model.dao.SkinTrendDao;
+import com.nutricare.model.dto.SkinTrend;
+import com.nutricare.model.dto.SkinTrendRollup;
+
+class SkinTrendServiceImplTest {
+
+	private static final LocalDate DAY1 = LocalDate.of(2026, 3, 1);
+
+	private final SkinTrendDao dao = mock(SkinTrendDao.class);
+	private final SkinTrendServiceImpl service = new SkinTrendServiceImpl(dao, 731);
+
+	@Test
+	void movingAverageWindowsByCalendarBucketsAcrossGaps() {
+		// 1, 2, 3일 다음 10일 동안 기록 없음 -> 14일 구간의 3일 이동 평균은 14일 자신만
+		when(dao.selectRange(anyLong(), eq("DAY"), any(), any())).thenReturn(List.of(
+				day(0, 1, 0.2), day(1, 1, 0.4), day(2, 2, 1.2), day(13, 1, 0.9), day(14, 3, 0.3)));
+
+		SkinTrend trend = service.getTrend(1L, "day", DAY1, DAY1.plusDays(20), 3);
+
+		float[] ma = trend.getMovingAverage().get("probAcne");
+		assertThat(ma[0]).isCloseTo(0.2f, within(1e-6f));
+		assertThat(ma[1]).isCloseTo(0.3f, within(1e-6f));               // (0.2 + 0.4) / 2
+		assertThat(ma[2]).isCloseTo(1.8f / 4, within(1e-6f));           // (0.2 + 0.4 + 1.2) / 4
+		assertThat(ma[3]).isCloseTo(0.9f, within(1e-6f));               // 11~13일 중 13일만
+		assertThat(ma[4]).isCloseTo((0.9f + 0.3f) / 4, within(1e-6f));  // 12~14일 중 13, 14일
+	}
+
+	@Test
+	void weeklyWindowUsesWeekOffsets() {
+		when(dao.selectRange(anyLong(), eq("WEEK"), any(), any())).thenReturn(List.of(
+				week(0, 2, 1.0), week(1, 2, 0.0), week(4, 1, 0.1)));
+
+		SkinTrend trend = service.getTrend(1L, "WEEK", DAY1, DAY1.plusWeeks(6), 2);
+
+		float[] ma = trend.getMovingAverage().get("probAcne");
+		assertThat(ma[1]).isCloseTo(0.25f, within(1e-6f)); // 0, 1주차
+		assertThat(ma[2]).isCloseTo(0.1f, within(1e-6f));  // 3, 4주차 중 4주차만
+		// 기울기도 빈 구간을 간격에 반영한다 (x = 0, 1, 4)
+		assertThat(trend.getSlope().get("probAcne")).isLessThan(0f);
+	}
+
+	@Test
+	void rejectsInvalidArguments() {
+		assertThatThrownBy(() -> service.getTrend(1L, "MONTH", null, null, 0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> service.getTrend(1L, "DAY", null, null, -1)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> service.getTrend(1L, "DAY", DAY1, DAY1.minusDays(1), 0))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> service.getTrend(1L, "DAY", DAY1, DAY1.plusDays(800), 0))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	// 여드름 확률 합계만 채운 일 단위 구간 (acneMean * count)
+	private static SkinTrendRollup day(int offset, int count, double acneSum) {
+		return rollup("DAY", DAY1.plusDays(offset), count, acneSum);
+	}
+
+	private static SkinTrendRollup week(int offset, int count, double acneSum) {
+		return rollup("WEEK", DAY1.plusWeeks(offset), count, acneSum);
+	}
+
+	private static SkinTrendRollup rollup(String period, LocalDate start, int count, double acneSum) {
+		SkinTrendRollup r = new SkinTrendRollup();
+		r.setUserId(1L);
+		r.setPeriod(period);
+		r.setBucketStart(start);
+		r.setSampleCount(count);
+		r.setSumAcne(acneSum);
+		return r;
+	}
+}
@@ -0,0 +1,197 @@
+package com.nutricare.model.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nutricare.config.security.TokenRevocationStore;
+import com.nutricare.model.dao.HealthProfileDao;
+import com.nutricare.model.dao.UserDao;
+import com.nutricare.model.dto.AdminUserFilter;
+import com.nutricare.model.dto.AdminUserItem;
+import com.nutricare.model.dto.AdminUserPage;
+import com.nutricare.util.JwtUtil;
+
+class UserServiceImplTest {
+
+	private final UserDao userDao = mock(UserDao.class);
+	private final UserServiceImpl service = new UserServiceImpl(userDao, mock(HealthProfileDao.class),
+			mock(PasswordHashingService.class), mock(RefreshTokenService.class), mock(UserSummaryService.class),
+			mock(UserIdentityService.class), mock(TokenRevocationStore.class), mock(JwtUtil.class),
+			new ObjectMapper().findAndRegisterModules(), 200);
+
+	@Test
+	void readsOneExtraRowAndPointsCursorAtLastReturnedRow() {
+		AdminUserFilter filter = new AdminUserFilter();
+		when(userDao.selectAdminUsers(filter, 3)).thenReturn(rows(10, 11, 12));
+
+		AdminUserPage page = service.getUsers(filter, 2);
+
+		assertThat(page.getItems()).extracting(AdminUserItem::getUserId).containsExactly(10L, 11L);
+		// 다음 페이지는 user_id > 11 부터 (12가 첫 행)
+		assertThat(page.getNextCursor()).isEqualTo(11L);
+	}
+
+	@Test
+	void lastPageHasNoCursorEvenWhenItIsExactlyFull() {
+		AdminUserFilter filter = new AdminUserFilter();
+		filter.setAfterId(11L);
+		when(userDao.selectAdminUsers(filter, 3)).thenReturn(rows(12, 13));
+
+		AdminUserPage full = service.getUsers(filter, 2);
+
+		assertThat(full.getItems()).extracting(AdminUserItem::getUserId).containsExactly(12L, 13L);
+		assertThat(full.getNextCursor()).isNull();
+
+		when(userDao.selectAdminUsers(filter, 3)).thenReturn(List.of());
+		AdminUserPage empty = service.getUsers(filter, 2);
+		assertThat(empty.getItems()).isEmpty();
+		assertThat(empty.getNextCursor()).isNull();
+	}
+
+	@Test
+	void pageSizeIsClampedToConfiguredMaximum() {
+		when(userDao.selectAdminUsers(any(), anyInt())).thenReturn(List.of());
+
+		service.getUsers(new AdminUserFilter(), 10_000);
+		verify(userDao).selectAdminUsers(any(), eq(201));
+
+		service.getUsers(new AdminUserFilter(), 0);
+		verify(userDao).selectAdminUsers(any(), eq(2));
+	}
+
+	@Test
+	void keysetQueryStartsAfterCursorInUserIdOrder() throws IOException {
+		Configuration configuration = new Configuration();
+		configuration.getTypeAliasRegistry().registerAliases("com.nutricare.model.dto");
+		try (InputStream in = getClass().getResourceAsStream("/mappers/userMapper.xml")) {
+			new XMLMapperBuilder(in, configuration, "userMapper.xml", configuration.getSqlFragments()).parse();
+		}
+		String statement = UserDao.class.getName() + ".selectAdminUsers";
+
+		AdminUserFilter filter = new AdminUserFilter();
+		filter.setAfterId(11L);
+		filter.setProvider("local");
+		BoundSql bound = configuration.getMappedStatement(statement)
+				.getBoundSql(Map.of("filter", filter, "limit", 51));
+		String sql = bound.getSql().replaceAll("\\s+", " ");
+
+		assertThat(sql).contains("AND user_id > ?").contains("AND provider IS NULL").endsWith("ORDER BY user_id LIMIT ?");
+		assertThat(bound.getParameterMappings()).extracting(ParameterMapping::getProperty)
+				.containsExactly("filter.afterId", "limit");
+
+		// 첫 페이지는 커서 조건 없이
+		BoundSql first = configuration.getMappedStatement(statement)
+				.getBoundSql(Map.of("filter", new AdminUserFilter(), "limit", 51));
+		assertThat(first.getSql()).doesNotContain("user_id >");
+	}
+
+	@Test
+	void csvExportNeutralisesFormulaCellsAndQuotesSpecialCharacters() throws IOException {
+		AdminUserItem formula = item(1, "=HYPERLINK(\"http://x\",\"click\")");
+		formula.setEmail("+82@example.com");
+		formula.setProvider("-naver");
+		AdminUserItem at = item(2, "@SUM(A1)");
+		AdminUserItem tab = item(3, "\tcmd");
+		AdminUserItem plain = item(4, "Kim, \"Jr\"");
+		plain.setCreatedAt(LocalDateTime.of(2026, 1, 2, 3, 4, 5));
+		StubCursor cursor = new StubCursor(List.of(formula, at, tab, plain));
+		when(userDao.streamAdminUsers(any())).thenReturn(cursor);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		service.exportUsers(new AdminUserFilter(), "csv", out);
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+
+		assertThat(lines[0]).isEqualTo("userId,email,name,birthYear,gender,role,provider,createdAt,updatedAt");
+		assertThat(lines[1]).isEqualTo("1,'+82@example.com,\"'=HYPERLINK(\"\"http://x\"\",\"\"click\"\")\",,,USER,'-naver,,");
+		assertThat(lines[2]).isEqualTo("2,,'@SUM(A1),,,USER,,,");
+		assertThat(lines[3]).isEqualTo("3,,'\tcmd,,,USER,,,");
+		// 수식 문자로 시작하지 않으면 접두 없이 RFC 4180 따옴표만
+		assertThat(lines[4]).isEqualTo("4,,\"Kim, \"\"Jr\"\"\",,,USER,,2026-01-02T03:04:05,");
+		assertThat(cursor.closed).isTrue();
+	}
+
+	@Test
+	void ndjsonExportWritesOneObjectPerLine() throws IOException {
+		when(userDao.streamAdminUsers(any())).thenReturn(new StubCursor(List.of(item(1, "a"), item(2, "b"))));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		service.exportUsers(new AdminUserFilter(), "ndjson", out);
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+		assertThat(lines).hasSize(2);
+		assertThat(lines[0]).startsWith("{\"userId\":1,").contains("\"name\":\"a\"").doesNotContain("password");
+		assertThat(lines[1]).startsWith("{\"userId\":2,");
+	}
+
+	private static List<AdminUserItem> rows(long... ids) {
+		List<AdminUserItem> rows = new ArrayList<>();
+		for (long id : ids) rows.add(item(id, "user" + id));
+		return rows;
+	}
+
+	private static AdminUserItem item(long id, String name) {
+		AdminUserItem item = new AdminUserItem();
+		item.setUserId(id);
+		item.setName(name);
+		item.setRole("USER");
+		return item;
+	}
+
+	// MyBatis 커서 대신 목록을 한 번 순회하는 커서 (close 여부 확인용)
+	private static final class StubCursor implements Cursor<AdminUserItem> {
+		private final List<AdminUserItem> items;
+		private boolean closed;
+
+		private StubCursor(List<AdminUserItem> items) {
+			this.items = items;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return !closed;
+		}
+
+		@Override
+		public boolean isConsumed() {
+			return false;
+		}
+
+		@Override
+		public int getCurrentIndex() {
+			return -1;
+		}
+
+		@Override
+		public Iterator<AdminUserItem> iterator() {
+			return items.iterator();
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+	}
+}
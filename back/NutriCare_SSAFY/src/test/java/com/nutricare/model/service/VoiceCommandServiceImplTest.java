@@ -0,0 +1,111 @@
+package com.nutricare.model.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.nutricare.model.dto.VoiceIntent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VoiceCommandServiceImplTest {
+
+	// 호출 횟수를 세고 미리 정한 인식 결과를 돌려주는 STT
+	private static final class StubVoiceService implements VoiceService {
+		private final Deque<String> transcripts = new ArrayDeque<>();
+		private int calls;
+
+		@Override
+		public String transcribe(MultipartFile audioFile) {
+			calls++;
+			return transcripts.isEmpty() ? "" : transcripts.poll();
+		}
+
+		@Override
+		public String parseResponse(String jsonResponse) {
+			return jsonResponse;
+		}
+	}
+
+	private static final Long USER = 1L;
+
+	private final StubVoiceService stt = new StubVoiceService();
+	private final VoiceKeywordSpotter spotter = new VoiceKeywordSpotter(new SimpleMeterRegistry(), true, 5, 1.0, 2, 8, 4, 0, 100);
+	private final VoiceCommandServiceImpl service = new VoiceCommandServiceImpl(stt, spotter, 100);
+
+	@Test
+	void postNumberNeedsDigitsOrNumberWordWithBeon() {
+		assertThat(service.match("3번").getPostId()).isEqualTo(3L);
+		assertThat(service.match("12").getPostId()).isEqualTo(12L);
+		assertThat(service.match("십이번").getPostId()).isEqualTo(12L);
+		assertThat(service.match("삼 번").getPostId()).isEqualTo(3L);
+
+		assertThat(service.match("일").getType()).isNotEqualTo("OPEN_POST");
+		assertThat(service.match("이번").getType()).isNotEqualTo("OPEN_POST");
+		assertThat(service.match("삼").getType()).isNotEqualTo("OPEN_POST");
+	}
+
+	@Test
+	void repeatedClipUsesTranscriptCache() {
+		stt.transcripts.add("아래로");
+		MockMultipartFile clip = clip(VoiceKeywordSpotterTest.wordA(1));
+
+		assertThat(service.handle(clip, USER).isCached()).isFalse();
+		VoiceIntent again = service.handle(clip, USER);
+
+		assertThat(again.isCached()).isTrue();
+		assertThat(again.getTarget()).isEqualTo("down");
+		assertThat(stt.calls).isEqualTo(1);
+	}
+
+	@Test
+	void learnedCommandSkipsStt() {
+		stt.transcripts.add("아래로");
+		stt.transcripts.add("내려");
+		stt.transcripts.add("위로");
+		stt.transcripts.add("올려");
+		service.handle(clip(VoiceKeywordSpotterTest.wordA(1)), USER);
+		service.handle(clip(VoiceKeywordSpotterTest.wordA(2)), USER);
+		service.handle(clip(VoiceKeywordSpotterTest.wordB(3)), USER);
+		service.handle(clip(VoiceKeywordSpotterTest.wordB(4)), USER);
+		assertThat(stt.calls).isEqualTo(4);
+
+		VoiceIntent intent = service.handle(clip(VoiceKeywordSpotterTest.wordA(9)), USER);
+
+		assertThat(stt.calls).isEqualTo(4);
+		// 키워드 인식은 STT 결과 재사용(cached)과 구분해 알린다
+		assertThat(intent.isSpotted()).isTrue();
+		assertThat(intent.isCached()).isFalse();
+		assertThat(intent.getType()).isEqualTo("SCROLL");
+		assertThat(intent.getTarget()).isEqualTo("down");
+		assertThat(intent.getText()).isNotBlank();
+	}
+
+	@Test
+	void anonymousRequestsAlwaysUseStt() {
+		stt.transcripts.add("아래로");
+		stt.transcripts.add("내려");
+		stt.transcripts.add("위로");
+		stt.transcripts.add("올려");
+		service.handle(clip(VoiceKeywordSpotterTest.wordA(1)), null);
+		service.handle(clip(VoiceKeywordSpotterTest.wordA(2)), null);
+		service.handle(clip(VoiceKeywordSpotterTest.wordB(3)), null);
+		service.handle(clip(VoiceKeywordSpotterTest.wordB(4)), null);
+
+		stt.transcripts.add("아래로");
+		VoiceIntent intent = service.handle(clip(VoiceKeywordSpotterTest.wordA(9)), null);
+
+		assertThat(stt.calls).isEqualTo(5);
+		assertThat(intent.isSpotted()).isFalse();
+		assertThat(intent.getTarget()).isEqualTo("down");
+	}
+
+	private static MockMultipartFile clip(byte[] wav) {
+		return new MockMultipartFile("file", "command.wav", "audio/wav", wav);
+	}
+}
@@ -0,0 +1,174 @@
+package com.nutricare.model.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.nutricare.model.dto.VoiceIntent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VoiceKeywordSpotterTest {
+
+	private static final int RATE = 48000;
+	private static final Long USER = 1L;
+	private static final Long OTHER_USER = 2L;
+
+	@Test
+	void decodesMonoWavAndDownsamplesTo16k() {
+		VoiceKeywordSpotter.Pcm pcm = VoiceKeywordSpotter.decode(wav(new double[] { 440 }, new double[] { 0.5 }, 0, 0.01));
+
+		assertThat(pcm).isNotNull();
+		assertThat(pcm.sampleRate()).isEqualTo(16000);
+		assertThat(pcm.samples()).hasSize(8000);
+	}
+
+	@Test
+	void rejectsNonWavInput() {
+		assertThat(VoiceKeywordSpotter.features("not a wav file".getBytes(StandardCharsets.UTF_8))).isNull();
+		assertThat(VoiceKeywordSpotter.features(new byte[0])).isNull();
+	}
+
+	@Test
+	void trimsSilenceAroundUtterance() {
+		float[][] padded = VoiceKeywordSpotter.features(withSilence(wav(new double[] { 500, 1500 }, new double[] { 0.3, 0.3 }, 0, 0.01), 0.4));
+		float[][] plain = VoiceKeywordSpotter.features(wav(new double[] { 500, 1500 }, new double[] { 0.3, 0.3 }, 0, 0.01));
+
+		assertThat(padded.length).isBetween(plain.length - 4, plain.length + 4);
+	}
+
+	@Test
+	void distanceIsSmallerForSameWordThanForOtherWord() {
+		float[][] a1 = VoiceKeywordSpotter.features(wordA(1));
+		float[][] a2 = VoiceKeywordSpotter.features(wordA(2));
+		float[][] b1 = VoiceKeywordSpotter.features(wordB(3));
+
+		assertThat(VoiceKeywordSpotter.distance(a1, a1)).isZero();
+		assertThat(VoiceKeywordSpotter.distance(a1, a2)).isLessThan(VoiceKeywordSpotter.distance(a1, b1));
+	}
+
+	@Test
+	void spotsOnlyAfterEnoughTemplatesAndDropsThemOnDisagreement() {
+		VoiceKeywordSpotter spotter = new VoiceKeywordSpotter(new SimpleMeterRegistry(), true, 5, 1.0, 2, 8, 4, 10, 100);
+
+		spotter.learn(USER, intent("SCROLL", "down", "내려"), VoiceKeywordSpotter.features(wordA(1)));
+		assertThat(spotter.spot(USER, VoiceKeywordSpotter.features(wordA(9)))).isNull();
+
+		spotter.learn(USER, intent("SCROLL", "down", "내려"), VoiceKeywordSpotter.features(wordA(2)));
+		spotter.learn(USER, intent("SCROLL", "up", "올려"), VoiceKeywordSpotter.features(wordB(3)));
+		spotter.learn(USER, intent("SCROLL", "up", "올려"), VoiceKeywordSpotter.features(wordB(4)));
+
+		VoiceKeywordSpotter.Spot down = spotter.spot(USER, VoiceKeywordSpotter.features(wordA(9)));
+		assertThat(down).isNotNull();
+		assertThat(down.target()).isEqualTo("down");
+		assertThat(spotter.spot(USER, VoiceKeywordSpotter.features(wordB(10))).target()).isEqualTo("up");
+
+		// STT 검증 결과가 다르면 해당 명령 템플릿을 버린다
+		spotter.verify(USER, down, intent("SCROLL", "up", "올려"));
+		VoiceKeywordSpotter.Spot after = spotter.spot(USER, VoiceKeywordSpotter.features(wordA(9)));
+		assertThat(after == null || !"down".equals(after.target())).isTrue();
+	}
+
+	@Test
+	void templatesAreScopedPerUser() {
+		VoiceKeywordSpotter spotter = new VoiceKeywordSpotter(new SimpleMeterRegistry(), true, 5, 1.0, 2, 8, 4, 10, 100);
+		spotter.learn(USER, intent("SCROLL", "down", "내려"), VoiceKeywordSpotter.features(wordA(1)));
+		spotter.learn(USER, intent("SCROLL", "down", "내려"), VoiceKeywordSpotter.features(wordA(2)));
+		spotter.learn(USER, intent("SCROLL", "up", "올려"), VoiceKeywordSpotter.features(wordB(3)));
+		spotter.learn(USER, intent("SCROLL", "up", "올려"), VoiceKeywordSpotter.features(wordB(4)));
+
+		assertThat(spotter.spot(USER, VoiceKeywordSpotter.features(wordA(9)))).isNotNull();
+		// 다른 사용자/비로그인 요청은 이 사용자의 목소리 템플릿과 비교하지 않는다
+		assertThat(spotter.spot(OTHER_USER, VoiceKeywordSpotter.features(wordA(9)))).isNull();
+		assertThat(spotter.spot(null, VoiceKeywordSpotter.features(wordA(9)))).isNull();
+
+		// 다른 사용자의 STT 불일치는 이 사용자의 템플릿을 버리지 않는다
+		VoiceKeywordSpotter.Spot down = spotter.spot(USER, VoiceKeywordSpotter.features(wordA(9)));
+		spotter.verify(OTHER_USER, down, intent("SCROLL", "up", "올려"));
+		assertThat(spotter.spot(USER, VoiceKeywordSpotter.features(wordA(9))).target()).isEqualTo("down");
+	}
+
+	@Test
+	void keepsTemplatesOnlyForRecentUsers() {
+		VoiceKeywordSpotter spotter = new VoiceKeywordSpotter(new SimpleMeterRegistry(), true, 5, 1.0, 1, 8, 4, 10, 1);
+		spotter.learn(USER, intent("SCROLL", "down", "내려"), VoiceKeywordSpotter.features(wordA(1)));
+		spotter.learn(OTHER_USER, intent("SCROLL", "down", "내려"), VoiceKeywordSpotter.features(wordA(2)));
+
+		assertThat(spotter.spot(USER, VoiceKeywordSpotter.features(wordA(9)))).isNull();
+		assertThat(spotter.spot(OTHER_USER, VoiceKeywordSpotter.features(wordA(9)))).isNotNull();
+	}
+
+	@Test
+	void doesNotLearnFuzzyOrUnknownIntents() {
+		VoiceKeywordSpotter spotter = new VoiceKeywordSpotter(new SimpleMeterRegistry(), true, 5, 1.0, 1, 8, 4, 10, 100);
+		VoiceIntent fuzzy = intent("SCROLL", "down", "내려");
+		fuzzy.setScore(0.8);
+
+		spotter.learn(USER, fuzzy, VoiceKeywordSpotter.features(wordA(1)));
+		spotter.learn(USER, new VoiceIntent("UNKNOWN", null, "음성 인식 실패"), VoiceKeywordSpotter.features(wordA(2)));
+
+		assertThat(spotter.spot(USER, VoiceKeywordSpotter.features(wordA(9)))).isNull();
+	}
+
+	private static VoiceIntent intent(String type, String target, String phrase) {
+		VoiceIntent intent = new VoiceIntent(type, target, phrase);
+		intent.setMatchedPhrase(phrase);
+		intent.setScore(1.0);
+		return intent;
+	}
+
+	// 낮은 음 -> 높은 음 (발화 속도/잡음을 조금씩 바꾼 같은 "단어")
+	static byte[] wordA(long seed) {
+		double stretch = 1 + (seed % 3 - 1) * 0.08;
+		return wav(new double[] { 400, 1200, 2400 }, new double[] { 0.2 * stretch, 0.25 * stretch, 0.15 * stretch }, seed, 0.01);
+	}
+
+	// 높은 음 -> 낮은 음
+	static byte[] wordB(long seed) {
+		double stretch = 1 + (seed % 3 - 1) * 0.08;
+		return wav(new double[] { 2400, 800, 300 }, new double[] { 0.2 * stretch, 0.25 * stretch, 0.15 * stretch }, seed, 0.01);
+	}
+
+	// 구간별 고조파 톤을 이어 붙인 16bit mono 48kHz WAV
+	private static byte[] wav(double[] freqs, double[] seconds, long seed, double noise) {
+		Random random = new Random(seed);
+		ByteArrayOutputStream pcm = new ByteArrayOutputStream();
+		double phase = 0;
+		for (int s = 0; s < freqs.length; s++) {
+			int n = (int) (seconds[s] * RATE);
+			for (int i = 0; i < n; i++) {
+				phase += 2 * Math.PI * freqs[s] / RATE;
+				double x = 0.4 * Math.sin(phase) + 0.2 * Math.sin(2 * phase) + 0.1 * Math.sin(3 * phase);
+				x += noise * random.nextGaussian();
+				short v = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, x * 32767));
+				pcm.write(v & 0xff);
+				pcm.write((v >> 8) & 0xff);
+			}
+		}
+		return wrap(pcm.toByteArray());
+	}
+
+	private static byte[] withSilence(byte[] wav, double seconds) {
+		byte[] data = new byte[wav.length - 44];
+		System.arraycopy(wav, 44, data, 0, data.length);
+		int pad = (int) (seconds * RATE) * 2;
+		byte[] padded = new byte[data.length + 2 * pad];
+		System.arraycopy(data, 0, padded, pad, data.length);
+		return wrap(padded);
+	}
+
+	private static byte[] wrap(byte[] data) {
+		ByteBuffer buf = ByteBuffer.allocate(44 + data.length).order(ByteOrder.LITTLE_ENDIAN);
+		buf.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + data.length).put("WAVE".getBytes(StandardCharsets.US_ASCII));
+		buf.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16).putShort((short) 1).putShort((short) 1)
+				.putInt(RATE).putInt(RATE * 2).putShort((short) 2).putShort((short) 16);
+		buf.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(data.length).put(data);
+		return buf.array();
+	}
+}
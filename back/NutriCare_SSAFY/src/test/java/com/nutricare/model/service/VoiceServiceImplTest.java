@@ -0,0 +1,130 @@
+package com.nutricare.model.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nutricare.util.OutboundMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Google STT를 흉내 내는 stub 서버로 스트리밍 본문과 구간 분할 요청을 확인한다.
+ * 구간 k의 PCM 샘플 값은 모두 k이고, stub은 받은 오디오의 첫 샘플 값을 인식 결과로 돌려준다.
+ */
+class VoiceServiceImplTest {
+
+	private static final int RATE = 16000;
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final List<JsonNode> requests = new CopyOnWriteArrayList<>();
+	private final List<byte[]> audios = new CopyOnWriteArrayList<>();
+	private HttpServer server;
+	private VoiceServiceImpl service;
+
+	@BeforeEach
+	void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/stt", this::handle);
+		server.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (service != null) service.shutdown();
+		server.stop(0);
+	}
+
+	@Test
+	void singleRequestStreamsWholeFileWithWavSampleRate() {
+		service = service(0);
+		byte[] wav = wav(RATE, 2.5);
+
+		assertThat(service.transcribe(file(wav))).isEqualTo("0");
+
+		assertThat(requests).hasSize(1);
+		assertThat(requests.get(0).path("config").path("sampleRateHertz").asInt()).isEqualTo(RATE);
+		assertThat(requests.get(0).path("config").path("languageCode").asText()).isEqualTo("ko-KR");
+		assertThat(audios.get(0)).isEqualTo(wav);
+	}
+
+	@Test
+	void longWavIsSplitIntoPcmSegmentsAndJoinedInOrder() {
+		service = service(1);
+		byte[] wav = wav(RATE, 2.5);
+
+		assertThat(service.transcribe(file(wav))).isEqualTo("0 1 2");
+
+		// 1초(32000바이트) 구간 2개 + 나머지 0.5초, 헤더 없이 PCM만
+		assertThat(audios).extracting(a -> a.length).containsExactlyInAnyOrder(32000, 32000, 16000);
+		int total = audios.stream().mapToInt(a -> a.length).sum();
+		assertThat(total).isEqualTo(wav.length - 44);
+	}
+
+	@Test
+	void nonWavUploadIsSentWholeWithDefaultSampleRate() {
+		service = service(1);
+		byte[] webm = "not a wav file".getBytes(StandardCharsets.UTF_8);
+
+		service.transcribe(file(webm));
+
+		assertThat(requests).hasSize(1);
+		assertThat(requests.get(0).path("config").path("sampleRateHertz").asInt()).isEqualTo(48000);
+		assertThat(audios.get(0)).isEqualTo(webm);
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		JsonNode body = mapper.readTree(exchange.getRequestBody());
+		requests.add(body);
+		byte[] audio = Base64.getDecoder().decode(body.path("audio").path("content").asText());
+		audios.add(audio);
+
+		// WAV 헤더로 시작하면 첫 샘플은 44바이트 뒤
+		int at = audio.length > 44 && audio[0] == 'R' ? 44 : 0;
+		int first = audio.length >= at + 2 ? ByteBuffer.wrap(audio, at, 2).order(ByteOrder.LITTLE_ENDIAN).getShort() : -1;
+		String transcript = "{\"results\":[{\"alternatives\":[{\"transcript\":\"" + first + "\"}]}]}";
+		byte[] response = transcript.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(200, response.length);
+		exchange.getResponseBody().write(response);
+		exchange.close();
+	}
+
+	private VoiceServiceImpl service(int segmentSeconds) {
+		String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/stt";
+		return new VoiceServiceImpl("test-key", url, 48000, segmentSeconds, 2,
+				new OutboundMetrics(new SimpleMeterRegistry()), false);
+	}
+
+	private static MockMultipartFile file(byte[] bytes) {
+		return new MockMultipartFile("audio", "clip.wav", "audio/wav", bytes);
+	}
+
+	// 16bit mono WAV, k번째 1초 구간의 샘플 값은 k
+	private static byte[] wav(int rate, double seconds) {
+		int samples = (int) (rate * seconds);
+		ByteBuffer buf = ByteBuffer.allocate(44 + samples * 2).order(ByteOrder.LITTLE_ENDIAN);
+		buf.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + samples * 2).put("WAVE".getBytes(StandardCharsets.US_ASCII));
+		buf.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16).putShort((short) 1).putShort((short) 1)
+				.putInt(rate).putInt(rate * 2).putShort((short) 2).putShort((short) 16);
+		buf.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(samples * 2);
+		for (int i = 0; i < samples; i++) buf.putShort((short) (i / rate));
+		return buf.array();
+	}
+}
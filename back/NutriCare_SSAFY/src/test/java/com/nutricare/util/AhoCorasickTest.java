@@ -0,0 +1,93 @@
+package com.nutricare.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class AhoCorasickTest {
+
+	@Test
+	void findsEarliestEndingPatternInOriginalSpelling() {
+		AhoCorasick ac = AhoCorasick.compile(List.of("he", "she", "his", "hers"));
+
+		assertThat(ac.findFirst("ushers")).isEqualTo("she");
+		assertThat(ac.findFirst("ahis")).isEqualTo("his");
+		assertThat(ac.findFirst("xyz")).isNull();
+	}
+
+	@Test
+	void followsFailLinksIntoShorterPatterns() {
+		// "abcd"를 따라가다 실패하면 접미 "bc"로 넘어가야 한다
+		AhoCorasick ac = AhoCorasick.compile(List.of("abcd", "bc"));
+		assertThat(ac.findFirst("abce")).isEqualTo("bc");
+		assertThat(ac.findFirst("abcd")).isEqualTo("bc");
+	}
+
+	@Test
+	void matchesKoreanAndIgnoresCase() {
+		AhoCorasick ac = AhoCorasick.compile(List.of("튀김", "Sugar", " 가공식품 "));
+
+		assertThat(ac.findFirst("새우튀김 덮밥")).isEqualTo("튀김");
+		assertThat(ac.findFirst("no SUGAR added")).isEqualTo("Sugar");
+		assertThat(ac.findFirst("가공식품 줄이기")).isEqualTo("가공식품");
+		assertThat(ac.findFirst("현미밥")).isNull();
+	}
+
+	@Test
+	void rejectedHitsAreSkippedAndScanningContinues() {
+		AhoCorasick ac = AhoCorasick.compile(List.of("튀김"));
+		String text = "튀김 대신 구이, 감자튀김";
+
+		AhoCorasick.Hit hit = ac.findFirst(text, h -> h.start() > 0);
+		assertThat(hit).isEqualTo(new AhoCorasick.Hit("튀김", 12, 14));
+		assertThat(text.substring(hit.start(), hit.end())).isEqualTo("튀김");
+		assertThat(ac.findFirst(text, h -> false)).isNull();
+	}
+
+	@Test
+	void ignoresBlankPatternsAndNullText() {
+		List<String> words = new ArrayList<>();
+		words.add(null);
+		words.add(" ");
+		AhoCorasick empty = AhoCorasick.compile(words);
+
+		assertThat(empty.findFirst("아무 문장")).isNull();
+		assertThat(AhoCorasick.compile(List.of("튀김")).findFirst(null)).isNull();
+	}
+
+	@Test
+	void agreesWithNaiveSearchOnRandomText() {
+		Random random = new Random(7);
+		String alphabet = "abc튀김";
+		for (int round = 0; round < 500; round++) {
+			List<String> words = new ArrayList<>();
+			for (int i = 0, n = 1 + random.nextInt(5); i < n; i++) words.add(randomString(random, alphabet, 1 + random.nextInt(3)));
+			String text = randomString(random, alphabet, random.nextInt(20));
+
+			String found = AhoCorasick.compile(words).findFirst(text);
+			int earliestEnd = Integer.MAX_VALUE;
+			for (String w : words) {
+				int at = text.indexOf(w);
+				if (at >= 0) earliestEnd = Math.min(earliestEnd, at + w.length());
+			}
+
+			if (earliestEnd == Integer.MAX_VALUE) {
+				assertThat(found).as("%s in %s", words, text).isNull();
+			} else {
+				// 가장 먼저 끝나는 위치에서 끝나는 패턴이어야 한다
+				assertThat(found).as("%s in %s", words, text).isNotNull();
+				assertThat(text.substring(0, earliestEnd)).as("%s in %s", words, text).endsWith(found);
+			}
+		}
+	}
+
+	private static String randomString(Random random, String alphabet, int length) {
+		StringBuilder sb = new StringBuilder(length);
+		for (int i = 0; i < length; i++) sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		return sb.toString();
+	}
+}
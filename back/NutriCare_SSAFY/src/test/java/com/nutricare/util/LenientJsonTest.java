@@ -0,0 +1,118 @@
+package com.nutricare.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.nutricare.model.dto.DietResult;
+
+class LenientJsonTest {
+
+	private static final ObjectMapper CAMEL = new ObjectMapper();
+	private static final ObjectMapper SNAKE = new ObjectMapper()
+			.setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+
+	private static final String FULL = "[{\"menuName\":\"현미밥 정식\",\"calories\":520,\"description\":\"잡곡밥과 나물\"},"
+			+ "{\"menuName\":\"연어 샐러드\",\"calories\":430,\"notes\":\"드레싱 따로\"},"
+			+ "{\"menuName\":\"두부 스테이크\",\"calories\":480}]";
+
+	// LLM이 실제로 내놓는 손상된 출력 모음: 입력 -> 살아남아야 하는 메뉴 이름
+	private static final Object[][] CORPUS = {
+			{ FULL, List.of("현미밥 정식", "연어 샐러드", "두부 스테이크") },
+			{ "다음은 추천 식단입니다.\n```json\n" + FULL + "\n```\n맛있게 드세요!", List.of("현미밥 정식", "연어 샐러드", "두부 스테이크") },
+			{ "[참고] 열량은 대략치입니다.\n[{\"menuName\":\"현미밥\"}]", List.of("현미밥") },
+			{ "[{\"menuName\":\"현미밥\"},{\"menuName\":\"연어\",\"calo", List.of("현미밥") },
+			{ "[{\"menuName\":\"현미밥\"},{\"menuName\":\"연어\"},]", List.of("현미밥", "연어") },
+			{ "[{'menuName':'현미밥', calories: 300}]", List.of("현미밥") },
+			{ "[{\"menuName\":\"현미밥\" /* 주 메뉴 */}]", List.of("현미밥") },
+			{ "{\"menuName\":\"현미밥\"}\n{\"menuName\":\"연어\"} 이상입니다.", List.of("현미밥", "연어") },
+			{ "[{\"menuName\":\"현미밥\"},{\"menuName\": 연어 샐러드},{\"menuName\":\"두부\"}]", List.of("현미밥") },
+			{ "[{\"menuName\":\"현미밥\",\"calories\":\"많음\"},{\"menuName\":\"연어\"}]", List.of("연어") },
+			{ "[\"현미밥\", {\"menuName\":\"연어\"}]", List.of("연어") },
+			{ "[{\"menuName\":\"현미밥\"}]]]}", List.of("현미밥") },
+			{ "[", List.of() },
+			{ "", List.of() },
+			{ "식단을 만들 수 없습니다.", List.of() },
+	};
+
+	@Test
+	void corpusOfMalformedOutputsKeepsOnlyCompleteItems() {
+		for (Object[] c : CORPUS) {
+			LenientJson.Result<DietResult> r = LenientJson.readArray(CAMEL, (String) c[0], DietResult.class);
+			assertThat(r.items()).as((String) c[0]).extracting(DietResult::getMenuName).isEqualTo(c[1]);
+		}
+	}
+
+	@Test
+	void reportsCompletenessAndSkippedItems() {
+		LenientJson.Result<DietResult> clean = LenientJson.readArray(CAMEL, FULL, DietResult.class);
+		assertThat(clean.complete()).isTrue();
+		assertThat(clean.salvaged()).isZero();
+
+		LenientJson.Result<DietResult> cut = LenientJson.readArray(CAMEL, FULL.substring(0, FULL.length() - 20), DietResult.class);
+		assertThat(cut.complete()).isFalse();
+		assertThat(cut.salvaged()).isEqualTo(2);
+
+		// 닫힌 배열이지만 모든 항목이 매핑 불가 -> 호출부는 형식 오류로 처리해야 한다
+		LenientJson.Result<DietResult> allBad = LenientJson.readArray(CAMEL,
+				"[{\"calories\":\"x\"}, 1, {\"menuName\":[1]}]", DietResult.class);
+		assertThat(allBad.items()).isEmpty();
+		assertThat(allBad.complete()).isTrue();
+		assertThat(allBad.skipped()).isEqualTo(3);
+
+		LenientJson.Result<DietResult> empty = LenientJson.readArray(CAMEL, "[]", DietResult.class);
+		assertThat(empty.items()).isEmpty();
+		assertThat(empty.complete()).isTrue();
+		assertThat(empty.skipped()).isZero();
+	}
+
+	@Test
+	void followsMapperNamingStrategy() {
+		LenientJson.Result<DietResult> r = LenientJson.readArray(SNAKE,
+				"[{\"rec_id\":3,\"menu_name\":\"현미밥\",\"recipe_url\":\"http://r\"}]", DietResult.class);
+		assertThat(r.items()).singleElement().satisfies(d -> {
+			assertThat(d.getMenuName()).isEqualTo("현미밥");
+			assertThat(d.getRecipeUrl()).isEqualTo("http://r");
+		});
+	}
+
+	@Test
+	void everyPrefixOfAValidArrayYieldsAPrefixOfItsItems() {
+		List<String> names = List.of("현미밥 정식", "연어 샐러드", "두부 스테이크");
+		for (int len = 0; len <= FULL.length(); len++) {
+			LenientJson.Result<DietResult> r = LenientJson.readArray(CAMEL, FULL.substring(0, len), DietResult.class);
+			List<String> got = r.items().stream().map(DietResult::getMenuName).toList();
+			assertThat(names.subList(0, got.size())).as("prefix %d", len).isEqualTo(got);
+			assertThat(r.complete()).as("prefix %d", len).isEqualTo(len == FULL.length());
+		}
+	}
+
+	@Test
+	void randomCorruptionNeverThrowsOrInventsItems() {
+		Random random = new Random(42);
+		String alphabet = "[]{}\",: '\n메뉴abc123";
+		for (int i = 0; i < 2_000; i++) {
+			StringBuilder sb = new StringBuilder(FULL);
+			int edits = 1 + random.nextInt(4);
+			for (int e = 0; e < edits; e++) {
+				int at = random.nextInt(sb.length());
+				switch (random.nextInt(3)) {
+					case 0 -> sb.deleteCharAt(at);
+					case 1 -> sb.insert(at, alphabet.charAt(random.nextInt(alphabet.length())));
+					default -> sb.setCharAt(at, alphabet.charAt(random.nextInt(alphabet.length())));
+				}
+			}
+			String text = sb.toString();
+			assertThatCode(() -> {
+				LenientJson.Result<DietResult> r = LenientJson.readArray(CAMEL, text, DietResult.class);
+				assertThat(r.items().size()).as(text).isLessThanOrEqualTo(3 + edits);
+			}).as(text).doesNotThrowAnyException();
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.nutricare.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class QueryCounterTest {
+
+	@Test
+	void recordsIntoCurrentScopeOnly() {
+		QueryCounter.record("outside", 1);
+		assertThat(QueryCounter.current()).isNull();
+
+		try (QueryCounter.Scope scope = QueryCounter.begin()) {
+			QueryCounter.record("UserDao.selectById", 1_000);
+			QueryCounter.record("BoardDao.selectAll", 2_000);
+			QueryCounter.record("UserDao.selectById", 3_000);
+
+			assertThat(scope.getTotal()).isEqualTo(3);
+			assertThat(scope.getElapsedNanos()).isEqualTo(6_000);
+			assertThat(scope.getCounts()).containsExactly(
+					Map.entry("UserDao.selectById", 2), Map.entry("BoardDao.selectAll", 1));
+			assertThat(scope.mostRepeated()).isEqualTo(Map.entry("UserDao.selectById", 2));
+		}
+		assertThat(QueryCounter.current()).isNull();
+	}
+
+	@Test
+	void nestedScopeAlsoCountsIntoParentAndRestoresIt() {
+		try (QueryCounter.Scope outer = QueryCounter.begin()) {
+			QueryCounter.record("a", 1);
+			try (QueryCounter.Scope inner = QueryCounter.begin()) {
+				QueryCounter.record("b", 1);
+				assertThat(inner.getTotal()).isEqualTo(1);
+			}
+			assertThat(QueryCounter.current()).isSameAs(outer);
+			QueryCounter.record("c", 1);
+			assertThat(outer.getCounts()).containsOnlyKeys("a", "b", "c");
+		}
+	}
+
+	@Test
+	void attachedWorkerThreadsCountIntoRequestScope() throws Exception {
+		try (QueryCounter.Scope request = QueryCounter.begin()) {
+			Thread[] workers = new Thread[4];
+			for (int i = 0; i < workers.length; i++) {
+				workers[i] = new Thread(() -> {
+					try (QueryCounter.Scope worker = QueryCounter.attach(request)) {
+						for (int n = 0; n < 100; n++) QueryCounter.record("FoodDao.selectByName", 1);
+					}
+					// close 후 작업 스레드에는 scope가 남지 않는다
+					assertThat(QueryCounter.current()).isNull();
+				});
+				workers[i].start();
+			}
+			for (Thread t : workers) t.join();
+
+			assertThat(request.getTotal()).isEqualTo(400);
+			assertThat(request.getCounts()).containsEntry("FoodDao.selectByName", 400);
+		}
+	}
+
+	@Test
+	void assertAtMostFailsWhenBudgetExceeded() {
+		QueryCounter.Scope scope = QueryCounter.begin();
+		QueryCounter.record("x", 1);
+		QueryCounter.record("x", 1);
+		scope.close();
+
+		scope.assertAtMost(2);
+		scope.assertAtMost("x", 2);
+		assertThatThrownBy(() -> scope.assertAtMost(1)).isInstanceOf(AssertionError.class).hasMessageContaining("2 > 1");
+		assertThatThrownBy(() -> scope.assertAtMost("x", 1)).isInstanceOf(AssertionError.class);
+	}
+}
@@ -0,0 +1,32 @@
+package com.nutricare.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.junit.jupiter.api.Test;
+
+class WorkerThreadsTest {
+
+	@Test
+	void platformThreadsAreNamedDaemons() {
+		ThreadFactory factory = WorkerThreads.factory("dashboard-", false);
+
+		Thread first = factory.newThread(() -> {});
+		Thread second = factory.newThread(() -> {});
+
+		assertThat(first.getName()).isEqualTo("dashboard-1");
+		assertThat(second.getName()).isEqualTo("dashboard-2");
+		assertThat(first.isDaemon()).isTrue();
+	}
+
+	@Test
+	void virtualRequestFollowsRuntimeSupport() {
+		Thread thread = WorkerThreads.factory("ai-batch-sender-", true).newThread(() -> {});
+
+		assertThat(thread.getName()).startsWith("ai-batch-sender-");
+		// Java 21 미만에서는 설정이 켜져 있어도 platform daemon 스레드로 만든다
+		assertThat(thread.isDaemon()).isTrue();
+		assertThat(thread.toString().contains("VirtualThread")).isEqualTo(WorkerThreads.virtualSupported());
+	}
+}
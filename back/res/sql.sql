@@ -1,4 +1,6 @@
 -- 26.1.2 수정
+-- 기준 스키마 (NutriCare_SSAFY/src/main/resources/db/migration/V1__baseline_schema.sql 과 동일)
+-- 이후 변경(V2~)은 애플리케이션 기동 시 SchemaMigrationRunner 가 자동 적용한다. 이 파일에 직접 추가하지 말 것
 -- 데이터베이스 생성 및 선택
 DROP DATABASE IF EXISTS nutricare_db;
 CREATE DATABASE nutricare_db CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci;
@@ -21,7 +23,8 @@ CREATE TABLE `user` (
   `provider`        VARCHAR(20) DEFAULT NULL,
   `provider_id`        VARCHAR(255) DEFAULT NULL,
   PRIMARY KEY (`user_id`),
-  UNIQUE KEY `uk_user_email` (`email`)
+  UNIQUE KEY `uk_user_email` (`email`),
+  UNIQUE KEY `uk_user_provider` (`provider`, `provider_id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 ------------------------------------------------------------
@@ -209,11 +212,16 @@ CREATE TABLE board_image (
 CREATE TABLE `refresh_token` (
   `token_id`      BIGINT       NOT NULL AUTO_INCREMENT,
   `user_id`       BIGINT       NOT NULL,          -- 어떤 사용자의 토큰인지 참조
-  `token_value`   VARCHAR(512) NOT NULL,          -- 실제 토큰 문자열
+  `family_id`     CHAR(36)     NOT NULL,          -- 로그인 1회당 1개, 재발급(rotation) 시 유지
+  `token_hash`    CHAR(64)     NOT NULL,          -- 토큰 원문 대신 SHA-256 hex 저장
+  `used`          TINYINT(1)   NOT NULL DEFAULT 0, -- 재발급에 사용된 토큰 (다시 쓰이면 탈취로 간주)
   `expiry_date`   DATETIME     NOT NULL,          -- 토큰 만료 일시
   `created_at`    DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
   PRIMARY KEY (`token_id`),
-  UNIQUE KEY `uk_refresh_token_user` (`user_id`), -- 한 사용자당 하나의 유효한 리프레시 토큰만 유지 (선택 사항)
+  UNIQUE KEY `uk_refresh_token_hash` (`token_hash`),
+  KEY `idx_refresh_token_user` (`user_id`),
+  KEY `idx_refresh_token_family` (`family_id`),
+  KEY `idx_refresh_token_expiry` (`expiry_date`),
   CONSTRAINT `fk_refresh_token_user`
     FOREIGN KEY (`user_id`)
     REFERENCES `user` (`user_id`)
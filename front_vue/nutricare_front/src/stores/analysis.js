@@ -7,11 +7,13 @@ export const useAnalysisStore = defineStore('analysis', () => {
   const user_photos = ref([])
   const user_analysis_result = ref({})
   const user_photo = ref({})
+  const user_recommendations = ref({}) // analysisId -> 최신 식단 추천 (대시보드 응답)
 
   // 식단 추천 관련 상태
   const diet_recommendations = ref([])
   const diet_loading = ref(false)
   const diet_error = ref(null)
+  const diet_queue_position = ref(0) // 식단 생성 대기 중일 때 내 앞의 대기 요청 수
 
 
   async function uploadPhoto(file) {
@@ -94,38 +96,20 @@ export const useAnalysisStore = defineStore('analysis', () => {
   }
 
   async function fetchUserPhotos() {
-    const photoResponse = await axios.get('/user-photos/me')
-    const photos = photoResponse.data || []
-
-    // 각 사진에 대한 분석 결과를 병렬로 가져옵니다.
-    const photosWithAnalysis = await Promise.all(
-      photos.map(async (photo) => {
-        try {
-          const analysisResponse = await axios.get(`/analysis-results/photos/${photo.photoId}`)
-          const analysisData = analysisResponse.data || {}
-          
-          let resultToMerge = analysisData
-          if (analysisData.result) {
-            resultToMerge = {
-              ...analysisData.result,
-              photoId: analysisData.photoId,
-              analysisId: analysisData.analysisId,
-              diagnosisName: analysisData.result.diagnosis_name || analysisData.diagnosis
-            }
-          }
-
-          // 사진 객체에 분석 결과를 병합합니다.
-          return { ...photo, analysisResult: resultToMerge }
-        } catch (error) {
-          // 특정 사진의 분석 결과를 가져오지 못하더라도 다른 사진들은 계속 처리합니다.
-          console.error(`ID ${photo.photoId}의 분석 결과 로딩 실패:`, error)
-          // 분석 결과가 없는 경우를 위해 빈 객체를 할당합니다.
-          return { ...photo, analysisResult: {} }
-        }
-      })
-    )
+    // 사진 목록 + 사진별 최신 분석 결과 + 분석별 최신 식단 추천을 대시보드 요청 한 번으로 가져옵니다.
+    const response = await axios.get('/users/me/dashboard')
+    const dashboard = response.data || {}
+    const photos = dashboard.photos || []
+    const analysisByPhotoId = dashboard.analysisByPhotoId || {}
+
+    // 사진 객체에 분석 결과를 병합합니다. (분석 결과가 없는 사진은 빈 객체)
+    const photosWithAnalysis = photos.map((photo) => ({
+      ...photo,
+      analysisResult: analysisByPhotoId[photo.photoId] || {},
+    }))
 
     user_photos.value = photosWithAnalysis
+    user_recommendations.value = dashboard.recommendationByAnalysisId || {}
     return photosWithAnalysis
   }
 
@@ -175,6 +159,15 @@ export const useAnalysisStore = defineStore('analysis', () => {
     }
   }
 
+  async function fetchDietQueuePosition() {
+    try {
+      const response = await axios.get('/diet-recommendations/queue/me')
+      diet_queue_position.value = response.data?.position ?? 0
+    } catch (e) {
+      diet_queue_position.value = 0
+    }
+  }
+
   async function createAndFetchDietRecommendation({ analysisId, memo }) {
     diet_loading.value = true
     diet_error.value = null
@@ -190,7 +183,14 @@ export const useAnalysisStore = defineStore('analysis', () => {
       // 2. AI 식단 생성 요청 (POST /diet-recommendations/{recId})
       // 이것이 없으면 식단이 생성되지 않고 빈 리스트만 조회됩니다.
       // AI 생성은 시간이 오래 걸릴 수 있으므로 타임아웃을 120초로 개별 설정합니다.
-      await axios.post(`/diet-recommendations/${recId}`, null, { timeout: 120000 })
+      // 서버 대기열에서 기다리는 동안 대기 순번을 주기적으로 갱신합니다.
+      const queuePoller = setInterval(fetchDietQueuePosition, 2000)
+      try {
+        await axios.post(`/diet-recommendations/${recId}`, null, { timeout: 120000 })
+      } finally {
+        clearInterval(queuePoller)
+        diet_queue_position.value = 0
+      }
 
       // 3. 받은 recId로 상세 식단 목록 조회
       // fetchDietRecommendationById 액션을 직접 호출하여 로직 재사용
@@ -211,9 +211,11 @@ export const useAnalysisStore = defineStore('analysis', () => {
     user_photos,
     user_analysis_result,
     user_photo,
+    user_recommendations,
     diet_recommendations,
     diet_loading,
     diet_error,
+    diet_queue_position,
     fetchPhoto,
     uploadPhoto,
     fetchUserAnalysisResults,
@@ -4,32 +4,6 @@ import axios from '@/api/axios'; // 프로젝트에 설정된 axios instance 사
 import { exportWAV } from '@/util/audioUtils'; // 수동 WAV 변환 유틸리티
 import { useUserStore } from '@/stores/user'; // useUserStore 추가
 
-// --- 한글/숫자 변환 헬퍼 ---
-function convertKoreanNumber(numStr) {
-  if (!isNaN(numStr)) {
-    return parseInt(numStr, 10);
-  }
-
-  const korNum = { '일': 1, '이': 2, '삼': 3, '사': 4, '오': 5, '육': 6, '칠': 7, '팔': 8, '구': 9 };
-  const korUnit = { '십': 10, '백': 100, '천': 1000 };
-
-  let result = 0;
-  let temp = 0;
-
-  for (const char of numStr) {
-    if (korNum[char]) {
-      temp = korNum[char];
-    } else if (korUnit[char]) {
-      if (temp === 0) temp = 1;
-      result += temp * korUnit[char];
-      temp = 0;
-    }
-  }
-  result += temp;
-
-  return result > 0 ? result : null;
-}
-
 // --- 라우트 이름 한글 맵 ---
 const routeNameMap = {
   'Home': '메인',
@@ -53,28 +27,7 @@ const routeNameMap = {
   'updatePassword': '비밀번호 변경',
 };
 
-
-// 명령어와 라우트 경로를 매핑합니다.
-// **중요**: 구체적인 명령을 일반적인 명령보다 앞에 배치해야 합니다. (예: '게시글 작성' vs '게시판')
-const commandRoutes = [
-  // Board
-  { commands: ['글쓰기', '게시글작성'], route: '/board/create' },
-  { commands: ['내게시글', '내가쓴글', '내게식을'], route: '/user/myboards' },
-  { commands: ['게시판', '커뮤니티'], route: '/board' },
-
-  // Analysis
-  { commands: ['분석업로드', '사진올리기', '업로드'], route: '/analysis/upload' },
-  { commands: ['식단추천', '식단분석', '분석'], route: '/analysis' },
-
-  // User
-  { commands: ['마이페이지'], route: '/mypage' }, // '내정보' 제거
-  { commands: ['로그인'], route: '/user/login' },
-  { commands: ['회원가입'], route: '/user/join' },
-
-  // Main
-  { commands: ['기술소개', '기술'], route: '/engineeringDescribe' },
-  { commands: ['메인', '홈', '처음으로'], route: '/' },
-];
+// 명령어 -> 라우트 매핑은 서버(/api/voice/command)에서 의도(type/target)로 해석해 내려줍니다.
 
 export const useVoiceStore = defineStore('voice', {
   state: () => ({
@@ -168,10 +121,10 @@ export const useVoiceStore = defineStore('voice', {
           headers: { 'Content-Type': 'multipart/form-data' }
         });
 
-        const commandText = res.data.text;
-        this.resultText = `인식됨: "${commandText}"`;
+        const intent = res.data;
+        this.resultText = `인식됨: "${intent.text}"`;
 
-        this.executeCommand(commandText, router);
+        this.executeCommand(intent, router);
 
       } catch (err) {
         console.error('음성 처리 또는 API 요청 에러:', err);
@@ -181,90 +134,75 @@ export const useVoiceStore = defineStore('voice', {
       }
     },
 
-    async executeCommand(text, router) {
-      if (!text) return;
+    async executeCommand(intent, router) {
+      if (!intent || !intent.text) return;
 
-      const command = text.replace(/\s+/g, '');
       const currentRouteName = router.currentRoute.value.name;
 
-      // --- 게시물 번호로 이동하는 동적 라우팅 (특정 페이지에서만 활성화) ---
-      if (currentRouteName === 'boardList' || currentRouteName === 'myBoardList') {
-        const postMatch = command.match(/^([\d일이삼사오육칠팔구십백천]+)번?$/);
-        if (postMatch && postMatch[1]) {
-          const numberWord = postMatch[1];
-          const postId = convertKoreanNumber(numberWord);
-          if (postId) {
-            const msg = `${postId}번 게시물로 이동합니다.`;
+      switch (intent.type) {
+        // --- 게시물 번호로 이동하는 동적 라우팅 (특정 페이지에서만 활성화) ---
+        case 'OPEN_POST': {
+          if (currentRouteName === 'boardList' || currentRouteName === 'myBoardList') {
+            const msg = `${intent.postId}번 게시물로 이동합니다.`;
             this.resultText = msg;
             this.speak(msg);
-            await router.push({ path: `/board/detail/${postId}`, query: { speak: 'true' } });
+            await router.push({ path: `/board/detail/${intent.postId}`, query: { speak: 'true' } });
             return;
           }
+          break;
         }
-      }
-      // -----------------------------------------------------------------
 
-      // --- '내정보' 명령 처리 (로그인 상태에 따라 UserDetail 페이지로 이동) ---
-      if (command.includes('내정보')) {
-        const userStore = useUserStore();
-        if (userStore.isLoggedIn && userStore.userId) {
-          const msg = "내 정보 페이지로 이동합니다.";
-          this.resultText = msg;
-          this.speak(msg);
-          await router.push(`/user/detail/${userStore.userId}`);
-          return;
-        } else {
-          const msg = "내 정보는 로그인 후 이용 가능합니다. 로그인 페이지로 이동합니다.";
-          this.resultText = msg;
-          this.speak(msg);
-          await router.push({ name: 'userLogin' });
+        // --- '내정보' 명령 처리 (로그인 상태에 따라 UserDetail 페이지로 이동) ---
+        case 'MY_INFO': {
+          const userStore = useUserStore();
+          if (userStore.isLoggedIn && userStore.userId) {
+            const msg = "내 정보 페이지로 이동합니다.";
+            this.resultText = msg;
+            this.speak(msg);
+            await router.push(`/user/detail/${userStore.userId}`);
+          } else {
+            const msg = "내 정보는 로그인 후 이용 가능합니다. 로그인 페이지로 이동합니다.";
+            this.resultText = msg;
+            this.speak(msg);
+            await router.push({ name: 'userLogin' });
+          }
           return;
         }
-      }
-      // ---------------------------------------------------------------------
-
-      if (command.includes('뒤로')) {
-        this.speak('이전 페이지로 이동했습니다.');
-        router.go(-1);
-        return;
-      }
-
-      if (command.includes('앞으로')) {
-        this.speak('다음 페이지로 이동했습니다.');
-        router.go(1);
-        return;
-      }
-
-      if (command.includes('내려') || command.includes('아래로')) {
-        this.speak('아래로 스크롤합니다.');
-        window.scrollBy({ top: 500, behavior: 'smooth' });
-        this.resultText = '아래로 스크롤합니다.';
-        return;
-      }
-
-      if (command.includes('올려') || command.includes('위로')) {
-        this.speak('위로 스크롤합니다.');
-        window.scrollBy({ top: -500, behavior: 'smooth' });
-        this.resultText = '위로 스크롤합니다.';
-        return;
-      }
 
-      if (command.includes('맨위') || command.includes('상단')) {
-        this.speak('페이지 맨 위로 이동합니다.');
-        window.scrollTo({ top: 0, behavior: 'smooth' });
-        return;
-      }
+        case 'HISTORY': {
+          if (intent.target === 'back') {
+            this.speak('이전 페이지로 이동했습니다.');
+            router.go(-1);
+          } else {
+            this.speak('다음 페이지로 이동했습니다.');
+            router.go(1);
+          }
+          return;
+        }
 
-      for (const routeInfo of commandRoutes) {
-        for (const cmd of routeInfo.commands) {
-          if (command.includes(cmd)) {
-            await router.push(routeInfo.route);
-            const destinationRouteName = router.currentRoute.value.name;
-            const pageName = routeNameMap[destinationRouteName] || destinationRouteName;
-            const msg = `${pageName} 페이지로 이동했습니다.`;
-            this.speak(msg);
-            return;
+        case 'SCROLL': {
+          if (intent.target === 'top') {
+            this.speak('페이지 맨 위로 이동합니다.');
+            window.scrollTo({ top: 0, behavior: 'smooth' });
+          } else if (intent.target === 'down') {
+            this.speak('아래로 스크롤합니다.');
+            window.scrollBy({ top: 500, behavior: 'smooth' });
+            this.resultText = '아래로 스크롤합니다.';
+          } else {
+            this.speak('위로 스크롤합니다.');
+            window.scrollBy({ top: -500, behavior: 'smooth' });
+            this.resultText = '위로 스크롤합니다.';
           }
+          return;
+        }
+
+        case 'NAVIGATE': {
+          await router.push(intent.target);
+          const destinationRouteName = router.currentRoute.value.name;
+          const pageName = routeNameMap[destinationRouteName] || destinationRouteName;
+          const msg = `${pageName} 페이지로 이동했습니다.`;
+          this.speak(msg);
+          return;
         }
       }
 